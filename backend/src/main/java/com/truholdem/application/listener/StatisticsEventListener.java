@@ -1,5 +1,7 @@
 package com.truholdem.application.listener;
 
+import com.truholdem.domain.event.DomainEvent;
+import com.truholdem.domain.event.DomainEventBatchConsumer;
 import com.truholdem.domain.event.HandCompleted;
 import com.truholdem.domain.event.PlayerActed;
 import com.truholdem.domain.event.PlayerEliminated;
@@ -7,22 +9,32 @@ import com.truholdem.domain.event.PotAwarded;
 import com.truholdem.domain.value.Chips;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 
 @Component
-public class StatisticsEventListener {
+public class StatisticsEventListener implements DomainEventBatchConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(StatisticsEventListener.class);
 
     
-    
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            switch (event) {
+                case PlayerActed acted -> onPlayerActed(acted);
+                case HandCompleted completed -> onHandCompleted(completed);
+                case PotAwarded awarded -> onPotAwarded(awarded);
+                case PlayerEliminated eliminated -> onPlayerEliminated(eliminated);
+                default -> {
+                }
+            }
+        }
+    }
 
     
-    @EventListener
-    @Async
     public void onPlayerActed(PlayerActed event) {
         log.debug("Processing PlayerActed event for statistics: {} {} in {}",
                 event.getPlayerName(), event.getAction(), event.getPhase());
@@ -67,8 +79,6 @@ public class StatisticsEventListener {
     }
 
     
-    @EventListener
-    @Async
     public void onHandCompleted(HandCompleted event) {
         log.debug("Processing HandCompleted event: hand #{}, pot={}, showdown={}",
                 event.getHandNumber(), event.getTotalPotSize(), event.wentToShowdown());
@@ -104,8 +114,6 @@ public class StatisticsEventListener {
     }
 
     
-    @EventListener
-    @Async
     public void onPotAwarded(PotAwarded event) {
         log.debug("Processing PotAwarded event: {} wins {} {}",
                 event.getWinnerName(), event.getPotType(), event.getAmount());
@@ -133,8 +141,6 @@ public class StatisticsEventListener {
     }
 
     
-    @EventListener
-    @Async
     public void onPlayerEliminated(PlayerEliminated event) {
         log.debug("Processing PlayerEliminated event: {} finished {}",
                 event.getPlayerName(), event.getPositionDisplay());
@@ -0,0 +1,46 @@
+package com.truholdem.config;
+
+import com.truholdem.service.EquityResultCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+
+@Configuration
+public class EquityCacheConfig {
+
+    @Value("${app.analysis.equity.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.analysis.equity.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+
+    @Bean
+    public EquityResultCache equityResultCache(MeterRegistry meterRegistry) {
+        EquityResultCache cache = new EquityResultCache(maxEntries, Duration.ofSeconds(ttlSeconds));
+
+        FunctionCounter.builder("poker.equity.cache.hits", cache, EquityResultCache::hitCount)
+                .description("Equity queries answered from the cache")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("poker.equity.cache.misses", cache, EquityResultCache::missCount)
+                .description("Equity queries that had to be calculated")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("poker.equity.cache.evictions", cache, EquityResultCache::evictionCount)
+                .description("Equity results dropped for size or age")
+                .register(meterRegistry);
+
+        Gauge.builder("poker.equity.cache.size", cache, EquityResultCache::size)
+                .description("Equity results currently cached")
+                .register(meterRegistry);
+
+        return cache;
+    }
+}
@@ -0,0 +1,64 @@
+package com.truholdem.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+@Configuration
+public class EquityExecutorConfig {
+
+    @Value("${app.analysis.equity.threads:0}")
+    private int threads;
+
+    @Value("${app.analysis.equity.queue-capacity:512}")
+    private int queueCapacity;
+
+
+    @Bean(name = "equityExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor equityExecutor(MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            equityThreadFactory(),
+            // a saturated pool hands the chunk back to the requesting thread instead of failing the request
+            (task, pool) -> task.run()
+        );
+
+        Gauge.builder("poker.equity.executor.queued", executor, e -> e.getQueue().size())
+                .description("Equity simulation chunks waiting for a worker")
+                .register(meterRegistry);
+
+        Gauge.builder("poker.equity.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Equity simulation chunks currently running")
+                .register(meterRegistry);
+
+        Gauge.builder("poker.equity.executor.pool.size", executor, ThreadPoolExecutor::getPoolSize)
+                .description("Equity simulation worker threads")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    private ThreadFactory equityThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "equity-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
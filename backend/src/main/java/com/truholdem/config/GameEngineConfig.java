@@ -0,0 +1,56 @@
+package com.truholdem.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+@Configuration
+public class GameEngineConfig {
+
+    @Value("${app.game.engine.threads:0}")
+    private int threads;
+
+
+    // workers are shared by every table; each table's mailbox holds at most one of them at a time
+    @Bean(name = "gameEngineExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor gameEngineExecutor(MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            gameEngineThreadFactory()
+        );
+
+        Gauge.builder("poker.engine.executor.queued", executor, e -> e.getQueue().size())
+                .description("Game tables waiting for an engine worker")
+                .register(meterRegistry);
+
+        Gauge.builder("poker.engine.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Game tables currently being processed")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    private ThreadFactory gameEngineThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "game-engine-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.truholdem.config;
+
+import com.truholdem.service.PreflopEquityTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+
+@Configuration
+public class PreflopEquityConfig {
+
+    @Value("${app.analysis.preflop-table.location:}")
+    private String location;
+
+
+    @Bean
+    public PreflopEquityTable preflopEquityTable() throws IOException {
+        return location.isBlank()
+            ? PreflopEquityTable.loadDefault()
+            : PreflopEquityTable.load(Path.of(location));
+    }
+}
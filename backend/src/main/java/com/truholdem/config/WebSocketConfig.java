@@ -1,6 +1,7 @@
 package com.truholdem.config;
 
 import com.truholdem.security.WebSocketAuthInterceptor;
+import com.truholdem.websocket.WireFormatInterceptor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -15,7 +16,8 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * Security features:
  * - JWT authentication via STOMP headers on CONNECT
  * - Restricted allowed origins (configured via properties)
- * - User destination prefix for private messages
+ * - User destination prefix for private messages, delivered in publish order after the public frame
+ * - Optional binary wire format for native WebSocket clients (JSON by default)
  */
 @Configuration
 @EnableWebSocketMessageBroker
@@ -24,10 +26,13 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final AppProperties appProperties;
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final WireFormatInterceptor wireFormatInterceptor;
 
-    public WebSocketConfig(AppProperties appProperties, WebSocketAuthInterceptor webSocketAuthInterceptor) {
+    public WebSocketConfig(AppProperties appProperties, WebSocketAuthInterceptor webSocketAuthInterceptor,
+                           WireFormatInterceptor wireFormatInterceptor) {
         this.appProperties = appProperties;
         this.webSocketAuthInterceptor = webSocketAuthInterceptor;
+        this.wireFormatInterceptor = wireFormatInterceptor;
     }
 
     @Override
@@ -35,6 +40,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
+        // a seated player's private frame must reach it after the public frame of the same update
+        config.setPreservePublishOrder(true);
     }
 
     @Override
@@ -46,15 +53,21 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOrigins(allowedOrigins)
                 .withSockJS();
 
-        // Also register without SockJS for native WebSocket clients
+        // Also register without SockJS for native WebSocket clients, which may negotiate binary frames
         registry.addEndpoint("/ws")
-                .setAllowedOrigins(allowedOrigins);
+                .setAllowedOrigins(allowedOrigins)
+                .addInterceptors(wireFormatInterceptor);
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         // Add JWT authentication interceptor for WebSocket messages
-        registration.interceptors(webSocketAuthInterceptor);
+        registration.interceptors(webSocketAuthInterceptor, wireFormatInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(wireFormatInterceptor);
     }
 
     /**
@@ -1,13 +1,18 @@
 package com.truholdem.controller;
 
+import com.truholdem.dto.ActionAckMessage;
+import com.truholdem.dto.GameDeltaMessage;
 import com.truholdem.dto.GameUpdateMessage;
 import com.truholdem.dto.PlayerActionRequest;
 import com.truholdem.model.Game;
+import com.truholdem.service.GameStateDeltaService;
+import com.truholdem.service.GameViewService;
 import com.truholdem.service.PokerGameService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.*;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
@@ -21,15 +26,23 @@ public class GameWebSocketController {
 
     private final PokerGameService pokerGameService;
     private final SimpMessagingTemplate messagingTemplate;
-
-    public GameWebSocketController(PokerGameService pokerGameService, SimpMessagingTemplate messagingTemplate) {
+    private final GameStateDeltaService deltaService;
+    private final GameViewService viewService;
+
+    public GameWebSocketController(
+            PokerGameService pokerGameService,
+            SimpMessagingTemplate messagingTemplate,
+            GameStateDeltaService deltaService,
+            GameViewService viewService) {
         this.pokerGameService = pokerGameService;
         this.messagingTemplate = messagingTemplate;
+        this.deltaService = deltaService;
+        this.viewService = viewService;
     }
 
     @MessageMapping("/game/{gameId}/action")
-    @SendTo("/topic/game/{gameId}")
-    public GameUpdateMessage handlePlayerAction(
+    @SendToUser(destinations = "/queue/ack", broadcast = false)
+    public ActionAckMessage handlePlayerAction(
             @DestinationVariable UUID gameId,
             @Payload PlayerActionRequest actionRequest,
             Principal principal) {
@@ -38,29 +51,29 @@ public class GameWebSocketController {
                 gameId, actionRequest.getAction(), principal.getName());
 
         try {
-            // Execute the action
-            Game updatedGame = pokerGameService.playerAct(
+            // Execute the action; the resulting state is broadcast to the game topic once, by the service
+            pokerGameService.playerAct(
                 gameId, 
                 UUID.fromString(actionRequest.getPlayerId()), 
                 actionRequest.getAction(), 
                 actionRequest.getAmount()
             );
 
-            return new GameUpdateMessage(
-                "GAME_UPDATE",
-                updatedGame,
-                "Player action executed: " + actionRequest.getAction(),
-                System.currentTimeMillis()
+            return ActionAckMessage.accepted(
+                actionRequest.getCorrelationId(),
+                gameId,
+                actionRequest.getAction(),
+                deltaService.isDeltaMode() ? deltaService.currentSequence(gameId) : null
             );
 
         } catch (Exception e) {
             logger.error("Error handling player action in game {}: {}", gameId, e.getMessage());
             
-            return new GameUpdateMessage(
-                "ERROR",
-                null,
-                "Error executing action: " + e.getMessage(),
-                System.currentTimeMillis()
+            return ActionAckMessage.rejected(
+                actionRequest.getCorrelationId(),
+                gameId,
+                actionRequest.getAction(),
+                "Error executing action: " + e.getMessage()
             );
         }
     }
@@ -74,7 +87,7 @@ public class GameWebSocketController {
             if (game != null) {
                 return new GameUpdateMessage(
                     "GAME_STATE",
-                    game,
+                    viewService.current(game).viewFor(principal.getName()),
                     "Current game state",
                     System.currentTimeMillis()
                 );
@@ -97,6 +110,21 @@ public class GameWebSocketController {
         }
     }
 
+    // full state at the current sequence, for subscribers that just joined or saw a gap in the deltas
+    @MessageMapping("/game/{gameId}/resync")
+    @SendToUser(destinations = "/queue/game", broadcast = false)
+    public GameDeltaMessage handleResync(@DestinationVariable UUID gameId, Principal principal) {
+        logger.debug("Resync requested for game {} by user {}", gameId,
+                principal != null ? principal.getName() : null);
+
+        String username = principal != null ? principal.getName() : null;
+        // read before loading, so an action broadcast in between is in the state rather than skipped
+        long sequence = deltaService.currentSequence(gameId);
+        return pokerGameService.getGame(gameId)
+                .map(game -> deltaService.snapshot(game, sequence).withGame(viewService.current(game).viewFor(username)))
+                .orElse(null);
+    }
+
     @MessageMapping("/game/{gameId}/join")
     @SendTo("/topic/game/{gameId}")
     public GameUpdateMessage handlePlayerJoin(
@@ -137,7 +165,7 @@ public class GameWebSocketController {
     public void sendGameUpdate(UUID gameId, Game updatedGame, String message) {
         GameUpdateMessage updateMessage = new GameUpdateMessage(
             "GAME_UPDATE",
-            updatedGame,
+            viewService.publish(updatedGame).publicView(),
             message,
             System.currentTimeMillis()
         );
@@ -6,6 +6,7 @@ import com.truholdem.dto.*;
 import com.truholdem.model.*;
 import com.truholdem.service.HandAnalysisService;
 import com.truholdem.service.HandHistoryService;
+import com.truholdem.service.SimulationBudget;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +15,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
@@ -23,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.*;
 
 
@@ -49,7 +53,9 @@ public class HandAnalysisController {
     @PostMapping("/equity")
     @Operation(
         summary = "Calculate hand equity",
-        description = "Calculate equity against opponent range using Monte Carlo simulation"
+        description = "Calculate equity against opponent range. Small spots are enumerated exactly; "
+            + "otherwise Monte Carlo runs a fixed number of simulations or until targetStandardError "
+            + "or timeBudgetMs is reached"
     )
     @ApiResponse(responseCode = "200", description = "Equity calculated successfully")
     @ApiResponse(responseCode = "400", description = "Invalid input")
@@ -72,7 +78,7 @@ public class HandAnalysisController {
             communityCards,
             villainRange,
             request.numOpponents() != null ? request.numOpponents() : 1,
-            request.simulations() != null ? request.simulations() : 10000
+            toSimulationBudget(request)
         );
 
         return ResponseEntity.ok(result);
@@ -192,6 +198,18 @@ public class HandAnalysisController {
 
 
 
+    private SimulationBudget toSimulationBudget(EquityRequest request) {
+        if (request.targetStandardError() == null && request.timeBudgetMs() == null) {
+            return SimulationBudget.iterations(request.simulations() != null ? request.simulations() : 10000);
+        }
+
+        return new SimulationBudget(
+            request.targetStandardError() != null ? request.targetStandardError() : 0,
+            request.timeBudgetMs() != null ? Duration.ofMillis(request.timeBudgetMs()) : null,
+            request.simulations() != null ? request.simulations() : 100000
+        );
+    }
+
     private List<Card> parseCards(String cardString) {
         if (cardString == null || cardString.isEmpty()) {
             return List.of();
@@ -361,7 +379,11 @@ public class HandAnalysisController {
         @Min(1) @Max(9)
         Integer numOpponents,
         @Min(100) @Max(100000)
-        Integer simulations
+        Integer simulations,
+        @DecimalMin("0.0005") @DecimalMax("0.1")
+        Double targetStandardError,
+        @Min(10) @Max(10000)
+        Long timeBudgetMs
     ) {}
 
     public record EVRequest(
@@ -2,6 +2,7 @@ package com.truholdem.controller;
 
 import com.truholdem.model.Game;
 import com.truholdem.model.Player;
+import com.truholdem.service.GameViewService;
 import com.truholdem.service.PokerGameService;
 import com.truholdem.websocket.ClusterSessionRegistry;
 import com.truholdem.websocket.GameEvent;
@@ -30,16 +31,19 @@ public class ReconnectionController {
     private final ClusterSessionRegistry sessionRegistry;
     private final GameEventStore eventStore;
     private final SimpMessagingTemplate messagingTemplate;
+    private final GameViewService viewService;
 
     public ReconnectionController(
             PokerGameService gameService,
             ClusterSessionRegistry sessionRegistry,
             GameEventStore eventStore,
-            SimpMessagingTemplate messagingTemplate) {
+            SimpMessagingTemplate messagingTemplate,
+            GameViewService viewService) {
         this.gameService = gameService;
         this.sessionRegistry = sessionRegistry;
         this.eventStore = eventStore;
         this.messagingTemplate = messagingTemplate;
+        this.viewService = viewService;
     }
 
 
@@ -100,7 +104,7 @@ public class ReconnectionController {
 
 
             GameStateSnapshot snapshot = GameStateSnapshot.builder()
-                    .game(game)
+                    .game(viewService.current(game).viewFor(username))
                     .currentPlayerId(currentPlayer != null ? currentPlayer.getId() : null)
                     .currentPlayerName(currentPlayer != null ? currentPlayer.getName() : null)
                     .missedEvents(missedEvents)
@@ -143,7 +147,7 @@ public class ReconnectionController {
     public record GameStateSnapshot(
             boolean success,
             String error,
-            Game game,
+            Object game,
             UUID currentPlayerId,
             String currentPlayerName,
             List<GameEvent> missedEvents,
@@ -161,7 +165,7 @@ public class ReconnectionController {
         }
 
         public static class Builder {
-            private Game game;
+            private Object game;
             private UUID currentPlayerId;
             private String currentPlayerName;
             private List<GameEvent> missedEvents = Collections.emptyList();
@@ -169,7 +173,7 @@ public class ReconnectionController {
             private Instant serverTime;
             private String sessionId;
 
-            public Builder game(Game game) {
+            public Builder game(Object game) {
                 this.game = game;
                 return this;
             }
@@ -3,6 +3,8 @@ package com.truholdem.controller;
 import com.truholdem.config.api.ApiV1Config;
 import com.truholdem.dto.ErrorResponse;
 import com.truholdem.model.PlayerStatistics;
+import com.truholdem.service.LeaderboardService;
+import com.truholdem.service.LeaderboardService.LeaderboardType;
 import com.truholdem.service.PlayerStatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,9 +27,11 @@ import java.util.UUID;
 public class StatisticsController {
 
     private final PlayerStatisticsService statsService;
+    private final LeaderboardService leaderboardService;
 
-    public StatisticsController(PlayerStatisticsService statsService) {
+    public StatisticsController(PlayerStatisticsService statsService, LeaderboardService leaderboardService) {
         this.statsService = statsService;
+        this.leaderboardService = leaderboardService;
     }
 
     
@@ -116,12 +120,15 @@ public class StatisticsController {
     @GetMapping("/leaderboard")
     @Operation(
         summary = "Get comprehensive leaderboard",
-        description = "Returns combined leaderboard data with multiple ranking categories"
+        description = "Returns combined leaderboard data with multiple ranking categories. Leaderboards carry an "
+            + "ETag; sending it back in If-None-Match returns 304 while nothing has changed"
     )
     @ApiResponse(responseCode = "200", description = "Leaderboard data retrieved successfully")
     public ResponseEntity<PlayerStatisticsService.LeaderboardData> getLeaderboard() {
+        // read the version first so a concurrent update can only make the tag older than the data
+        long version = leaderboardService.version();
         PlayerStatisticsService.LeaderboardData leaderboard = statsService.getLeaderboard();
-        return ResponseEntity.ok(leaderboard);
+        return ResponseEntity.ok().eTag("leaderboard-" + leaderboardService.epoch() + "-" + version).body(leaderboard);
     }
 
     @GetMapping("/leaderboard/winnings")
@@ -131,8 +138,7 @@ public class StatisticsController {
     )
     @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
     public ResponseEntity<List<PlayerStatistics>> getTopByWinnings() {
-        List<PlayerStatistics> top = statsService.getTopByWinnings();
-        return ResponseEntity.ok(top);
+        return ranking(LeaderboardType.WINNINGS);
     }
 
     @GetMapping("/leaderboard/hands-won")
@@ -142,8 +148,7 @@ public class StatisticsController {
     )
     @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
     public ResponseEntity<List<PlayerStatistics>> getTopByHandsWon() {
-        List<PlayerStatistics> top = statsService.getTopByHandsWon();
-        return ResponseEntity.ok(top);
+        return ranking(LeaderboardType.HANDS_WON);
     }
 
     @GetMapping("/leaderboard/win-rate")
@@ -153,8 +158,7 @@ public class StatisticsController {
     )
     @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
     public ResponseEntity<List<PlayerStatistics>> getTopByWinRate() {
-        List<PlayerStatistics> top = statsService.getTopByWinRate();
-        return ResponseEntity.ok(top);
+        return ranking(LeaderboardType.WIN_RATE);
     }
 
     @GetMapping("/leaderboard/biggest-pot")
@@ -164,8 +168,7 @@ public class StatisticsController {
     )
     @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
     public ResponseEntity<List<PlayerStatistics>> getTopByBiggestPot() {
-        List<PlayerStatistics> top = statsService.getTopByBiggestPot();
-        return ResponseEntity.ok(top);
+        return ranking(LeaderboardType.BIGGEST_POT);
     }
 
     @GetMapping("/leaderboard/win-streak")
@@ -175,8 +178,7 @@ public class StatisticsController {
     )
     @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
     public ResponseEntity<List<PlayerStatistics>> getTopByWinStreak() {
-        List<PlayerStatistics> top = statsService.getTopByWinStreak();
-        return ResponseEntity.ok(top);
+        return ranking(LeaderboardType.WIN_STREAK);
     }
 
     @GetMapping("/leaderboard/most-active")
@@ -186,8 +188,7 @@ public class StatisticsController {
     )
     @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
     public ResponseEntity<List<PlayerStatistics>> getMostActive() {
-        List<PlayerStatistics> active = statsService.getMostActive();
-        return ResponseEntity.ok(active);
+        return ranking(LeaderboardType.MOST_ACTIVE);
     }
 
     @GetMapping("/leaderboard/recently-active")
@@ -197,7 +198,16 @@ public class StatisticsController {
     )
     @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
     public ResponseEntity<List<PlayerStatistics>> getRecentlyActive() {
-        List<PlayerStatistics> recent = statsService.getRecentlyActive();
-        return ResponseEntity.ok(recent);
+        return ranking(LeaderboardType.RECENTLY_ACTIVE);
+    }
+
+
+
+    
+    private ResponseEntity<List<PlayerStatistics>> ranking(LeaderboardType type) {
+        LeaderboardService.Ranking ranking = leaderboardService.getRanking(type);
+        return ResponseEntity.ok()
+            .eTag(type.name().toLowerCase() + "-" + leaderboardService.epoch() + "-" + ranking.version())
+            .body(ranking.entries());
     }
 }
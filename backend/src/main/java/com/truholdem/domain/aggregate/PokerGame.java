@@ -12,6 +12,7 @@ import com.truholdem.model.*;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 
@@ -58,6 +59,9 @@ public class PokerGame {
     
     private final List<Card> deck = new ArrayList<>();
 
+    // the order the current hand was dealt from; journaled instead of the shuffle seed
+    private List<Card> dealtDeck = List.of();
+
     
     private final List<Integer> sidePotAmounts = new ArrayList<>();
 
@@ -68,24 +72,31 @@ public class PokerGame {
     private final List<DomainEvent> domainEvents = new ArrayList<>();
 
     
+    private ShowdownEvaluator showdownEvaluator;
+
+    
     
     
 
     private PokerGame(UUID id, Chips smallBlind, Chips bigBlind) {
+        this(id, smallBlind.amount(), bigBlind.amount(), Instant.now());
+    }
+
+    private PokerGame(UUID id, int smallBlindAmount, int bigBlindAmount, Instant createdAt) {
         this.id = id;
-        this.smallBlindAmount = smallBlind.amount();
-        this.bigBlindAmount = bigBlind.amount();
+        this.smallBlindAmount = smallBlindAmount;
+        this.bigBlindAmount = bigBlindAmount;
         this.phase = GamePhase.PRE_FLOP;
         this.dealerPosition = 0;
         this.currentPlayerIndex = 0;
         this.handNumber = 0;
         this.finished = false;
         this.currentBet = 0;
-        this.minRaise = bigBlind.amount();
+        this.minRaise = bigBlindAmount;
         this.actionsThisRound = 0;
         this.potAmount = 0;
-        this.createdAt = Instant.now();
-        this.updatedAt = Instant.now();
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
     }
 
     
@@ -119,7 +130,7 @@ public class PokerGame {
         }
 
         
-        game.initializeDeck();
+        game.deck.addAll(freshDeck());
 
         
         game.raiseEvent(new GameCreated(
@@ -139,6 +150,21 @@ public class PokerGame {
 
     
     public void startNewHand() {
+        startNewHand(ThreadLocalRandom.current().nextLong());
+    }
+
+    
+    public void startNewHand(long shuffleSeed) {
+        List<Card> shuffled = freshDeck();
+        Collections.shuffle(shuffled, new Random(shuffleSeed));
+        startNewHand(shuffled);
+    }
+
+    /**
+     * Starts a hand dealt from the given card order, which is how the journal replays a hand start.
+     */
+    public void startNewHand(List<Card> cardOrder) {
+        Objects.requireNonNull(cardOrder, "Card order cannot be null");
         if (finished) {
             throw GameStateException.gameAlreadyFinished(id);
         }
@@ -176,8 +202,9 @@ public class PokerGame {
         }
 
         
-        initializeDeck();
-        shuffleDeck();
+        deck.clear();
+        deck.addAll(cardOrder);
+        dealtDeck = List.copyOf(cardOrder);
 
         
         dealHoleCards();
@@ -423,6 +450,14 @@ public class PokerGame {
         return Collections.unmodifiableList(communityCards);
     }
 
+    /**
+     * The card order the current hand was dealt from. It reveals every hole card and the board, so it is
+     * for the game journal only and must never reach an event or a view.
+     */
+    public List<Card> getDealtDeck() {
+        return dealtDeck;
+    }
+
     public List<Player> getPlayers() {
         return Collections.unmodifiableList(players);
     }
@@ -478,6 +513,82 @@ public class PokerGame {
     }
 
     
+    public void setShowdownEvaluator(ShowdownEvaluator showdownEvaluator) {
+        this.showdownEvaluator = showdownEvaluator;
+    }
+
+    
+    public void markJournaled(long version) {
+        this.version = version;
+    }
+
+    
+    
+    
+
+    
+    public PokerGameSnapshot snapshot() {
+        List<PokerGameSnapshot.PlayerState> playerStates = new ArrayList<>(players.size());
+        for (Player player : players) {
+            playerStates.add(new PokerGameSnapshot.PlayerState(
+                    player.getId(), player.getName(), player.isBot(), player.getUserId(),
+                    player.getSeatPosition(), player.getChips(), player.getBetAmount(),
+                    player.getTotalBetInRound(), player.isFolded(), player.isAllIn(), player.hasActed(),
+                    List.copyOf(player.getHand())
+            ));
+        }
+
+        return new PokerGameSnapshot(
+                id, version != null ? version : 0L, createdAt, updatedAt,
+                smallBlindAmount, bigBlindAmount,
+                phase, dealerPosition, currentPlayerIndex, handNumber, finished,
+                currentBet, minRaise, actionsThisRound, lastAggressorId,
+                potAmount, List.copyOf(sidePotAmounts),
+                List.copyOf(communityCards), List.copyOf(deck),
+                handStartTime, playerStates
+        );
+    }
+
+    
+    public static PokerGame restore(PokerGameSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "Snapshot cannot be null");
+
+        PokerGame game = new PokerGame(snapshot.id(), snapshot.smallBlind(), snapshot.bigBlind(), snapshot.createdAt());
+        game.version = snapshot.version();
+        game.updatedAt = snapshot.updatedAt();
+        game.phase = snapshot.phase();
+        game.dealerPosition = snapshot.dealerPosition();
+        game.currentPlayerIndex = snapshot.currentPlayerIndex();
+        game.handNumber = snapshot.handNumber();
+        game.finished = snapshot.finished();
+        game.currentBet = snapshot.currentBet();
+        game.minRaise = snapshot.minRaise();
+        game.actionsThisRound = snapshot.actionsThisRound();
+        game.lastAggressorId = snapshot.lastAggressorId();
+        game.potAmount = snapshot.potAmount();
+        game.sidePotAmounts.addAll(snapshot.sidePotAmounts());
+        game.communityCards.addAll(snapshot.communityCards());
+        game.deck.addAll(snapshot.deck());
+        game.handStartTime = snapshot.handStartTime();
+
+        for (PokerGameSnapshot.PlayerState state : snapshot.players()) {
+            Player player = new Player(state.name(), state.chips(), state.bot());
+            player.setId(state.id());
+            player.setUserId(state.userId());
+            player.setSeatPosition(state.seatPosition());
+            player.setBetAmount(state.betAmount());
+            player.setTotalBetInRound(state.totalBetInRound());
+            player.setFolded(state.folded());
+            player.setAllIn(state.allIn());
+            player.setHasActed(state.hasActed());
+            state.hand().forEach(player::addCardToHand);
+            game.players.add(player);
+        }
+
+        return game;
+    }
+
+    
     
     
 
@@ -485,17 +596,14 @@ public class PokerGame {
         domainEvents.add(event);
     }
 
-    private void initializeDeck() {
-        deck.clear();
+    private static List<Card> freshDeck() {
+        List<Card> cards = new ArrayList<>(Suit.values().length * Value.values().length);
         for (Suit suit : Suit.values()) {
             for (Value value : Value.values()) {
-                deck.add(new Card(suit, value));
+                cards.add(new Card(suit, value));
             }
         }
-    }
-
-    private void shuffleDeck() {
-        Collections.shuffle(deck);
+        return cards;
     }
 
     private void dealHoleCards() {
@@ -672,14 +780,88 @@ public class PokerGame {
             throw GameStateException.noActivePlayers(id);
         }
 
-        
-        
-        Player winner = eligiblePlayers.get(0);
-        awardPot(winner, "Winner (showdown)");
+        if (showdownEvaluator != null) {
+            awardPotsByStrength(eligiblePlayers);
+        } else {
+            Player winner = eligiblePlayers.get(0);
+            awardPot(winner, "Winner (showdown)");
+        }
 
         completeHand(true);
     }
 
+    // splits the pot into layers by contribution, so an all-in player only wins what they covered
+    private void awardPotsByStrength(List<Player> contenders) {
+        int[] strengths = new int[contenders.size()];
+        for (int i = 0; i < contenders.size(); i++) {
+            strengths[i] = showdownEvaluator.strength(contenders.get(i).getHand(), communityCards);
+        }
+
+        int[] levels = contenders.stream()
+                .mapToInt(Player::getTotalBetInRound)
+                .filter(contribution -> contribution > 0)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int remaining = potAmount;
+        int previousLevel = 0;
+        List<Player> lastWinners = List.of(contenders.get(0));
+        for (int level = 0; level < levels.length && remaining > 0; level++) {
+            int layer = 0;
+            for (Player player : players) {
+                int contribution = player.getTotalBetInRound();
+                layer += Math.max(0, Math.min(contribution, levels[level]) - previousLevel);
+            }
+            previousLevel = levels[level];
+
+            int best = Integer.MIN_VALUE;
+            List<Player> winners = new ArrayList<>();
+            for (int i = 0; i < contenders.size(); i++) {
+                if (contenders.get(i).getTotalBetInRound() < levels[level]) {
+                    continue;
+                }
+                if (strengths[i] > best) {
+                    best = strengths[i];
+                    winners.clear();
+                }
+                if (strengths[i] == best) {
+                    winners.add(contenders.get(i));
+                }
+            }
+
+            layer = Math.min(layer, remaining);
+            splitPot(winners, layer, level == 0 ? Pot.PotType.MAIN : Pot.PotType.SIDE);
+            remaining -= layer;
+            lastWinners = winners;
+        }
+
+        // dead money above every contender's contribution goes with the top pot
+        if (remaining > 0) {
+            splitPot(lastWinners, remaining, Pot.PotType.SIDE);
+        }
+        potAmount = 0;
+    }
+
+    private void splitPot(List<Player> winners, int amount, Pot.PotType potType) {
+        int share = amount / winners.size();
+        int oddChips = amount % winners.size();
+        for (int i = 0; i < winners.size(); i++) {
+            Player winner = winners.get(i);
+            int won = share + (i < oddChips ? 1 : 0);
+            winner.addWinnings(won);
+
+            raiseEvent(new PotAwarded(
+                    id, winner.getId(), winner.getName(),
+                    Chips.of(won),
+                    "Winner (showdown)",
+                    potType,
+                    winners.size() > 1,
+                    winners.size()
+            ));
+        }
+    }
+
     private void awardPotToLastPlayer(Player winner) {
         awardPot(winner, null);
         completeHand(false);
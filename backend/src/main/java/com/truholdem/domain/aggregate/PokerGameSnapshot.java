@@ -0,0 +1,72 @@
+package com.truholdem.domain.aggregate;
+
+import com.truholdem.model.Card;
+import com.truholdem.model.GamePhase;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+
+/**
+ * Complete state of a {@link PokerGame} at one journal position; restoring it and replaying the
+ * journal entries after {@code version} yields the live aggregate.
+ */
+public record PokerGameSnapshot(
+    UUID id,
+    long version,
+    Instant createdAt,
+    Instant updatedAt,
+    int smallBlind,
+    int bigBlind,
+    GamePhase phase,
+    int dealerPosition,
+    int currentPlayerIndex,
+    int handNumber,
+    boolean finished,
+    int currentBet,
+    int minRaise,
+    int actionsThisRound,
+    UUID lastAggressorId,
+    int potAmount,
+    List<Integer> sidePotAmounts,
+    List<Card> communityCards,
+    List<Card> deck,
+    Instant handStartTime,
+    List<PlayerState> players
+) {
+
+    public PokerGameSnapshot {
+        Objects.requireNonNull(id, "Game ID cannot be null");
+        Objects.requireNonNull(createdAt, "Created at cannot be null");
+        Objects.requireNonNull(phase, "Game phase cannot be null");
+        sidePotAmounts = List.copyOf(sidePotAmounts);
+        communityCards = List.copyOf(communityCards);
+        deck = List.copyOf(deck);
+        players = List.copyOf(players);
+    }
+
+
+    public record PlayerState(
+        UUID id,
+        String name,
+        boolean bot,
+        UUID userId,
+        int seatPosition,
+        int chips,
+        int betAmount,
+        int totalBetInRound,
+        boolean folded,
+        boolean allIn,
+        boolean hasActed,
+        List<Card> hand
+    ) {
+
+        public PlayerState {
+            Objects.requireNonNull(id, "Player ID cannot be null");
+            Objects.requireNonNull(name, "Player name cannot be null");
+            hand = List.copyOf(hand);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.truholdem.domain.aggregate;
+
+import com.truholdem.model.Card;
+
+import java.util.List;
+
+
+/**
+ * Ranks a player's best hand at showdown; a higher value beats a lower one and equal values split.
+ */
+@FunctionalInterface
+public interface ShowdownEvaluator {
+
+    int strength(List<Card> holeCards, List<Card> communityCards);
+}
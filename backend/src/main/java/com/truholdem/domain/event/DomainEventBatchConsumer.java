@@ -0,0 +1,13 @@
+package com.truholdem.domain.event;
+
+import java.util.List;
+
+
+/**
+ * Receives domain events from the {@link DomainEventPipeline} in batches. Events of one game always
+ * arrive in the order they were published, on the same pipeline thread.
+ */
+public interface DomainEventBatchConsumer {
+
+    void onEvents(List<DomainEvent> events);
+}
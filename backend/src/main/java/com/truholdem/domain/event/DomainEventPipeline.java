@@ -0,0 +1,363 @@
+package com.truholdem.domain.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Delivers domain events to the {@link DomainEventBatchConsumer}s off the publishing thread. Events are
+ * partitioned by game, so one game's events stay in order, and each partition has a bounded ring buffer
+ * drained by its own thread in batches of up to {@code batch-size}. When a ring is full the overflow
+ * policy decides: {@code BLOCK} waits for room, {@code DROP} discards the event, and {@code SPILL} queues
+ * it behind the ring, up to {@code spill-capacity} events per partition, and waits for room beyond that.
+ * After {@link #stop()} events still go through their partition, behind anything it holds, and are
+ * delivered on the caller's thread once the partition has drained.
+ */
+@Component
+public class DomainEventPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventPipeline.class);
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        SPILL
+    }
+
+    private final List<DomainEventBatchConsumer> listeners;
+    private final Partition[] partitions;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger spillDepth = new AtomicInteger();
+    private volatile boolean running;
+
+    private final Counter published;
+    private final Counter delivered;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter listenerFailures;
+    private final Timer lag;
+    private final DistributionSummary batchSizes;
+
+    public DomainEventPipeline(
+            List<DomainEventBatchConsumer> listeners,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.partitions:4}") int partitionCount,
+            @Value("${app.events.capacity:1024}") int capacity,
+            @Value("${app.events.spill-capacity:65536}") int spillCapacity,
+            @Value("${app.events.batch-size:256}") int batchSize,
+            @Value("${app.events.overflow:SPILL}") OverflowPolicy overflowPolicy) {
+        this.listeners = List.copyOf(listeners);
+        this.partitions = new Partition[Math.max(1, partitionCount)];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(Math.max(1, capacity), Math.max(1, spillCapacity));
+        }
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+
+        Gauge.builder("poker.events.pending", pending, AtomicInteger::get)
+                .description("Domain events published but not yet delivered")
+                .register(meterRegistry);
+        Gauge.builder("poker.events.spill.depth", spillDepth, AtomicInteger::get)
+                .description("Domain events queued behind full partitions")
+                .register(meterRegistry);
+        this.published = Counter.builder("poker.events.published")
+                .description("Domain events accepted by the pipeline")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("poker.events.delivered")
+                .description("Domain events delivered to listeners")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("poker.events.dropped")
+                .description("Domain events discarded because their partition was full")
+                .register(meterRegistry);
+        this.spilled = Counter.builder("poker.events.spilled")
+                .description("Domain events queued behind a full partition")
+                .register(meterRegistry);
+        this.listenerFailures = Counter.builder("poker.events.listener.failures")
+                .description("Event batches a listener failed to handle")
+                .register(meterRegistry);
+        this.lag = Timer.builder("poker.events.lag")
+                .description("Time from publishing a domain event to delivering it")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("poker.events.batch.size")
+                .description("Domain events delivered per batch")
+                .register(meterRegistry);
+    }
+
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < partitions.length; i++) {
+            Partition partition = partitions[i];
+            partition.thread = new Thread(() -> drain(partition), "domain-events-" + i);
+            partition.thread.setDaemon(true);
+            partition.thread.start();
+        }
+    }
+
+    /**
+     * Hands an event to its game's partition. Returns false if it was dropped.
+     */
+    public boolean submit(DomainEvent event) {
+        Entry entry = new Entry(event, System.nanoTime());
+        Partition partition = partitionFor(event.getGameId());
+        if (!running) {
+            // behind whatever the partition still holds, so the game's events stay in order
+            partition.append(entry);
+            partition.deliverAll();
+            return true;
+        }
+        if (!partition.offer(entry)) {
+            dropped.increment();
+            log.warn("Dropped {} for game {}: partition full", event.getEventType(), event.getGameId());
+            return false;
+        }
+        if (!running) {
+            // stopped while offering; the drain thread may already have exited
+            partition.deliverAll();
+        }
+        return true;
+    }
+
+    public int pendingEvents() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Partition partition : partitions) {
+            partition.wakeUp();
+        }
+        for (Partition partition : partitions) {
+            if (partition.thread != null) {
+                try {
+                    partition.thread.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (partition.thread != null && partition.thread.isAlive()) {
+                continue;
+            }
+            // events offered while the drain thread was exiting
+            partition.deliverAll();
+        }
+        if (pending.get() > 0) {
+            log.warn("Stopped domain event pipeline with {} events undelivered", pending.get());
+        }
+    }
+
+
+
+    private void drain(Partition partition) {
+        partition.deliverAll();
+    }
+
+    private void deliver(List<Entry> batch) {
+        List<DomainEvent> events = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            events.add(entry.event());
+        }
+        events = Collections.unmodifiableList(events);
+        for (DomainEventBatchConsumer listener : listeners) {
+            try {
+                listener.onEvents(events);
+            } catch (RuntimeException e) {
+                listenerFailures.increment();
+                log.error("Listener {} failed on {} domain events", listener.getClass().getSimpleName(), events.size(), e);
+            }
+        }
+
+        long now = System.nanoTime();
+        for (Entry entry : batch) {
+            lag.record(now - entry.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        batchSizes.record(batch.size());
+        delivered.increment(batch.size());
+        pending.addAndGet(-batch.size());
+    }
+
+    private Partition partitionFor(UUID gameId) {
+        int hash = gameId.hashCode();
+        return partitions[Math.floorMod(hash ^ (hash >>> 16), partitions.length)];
+    }
+
+
+    private record Entry(DomainEvent event, long enqueuedAt) {
+    }
+
+    private final class Partition {
+
+        private final Entry[] ring;
+        private int head;
+        private int size;
+        // events that did not fit in the ring, in order, all newer than the ring's
+        private final ArrayDeque<Entry> spill = new ArrayDeque<>();
+        private final int spillCapacity;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        // held while taking and delivering a batch, so the drain thread and late callers never interleave
+        private final ReentrantLock delivery = new ReentrantLock();
+
+        Thread thread;
+
+        Partition(int capacity, int spillCapacity) {
+            this.ring = new Entry[capacity];
+            this.spillCapacity = spillCapacity;
+        }
+
+        // delivers batches in order until the partition is empty, waiting for events while running
+        void deliverAll() {
+            List<Entry> batch = new ArrayList<>(batchSize);
+            while (true) {
+                delivery.lock();
+                try {
+                    if (!take(batch, batchSize)) {
+                        return;
+                    }
+                    deliver(batch);
+                } finally {
+                    batch.clear();
+                    delivery.unlock();
+                }
+            }
+        }
+
+        // queues the event regardless of capacity; only used once stopped, when nothing waits for room
+        void append(Entry entry) {
+            lock.lock();
+            try {
+                if (size < ring.length && spill.isEmpty()) {
+                    ring[(head + size) % ring.length] = entry;
+                    size++;
+                } else {
+                    spillLast(entry);
+                }
+                accepted();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean offer(Entry entry) {
+            lock.lock();
+            try {
+                if (size == ring.length || !spill.isEmpty()) {
+                    switch (overflowPolicy) {
+                        case DROP -> {
+                            return false;
+                        }
+                        case SPILL -> {
+                            while (spill.size() >= spillCapacity && running) {
+                                notFull.awaitUninterruptibly();
+                            }
+                            spillLast(entry);
+                            spilled.increment();
+                            accepted();
+                            return true;
+                        }
+                        case BLOCK -> {
+                            while (size == ring.length && running) {
+                                notFull.awaitUninterruptibly();
+                            }
+                            if (size == ring.length || !spill.isEmpty()) {
+                                // stopped while waiting; whatever is left is drained on stop
+                                spillLast(entry);
+                                accepted();
+                                return true;
+                            }
+                        }
+                    }
+                }
+                ring[(head + size) % ring.length] = entry;
+                size++;
+                accepted();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // waits for events and moves up to max of them into the batch; false once stopped and empty
+        boolean take(List<Entry> batch, int max) {
+            lock.lock();
+            try {
+                while (size == 0 && spill.isEmpty() && running) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (size == 0 && spill.isEmpty()) {
+                    return false;
+                }
+                while (size > 0 && batch.size() < max) {
+                    batch.add(ring[head]);
+                    ring[head] = null;
+                    head = (head + 1) % ring.length;
+                    size--;
+                }
+                while (!spill.isEmpty() && batch.size() < max && size == 0) {
+                    batch.add(spillFirst());
+                }
+                while (!spill.isEmpty() && size < ring.length) {
+                    ring[(head + size) % ring.length] = spillFirst();
+                    size++;
+                }
+                notFull.signalAll();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void wakeUp() {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void spillLast(Entry entry) {
+            spill.addLast(entry);
+            spillDepth.incrementAndGet();
+        }
+
+        private Entry spillFirst() {
+            spillDepth.decrementAndGet();
+            return spill.pollFirst();
+        }
+
+        private void accepted() {
+            published.increment();
+            pending.incrementAndGet();
+            notEmpty.signal();
+        }
+    }
+}
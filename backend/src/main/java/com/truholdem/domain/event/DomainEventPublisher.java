@@ -2,6 +2,7 @@ package com.truholdem.domain.event;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
@@ -15,10 +16,24 @@ public class DomainEventPublisher {
     private static final Logger log = LoggerFactory.getLogger(DomainEventPublisher.class);
 
     private final ApplicationEventPublisher springPublisher;
+    private final DomainEventPipeline pipeline;
 
+    /**
+     * Publishes synchronously through Spring, on the caller's thread.
+     */
     public DomainEventPublisher(ApplicationEventPublisher springPublisher) {
         this.springPublisher = Objects.requireNonNull(springPublisher, 
                 "Spring publisher cannot be null");
+        this.pipeline = null;
+    }
+
+    /**
+     * Publishes through the pipeline, so listeners never run on the caller's thread.
+     */
+    @Autowired
+    public DomainEventPublisher(DomainEventPipeline pipeline) {
+        this.springPublisher = null;
+        this.pipeline = Objects.requireNonNull(pipeline, "Pipeline cannot be null");
     }
 
     
@@ -29,7 +44,11 @@ public class DomainEventPublisher {
                 event.getEventType(), 
                 event.getGameId());
         
-        springPublisher.publishEvent(event);
+        if (pipeline != null) {
+            pipeline.submit(event);
+        } else {
+            springPublisher.publishEvent(event);
+        }
         
         log.trace("Published event: {}", event);
     }
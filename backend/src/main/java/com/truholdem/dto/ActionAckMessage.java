@@ -0,0 +1,32 @@
+package com.truholdem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.truholdem.model.PlayerAction;
+
+import java.util.UUID;
+
+/**
+ * Reply to the player who sent an action over WebSocket, on {@code /user/queue/ack}. The resulting game
+ * state is not repeated here; it reaches every subscriber, the sender included, as the single update the
+ * action produced on the game topic. Under the delta protocol, {@code sequence} is the number of the latest
+ * update once the action completed, so a client has seen the action's effect after applying that frame.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ActionAckMessage(
+    String correlationId,
+    UUID gameId,
+    PlayerAction action,
+    boolean accepted,
+    Long sequence,
+    String error,
+    long timestamp
+) {
+
+    public static ActionAckMessage accepted(String correlationId, UUID gameId, PlayerAction action, Long sequence) {
+        return new ActionAckMessage(correlationId, gameId, action, true, sequence, null, System.currentTimeMillis());
+    }
+
+    public static ActionAckMessage rejected(String correlationId, UUID gameId, PlayerAction action, String error) {
+        return new ActionAckMessage(correlationId, gameId, action, false, null, error, System.currentTimeMillis());
+    }
+}
@@ -26,9 +26,21 @@ public record EquityResult(
     double confidenceLow,
     
     
-    double confidenceHigh
+    double confidenceHigh,
+    
+    
+    double standardError,
+    
+    
+    CalculationMode mode
 ) {
     
+    public enum CalculationMode {
+        MONTE_CARLO,
+        EXACT
+    }
+    
+    
     public static EquityResult simple(double win, double tie, double lose, int simulations) {
         double equity = win + (tie / 2);
         
@@ -43,7 +55,9 @@ public record EquityResult(
             simulations,
             Map.of(),
             Math.max(0, equity - margin),
-            Math.min(1, equity + margin)
+            Math.min(1, equity + margin),
+            se,
+            CalculationMode.MONTE_CARLO
         );
     }
     
@@ -62,11 +76,54 @@ public record EquityResult(
             simulations,
             handTypes,
             Math.max(0, equity - margin),
-            Math.min(1, equity + margin)
+            Math.min(1, equity + margin),
+            se,
+            CalculationMode.MONTE_CARLO
         );
     }
     
     
+    public static EquityResult sampled(double win, double tie, double lose, double equity, int simulations,
+                                       Map<String, Double> handTypes, double standardError) {
+        double margin = 1.96 * standardError;
+        
+        return new EquityResult(
+            win,
+            tie,
+            lose,
+            equity,
+            simulations,
+            handTypes,
+            Math.max(0, equity - margin),
+            Math.min(1, equity + margin),
+            standardError,
+            CalculationMode.MONTE_CARLO
+        );
+    }
+    
+    
+    public static EquityResult exact(double win, double tie, double lose, double equity,
+                                     int matchups, Map<String, Double> handTypes) {
+        return new EquityResult(
+            win,
+            tie,
+            lose,
+            equity,
+            matchups,
+            handTypes,
+            equity,
+            equity,
+            0.0,
+            CalculationMode.EXACT
+        );
+    }
+    
+    
+    public boolean isExact() {
+        return mode == CalculationMode.EXACT;
+    }
+    
+    
     public String equityPercentage() {
         return String.format("%.1f%%", equity * 100);
     }
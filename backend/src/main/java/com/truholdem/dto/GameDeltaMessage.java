@@ -0,0 +1,69 @@
+package com.truholdem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.truholdem.model.Card;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.GameUpdateType;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sequence-numbered game update for the delta protocol. A {@code SNAPSHOT} frame carries the whole game;
+ * a {@code DELTA} frame carries only the fields that changed since the frame before it, as absolute values,
+ * so it applies cleanly to any snapshot taken at or after the previous sequence.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GameDeltaMessage(
+    Kind kind,
+    GameUpdateType type,
+    UUID gameId,
+    long sequence,
+    Object game,
+    GamePhase phase,
+    Integer currentPot,
+    Integer currentBet,
+    Integer currentPlayerIndex,
+    Integer minRaiseAmount,
+    Integer lastRaiseAmount,
+    List<Card> communityCards,
+    List<PlayerDelta> players,
+    Object payload,
+    String message
+) {
+
+    public enum Kind {
+        SNAPSHOT,
+        DELTA
+    }
+
+    public static GameDeltaMessage snapshot(GameUpdateType type, UUID gameId, Object game, long sequence, Object payload, String message) {
+        return new GameDeltaMessage(Kind.SNAPSHOT, type, gameId, sequence, game,
+            null, null, null, null, null, null, null, null, payload, message);
+    }
+
+    /**
+     * The same frame carrying another projection of the game; deltas carry none and are returned as is.
+     */
+    public GameDeltaMessage withGame(Object view) {
+        if (kind != Kind.SNAPSHOT) {
+            return this;
+        }
+        return new GameDeltaMessage(kind, type, gameId, sequence, view,
+            null, null, null, null, null, null, null, null, payload, message);
+    }
+
+    /**
+     * Changed fields of one player; unchanged fields are null and left out of the JSON.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record PlayerDelta(
+        UUID id,
+        Integer chips,
+        Integer betAmount,
+        Integer totalBetInRound,
+        Boolean folded,
+        @JsonProperty("isAllIn") Boolean allIn
+    ) {}
+}
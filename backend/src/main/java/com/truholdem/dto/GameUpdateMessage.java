@@ -4,13 +4,13 @@ import com.truholdem.model.Game;
 
 public class GameUpdateMessage {
     private String type;
-    private Game gameState;
+    private Object gameState;
     private String message;
     private long timestamp;
 
     public GameUpdateMessage() {}
 
-    public GameUpdateMessage(String type, Game gameState, String message, long timestamp) {
+    public GameUpdateMessage(String type, Object gameState, String message, long timestamp) {
         this.type = type;
         this.gameState = gameState;
         this.message = message;
@@ -25,11 +25,11 @@ public class GameUpdateMessage {
         this.type = type;
     }
 
-    public Game getGameState() {
+    public Object getGameState() {
         return gameState;
     }
 
-    public void setGameState(Game gameState) {
+    public void setGameState(Object gameState) {
         this.gameState = gameState;
     }
 
@@ -53,7 +53,7 @@ public class GameUpdateMessage {
     public String toString() {
         return "GameUpdateMessage{" +
                 "type='" + type + '\'' +
-                ", gameState=" + (gameState != null ? gameState.getId() : null) +
+                ", gameState=" + (gameState instanceof Game game ? game.getId() : gameState) +
                 ", message='" + message + '\'' +
                 ", timestamp=" + timestamp +
                 '}';
@@ -17,6 +17,9 @@ public class PlayerActionRequest {
     @Min(value = 0, message = "Amount cannot be negative")
     private int amount;
 
+    // echoed in the WebSocket acknowledgement so clients can match it to the action they sent
+    private String correlationId;
+
     public PlayerActionRequest() {
     }
 
@@ -51,12 +54,21 @@ public class PlayerActionRequest {
         this.amount = amount;
     }
 
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
     @Override
     public String toString() {
         return "PlayerActionRequest{" +
                 "playerId='" + playerId + '\'' +
                 ", action=" + action +
                 ", amount=" + amount +
+                ", correlationId='" + correlationId + '\'' +
                 '}';
     }
 }
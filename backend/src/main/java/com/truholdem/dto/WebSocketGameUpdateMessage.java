@@ -1,15 +1,15 @@
 package com.truholdem.dto;
 
-import com.truholdem.model.Game;
 import com.truholdem.model.GameUpdateType;
 
 /**
  * DTO representing a game update message for WebSocket broadcasts.
  * Uses GameUpdateType enum for type-safe update categorization.
+ * The game is the viewer's projection of it, usually pre-serialized JSON.
  */
 public record WebSocketGameUpdateMessage(
     GameUpdateType type,
-    Game game,
+    Object game,
     Object payload,
     String message
 ) {}
@@ -51,16 +51,8 @@ public class Achievement {
     public boolean checkRequirement(PlayerStatistics stats) {
         if (stats == null || requirementType == null) return false;
 
-        int currentValue = switch (requirementType) {
-            case "HANDS_WON" -> stats.getHandsWon();
-            case "HANDS_PLAYED" -> stats.getHandsPlayed();
-            case "BIGGEST_POT" -> stats.getBiggestPotWon();
-            case "WIN_STREAK" -> stats.getLongestWinStreak();
-            case "ALL_INS_WON" -> stats.getAllInsWon();
-            case "SHOWDOWNS_WON" -> stats.getShowdownsWon();
-            case "TOTAL_SESSIONS" -> stats.getTotalSessions();
-            default -> 0;
-        };
+        AchievementMetric metric = AchievementMetric.fromRequirementType(requirementType);
+        int currentValue = metric != null ? metric.valueOf(stats) : 0;
 
         return currentValue >= requirementValue;
     }
@@ -0,0 +1,122 @@
+package com.truholdem.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * Achievements compiled for fast unlock checks. Each achievement gets a bit position, so a player's unlocked
+ * achievements fit in a {@link BitSet}, and the achievements of each metric are sorted by the value they
+ * require, so finding those a new value reaches is a binary search. Achievements with an unknown requirement
+ * type are never unlocked.
+ */
+public final class AchievementIndex {
+
+    private final List<Achievement> achievements;
+    private final Map<UUID, Integer> bits = new HashMap<>();
+    private final Map<AchievementMetric, Thresholds> thresholds = new EnumMap<>(AchievementMetric.class);
+
+    private AchievementIndex(List<Achievement> achievements) {
+        this.achievements = List.copyOf(achievements);
+        Map<AchievementMetric, List<Integer>> byMetric = new EnumMap<>(AchievementMetric.class);
+        for (int bit = 0; bit < this.achievements.size(); bit++) {
+            Achievement achievement = this.achievements.get(bit);
+            bits.put(achievement.getId(), bit);
+            AchievementMetric metric = AchievementMetric.fromRequirementType(achievement.getRequirementType());
+            if (metric != null) {
+                byMetric.computeIfAbsent(metric, m -> new ArrayList<>()).add(bit);
+            }
+        }
+        byMetric.forEach((metric, metricBits) -> {
+            metricBits.sort(Comparator.comparingInt(bit -> this.achievements.get(bit).getRequirementValue()));
+            thresholds.put(metric, new Thresholds(
+                metricBits.stream().mapToInt(bit -> this.achievements.get(bit).getRequirementValue()).toArray(),
+                metricBits.stream().mapToInt(Integer::intValue).toArray()));
+        });
+    }
+
+    public static AchievementIndex of(List<Achievement> achievements) {
+        return new AchievementIndex(achievements);
+    }
+
+
+    public int size() {
+        return achievements.size();
+    }
+
+    public BitSet bitsOf(Collection<UUID> achievementIds) {
+        BitSet unlocked = new BitSet(achievements.size());
+        for (UUID id : achievementIds) {
+            Integer bit = bits.get(id);
+            if (bit != null) {
+                unlocked.set(bit);
+            }
+        }
+        return unlocked;
+    }
+
+    /**
+     * Achievements of the metric requiring more than {@code before} and at most {@code after}, skipping unlocked ones.
+     */
+    public List<Achievement> crossed(AchievementMetric metric, int before, int after, BitSet unlocked) {
+        Thresholds metricThresholds = thresholds.get(metric);
+        if (metricThresholds == null || after <= before) {
+            return List.of();
+        }
+        List<Achievement> crossed = new ArrayList<>();
+        for (int i = metricThresholds.firstAbove(before); i < metricThresholds.values.length; i++) {
+            if (metricThresholds.values[i] > after) {
+                break;
+            }
+            int bit = metricThresholds.bits[i];
+            if (!unlocked.get(bit)) {
+                crossed.add(achievements.get(bit));
+            }
+        }
+        return crossed;
+    }
+
+    /**
+     * Every achievement the statistics meet, skipping unlocked ones.
+     */
+    public List<Achievement> reached(PlayerStatistics stats, BitSet unlocked) {
+        List<Achievement> reached = new ArrayList<>();
+        thresholds.forEach((metric, metricThresholds) ->
+            reached.addAll(crossed(metric, Integer.MIN_VALUE, metric.valueOf(stats), unlocked)));
+        return reached;
+    }
+
+    public int bitOf(Achievement achievement) {
+        Integer bit = bits.get(achievement.getId());
+        if (bit == null) {
+            throw new IllegalArgumentException("Achievement not indexed: " + achievement.getCode());
+        }
+        return bit;
+    }
+
+
+    private record Thresholds(int[] values, int[] bits) {
+
+        // index of the first value above the given one; values are sorted ascending
+        int firstAbove(int value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.truholdem.model;
+
+import java.util.function.ToIntFunction;
+
+
+/**
+ * The player statistics an {@link Achievement} can require, named as in its {@code requirementType}.
+ */
+public enum AchievementMetric {
+
+    HANDS_WON(PlayerStatistics::getHandsWon, PlayerStatisticsDelta::getHandsWon),
+    HANDS_PLAYED(PlayerStatistics::getHandsPlayed, PlayerStatisticsDelta::getHandsPlayed),
+    BIGGEST_POT(PlayerStatistics::getBiggestPotWon, null),
+    WIN_STREAK(PlayerStatistics::getLongestWinStreak, null),
+    ALL_INS_WON(PlayerStatistics::getAllInsWon, PlayerStatisticsDelta::getAllInsWon),
+    SHOWDOWNS_WON(PlayerStatistics::getShowdownsWon, PlayerStatisticsDelta::getShowdownsWon),
+    TOTAL_SESSIONS(PlayerStatistics::getTotalSessions, PlayerStatisticsDelta::getTotalSessions);
+
+    private final ToIntFunction<PlayerStatistics> value;
+    // null for metrics that keep a maximum rather than adding up
+    private final ToIntFunction<PlayerStatisticsDelta> increment;
+
+    AchievementMetric(ToIntFunction<PlayerStatistics> value, ToIntFunction<PlayerStatisticsDelta> increment) {
+        this.value = value;
+        this.increment = increment;
+    }
+
+
+    public static AchievementMetric fromRequirementType(String requirementType) {
+        if (requirementType == null) {
+            return null;
+        }
+        for (AchievementMetric metric : values()) {
+            if (metric.name().equals(requirementType)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    public int valueOf(PlayerStatistics stats) {
+        return value.applyAsInt(stats);
+    }
+
+    /**
+     * The value before the delta was applied to the given statistics. For a maximum the delta may have
+     * raised, the previous value is unknown and 0 is returned as a lower bound.
+     */
+    public int valueBefore(PlayerStatistics after, PlayerStatisticsDelta delta) {
+        int current = valueOf(after);
+        if (increment != null) {
+            return current - increment.applyAsInt(delta);
+        }
+        boolean raised = switch (this) {
+            case BIGGEST_POT -> delta.getBiggestPotWon() >= current;
+            case WIN_STREAK -> delta.getLongestWinRun() > 0 || delta.getLeadingWins() > 0;
+            default -> true;
+        };
+        return raised ? 0 : current;
+    }
+}
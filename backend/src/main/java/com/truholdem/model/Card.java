@@ -7,6 +7,10 @@ import jakarta.persistence.Enumerated;
 
 @Embeddable
 public class Card {
+    private static final int RANKS = 13;
+    private static final Suit[] SUITS = Suit.values();
+    private static final Value[] VALUES = Value.values();
+
     @Enumerated(EnumType.STRING)
     private Suit suit;
 
@@ -24,6 +28,24 @@ public class Card {
     }
 
     
+    public static Card fromIndex(int index) {
+        if (index < 0 || index >= CardSet.DECK_SIZE) {
+            throw new IllegalArgumentException("Card index must be between 0 and 51: " + index);
+        }
+        return new Card(SUITS[index / RANKS], VALUES[index % RANKS]);
+    }
+
+    
+    public static int indexOf(Suit suit, Value value) {
+        return suit.ordinal() * RANKS + value.ordinal();
+    }
+
+    
+    public int index() {
+        return indexOf(suit, value);
+    }
+
+    
     public Suit getSuit() {
         return suit;
     }
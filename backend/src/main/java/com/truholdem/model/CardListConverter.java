@@ -0,0 +1,39 @@
+package com.truholdem.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Stores an ordered run of cards as one byte per card (its {@link Card#index()}), so a deck or board
+ * is a single column instead of a row per card in a collection table.
+ */
+@Converter
+public class CardListConverter implements AttributeConverter<List<Card>, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(List<Card> cards) {
+        if (cards == null) {
+            return new byte[0];
+        }
+        byte[] encoded = new byte[cards.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = (byte) cards.get(i).index();
+        }
+        return encoded;
+    }
+
+    @Override
+    public List<Card> convertToEntityAttribute(byte[] encoded) {
+        List<Card> cards = new ArrayList<>(encoded == null ? 0 : encoded.length);
+        if (encoded != null) {
+            for (byte index : encoded) {
+                cards.add(Card.fromIndex(index));
+            }
+        }
+        return cards;
+    }
+}
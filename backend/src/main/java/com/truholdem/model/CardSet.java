@@ -0,0 +1,200 @@
+package com.truholdem.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+
+public final class CardSet implements Iterable<Card> {
+
+    public static final int DECK_SIZE = 52;
+    public static final long FULL_DECK_MASK = (1L << DECK_SIZE) - 1;
+
+    private static final CardSet EMPTY = new CardSet(0L);
+    private static final CardSet FULL_DECK = new CardSet(FULL_DECK_MASK);
+
+    private final long mask;
+
+    private CardSet(long mask) {
+        this.mask = mask;
+    }
+
+
+
+    public static CardSet empty() {
+        return EMPTY;
+    }
+
+    public static CardSet fullDeck() {
+        return FULL_DECK;
+    }
+
+    public static CardSet fromMask(long mask) {
+        if ((mask & ~FULL_DECK_MASK) != 0) {
+            throw new IllegalArgumentException("Mask contains bits outside the 52-card deck");
+        }
+        return new CardSet(mask);
+    }
+
+    public static CardSet of(Card... cards) {
+        long mask = 0L;
+        for (Card card : cards) {
+            mask |= bit(card);
+        }
+        return new CardSet(mask);
+    }
+
+    public static CardSet of(Collection<Card> cards) {
+        return new CardSet(maskOf(cards));
+    }
+
+    public static CardSet of(Collection<Card> first, Collection<Card> second) {
+        return new CardSet(maskOf(first) | maskOf(second));
+    }
+
+
+
+    public static long bit(Card card) {
+        return 1L << card.index();
+    }
+
+    public static long bit(int index) {
+        return 1L << index;
+    }
+
+    public static long maskOf(Collection<Card> cards) {
+        long mask = 0L;
+        if (cards != null) {
+            for (Card card : cards) {
+                mask |= bit(card);
+            }
+        }
+        return mask;
+    }
+
+
+
+    public long mask() {
+        return mask;
+    }
+
+    public int size() {
+        return Long.bitCount(mask);
+    }
+
+    public boolean isEmpty() {
+        return mask == 0L;
+    }
+
+    public boolean contains(Card card) {
+        return (mask & bit(card)) != 0;
+    }
+
+    public boolean contains(int index) {
+        return (mask & bit(index)) != 0;
+    }
+
+    public boolean containsAll(CardSet other) {
+        return (mask & other.mask) == other.mask;
+    }
+
+    public boolean intersects(CardSet other) {
+        return (mask & other.mask) != 0;
+    }
+
+    public boolean intersects(long otherMask) {
+        return (mask & otherMask) != 0;
+    }
+
+    public CardSet with(Card card) {
+        return new CardSet(mask | bit(card));
+    }
+
+    public CardSet without(Card card) {
+        return new CardSet(mask & ~bit(card));
+    }
+
+    public CardSet union(CardSet other) {
+        return new CardSet(mask | other.mask);
+    }
+
+    public CardSet intersection(CardSet other) {
+        return new CardSet(mask & other.mask);
+    }
+
+    public CardSet minus(CardSet other) {
+        return new CardSet(mask & ~other.mask);
+    }
+
+    public CardSet complement() {
+        return new CardSet(~mask & FULL_DECK_MASK);
+    }
+
+
+
+    public void forEachIndex(IntConsumer action) {
+        long remaining = mask;
+        while (remaining != 0) {
+            action.accept(Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+    }
+
+    public int[] toIndexArray() {
+        int[] indices = new int[size()];
+        long remaining = mask;
+        for (int i = 0; remaining != 0; i++) {
+            indices[i] = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+        }
+        return indices;
+    }
+
+    public List<Card> toList() {
+        List<Card> cards = new ArrayList<>(size());
+        forEachIndex(index -> cards.add(Card.fromIndex(index)));
+        return cards;
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<>() {
+            private long remaining = mask;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int index = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return Card.fromIndex(index);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return mask == ((CardSet) o).mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mask);
+    }
+
+    @Override
+    public String toString() {
+        return "CardSet" + toList();
+    }
+}
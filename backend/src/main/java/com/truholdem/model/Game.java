@@ -15,6 +15,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -28,7 +29,6 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.MapKeyColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
-import jakarta.persistence.OrderColumn;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -71,14 +71,12 @@ public class Game {
     @OrderBy("seatPosition ASC")
     private List<Player> players = new ArrayList<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "game_community_cards", joinColumns = @JoinColumn(name = "game_id"))
-    @OrderColumn
+    @Convert(converter = CardListConverter.class)
+    @Column(name = "board_cards", length = 5)
     private List<Card> communityCards = new ArrayList<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "game_deck", joinColumns = @JoinColumn(name = "game_id"))
-    @OrderColumn
+    @Convert(converter = CardListConverter.class)
+    @Column(name = "deck_cards", length = CardSet.DECK_SIZE)
     private List<Card> deck = new ArrayList<>();
 
     private int currentPot;
@@ -474,6 +472,49 @@ public class Game {
                 .orElse(null);
     }
 
+    /**
+     * A detached deep copy of this game, for handing its state to code that must not share the instance
+     * the owning table keeps mutating.
+     */
+    public Game copy() {
+        Game copy = new Game();
+        copy.id = id;
+        copy.version = version;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        for (Player player : players) {
+            copy.addPlayer(player.copy());
+        }
+        copy.communityCards = new ArrayList<>(communityCards);
+        copy.deck = new ArrayList<>(deck);
+        copy.currentPot = currentPot;
+        copy.phase = phase;
+        copy.currentPlayerIndex = currentPlayerIndex;
+        copy.currentBet = currentBet;
+        copy.smallBlind = smallBlind;
+        copy.bigBlind = bigBlind;
+        copy.dealerPosition = dealerPosition;
+        copy.winnerName = winnerName;
+        copy.winningHandDescription = winningHandDescription;
+        copy.winnerIds = new ArrayList<>(winnerIds);
+        copy.isFinished = isFinished;
+        copy.handNumber = handNumber;
+        for (SidePot sidePot : sidePots) {
+            SidePot sidePotCopy = sidePot.copy();
+            if (sidePot.getGame() != null) {
+                sidePotCopy.setGame(copy);
+            }
+            copy.sidePots.add(sidePotCopy);
+        }
+        copy.lastRaiseAmount = lastRaiseAmount;
+        copy.minRaiseAmount = minRaiseAmount;
+        copy.lastAggressorId = lastAggressorId;
+        copy.buttonSeatPosition = buttonSeatPosition;
+        copy.deadButton = deadButton;
+        copy.missedBlinds = new HashMap<>(missedBlinds);
+        return copy;
+    }
+
     public Long getVersion() {
         return version;
     }
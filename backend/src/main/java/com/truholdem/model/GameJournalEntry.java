@@ -0,0 +1,112 @@
+package com.truholdem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+
+@Entity
+@Table(name = "game_journal")
+@IdClass(GameJournalEntry.Key.class)
+public class GameJournalEntry implements Persistable<GameJournalEntry.Key> {
+
+    @Id
+    @Column(name = "game_id")
+    private UUID gameId;
+
+    @Id
+    @Column(name = "sequence_number")
+    private long sequenceNumber;
+
+    @Column(name = "event_type", nullable = false)
+    private short eventType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    public GameJournalEntry() {}
+
+    public GameJournalEntry(UUID gameId, long sequenceNumber, short eventType, Instant occurredAt, byte[] payload) {
+        this.gameId = gameId;
+        this.sequenceNumber = sequenceNumber;
+        this.eventType = eventType;
+        this.occurredAt = occurredAt;
+        this.payload = payload;
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public short getEventType() {
+        return eventType;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(gameId, sequenceNumber);
+    }
+
+    // journal entries are only ever inserted, so saving one never needs a lookup first
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+
+    public static class Key implements Serializable {
+
+        private UUID gameId;
+        private long sequenceNumber;
+
+        public Key() {}
+
+        public Key(UUID gameId, long sequenceNumber) {
+            this.gameId = gameId;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        public UUID getGameId() {
+            return gameId;
+        }
+
+        public long getSequenceNumber() {
+            return sequenceNumber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return sequenceNumber == key.sequenceNumber && Objects.equals(gameId, key.gameId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(gameId, sequenceNumber);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.truholdem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+
+@Entity
+@Table(name = "game_snapshots")
+public class GameSnapshot {
+
+    @Id
+    @Column(name = "game_id")
+    private UUID gameId;
+
+    // the journal entries up to and including this one are folded into the payload
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+
+    @Column(name = "hand_number", nullable = false)
+    private int handNumber;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    public GameSnapshot() {}
+
+    public GameSnapshot(UUID gameId, long sequenceNumber, int handNumber, byte[] payload) {
+        this.gameId = gameId;
+        this.sequenceNumber = sequenceNumber;
+        this.handNumber = handNumber;
+        this.createdAt = Instant.now();
+        this.payload = payload;
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public int getHandNumber() {
+        return handNumber;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
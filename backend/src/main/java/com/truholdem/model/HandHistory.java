@@ -1,9 +1,12 @@
 package com.truholdem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -38,22 +41,27 @@ public class HandHistory {
     private int finalPot;
 
     
-    @ElementCollection
-    @CollectionTable(name = "hand_history_players", joinColumns = @JoinColumn(name = "hand_history_id"))
+    @Transient
     private List<HandHistoryPlayer> players = new ArrayList<>();
 
-    
-    @ElementCollection
-    @CollectionTable(name = "hand_history_actions", joinColumns = @JoinColumn(name = "hand_history_id"))
-    @OrderColumn(name = "action_order")
+    @Transient
     private List<ActionRecord> actions = new ArrayList<>();
 
-    
-    @ElementCollection
-    @CollectionTable(name = "hand_history_board", joinColumns = @JoinColumn(name = "hand_history_id"))
-    @OrderColumn(name = "card_order")
+    @Transient
     private List<CardRecord> board = new ArrayList<>();
 
+    // the players, actions and board above, encoded by HandHistoryCodec
+    @JsonIgnore
+    @Column(name = "payload")
+    private byte[] payload;
+
+    // only kept so hands can be found by participant without decoding every payload
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "hand_history_participants", joinColumns = @JoinColumn(name = "hand_history_id"))
+    @Column(name = "player_id")
+    private Set<UUID> participantIds = new HashSet<>();
+
     
     public HandHistory() {}
 
@@ -100,6 +108,29 @@ public class HandHistory {
         this.finalPot = pot;
     }
 
+    @PrePersist
+    void encodeDetails() {
+        this.payload = HandHistoryCodec.encode(this);
+        this.participantIds = participantIdsOf(players);
+    }
+
+    @PostLoad
+    void decodeDetails() {
+        if (payload != null) {
+            HandHistoryCodec.decodeInto(payload, this);
+        }
+    }
+
+    public static Set<UUID> participantIdsOf(List<HandHistoryPlayer> players) {
+        Set<UUID> ids = new HashSet<>();
+        for (HandHistoryPlayer player : players) {
+            if (player.getPlayerId() != null) {
+                ids.add(player.getPlayerId());
+            }
+        }
+        return ids;
+    }
+
     
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -140,9 +171,14 @@ public class HandHistory {
     public List<CardRecord> getBoard() { return board; }
     public void setBoard(List<CardRecord> board) { this.board = board; }
 
+    public byte[] getPayload() { return payload; }
+    public void setPayload(byte[] payload) { this.payload = payload; }
+
+    public Set<UUID> getParticipantIds() { return participantIds; }
+    public void setParticipantIds(Set<UUID> participantIds) { this.participantIds = participantIds; }
+
     
 
-    @Embeddable
     public static class HandHistoryPlayer {
         private UUID playerId;
         private String playerName;
@@ -192,7 +228,6 @@ public class HandHistory {
         public void setHoleCard2Value(String holeCard2Value) { this.holeCard2Value = holeCard2Value; }
     }
 
-    @Embeddable
     public record ActionRecord(
         UUID playerId,
         String playerName,
@@ -206,7 +241,6 @@ public class HandHistory {
         }
     }
 
-    @Embeddable
     public record CardRecord(String suit, String value) {
         public CardRecord() {
             this(null, null);
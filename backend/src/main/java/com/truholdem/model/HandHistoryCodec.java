@@ -0,0 +1,318 @@
+package com.truholdem.model;
+
+import com.truholdem.model.HandHistory.ActionRecord;
+import com.truholdem.model.HandHistory.CardRecord;
+import com.truholdem.model.HandHistory.HandHistoryPlayer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+
+/**
+ * Binary encoding of a whole hand history except its id, stored as one blob per hand instead of a row
+ * per player, action and board card. Cards are their one-byte {@link Card#index()}, numbers are varints,
+ * an action is one opcode byte (action and phase ordinals) plus a reference to the acting seat, and
+ * action timestamps are stored relative to the start of the hand.
+ */
+public final class HandHistoryCodec {
+
+    private static final int FORMAT = 1;
+
+    private static final int NO_CARD = 0xFF;
+    private static final int ESCAPE = 0x07;
+    private static final int HAS_TIMESTAMP = 0x40;
+
+    private static final PlayerAction[] ACTIONS = PlayerAction.values();
+    private static final GamePhase[] PHASES = GamePhase.values();
+
+    private HandHistoryCodec() {
+    }
+
+
+    public static byte[] encode(HandHistory history) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            writeNullableUuid(out, history.getGameId());
+            writeSigned(out, history.getHandNumber());
+            writeSigned(out, history.getSmallBlind());
+            writeSigned(out, history.getBigBlind());
+            writeSigned(out, history.getDealerPosition());
+            writeSigned(out, history.getFinalPot());
+            writeTime(out, history.getPlayedAt());
+            writeNullableString(out, history.getWinnerName());
+            writeNullableString(out, history.getWinningHandDescription());
+
+            List<HandHistoryPlayer> players = history.getPlayers();
+            writeVarInt(out, players.size());
+            for (HandHistoryPlayer player : players) {
+                writeNullableUuid(out, player.getPlayerId());
+                writeNullableString(out, player.getPlayerName());
+                writeSigned(out, player.getStartingChips());
+                writeSigned(out, player.getSeatPosition());
+                out.writeByte(cardByte(player.getHoleCard1Suit(), player.getHoleCard1Value()));
+                out.writeByte(cardByte(player.getHoleCard2Suit(), player.getHoleCard2Value()));
+            }
+
+            writeVarInt(out, history.getActions().size());
+            for (ActionRecord action : history.getActions()) {
+                writeAction(out, action, players, history.getPlayedAt());
+            }
+
+            writeVarInt(out, history.getBoard().size());
+            for (CardRecord card : history.getBoard()) {
+                out.writeByte(cardByte(card.suit(), card.value()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode hand history " + history.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static HandHistory decode(UUID id, byte[] payload) {
+        HandHistory history = new HandHistory();
+        history.setId(id);
+        decodeInto(payload, history);
+        return history;
+    }
+
+    // overwrites every field but the id, including the player, action and board lists
+    public static void decodeInto(byte[] payload, HandHistory history) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int format = in.readUnsignedByte();
+            if (format != FORMAT) {
+                throw new IOException("Unsupported hand history format " + format);
+            }
+            history.setGameId(readNullableUuid(in));
+            history.setHandNumber(readSigned(in));
+            history.setSmallBlind(readSigned(in));
+            history.setBigBlind(readSigned(in));
+            history.setDealerPosition(readSigned(in));
+            history.setFinalPot(readSigned(in));
+            history.setPlayedAt(readTime(in));
+            history.setWinnerName(readNullableString(in));
+            history.setWinningHandDescription(readNullableString(in));
+
+            int playerCount = readVarInt(in);
+            List<HandHistoryPlayer> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                HandHistoryPlayer player = new HandHistoryPlayer();
+                player.setPlayerId(readNullableUuid(in));
+                player.setPlayerName(readNullableString(in));
+                player.setStartingChips(readSigned(in));
+                player.setSeatPosition(readSigned(in));
+                Card first = readCard(in);
+                Card second = readCard(in);
+                if (first != null) {
+                    player.setHoleCard1Suit(first.getSuit().name());
+                    player.setHoleCard1Value(first.getValue().name());
+                }
+                if (second != null) {
+                    player.setHoleCard2Suit(second.getSuit().name());
+                    player.setHoleCard2Value(second.getValue().name());
+                }
+                players.add(player);
+            }
+            history.setPlayers(players);
+
+            int actionCount = readVarInt(in);
+            List<ActionRecord> actions = new ArrayList<>(actionCount);
+            for (int i = 0; i < actionCount; i++) {
+                actions.add(readAction(in, players, history.getPlayedAt()));
+            }
+            history.setActions(actions);
+
+            int boardCount = readVarInt(in);
+            List<CardRecord> board = new ArrayList<>(boardCount);
+            for (int i = 0; i < boardCount; i++) {
+                Card card = readCard(in);
+                board.add(card != null
+                    ? new CardRecord(card.getSuit().name(), card.getValue().name())
+                    : new CardRecord());
+            }
+            history.setBoard(board);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode hand history " + history.getId(), e);
+        }
+    }
+
+
+
+    // opcode: bits 0-2 action ordinal, bits 3-5 phase ordinal (7 = spelled out), bit 6 = has timestamp
+    private static void writeAction(DataOutputStream out, ActionRecord action, List<HandHistoryPlayer> players,
+                                    LocalDateTime handStart) throws IOException {
+        int actionCode = ordinalOf(ACTIONS, action.action());
+        int phaseCode = ordinalOf(PHASES, action.phase());
+        boolean timed = action.timestamp() != null && handStart != null;
+        out.writeByte(actionCode | phaseCode << 3 | (timed ? HAS_TIMESTAMP : 0));
+        if (actionCode == ESCAPE) {
+            writeNullableString(out, action.action());
+        }
+        if (phaseCode == ESCAPE) {
+            writeNullableString(out, action.phase());
+        }
+
+        int seat = seatOf(players, action.playerId(), action.playerName());
+        writeVarInt(out, seat);
+        if (seat == players.size()) {
+            writeNullableUuid(out, action.playerId());
+            writeNullableString(out, action.playerName());
+        }
+
+        writeSigned(out, action.amount());
+        if (timed) {
+            writeSignedLong(out, Duration.between(handStart, action.timestamp()).toNanos());
+        }
+    }
+
+    private static ActionRecord readAction(DataInputStream in, List<HandHistoryPlayer> players,
+                                           LocalDateTime handStart) throws IOException {
+        int opcode = in.readUnsignedByte();
+        int actionCode = opcode & 0x07;
+        int phaseCode = (opcode >>> 3) & 0x07;
+        String action = actionCode == ESCAPE ? readNullableString(in) : ACTIONS[actionCode].name();
+        String phase = phaseCode == ESCAPE ? readNullableString(in) : PHASES[phaseCode].name();
+
+        int seat = readVarInt(in);
+        UUID playerId;
+        String playerName;
+        if (seat < players.size()) {
+            playerId = players.get(seat).getPlayerId();
+            playerName = players.get(seat).getPlayerName();
+        } else {
+            playerId = readNullableUuid(in);
+            playerName = readNullableString(in);
+        }
+
+        int amount = readSigned(in);
+        LocalDateTime timestamp = (opcode & HAS_TIMESTAMP) != 0
+            ? handStart.plusNanos(readSignedLong(in))
+            : null;
+        return new ActionRecord(playerId, playerName, action, amount, phase, timestamp);
+    }
+
+    private static int seatOf(List<HandHistoryPlayer> players, UUID playerId, String playerName) {
+        for (int i = 0; i < players.size(); i++) {
+            HandHistoryPlayer player = players.get(i);
+            if (Objects.equals(player.getPlayerId(), playerId) && Objects.equals(player.getPlayerName(), playerName)) {
+                return i;
+            }
+        }
+        return players.size();
+    }
+
+    private static <E extends Enum<E>> int ordinalOf(E[] values, String name) {
+        for (E value : values) {
+            if (value.name().equals(name)) {
+                return value.ordinal();
+            }
+        }
+        return ESCAPE;
+    }
+
+    private static int cardByte(String suit, String value) {
+        if (suit == null || value == null) {
+            return NO_CARD;
+        }
+        return Card.indexOf(Suit.valueOf(suit), Value.valueOf(value));
+    }
+
+    private static Card readCard(DataInputStream in) throws IOException {
+        int index = in.readUnsignedByte();
+        return index == NO_CARD ? null : Card.fromIndex(index);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static void writeSigned(DataOutputStream out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    private static int readSigned(DataInputStream in) throws IOException {
+        int zigzag = readVarInt(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static void writeSignedLong(DataOutputStream out, long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static long readSignedLong(DataInputStream in) throws IOException {
+        long zigzag = readVarLong(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeSignedLong(out, value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(out, value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        return in.readBoolean()
+            ? LocalDateTime.ofEpochSecond(readSignedLong(in), readVarInt(in), ZoneOffset.UTC)
+            : null;
+    }
+
+    private static void writeNullableUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readNullableUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -1,22 +1,71 @@
 package com.truholdem.model;
 
 import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 
 
 public class HandRange {
 
+    public static final int COMBO_COUNT = 1326;
+
+    private static final int WORDS = (COMBO_COUNT + Long.SIZE - 1) / Long.SIZE;
+    private static final long[] COMBO_MASKS = new long[COMBO_COUNT];
+
+    static {
+        for (int high = 1; high < CardSet.DECK_SIZE; high++) {
+            for (int low = 0; low < high; low++) {
+                COMBO_MASKS[comboIndex(low, high)] = CardSet.bit(low) | CardSet.bit(high);
+            }
+        }
+    }
+
+    private static final HandRange PREMIUM = buildPremiumRange();
+    private static final HandRange EARLY_POSITION_OPEN = buildEarlyPositionOpen();
+    private static final HandRange MIDDLE_POSITION_OPEN = buildMiddlePositionOpen();
+    private static final HandRange BUTTON_OPEN = buildButtonOpen();
+    private static final HandRange BIG_BLIND_DEFEND = buildBigBlindDefend();
+    private static final HandRange THREE_BET = buildThreeBetRange();
+    private static final HandRange ALL_IN_CALLING = buildAllInCallingRange();
+    private static final HandRange ANY_TWO_CARDS = buildAnyTwoCards();
+
     private final Set<HandCombo> includedHands;
     private final String description;
 
+    // bit i set when combo i is in the range; weights is null when every included combo has weight 1
+    private final long[] combos;
+    private final float[] weights;
+    private final int comboCount;
+
+    private volatile Expansion lastExpansion;
+
     private HandRange(Set<HandCombo> hands, String description) {
+        this(hands, description, compile(hands), null);
+    }
+
+    private HandRange(Set<HandCombo> hands, String description, long[] combos, float[] weights) {
         this.includedHands = Collections.unmodifiableSet(new HashSet<>(hands));
         this.description = description;
+        this.combos = combos;
+        this.weights = weights;
+        int count = 0;
+        for (long word : combos) {
+            count += Long.bitCount(word);
+        }
+        this.comboCount = count;
+    }
+
+    private record Expansion(long deadCards, long[] masks) {
     }
 
 
 
 
     public static HandRange premiumRange() {
+        return PREMIUM;
+    }
+
+    private static HandRange buildPremiumRange() {
         Set<HandCombo> hands = new HashSet<>();
 
         hands.add(HandCombo.pocketPair(Value.ACE));
@@ -29,6 +78,10 @@ public class HandRange {
 
 
     public static HandRange earlyPositionOpen() {
+        return EARLY_POSITION_OPEN;
+    }
+
+    private static HandRange buildEarlyPositionOpen() {
         Set<HandCombo> hands = new HashSet<>();
 
         for (Value v : List.of(Value.ACE, Value.KING, Value.QUEEN, Value.JACK, Value.TEN)) {
@@ -46,7 +99,11 @@ public class HandRange {
 
 
     public static HandRange middlePositionOpen() {
-        Set<HandCombo> hands = new HashSet<>(earlyPositionOpen().includedHands);
+        return MIDDLE_POSITION_OPEN;
+    }
+
+    private static HandRange buildMiddlePositionOpen() {
+        Set<HandCombo> hands = new HashSet<>(EARLY_POSITION_OPEN.includedHands);
 
         hands.add(HandCombo.pocketPair(Value.NINE));
         hands.add(HandCombo.pocketPair(Value.EIGHT));
@@ -64,6 +121,10 @@ public class HandRange {
 
 
     public static HandRange buttonOpen() {
+        return BUTTON_OPEN;
+    }
+
+    private static HandRange buildButtonOpen() {
         Set<HandCombo> hands = new HashSet<>();
 
         for (Value v : Value.values()) {
@@ -101,6 +162,10 @@ public class HandRange {
 
 
     public static HandRange bigBlindDefend() {
+        return BIG_BLIND_DEFEND;
+    }
+
+    private static HandRange buildBigBlindDefend() {
         Set<HandCombo> hands = new HashSet<>();
 
         for (Value v : Value.values()) {
@@ -135,6 +200,10 @@ public class HandRange {
 
 
     public static HandRange threeBetRange() {
+        return THREE_BET;
+    }
+
+    private static HandRange buildThreeBetRange() {
         Set<HandCombo> hands = new HashSet<>();
 
         hands.add(HandCombo.pocketPair(Value.ACE));
@@ -153,6 +222,10 @@ public class HandRange {
 
 
     public static HandRange allInCallingRange() {
+        return ALL_IN_CALLING;
+    }
+
+    private static HandRange buildAllInCallingRange() {
         Set<HandCombo> hands = new HashSet<>();
 
         hands.add(HandCombo.pocketPair(Value.ACE));
@@ -167,6 +240,24 @@ public class HandRange {
     }
 
 
+    public static HandRange anyTwoCards() {
+        return ANY_TWO_CARDS;
+    }
+
+    private static HandRange buildAnyTwoCards() {
+        Set<HandCombo> hands = new HashSet<>();
+        Value[] values = Value.values();
+
+        for (int i = 0; i < values.length; i++) {
+            hands.add(HandCombo.pocketPair(values[i]));
+            for (int j = 0; j < i; j++) {
+                hands.add(HandCombo.any(values[i], values[j]));
+            }
+        }
+        return new HandRange(hands, "Any Two Cards (100%)");
+    }
+
+
     public static HandRange forPositionType(PositionType positionType) {
         return switch (positionType) {
             case EARLY -> earlyPositionOpen();
@@ -180,10 +271,12 @@ public class HandRange {
 
     public static HandRange fromNotation(String notation) {
         Set<HandCombo> hands = new HashSet<>();
+        Map<HandCombo, Float> partialWeights = new HashMap<>();
         String[] parts = notation.split(",");
 
         for (String part : parts) {
-            String hand = part.trim().toUpperCase();
+            String[] handAndWeight = part.split(":", 2);
+            String hand = handAndWeight[0].trim().toUpperCase();
             if (hand.length() < 2) continue;
 
             Value v1 = parseValue(hand.charAt(0));
@@ -191,19 +284,39 @@ public class HandRange {
 
             if (v1 == null || v2 == null) continue;
 
+            HandCombo combo;
             if (v1 == v2) {
 
-                hands.add(HandCombo.pocketPair(v1));
+                combo = HandCombo.pocketPair(v1);
             } else if (hand.length() >= 3 && hand.charAt(2) == 'S') {
-                hands.add(HandCombo.suited(v1, v2));
+                combo = HandCombo.suited(v1, v2);
             } else if (hand.length() >= 3 && hand.charAt(2) == 'O') {
-                hands.add(HandCombo.offsuit(v1, v2));
+                combo = HandCombo.offsuit(v1, v2);
             } else {
-                hands.add(HandCombo.any(v1, v2));
+                combo = HandCombo.any(v1, v2);
+            }
+
+            float weight = handAndWeight.length > 1 ? parseWeight(handAndWeight[1]) : 1f;
+            if (weight <= 0f) continue;
+            hands.add(combo);
+            if (weight < 1f) {
+                partialWeights.put(combo, weight);
+            } else {
+                partialWeights.remove(combo);
             }
         }
 
-        return new HandRange(hands, "Custom: " + notation);
+        long[] combos = compile(hands);
+        float[] weights = null;
+        if (!partialWeights.isEmpty()) {
+            weights = uniformWeights(combos);
+            for (Map.Entry<HandCombo, Float> entry : partialWeights.entrySet()) {
+                float weight = entry.getValue();
+                float[] target = weights;
+                entry.getKey().forEachConcreteHand(CardSet.empty(), mask -> target[comboIndex(mask)] = weight);
+            }
+        }
+        return new HandRange(hands, "Custom: " + notation, combos, weights);
     }
 
     private static Value parseValue(char c) {
@@ -225,54 +338,246 @@ public class HandRange {
         };
     }
 
+    private static float parseWeight(String text) {
+        String trimmed = text.trim();
+        try {
+            float weight = trimmed.endsWith("%")
+                ? Float.parseFloat(trimmed.substring(0, trimmed.length() - 1)) / 100f
+                : Float.parseFloat(trimmed);
+            return Math.min(1f, weight);
+        } catch (NumberFormatException e) {
+            return 1f;
+        }
+    }
+
+
+
+
+    public static int comboIndex(long handMask) {
+        return comboIndex(Long.numberOfTrailingZeros(handMask), 63 - Long.numberOfLeadingZeros(handMask));
+    }
+
+    public static long comboMask(int comboIndex) {
+        return COMBO_MASKS[comboIndex];
+    }
+
+    // colexicographic order, so ascending index is also ascending mask value
+    private static int comboIndex(int lowCard, int highCard) {
+        return highCard * (highCard - 1) / 2 + lowCard;
+    }
+
+    private static long[] compile(Set<HandCombo> hands) {
+        long[] combos = new long[WORDS];
+        for (HandCombo combo : hands) {
+            combo.forEachConcreteHand(CardSet.empty(), mask -> {
+                int index = comboIndex(mask);
+                combos[index >>> 6] |= 1L << index;
+            });
+        }
+        return combos;
+    }
+
+    private static float[] uniformWeights(long[] combos) {
+        float[] weights = new float[COMBO_COUNT];
+        forEachCombo(combos, index -> weights[index] = 1f);
+        return weights;
+    }
+
+    private static void forEachCombo(long[] combos, IntConsumer action) {
+        for (int word = 0; word < WORDS; word++) {
+            for (long bits = combos[word]; bits != 0; bits &= bits - 1) {
+                action.accept((word << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        }
+    }
+
+
+
+
+    public boolean contains(long handMask) {
+        int index = comboIndex(handMask);
+        return (combos[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public double weight(long handMask) {
+        if (!contains(handMask)) return 0.0;
+        return weights == null ? 1.0 : weights[comboIndex(handMask)];
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
 
+    public int liveComboMasks(long deadCards, long[] target) {
+        int size = 0;
+        for (int word = 0; word < WORDS; word++) {
+            for (long bits = combos[word]; bits != 0; bits &= bits - 1) {
+                long hand = COMBO_MASKS[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                if ((hand & deadCards) == 0) {
+                    target[size++] = hand;
+                }
+            }
+        }
+        return size;
+    }
+
+    public float[] comboWeights(long[] handMasks) {
+        float[] result = new float[handMasks.length];
+        for (int i = 0; i < handMasks.length; i++) {
+            result[i] = (float) weight(handMasks[i]);
+        }
+        return result;
+    }
 
 
     public List<List<Card>> generateHands(Set<Card> deadCards) {
         List<List<Card>> result = new ArrayList<>();
 
-        for (HandCombo combo : includedHands) {
-            result.addAll(combo.generateConcreteHands(deadCards));
+        for (long hand : generateHandMasks(CardSet.of(deadCards))) {
+            result.add(CardSet.fromMask(hand).toList());
         }
 
         return result;
     }
 
 
-    public double getRangePercentage() {
-        int totalCombos = 0;
-        for (HandCombo combo : includedHands) {
-            totalCombos += combo.getComboCount();
+    public List<CardSet> generateHands(CardSet deadCards) {
+        List<CardSet> result = new ArrayList<>();
+
+        for (long hand : generateHandMasks(deadCards)) {
+            result.add(CardSet.fromMask(hand));
         }
-        return (totalCombos / 1326.0) * 100;
+
+        return result;
     }
 
 
-    public boolean containsHand(Card card1, Card card2) {
-        Value v1 = card1.getValue();
-        Value v2 = card2.getValue();
-        boolean suited = card1.getSuit() == card2.getSuit();
+    // the expansion for the most recent dead-card set is shared between callers and must not be modified
+    public long[] generateHandMasks(CardSet deadCards) {
+        Expansion expansion = lastExpansion;
+        if (expansion != null && expansion.deadCards() == deadCards.mask()) {
+            return expansion.masks();
+        }
+
+        long[] masks = new long[comboCount];
+        long[] result = Arrays.copyOf(masks, liveComboMasks(deadCards.mask(), masks));
+        lastExpansion = new Expansion(deadCards.mask(), result);
+        return result;
+    }
 
-        for (HandCombo combo : includedHands) {
-            if (combo.matches(v1, v2, suited)) {
-                return true;
+
+    public double getRangePercentage() {
+        double totalCombos = comboCount;
+        if (weights != null) {
+            totalCombos = 0;
+            for (float weight : weights) {
+                totalCombos += weight;
             }
         }
-        return false;
+        return (totalCombos / COMBO_COUNT) * 100;
+    }
+
+
+    public boolean containsHand(Card card1, Card card2) {
+        return !card1.equals(card2) && contains(CardSet.bit(card1) | CardSet.bit(card2));
     }
 
 
     public HandRange union(HandRange other) {
-        Set<HandCombo> combined = new HashSet<>(this.includedHands);
-        combined.addAll(other.includedHands);
-        return new HandRange(combined, this.description + " + " + other.description);
+        long[] combined = new long[WORDS];
+        for (int word = 0; word < WORDS; word++) {
+            combined[word] = this.combos[word] | other.combos[word];
+        }
+
+        float[] combinedWeights = null;
+        if (this.weights != null || other.weights != null) {
+            float[] result = new float[COMBO_COUNT];
+            forEachCombo(combined, index ->
+                result[index] = Math.max(this.weightAt(index), other.weightAt(index)));
+            combinedWeights = result;
+        }
+
+        Set<HandCombo> hands = new HashSet<>(this.includedHands);
+        hands.addAll(other.includedHands);
+        return new HandRange(hands, this.description + " + " + other.description, combined, combinedWeights);
     }
 
 
     public HandRange intersect(HandRange other) {
-        Set<HandCombo> intersection = new HashSet<>(this.includedHands);
-        intersection.retainAll(other.includedHands);
-        return new HandRange(intersection, this.description + " ∩ " + other.description);
+        long[] common = new long[WORDS];
+        for (int word = 0; word < WORDS; word++) {
+            common[word] = this.combos[word] & other.combos[word];
+        }
+
+        float[] commonWeights = null;
+        if (this.weights != null || other.weights != null) {
+            float[] result = new float[COMBO_COUNT];
+            forEachCombo(common, index ->
+                result[index] = Math.min(this.weightAt(index), other.weightAt(index)));
+            commonWeights = result;
+        }
+
+        return new HandRange(handClasses(common), this.description + " ∩ " + other.description,
+            common, commonWeights);
+    }
+
+
+    public HandRange withWeight(HandCombo combo, double weight) {
+        if (weight <= 0 || weight > 1) {
+            throw new IllegalArgumentException("Weight must be in (0, 1]: " + weight);
+        }
+
+        long[] updated = combos.clone();
+        float[] updatedWeights = weights != null ? weights.clone() : uniformWeights(combos);
+        combo.forEachConcreteHand(CardSet.empty(), mask -> {
+            int index = comboIndex(mask);
+            updated[index >>> 6] |= 1L << index;
+            updatedWeights[index] = (float) weight;
+        });
+
+        Set<HandCombo> hands = new HashSet<>(includedHands);
+        hands.add(combo);
+        return new HandRange(hands, description, updated, updatedWeights);
+    }
+
+    private float weightAt(int index) {
+        if ((combos[index >>> 6] & (1L << index)) == 0) return 0f;
+        return weights == null ? 1f : weights[index];
+    }
+
+    private static Set<HandCombo> handClasses(long[] combos) {
+        Set<HandCombo> hands = new HashSet<>();
+        Value[] values = Value.values();
+
+        for (int high = 0; high < values.length; high++) {
+            for (int low = 0; low <= high; low++) {
+                if (high == low) {
+                    addIfComplete(hands, combos, HandCombo.pocketPair(values[high]));
+                } else {
+                    boolean suited = addIfComplete(hands, combos, HandCombo.suited(values[high], values[low]));
+                    boolean offsuit = addIfComplete(hands, combos, HandCombo.offsuit(values[high], values[low]));
+                    if (suited && offsuit) {
+                        hands.remove(HandCombo.suited(values[high], values[low]));
+                        hands.remove(HandCombo.offsuit(values[high], values[low]));
+                        hands.add(HandCombo.any(values[high], values[low]));
+                    }
+                }
+            }
+        }
+        return hands;
+    }
+
+    private static boolean addIfComplete(Set<HandCombo> hands, long[] combos, HandCombo combo) {
+        boolean[] complete = {true};
+        combo.forEachConcreteHand(CardSet.empty(), mask -> {
+            int index = comboIndex(mask);
+            complete[0] &= (combos[index >>> 6] & (1L << index)) != 0;
+        });
+        if (complete[0]) {
+            hands.add(combo);
+        }
+        return complete[0];
     }
 
 
@@ -286,9 +591,20 @@ public class HandRange {
     }
 
     public int getComboCount() {
-        return includedHands.stream()
-            .mapToInt(HandCombo::getComboCount)
-            .sum();
+        return comboCount;
+    }
+
+    // ranges are equal when they hold the same combos at the same weights, whatever their description
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HandRange other)) return false;
+        return Arrays.equals(combos, other.combos) && Arrays.equals(weights, other.weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(combos) + Arrays.hashCode(weights);
     }
 
     @Override
@@ -359,6 +675,18 @@ public class HandRange {
             };
         }
 
+        public Value getHighCard() {
+            return highCard;
+        }
+
+        public Value getLowCard() {
+            return lowCard;
+        }
+
+        public ComboType getType() {
+            return type;
+        }
+
         public int getComboCount() {
             return switch (type) {
                 case POCKET_PAIR -> 6;
@@ -410,6 +738,38 @@ public class HandRange {
             return hands;
         }
 
+        public List<CardSet> generateConcreteHands(CardSet deadCards) {
+            List<CardSet> hands = new ArrayList<>();
+            forEachConcreteHand(deadCards, mask -> hands.add(CardSet.fromMask(mask)));
+            return hands;
+        }
+
+
+        public void forEachConcreteHand(CardSet deadCards, LongConsumer action) {
+            Suit[] suits = Suit.values();
+
+            for (int i = 0; i < suits.length; i++) {
+                int firstSuitStart = type == ComboType.POCKET_PAIR ? i + 1 : 0;
+                for (int j = firstSuitStart; j < suits.length; j++) {
+                    boolean isSuited = i == j;
+                    boolean shouldInclude = switch (type) {
+                        case POCKET_PAIR -> true;
+                        case SUITED -> isSuited;
+                        case OFFSUIT -> !isSuited;
+                        case ANY -> true;
+                    };
+
+                    if (shouldInclude) {
+                        long hand = CardSet.bit(Card.indexOf(suits[i], highCard))
+                            | CardSet.bit(Card.indexOf(suits[j], lowCard));
+                        if (!deadCards.intersects(hand)) {
+                            action.accept(hand);
+                        }
+                    }
+                }
+            }
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -232,6 +232,25 @@ public class Player implements Persistable<UUID> {
         this.userId = userId;
     }
 
+    // a detached copy without its game; Game.copy() seats it in the copied game
+    Player copy() {
+        Player copy = new Player();
+        copy.id = id;
+        copy.version = version;
+        copy.name = name;
+        copy.hand = new ArrayList<>(hand);
+        copy.chips = chips;
+        copy.betAmount = betAmount;
+        copy.totalBetInRound = totalBetInRound;
+        copy.isFolded = isFolded;
+        copy.isBot = isBot;
+        copy.hasActed = hasActed;
+        copy.isAllIn = isAllIn;
+        copy.seatPosition = seatPosition;
+        copy.userId = userId;
+        return copy;
+    }
+
     /**
      * Checks if this player is owned by the specified user.
      * Bot players are not owned by any user.
@@ -0,0 +1,268 @@
+package com.truholdem.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+/**
+ * Changes to one player's {@link PlayerStatistics} that have not been written yet, recorded with the same
+ * methods as the entity so many events collapse into one update. Counters simply add up. Win and lose
+ * streaks depend on the order of results, so they are kept as a run summary (leading run, trailing run,
+ * longest run of each kind) that can be applied on top of the stored streaks or appended to a later delta.
+ */
+public class PlayerStatisticsDelta {
+
+    private final String playerName;
+
+    private int handsPlayed;
+    private int handsVoluntarilyPutInPot;
+    private int handsRaisedPreFlop;
+    private LocalDateTime lastHandPlayed;
+
+    private int totalBets;
+    private int totalRaises;
+    private int totalCalls;
+    private int totalFolds;
+    private int totalChecks;
+
+    private int handsWon;
+    private long totalWinnings;
+    private long totalLosses;
+    private int biggestPotWon;
+
+    private int handsWentToShowdown;
+    private int showdownsWon;
+    private int timesAllIn;
+    private int allInsWon;
+    private int totalSessions;
+
+    private int events;
+    // writes of this delta the database has refused
+    private int rejections;
+
+    // win/loss sequence summary
+    private boolean sawWin;
+    private boolean sawLoss;
+    private int leadingWins;
+    private int leadingLosses;
+    private int trailingWins;
+    private int trailingLosses;
+    private int longestWinRun;
+    private int longestLossRun;
+
+    public PlayerStatisticsDelta(String playerName) {
+        this.playerName = playerName;
+    }
+
+
+
+    public void recordHandPlayed(boolean voluntarilyPutIn, boolean raisedPreFlop) {
+        handsPlayed++;
+        lastHandPlayed = LocalDateTime.now();
+        if (voluntarilyPutIn) {
+            handsVoluntarilyPutInPot++;
+        }
+        if (raisedPreFlop) {
+            handsRaisedPreFlop++;
+        }
+        events++;
+    }
+
+    public void recordBet() {
+        totalBets++;
+        events++;
+    }
+
+    public void recordRaise() {
+        totalRaises++;
+        events++;
+    }
+
+    public void recordCall() {
+        totalCalls++;
+        events++;
+    }
+
+    public void recordFold() {
+        totalFolds++;
+        events++;
+    }
+
+    public void recordCheck() {
+        totalChecks++;
+        events++;
+    }
+
+    public void recordAllIn() {
+        timesAllIn++;
+        events++;
+    }
+
+    public void recordShowdown(boolean won) {
+        handsWentToShowdown++;
+        if (won) {
+            showdownsWon++;
+        }
+        events++;
+    }
+
+    public void recordWin(int potAmount) {
+        handsWon++;
+        totalWinnings += potAmount;
+        biggestPotWon = Math.max(biggestPotWon, potAmount);
+
+        if (!sawLoss) {
+            leadingWins++;
+        }
+        sawWin = true;
+        trailingWins++;
+        trailingLosses = 0;
+        longestWinRun = Math.max(longestWinRun, trailingWins);
+        events++;
+    }
+
+    public void recordLoss(int amountLost) {
+        totalLosses += amountLost;
+
+        if (!sawWin) {
+            leadingLosses++;
+        }
+        sawLoss = true;
+        trailingLosses++;
+        trailingWins = 0;
+        longestLossRun = Math.max(longestLossRun, trailingLosses);
+        events++;
+    }
+
+    public void recordAllInResult(boolean won) {
+        if (won) {
+            allInsWon++;
+        }
+        events++;
+    }
+
+    public void startNewSession() {
+        totalSessions++;
+        events++;
+    }
+
+
+
+    /**
+     * Folds a delta recorded after this one into it, as if its events had been recorded here.
+     */
+    public void append(PlayerStatisticsDelta later) {
+        handsPlayed += later.handsPlayed;
+        handsVoluntarilyPutInPot += later.handsVoluntarilyPutInPot;
+        handsRaisedPreFlop += later.handsRaisedPreFlop;
+        if (later.lastHandPlayed != null) {
+            lastHandPlayed = later.lastHandPlayed;
+        }
+        totalBets += later.totalBets;
+        totalRaises += later.totalRaises;
+        totalCalls += later.totalCalls;
+        totalFolds += later.totalFolds;
+        totalChecks += later.totalChecks;
+        handsWon += later.handsWon;
+        totalWinnings += later.totalWinnings;
+        totalLosses += later.totalLosses;
+        biggestPotWon = Math.max(biggestPotWon, later.biggestPotWon);
+        handsWentToShowdown += later.handsWentToShowdown;
+        showdownsWon += later.showdownsWon;
+        timesAllIn += later.timesAllIn;
+        allInsWon += later.allInsWon;
+        totalSessions += later.totalSessions;
+        events += later.events;
+
+        longestWinRun = Math.max(Math.max(longestWinRun, later.longestWinRun), trailingWins + later.leadingWins);
+        longestLossRun = Math.max(Math.max(longestLossRun, later.longestLossRun), trailingLosses + later.leadingLosses);
+        if (!sawLoss) {
+            leadingWins += later.leadingWins;
+        }
+        if (!sawWin) {
+            leadingLosses += later.leadingLosses;
+        }
+        trailingWins = later.sawLoss ? later.trailingWins : trailingWins + later.trailingWins;
+        trailingLosses = later.sawWin ? later.trailingLosses : trailingLosses + later.trailingLosses;
+        sawWin |= later.sawWin;
+        sawLoss |= later.sawLoss;
+    }
+
+    /**
+     * Applies the delta to loaded statistics, with the same result as replaying the recorded events on them.
+     */
+    public void applyTo(PlayerStatistics stats) {
+        stats.setHandsPlayed(stats.getHandsPlayed() + handsPlayed);
+        stats.setHandsVoluntarilyPutInPot(stats.getHandsVoluntarilyPutInPot() + handsVoluntarilyPutInPot);
+        stats.setHandsRaisedPreFlop(stats.getHandsRaisedPreFlop() + handsRaisedPreFlop);
+        if (lastHandPlayed != null) {
+            stats.setLastHandPlayed(lastHandPlayed);
+        }
+        stats.setTotalBets(stats.getTotalBets() + totalBets);
+        stats.setTotalRaises(stats.getTotalRaises() + totalRaises);
+        stats.setTotalCalls(stats.getTotalCalls() + totalCalls);
+        stats.setTotalFolds(stats.getTotalFolds() + totalFolds);
+        stats.setTotalChecks(stats.getTotalChecks() + totalChecks);
+        stats.setHandsWon(stats.getHandsWon() + handsWon);
+        stats.setTotalWinnings(stats.getTotalWinnings().add(BigDecimal.valueOf(totalWinnings)));
+        stats.setTotalLosses(stats.getTotalLosses().add(BigDecimal.valueOf(totalLosses)));
+        stats.setBiggestPotWon(Math.max(stats.getBiggestPotWon(), biggestPotWon));
+        stats.setHandsWentToShowdown(stats.getHandsWentToShowdown() + handsWentToShowdown);
+        stats.setShowdownsWon(stats.getShowdownsWon() + showdownsWon);
+        stats.setTimesAllIn(stats.getTimesAllIn() + timesAllIn);
+        stats.setAllInsWon(stats.getAllInsWon() + allInsWon);
+        stats.setTotalSessions(stats.getTotalSessions() + totalSessions);
+
+        int currentWin = stats.getCurrentWinStreak();
+        int currentLose = stats.getCurrentLoseStreak();
+        stats.setLongestWinStreak(Math.max(stats.getLongestWinStreak(), Math.max(currentWin + leadingWins, longestWinRun)));
+        stats.setLongestLoseStreak(Math.max(stats.getLongestLoseStreak(), Math.max(currentLose + leadingLosses, longestLossRun)));
+        stats.setCurrentWinStreak(currentWin * getWinStreakCarry() + trailingWins);
+        stats.setCurrentLoseStreak(currentLose * getLoseStreakCarry() + trailingLosses);
+    }
+
+    public boolean isEmpty() {
+        return events == 0;
+    }
+
+    public int recordRejection() {
+        return ++rejections;
+    }
+
+
+
+    public String getPlayerName() { return playerName; }
+    public int getEvents() { return events; }
+
+    public int getHandsPlayed() { return handsPlayed; }
+    public int getHandsVoluntarilyPutInPot() { return handsVoluntarilyPutInPot; }
+    public int getHandsRaisedPreFlop() { return handsRaisedPreFlop; }
+    public LocalDateTime getLastHandPlayed() { return lastHandPlayed; }
+
+    public int getTotalBets() { return totalBets; }
+    public int getTotalRaises() { return totalRaises; }
+    public int getTotalCalls() { return totalCalls; }
+    public int getTotalFolds() { return totalFolds; }
+    public int getTotalChecks() { return totalChecks; }
+
+    public int getHandsWon() { return handsWon; }
+    public BigDecimal getTotalWinnings() { return BigDecimal.valueOf(totalWinnings); }
+    public BigDecimal getTotalLosses() { return BigDecimal.valueOf(totalLosses); }
+    public int getBiggestPotWon() { return biggestPotWon; }
+
+    public int getHandsWentToShowdown() { return handsWentToShowdown; }
+    public int getShowdownsWon() { return showdownsWon; }
+    public int getTimesAllIn() { return timesAllIn; }
+    public int getAllInsWon() { return allInsWon; }
+    public int getTotalSessions() { return totalSessions; }
+
+    // a stored current streak is kept (multiplied by 1) only if no result of the other kind was recorded
+    public int getWinStreakCarry() { return sawLoss ? 0 : 1; }
+    public int getLoseStreakCarry() { return sawWin ? 0 : 1; }
+    public int getLeadingWins() { return leadingWins; }
+    public int getLeadingLosses() { return leadingLosses; }
+    public int getTrailingWins() { return trailingWins; }
+    public int getTrailingLosses() { return trailingLosses; }
+    public int getLongestWinRun() { return longestWinRun; }
+    public int getLongestLossRun() { return longestLossRun; }
+}
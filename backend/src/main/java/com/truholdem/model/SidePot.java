@@ -96,6 +96,13 @@ public class SidePot {
         this.game = game;
     }
 
+    // a detached copy without its game; Game.copy() attaches it to the copied game
+    SidePot copy() {
+        SidePot copy = new SidePot(amount, eligiblePlayerIds, contributionPerPlayer);
+        copy.id = id;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "SidePot{" +
@@ -0,0 +1,25 @@
+package com.truholdem.repository;
+
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.TransactionException;
+
+
+/**
+ * Tells a database that could not be reached apart from one that refused the data. Writers that retry
+ * in the background wait out the first and set the offending rows aside for the second, since writing
+ * the same rows again cannot succeed.
+ */
+public final class DataAccessFailures {
+
+    private DataAccessFailures() {
+    }
+
+    public static boolean isUnavailable(Throwable failure) {
+        return failure instanceof TransientDataAccessException
+                || failure instanceof RecoverableDataAccessException
+                || failure instanceof NonTransientDataAccessResourceException
+                || failure instanceof TransactionException;
+    }
+}
@@ -0,0 +1,18 @@
+package com.truholdem.repository;
+
+import com.truholdem.model.GameJournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface GameJournalRepository extends JpaRepository<GameJournalEntry, GameJournalEntry.Key> {
+
+    
+    List<GameJournalEntry> findByGameIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(UUID gameId, long sequenceNumber);
+
+    
+    List<GameJournalEntry> findByGameIdOrderBySequenceNumberAsc(UUID gameId);
+}
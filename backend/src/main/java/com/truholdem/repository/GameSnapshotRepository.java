@@ -0,0 +1,11 @@
+package com.truholdem.repository;
+
+import com.truholdem.model.GameSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface GameSnapshotRepository extends JpaRepository<GameSnapshot, UUID> {
+}
@@ -0,0 +1,100 @@
+package com.truholdem.repository;
+
+import com.truholdem.model.HandHistory;
+import com.truholdem.model.HandHistoryCodec;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Inserts finished hand histories in JDBC batches, each hand as one row carrying its encoded details
+ * plus one participant row per player. Ids must be assigned before the call, and a hand whose id is
+ * already stored is skipped, so replaying a batch is harmless.
+ */
+@Repository
+public class HandHistoryBatchRepository {
+
+    private static final String INSERT_HISTORY = "INSERT INTO hand_histories "
+        + "(id, game_id, hand_number, played_at, small_blind, big_blind, dealer_position, "
+        + "winner_name, winning_hand_description, final_pot, payload) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+        // the primary key is the only unique constraint, so this skips exactly the ids already stored
+        + "ON CONFLICT DO NOTHING";
+
+    private static final String INSERT_PARTICIPANT =
+        "INSERT INTO hand_history_participants (hand_history_id, player_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String SELECT_PLAYED_BEFORE = "SELECT id, payload FROM hand_histories "
+        + "WHERE played_at < ? AND payload IS NOT NULL ORDER BY played_at LIMIT ?";
+
+    private static final String DELETE_PARTICIPANTS = "DELETE FROM hand_history_participants WHERE hand_history_id = ?";
+    private static final String DELETE_HISTORY = "DELETE FROM hand_histories WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HandHistoryBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    public record StoredHand(UUID id, byte[] payload) {
+    }
+
+
+    @Transactional
+    public void insertAll(List<HandHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> historyRows = new ArrayList<>(histories.size());
+        List<Object[]> participantRows = new ArrayList<>();
+
+        for (HandHistory history : histories) {
+            historyRows.add(new Object[] {
+                history.getId(), history.getGameId(), history.getHandNumber(), timestamp(history.getPlayedAt()),
+                history.getSmallBlind(), history.getBigBlind(), history.getDealerPosition(),
+                history.getWinnerName(), history.getWinningHandDescription(), history.getFinalPot(),
+                HandHistoryCodec.encode(history)
+            });
+            for (UUID playerId : HandHistory.participantIdsOf(history.getPlayers())) {
+                participantRows.add(new Object[] { history.getId(), playerId });
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, historyRows);
+        batchUpdate(INSERT_PARTICIPANT, participantRows);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StoredHand> findPlayedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.query(SELECT_PLAYED_BEFORE,
+            (rs, rowNum) -> new StoredHand(rs.getObject("id", UUID.class), rs.getBytes("payload")),
+            timestamp(cutoff), limit);
+    }
+
+    @Transactional
+    public void deleteAll(List<UUID> ids) {
+        List<Object[]> rows = ids.stream().map(id -> new Object[] { id }).toList();
+        batchUpdate(DELETE_PARTICIPANTS, rows);
+        batchUpdate(DELETE_HISTORY, rows);
+    }
+
+
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+}
@@ -22,7 +22,7 @@ public interface HandHistoryRepository extends JpaRepository<HandHistory, UUID>
     Page<HandHistory> findByGameId(UUID gameId, Pageable pageable);
 
     
-    @Query("SELECT h FROM HandHistory h JOIN h.players p WHERE p.playerId = :playerId ORDER BY h.playedAt DESC")
+    @Query("SELECT h FROM HandHistory h JOIN h.participantIds p WHERE p = :playerId ORDER BY h.playedAt DESC")
     List<HandHistory> findByPlayerId(@Param("playerId") UUID playerId);
 
     
@@ -0,0 +1,123 @@
+package com.truholdem.repository;
+
+import com.truholdem.model.PlayerStatisticsDelta;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Applies merged statistic deltas with one in-place UPDATE per player, adding to the stored counters
+ * instead of reading and saving the entity. Players without a row get a zeroed one first.
+ */
+@Repository
+public class PlayerStatisticsBatchRepository {
+
+    private static final String APPLY_DELTA = "UPDATE player_statistics SET "
+        + "hands_played = hands_played + ?, "
+        + "hands_voluntarily_put_in_pot = hands_voluntarily_put_in_pot + ?, "
+        + "hands_raised_pre_flop = hands_raised_pre_flop + ?, "
+        + "last_hand_played = COALESCE(?, last_hand_played), "
+        + "total_bets = total_bets + ?, "
+        + "total_raises = total_raises + ?, "
+        + "total_calls = total_calls + ?, "
+        + "total_folds = total_folds + ?, "
+        + "total_checks = total_checks + ?, "
+        + "hands_won = hands_won + ?, "
+        + "total_winnings = total_winnings + ?, "
+        + "total_losses = total_losses + ?, "
+        + "biggest_pot_won = GREATEST(biggest_pot_won, ?), "
+        + "hands_went_to_showdown = hands_went_to_showdown + ?, "
+        + "showdowns_won = showdowns_won + ?, "
+        + "times_all_in = times_all_in + ?, "
+        + "all_ins_won = all_ins_won + ?, "
+        + "total_sessions = total_sessions + ?, "
+        + "longest_win_streak = GREATEST(longest_win_streak, current_win_streak + ?, ?), "
+        + "longest_lose_streak = GREATEST(longest_lose_streak, current_lose_streak + ?, ?), "
+        + "current_win_streak = current_win_streak * ? + ?, "
+        + "current_lose_streak = current_lose_streak * ? + ? "
+        + "WHERE player_name = ?";
+
+    private static final String INSERT_EMPTY = "INSERT INTO player_statistics (id, player_name, first_hand_played, "
+        + "hands_played, hands_won, total_winnings, total_losses, biggest_pot_won, hands_played_from_button, "
+        + "hands_played_from_blinds, hands_voluntarily_put_in_pot, hands_raised_pre_flop, total_bets, total_raises, "
+        + "total_calls, total_folds, total_checks, hands_went_to_showdown, showdowns_won, times_all_in, all_ins_won, "
+        + "current_win_streak, longest_win_streak, current_lose_streak, longest_lose_streak, total_sessions) "
+        + "SELECT ?, ?, ?, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 "
+        + "WHERE NOT EXISTS (SELECT 1 FROM player_statistics WHERE player_name = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlayerStatisticsBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    @Transactional
+    public void applyAll(List<PlayerStatisticsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(APPLY_DELTA, deltas.stream().map(this::updateRow).toList());
+
+        List<PlayerStatisticsDelta> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(deltas.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EMPTY, missing.stream()
+            .map(delta -> new Object[] { UUID.randomUUID(), delta.getPlayerName(), now, delta.getPlayerName() })
+            .toList());
+        jdbcTemplate.batchUpdate(APPLY_DELTA, missing.stream().map(this::updateRow).toList());
+    }
+
+
+
+    private Object[] updateRow(PlayerStatisticsDelta delta) {
+        LocalDateTime lastHandPlayed = delta.getLastHandPlayed();
+        return new Object[] {
+            delta.getHandsPlayed(),
+            delta.getHandsVoluntarilyPutInPot(),
+            delta.getHandsRaisedPreFlop(),
+            new SqlParameterValue(Types.TIMESTAMP, lastHandPlayed != null ? Timestamp.valueOf(lastHandPlayed) : null),
+            delta.getTotalBets(),
+            delta.getTotalRaises(),
+            delta.getTotalCalls(),
+            delta.getTotalFolds(),
+            delta.getTotalChecks(),
+            delta.getHandsWon(),
+            delta.getTotalWinnings(),
+            delta.getTotalLosses(),
+            delta.getBiggestPotWon(),
+            delta.getHandsWentToShowdown(),
+            delta.getShowdownsWon(),
+            delta.getTimesAllIn(),
+            delta.getAllInsWon(),
+            delta.getTotalSessions(),
+            delta.getLeadingWins(),
+            delta.getLongestWinRun(),
+            delta.getLeadingLosses(),
+            delta.getLongestLossRun(),
+            delta.getWinStreakCarry(),
+            delta.getTrailingWins(),
+            delta.getLoseStreakCarry(),
+            delta.getTrailingLosses(),
+            delta.getPlayerName()
+        };
+    }
+}
@@ -1,10 +1,12 @@
 package com.truholdem.repository;
 
 import com.truholdem.model.PlayerStatistics;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,6 +34,14 @@ public interface PlayerStatisticsRepository extends JpaRepository<PlayerStatisti
     @Query("SELECT ps FROM PlayerStatistics ps WHERE ps.handsPlayed >= :minHands ORDER BY (ps.handsWon * 1.0 / ps.handsPlayed) DESC")
     List<PlayerStatistics> findTopPlayersByWinRate(int minHands);
 
+    @Query("SELECT ps FROM PlayerStatistics ps WHERE ps.handsPlayed >= :minHands ORDER BY (ps.handsWon * 1.0 / ps.handsPlayed) DESC")
+    List<PlayerStatistics> findTopPlayersByWinRate(int minHands, Pageable pageable);
+
+    @Query("SELECT ps FROM PlayerStatistics ps WHERE ps.lastHandPlayed IS NOT NULL ORDER BY ps.lastHandPlayed DESC")
+    List<PlayerStatistics> findRecentlyActive(Pageable pageable);
+
+    List<PlayerStatistics> findByPlayerNameIn(Collection<String> playerNames);
+
     
     List<PlayerStatistics> findByPlayerNameContainingIgnoreCase(String name);
 
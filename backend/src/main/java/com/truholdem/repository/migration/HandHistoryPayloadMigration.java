@@ -0,0 +1,184 @@
+package com.truholdem.repository.migration;
+
+import com.truholdem.model.HandHistory;
+import com.truholdem.model.HandHistory.ActionRecord;
+import com.truholdem.model.HandHistory.CardRecord;
+import com.truholdem.model.HandHistory.HandHistoryPlayer;
+import com.truholdem.model.HandHistoryCodec;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * Encodes the hand histories written before the payload column existed from their per-player, per-action
+ * and per-card rows, so the collection tables can be dropped. Works through the table in batches of rows
+ * that still have no payload, which also lets an interrupted run resume.
+ */
+public class HandHistoryPayloadMigration implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_PENDING = "SELECT id, game_id, hand_number, played_at, small_blind, "
+        + "big_blind, dealer_position, winner_name, winning_hand_description, final_pot "
+        + "FROM hand_histories WHERE payload IS NULL LIMIT ?";
+
+    private static final String SELECT_PLAYERS = "SELECT hand_history_id, player_id, player_name, starting_chips, "
+        + "seat_position, hole_card1_suit, hole_card1_value, hole_card2_suit, hole_card2_value "
+        + "FROM hand_history_players WHERE hand_history_id = ANY(?) ORDER BY hand_history_id, seat_position";
+
+    private static final String SELECT_ACTIONS = "SELECT hand_history_id, player_id, player_name, action, amount, "
+        + "phase, \"timestamp\" FROM hand_history_actions WHERE hand_history_id = ANY(?) "
+        + "ORDER BY hand_history_id, action_order";
+
+    private static final String SELECT_BOARD = "SELECT hand_history_id, suit, \"value\" FROM hand_history_board "
+        + "WHERE hand_history_id = ANY(?) ORDER BY hand_history_id, card_order";
+
+    private static final String UPDATE_PAYLOAD = "UPDATE hand_histories SET payload = ? WHERE id = ?";
+
+    private static final String INSERT_PARTICIPANT =
+        "INSERT INTO hand_history_participants (hand_history_id, player_id) VALUES (?, ?)";
+
+    private int migrated;
+
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try {
+            Map<UUID, HandHistory> batch;
+            while (!(batch = loadPending(connection)).isEmpty()) {
+                loadDetails(connection, batch);
+                store(connection, batch);
+                migrated += batch.size();
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Failed to encode existing hand histories", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Encoded " + migrated + " hand histories into the payload column";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+
+
+
+    private Map<UUID, HandHistory> loadPending(Connection connection) throws SQLException {
+        Map<UUID, HandHistory> histories = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_PENDING)) {
+            statement.setInt(1, BATCH_SIZE);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    HandHistory history = new HandHistory();
+                    history.setId(rows.getObject("id", UUID.class));
+                    history.setGameId(rows.getObject("game_id", UUID.class));
+                    history.setHandNumber(rows.getInt("hand_number"));
+                    Timestamp playedAt = rows.getTimestamp("played_at");
+                    history.setPlayedAt(playedAt != null ? playedAt.toLocalDateTime() : null);
+                    history.setSmallBlind(rows.getInt("small_blind"));
+                    history.setBigBlind(rows.getInt("big_blind"));
+                    history.setDealerPosition(rows.getInt("dealer_position"));
+                    history.setWinnerName(rows.getString("winner_name"));
+                    history.setWinningHandDescription(rows.getString("winning_hand_description"));
+                    history.setFinalPot(rows.getInt("final_pot"));
+                    histories.put(history.getId(), history);
+                }
+            }
+        }
+        return histories;
+    }
+
+    private void loadDetails(Connection connection, Map<UUID, HandHistory> histories) throws SQLException {
+        Array ids = connection.createArrayOf("uuid", histories.keySet().toArray());
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_PLAYERS)) {
+            statement.setArray(1, ids);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    HandHistoryPlayer player = new HandHistoryPlayer();
+                    player.setPlayerId(rows.getObject("player_id", UUID.class));
+                    player.setPlayerName(rows.getString("player_name"));
+                    player.setStartingChips(rows.getInt("starting_chips"));
+                    player.setSeatPosition(rows.getInt("seat_position"));
+                    player.setHoleCard1Suit(rows.getString("hole_card1_suit"));
+                    player.setHoleCard1Value(rows.getString("hole_card1_value"));
+                    player.setHoleCard2Suit(rows.getString("hole_card2_suit"));
+                    player.setHoleCard2Value(rows.getString("hole_card2_value"));
+                    histories.get(rows.getObject("hand_history_id", UUID.class)).getPlayers().add(player);
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_ACTIONS)) {
+            statement.setArray(1, ids);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    Timestamp timestamp = rows.getTimestamp("timestamp");
+                    histories.get(rows.getObject("hand_history_id", UUID.class)).getActions().add(new ActionRecord(
+                        rows.getObject("player_id", UUID.class),
+                        rows.getString("player_name"),
+                        rows.getString("action"),
+                        rows.getInt("amount"),
+                        rows.getString("phase"),
+                        timestamp != null ? timestamp.toLocalDateTime() : null));
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_BOARD)) {
+            statement.setArray(1, ids);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    histories.get(rows.getObject("hand_history_id", UUID.class)).getBoard()
+                        .add(new CardRecord(rows.getString("suit"), rows.getString("value")));
+                }
+            }
+        }
+    }
+
+    private void store(Connection connection, Map<UUID, HandHistory> histories) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_PAYLOAD);
+             PreparedStatement insert = connection.prepareStatement(INSERT_PARTICIPANT)) {
+            for (HandHistory history : histories.values()) {
+                update.setBytes(1, HandHistoryCodec.encode(history));
+                update.setObject(2, history.getId());
+                update.addBatch();
+                for (UUID playerId : HandHistory.participantIdsOf(history.getPlayers())) {
+                    insert.setObject(1, history.getId());
+                    insert.setObject(2, playerId);
+                    insert.addBatch();
+                }
+            }
+            update.executeBatch();
+            insert.executeBatch();
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.truholdem.service;
 
 import com.truholdem.model.Achievement;
+import com.truholdem.model.AchievementIndex;
+import com.truholdem.model.AchievementMetric;
 import com.truholdem.model.PlayerAchievement;
 import com.truholdem.model.PlayerStatistics;
+import com.truholdem.model.PlayerStatisticsDelta;
 import com.truholdem.repository.AchievementRepository;
 import com.truholdem.repository.PlayerAchievementRepository;
 import com.truholdem.repository.PlayerStatisticsRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -26,15 +32,26 @@ public class AchievementService {
     private final PlayerStatisticsRepository statsRepository;
     private final GameNotificationService notificationService;
 
+    private volatile AchievementIndex index;
+    // unlocked achievements per player statistics id, least recently used dropped first
+    private final Map<UUID, BitSet> unlockedCache;
+
     public AchievementService(
             AchievementRepository achievementRepository,
             PlayerAchievementRepository playerAchievementRepository,
             PlayerStatisticsRepository statsRepository,
-            GameNotificationService notificationService) {
+            GameNotificationService notificationService,
+            @Value("${app.achievements.cache.max-players:10000}") int maxCachedPlayers) {
         this.achievementRepository = achievementRepository;
         this.playerAchievementRepository = playerAchievementRepository;
         this.statsRepository = statsRepository;
         this.notificationService = notificationService;
+        this.unlockedCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, BitSet> eldest) {
+                return size() > maxCachedPlayers;
+            }
+        };
     }
 
     
@@ -47,34 +64,68 @@ public class AchievementService {
         }
 
         PlayerStatistics stats = optStats.get();
-        List<Achievement> newlyUnlocked = new ArrayList<>();
-
-
-        List<Achievement> allAchievements = achievementRepository.findAll();
-
-        Set<UUID> alreadyUnlockedIds = playerAchievementRepository.findByPlayerStats(stats)
-                .stream()
-                .map(pa -> pa.getAchievement().getId())
-                .collect(Collectors.toSet());
+        AchievementIndex rules = index();
+        BitSet unlocked = unlockedFor(stats, rules);
+        synchronized (unlocked) {
+            return unlockAll(stats, rules.reached(stats, unlocked), rules, unlocked);
+        }
+    }
 
-        for (Achievement achievement : allAchievements) {
+    /**
+     * Unlocks the achievements whose threshold the just written deltas crossed. Only the metrics a delta
+     * changed are looked at; a player seen for the first time since startup gets a full check instead.
+     */
+    public List<Achievement> checkProgress(List<PlayerStatistics> updated, List<PlayerStatisticsDelta> deltas) {
+        Map<String, PlayerStatisticsDelta> deltasByPlayer = new HashMap<>();
+        for (PlayerStatisticsDelta delta : deltas) {
+            deltasByPlayer.put(delta.getPlayerName(), delta);
+        }
 
-            if (alreadyUnlockedIds.contains(achievement.getId())) {
+        AchievementIndex rules = index();
+        List<Achievement> newlyUnlocked = new ArrayList<>();
+        for (PlayerStatistics stats : updated) {
+            PlayerStatisticsDelta delta = deltasByPlayer.get(stats.getPlayerName());
+            if (delta == null) {
                 continue;
             }
-
-
-            if (achievement.checkRequirement(stats)) {
-                unlockAchievement(stats, achievement);
-                newlyUnlocked.add(achievement);
-                logger.info("Player {} unlocked achievement: {}", playerName, achievement.getName());
+            BitSet cached = cachedUnlocked(stats.getId());
+            BitSet unlocked = cached != null ? cached : unlockedFor(stats, rules);
+            synchronized (unlocked) {
+                List<Achievement> candidates;
+                if (cached == null) {
+                    candidates = rules.reached(stats, unlocked);
+                } else {
+                    candidates = new ArrayList<>();
+                    for (AchievementMetric metric : AchievementMetric.values()) {
+                        candidates.addAll(rules.crossed(metric, metric.valueBefore(stats, delta), metric.valueOf(stats), unlocked));
+                    }
+                }
+                newlyUnlocked.addAll(unlockAll(stats, candidates, rules, unlocked));
             }
         }
-
         return newlyUnlocked;
     }
 
     
+    private List<Achievement> unlockAll(PlayerStatistics stats, List<Achievement> candidates,
+                                        AchievementIndex rules, BitSet unlocked) {
+        List<Achievement> newlyUnlocked = new ArrayList<>();
+        for (Achievement achievement : candidates) {
+            int bit = rules.bitOf(achievement);
+            if (unlocked.get(bit)) {
+                continue;
+            }
+            unlockAchievement(stats, achievement);
+            unlocked.set(bit);
+            newlyUnlocked.add(achievement);
+            logger.info("Player {} unlocked achievement: {}", stats.getPlayerName(), achievement.getName());
+        }
+        if (!newlyUnlocked.isEmpty()) {
+            evictOnRollback(stats.getId());
+        }
+        return newlyUnlocked;
+    }
+
     private void unlockAchievement(PlayerStatistics stats, Achievement achievement) {
         PlayerAchievement playerAchievement = new PlayerAchievement(stats, achievement);
         playerAchievementRepository.save(playerAchievement);
@@ -83,6 +134,57 @@ public class AchievementService {
         logger.debug("Achievement {} unlocked for {}", achievement.getCode(), stats.getPlayerName());
     }
 
+    // an unlock that is rolled back must not stay cached, or it would never be retried
+    private void evictOnRollback(UUID statsId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    synchronized (unlockedCache) {
+                        unlockedCache.remove(statsId);
+                    }
+                }
+            }
+        });
+    }
+
+    private AchievementIndex index() {
+        AchievementIndex rules = index;
+        if (rules == null) {
+            synchronized (unlockedCache) {
+                rules = index;
+                if (rules == null) {
+                    rules = AchievementIndex.of(achievementRepository.findAll());
+                    index = rules;
+                }
+            }
+        }
+        return rules;
+    }
+
+    private BitSet cachedUnlocked(UUID statsId) {
+        synchronized (unlockedCache) {
+            return unlockedCache.get(statsId);
+        }
+    }
+
+    private BitSet unlockedFor(PlayerStatistics stats, AchievementIndex rules) {
+        BitSet cached = cachedUnlocked(stats.getId());
+        if (cached != null) {
+            return cached;
+        }
+        BitSet loaded = rules.bitsOf(playerAchievementRepository.findByPlayerStats(stats).stream()
+            .map(pa -> pa.getAchievement().getId())
+            .toList());
+        synchronized (unlockedCache) {
+            // another thread may have loaded it meanwhile; keep one set per player so its lock means something
+            return unlockedCache.computeIfAbsent(stats.getId(), id -> loaded);
+        }
+    }
+
     
 
     
@@ -132,7 +234,8 @@ public class AchievementService {
 
         for (Achievement achievement : allAchievements) {
             boolean isUnlocked = unlockedIds.contains(achievement.getId());
-            int currentProgress = getCurrentProgress(stats, achievement.getRequirementType());
+            AchievementMetric metric = AchievementMetric.fromRequirementType(achievement.getRequirementType());
+            int currentProgress = metric != null ? metric.valueOf(stats) : 0;
             int required = achievement.getRequirementValue();
             int progressPercentage = required > 0
                     ? Math.min(100, (int) ((double) currentProgress / required * 100))
@@ -158,21 +261,6 @@ public class AchievementService {
         return progressList;
     }
 
-    private int getCurrentProgress(PlayerStatistics stats, String requirementType) {
-        if (requirementType == null) return 0;
-
-        return switch (requirementType) {
-            case "HANDS_WON" -> stats.getHandsWon();
-            case "HANDS_PLAYED" -> stats.getHandsPlayed();
-            case "BIGGEST_POT" -> stats.getBiggestPotWon();
-            case "WIN_STREAK" -> stats.getLongestWinStreak();
-            case "ALL_INS_WON" -> stats.getAllInsWon();
-            case "SHOWDOWNS_WON" -> stats.getShowdownsWon();
-            case "TOTAL_SESSIONS" -> stats.getTotalSessions();
-            default -> 0;
-        };
-    }
-
     
     @Transactional(readOnly = true)
     public int getPlayerTotalPoints(String playerName) {
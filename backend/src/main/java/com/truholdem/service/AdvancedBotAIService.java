@@ -1,11 +1,7 @@
 package com.truholdem.service;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
@@ -16,13 +12,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.truholdem.model.Card;
+import com.truholdem.model.CardSet;
 import com.truholdem.model.Game;
 import com.truholdem.model.GamePhase;
-import com.truholdem.model.HandRanking;
 import com.truholdem.model.Player;
 import com.truholdem.model.PlayerAction;
-import com.truholdem.model.Suit;
-import com.truholdem.model.Value;
 
 
 @Service
@@ -31,24 +25,34 @@ public class AdvancedBotAIService {
     private static final Logger logger = LoggerFactory.getLogger(AdvancedBotAIService.class);
     private static final int MONTE_CARLO_ITERATIONS = 500;
 
+    // maps heads-up equity vs a random hand onto the tiers preFlopDecision was tuned for: TT+ premium, 77+/AQ strong
+    private static final double PREFLOP_EQUITY_SCALE = 1.5;
+    private static final double PREFLOP_EQUITY_OFFSET = 0.26;
+
     private final HandEvaluator handEvaluator;
+    private final PreflopEquityTable preflopEquityTable;
 
 
     private final Map<UUID, OpponentModel> opponentModels = new ConcurrentHashMap<>();
 
-    public AdvancedBotAIService(HandEvaluator handEvaluator) {
+    public AdvancedBotAIService(HandEvaluator handEvaluator, PreflopEquityTable preflopEquityTable) {
         this.handEvaluator = handEvaluator;
+        this.preflopEquityTable = preflopEquityTable;
     }
 
     
 
     
     public BotDecision decide(Game game, Player bot) {
+        return decide(game, bot, getBotPersonality(bot.getName()));
+    }
+
+    
+    public BotDecision decide(Game game, Player bot, BotPersonality personality) {
         
-        double handStrength = calculateHandStrength(bot.getHand(), game.getCommunityCards(), game.getPlayers().size());
+        double handStrength = calculateHandStrength(bot.getHand(), game.getCommunityCards(), countOpponentsInHand(game, bot));
         double potOdds = calculatePotOdds(game, bot);
         int position = getPositionScore(game, bot);
-        BotPersonality personality = getBotPersonality(bot.getName());
 
         
         double adjustedStrength = adjustForPersonality(handStrength, personality, game.getPhase());
@@ -268,122 +272,46 @@ public class AdvancedBotAIService {
         }
 
         
-        int wins = 0;
-        int ties = 0;
-        int losses = 0;
+        long heroMask = CardSet.maskOf(hand);
+        long boardMask = CardSet.maskOf(communityCards);
+        SimulationKernel kernel = new SimulationKernel(handEvaluator, heroMask | boardMask);
 
-        Set<Card> knownCards = new HashSet<>(hand);
-        knownCards.addAll(communityCards);
-
-        List<Card> remainingDeck = createRemainingDeck(knownCards);
+        int cardsNeeded = 5 - communityCards.size();
+        int opponents = Math.min(Math.max(1, numOpponents), (kernel.deckSize() - cardsNeeded) / 2);
+        long[] opponentHands = new long[opponents];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
 
+        double potShare = 0;
         for (int i = 0; i < MONTE_CARLO_ITERATIONS; i++) {
-            Collections.shuffle(remainingDeck);
-
-            
-            List<Card> fullBoard = new ArrayList<>(communityCards);
-            int cardsNeeded = 5 - fullBoard.size();
-            int deckIndex = 0;
-
-            for (int j = 0; j < cardsNeeded && deckIndex < remainingDeck.size(); j++) {
-                fullBoard.add(remainingDeck.get(deckIndex++));
-            }
-
-            
-            List<Card> opponentHand = new ArrayList<>();
-            if (deckIndex + 1 < remainingDeck.size()) {
-                opponentHand.add(remainingDeck.get(deckIndex++));
-                opponentHand.add(remainingDeck.get(deckIndex));
+            kernel.draw(cardsNeeded + 2 * opponents, random);
+            long fullBoard = boardMask | kernel.cards(0, cardsNeeded);
+            for (int opponent = 0; opponent < opponents; opponent++) {
+                opponentHands[opponent] = kernel.cards(cardsNeeded + 2 * opponent, 2);
             }
 
-            if (opponentHand.size() < 2)
-                continue;
-
-            
-            HandRanking myRanking = handEvaluator.evaluate(hand, fullBoard);
-            HandRanking oppRanking = handEvaluator.evaluate(opponentHand, fullBoard);
-
-            int comparison = myRanking.compareTo(oppRanking);
-            if (comparison > 0)
-                wins++;
-            else if (comparison < 0)
-                losses++;
-            else
-                ties++;
+            int heroStrength = kernel.evaluate(heroMask, fullBoard);
+            int bestOpponentStrength = kernel.bestStrength(opponentHands, opponents, fullBoard);
+            potShare += SimulationKernel.potShare(heroStrength, bestOpponentStrength, kernel.villainsAtBest());
         }
 
-        
-        double winRate = (double) wins / MONTE_CARLO_ITERATIONS;
-        double tieRate = (double) ties / MONTE_CARLO_ITERATIONS;
-
-        
-        double adjustedWinRate = Math.pow(winRate + tieRate * 0.5, Math.max(1, numOpponents - 1));
-
-        return Math.max(0, Math.min(1, adjustedWinRate));
+        return Math.max(0, Math.min(1, potShare / MONTE_CARLO_ITERATIONS));
     }
 
-    
-    double calculatePreFlopStrength(List<Card> hand) {
-        Card c1 = hand.get(0);
-        Card c2 = hand.get(1);
-
-        int v1 = c1.getValue().ordinal();
-        int v2 = c2.getValue().ordinal();
-        boolean suited = c1.getSuit() == c2.getSuit();
-        boolean pair = v1 == v2;
-
-        
-        if (pair) {
-            if (v1 >= Value.TEN.ordinal())
-                return 0.85 + (v1 - Value.TEN.ordinal()) * 0.03; 
-            if (v1 >= Value.SEVEN.ordinal())
-                return 0.65 + (v1 - Value.SEVEN.ordinal()) * 0.05; 
-            return 0.50 + v1 * 0.02; 
-        }
-
-        
-        int high = Math.max(v1, v2);
-        int low = Math.min(v1, v2);
-        double baseStrength = 0;
-
-        
-        if (high >= Value.JACK.ordinal() && low >= Value.TEN.ordinal()) {
-            baseStrength = 0.70;
-        } else if (high >= Value.ACE.ordinal() && low >= Value.TEN.ordinal()) {
-            baseStrength = 0.65;
-        } else if (high >= Value.KING.ordinal() && low >= Value.NINE.ordinal()) {
-            baseStrength = 0.55;
-        } else if (high >= Value.ACE.ordinal()) {
-            baseStrength = 0.50 + low * 0.01;
-        } else {
-            baseStrength = 0.30 + (high + low) * 0.01;
+    private int countOpponentsInHand(Game game, Player bot) {
+        int opponents = 0;
+        for (Player player : game.getPlayers()) {
+            boolean isBot = player == bot || (player.getId() != null && player.getId().equals(bot.getId()));
+            if (!isBot && !player.isFolded()) {
+                opponents++;
+            }
         }
-
-        
-        if (suited)
-            baseStrength += 0.05;
-
-        
-        int gap = high - low;
-        if (gap == 1)
-            baseStrength += 0.03;
-        else if (gap == 2)
-            baseStrength += 0.02;
-
-        return Math.min(0.85, baseStrength);
+        return Math.max(1, opponents);
     }
 
-    private List<Card> createRemainingDeck(Set<Card> usedCards) {
-        List<Card> deck = new ArrayList<>();
-        for (Suit suit : Suit.values()) {
-            for (Value value : Value.values()) {
-                Card card = new Card(suit, value);
-                if (!usedCards.contains(card)) {
-                    deck.add(card);
-                }
-            }
-        }
-        return deck;
+    
+    double calculatePreFlopStrength(List<Card> hand) {
+        double equity = preflopEquityTable.equityVsRandom(hand);
+        return Math.max(0, Math.min(1, equity * PREFLOP_EQUITY_SCALE - PREFLOP_EQUITY_OFFSET));
     }
 
     
@@ -0,0 +1,313 @@
+package com.truholdem.service;
+
+import com.truholdem.domain.aggregate.PokerGame;
+import com.truholdem.domain.aggregate.ShowdownEvaluator;
+import com.truholdem.domain.exception.GameDomainException;
+import com.truholdem.domain.value.Chips;
+import com.truholdem.model.Game;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.Player;
+import com.truholdem.model.PlayerAction;
+import com.truholdem.model.PlayerInfo;
+import com.truholdem.service.AdvancedBotAIService.BotDecision;
+import com.truholdem.service.AdvancedBotAIService.BotPersonality;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Plays bot strategies against each other on the bare {@link PokerGame} aggregate, with no persistence,
+ * caching or messaging in the way. Every hand starts from fresh stacks with seats rotated one place per
+ * hand, and its deck comes from the run seed and the hand number, so a run is reproducible for
+ * deterministic strategies no matter how hands are spread over threads.
+ */
+public final class BotSimulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BotSimulator.class);
+
+    private static final int MIN_SEATS = 2;
+    private static final int MAX_SEATS = 10;
+    private static final int CHUNK_SIZE = 256;
+    private static final int MAX_ACTIONS_PER_HAND = 500;
+    private static final double Z_95 = 1.959964;
+
+    private final ShowdownEvaluator showdownEvaluator;
+    private final int threads;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final int startingStack;
+
+    public BotSimulator(ShowdownEvaluator showdownEvaluator, int threads, int smallBlind, int bigBlind,
+                        int stackInBigBlinds) {
+        if (smallBlind <= 0 || bigBlind < smallBlind || stackInBigBlinds <= 0) {
+            throw new IllegalArgumentException("Blinds and stack must be positive with bigBlind >= smallBlind");
+        }
+        this.showdownEvaluator = showdownEvaluator;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.startingStack = bigBlind * stackInBigBlinds;
+    }
+
+
+    public record Entrant(String name, SimulationStrategy strategy) {
+    }
+
+    /**
+     * Outcome for one entrant; the margins are half-widths of 95% confidence intervals. A hand counts
+     * as won when the entrant finished it with more chips than it started with.
+     */
+    public record StrategyResult(
+        String name,
+        long hands,
+        long handsWon,
+        long netChips,
+        double winRate,
+        double winRateMargin,
+        double bbPer100,
+        double bbPer100Margin
+    ) {
+    }
+
+    public record Report(long hands, long seed, Duration elapsed, List<StrategyResult> results) {
+
+        public double handsPerSecond() {
+            return hands / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+    }
+
+
+    public Report run(List<Entrant> entrants, long hands, long seed) {
+        if (entrants.size() < MIN_SEATS || entrants.size() > MAX_SEATS) {
+            throw new IllegalArgumentException("A table needs " + MIN_SEATS + " to " + MAX_SEATS + " entrants");
+        }
+        if (new HashSet<>(entrants.stream().map(Entrant::name).toList()).size() != entrants.size()) {
+            throw new IllegalArgumentException("Entrant names must be unique");
+        }
+
+        long started = System.nanoTime();
+        AtomicLong nextHand = new AtomicLong();
+        List<Callable<Tally[]>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(() -> playChunks(entrants, hands, seed, nextHand));
+        }
+
+        Tally[] totals = newTallies(entrants.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<Tally[]> worker : executor.invokeAll(workers)) {
+                Tally[] tallies = worker.get();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i].merge(tallies[i]);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<StrategyResult> results = new ArrayList<>(entrants.size());
+        for (int i = 0; i < entrants.size(); i++) {
+            results.add(totals[i].toResult(entrants.get(i).name(), bigBlind));
+        }
+        return new Report(hands, seed, Duration.ofNanos(System.nanoTime() - started), results);
+    }
+
+
+
+    private Tally[] playChunks(List<Entrant> entrants, long hands, long seed, AtomicLong nextHand) {
+        Tally[] tallies = newTallies(entrants.size());
+        long from;
+        while ((from = nextHand.getAndAdd(CHUNK_SIZE)) < hands) {
+            long to = Math.min(hands, from + CHUNK_SIZE);
+            for (long hand = from; hand < to; hand++) {
+                playHand(entrants, hand, seed, tallies);
+            }
+        }
+        return tallies;
+    }
+
+    private void playHand(List<Entrant> entrants, long hand, long seed, Tally[] tallies) {
+        int seats = entrants.size();
+        int[] entrantAtSeat = new int[seats];
+        List<PlayerInfo> playerInfos = new ArrayList<>(seats);
+        for (int seat = 0; seat < seats; seat++) {
+            entrantAtSeat[seat] = (int) ((seat + hand) % seats);
+            playerInfos.add(new PlayerInfo(entrants.get(entrantAtSeat[seat]).name(), startingStack, true));
+        }
+
+        PokerGame game = PokerGame.create(playerInfos, Chips.of(smallBlind), Chips.of(bigBlind));
+        game.setShowdownEvaluator(showdownEvaluator);
+        game.startNewHand(handSeed(seed, hand));
+
+        Game table = new Game();
+        table.setSmallBlind(smallBlind);
+        table.setBigBlind(bigBlind);
+        table.setPlayers(game.getPlayers());
+        table.setCommunityCards(game.getCommunityCards());
+
+        for (int actions = 0; game.getPhase() != GamePhase.FINISHED; actions++) {
+            Player current = game.getCurrentPlayer();
+            if (current == null || actions >= MAX_ACTIONS_PER_HAND) {
+                throw new IllegalStateException("Simulated hand " + hand + " stalled in " + game.getPhase());
+            }
+            int seat = game.getPlayers().indexOf(current);
+
+            table.setPhase(game.getPhase());
+            table.setCurrentBet(game.getCurrentBet().amount());
+            table.setCurrentPot(game.getPotSize().amount());
+            table.setMinRaiseAmount(game.getMinRaise().amount());
+            table.setDealerPosition(game.getDealerPosition());
+            table.setCurrentPlayerIndex(seat);
+
+            act(game, current, entrants.get(entrantAtSeat[seat]).strategy().decide(table, current));
+        }
+
+        for (int seat = 0; seat < seats; seat++) {
+            tallies[entrantAtSeat[seat]].record(game.getPlayers().get(seat).getChips() - startingStack, bigBlind);
+        }
+    }
+
+    // maps the bots' "total bet" amounts onto the aggregate's bet and raise-by semantics
+    private void act(PokerGame game, Player player, BotDecision decision) {
+        int currentBet = game.getCurrentBet().amount();
+        int toCall = currentBet - player.getBetAmount();
+        PlayerAction action = decision != null && decision.action() != null ? decision.action() : PlayerAction.FOLD;
+        Chips amount = null;
+
+        switch (action) {
+            case CHECK -> action = toCall > 0 ? PlayerAction.CALL : PlayerAction.CHECK;
+            case BET, RAISE -> {
+                int target = Math.max(decision.amount(), 0);
+                if (currentBet == 0) {
+                    target = Math.max(target, bigBlind);
+                    action = target >= player.getChips() ? PlayerAction.ALL_IN : PlayerAction.BET;
+                    amount = Chips.of(target);
+                } else {
+                    int raiseBy = Math.max(target - currentBet, game.getMinRaise().amount());
+                    action = currentBet + raiseBy - player.getBetAmount() >= player.getChips()
+                            ? PlayerAction.ALL_IN : PlayerAction.RAISE;
+                    amount = Chips.of(raiseBy);
+                }
+            }
+            default -> {
+            }
+        }
+
+        try {
+            game.executeAction(player.getId(), action, amount);
+        } catch (GameDomainException e) {
+            // checking with nothing to call and folding to a bet are always legal, so the run carries on
+            game.executeAction(player.getId(), toCall > 0 ? PlayerAction.FOLD : PlayerAction.CHECK, null);
+        }
+    }
+
+    private static long handSeed(long seed, long hand) {
+        long z = seed + (hand + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Tally[] newTallies(int count) {
+        Tally[] tallies = new Tally[count];
+        for (int i = 0; i < count; i++) {
+            tallies[i] = new Tally();
+        }
+        return tallies;
+    }
+
+
+    private static final class Tally {
+
+        private long hands;
+        private long won;
+        private long netChips;
+        private double sumBigBlinds;
+        private double sumSquaredBigBlinds;
+
+        void record(int net, int bigBlind) {
+            double bigBlinds = (double) net / bigBlind;
+            hands++;
+            if (net > 0) {
+                won++;
+            }
+            netChips += net;
+            sumBigBlinds += bigBlinds;
+            sumSquaredBigBlinds += bigBlinds * bigBlinds;
+        }
+
+        void merge(Tally other) {
+            hands += other.hands;
+            won += other.won;
+            netChips += other.netChips;
+            sumBigBlinds += other.sumBigBlinds;
+            sumSquaredBigBlinds += other.sumSquaredBigBlinds;
+        }
+
+        StrategyResult toResult(String name, int bigBlind) {
+            if (hands == 0) {
+                return new StrategyResult(name, 0, 0, 0, 0, 0, 0, 0);
+            }
+            double winRate = (double) won / hands;
+            double mean = sumBigBlinds / hands;
+            double variance = hands > 1
+                    ? Math.max(0, (sumSquaredBigBlinds - hands * mean * mean) / (hands - 1))
+                    : 0;
+            return new StrategyResult(name, hands, won, netChips,
+                    winRate, Z_95 * Math.sqrt(winRate * (1 - winRate) / hands),
+                    mean * 100, Z_95 * Math.sqrt(variance / hands) * 100);
+        }
+    }
+
+
+    /**
+     * Runs the four built-in bot personalities against each other.
+     * Arguments: hands (default 100000), seed (default 1), threads (default one per processor).
+     */
+    public static void main(String[] args) {
+        long hands = args.length > 0 ? Long.parseLong(args[0]) : 100_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        HandEvaluator handEvaluator = new HandEvaluator();
+        AdvancedBotAIService botService = new AdvancedBotAIService(handEvaluator, PreflopEquityTable.loadDefault());
+        List<Entrant> entrants = new ArrayList<>();
+        for (BotPersonality personality : BotPersonality.values()) {
+            entrants.add(new Entrant(personality.name(), SimulationStrategy.bot(botService, personality)));
+        }
+
+        BotSimulator simulator = new BotSimulator(handEvaluator::evaluateStrength, threads, 10, 20, 100);
+        Report report = simulator.run(entrants, hands, seed);
+
+        logger.info("Simulated {} hands (seed {}) in {} ms, {} hands/s", report.hands(), report.seed(),
+                report.elapsed().toMillis(), Math.round(report.handsPerSecond()));
+        for (StrategyResult result : report.results()) {
+            logger.info("{} win-rate {}% ±{}   bb/100 {} ±{}", result.name(),
+                    hundredths(result.winRate() * 100), hundredths(result.winRateMargin() * 100),
+                    hundredths(result.bbPer100()), hundredths(result.bbPer100Margin()));
+        }
+    }
+
+    private static double hundredths(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
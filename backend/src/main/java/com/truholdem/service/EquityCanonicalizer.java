@@ -0,0 +1,40 @@
+package com.truholdem.service;
+
+import java.util.Arrays;
+
+
+public final class EquityCanonicalizer {
+
+    private static final int RANKS = 13;
+    private static final int SUITS = 4;
+    private static final long RANK_MASK = 0x1FFF;
+
+    private EquityCanonicalizer() {
+    }
+
+
+    public record CanonicalSpot(long heroMask, long boardMask) {
+    }
+
+
+    // relabels suits so that spots equal up to suit permutation share one form; ranges are built from
+    // suit-symmetric classes, so equity is unchanged by the relabelling
+    public static CanonicalSpot canonicalize(long heroMask, long boardMask) {
+        long[] lanes = new long[SUITS];
+        for (int suit = 0; suit < SUITS; suit++) {
+            long heroLane = (heroMask >>> (suit * RANKS)) & RANK_MASK;
+            long boardLane = (boardMask >>> (suit * RANKS)) & RANK_MASK;
+            lanes[suit] = (heroLane << RANKS) | boardLane;
+        }
+        Arrays.sort(lanes);
+
+        long hero = 0L;
+        long board = 0L;
+        for (int suit = 0; suit < SUITS; suit++) {
+            long lane = lanes[SUITS - 1 - suit];
+            hero |= (lane >>> RANKS) << (suit * RANKS);
+            board |= (lane & RANK_MASK) << (suit * RANKS);
+        }
+        return new CanonicalSpot(hero, board);
+    }
+}
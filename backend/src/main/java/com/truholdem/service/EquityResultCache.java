@@ -0,0 +1,114 @@
+package com.truholdem.service;
+
+import com.truholdem.dto.EquityResult;
+import com.truholdem.model.HandRange;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+
+public final class EquityResultCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EquityResultCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    EquityResultCache(int maxEntries, Duration ttl, LongSupplier ticker) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        // access order turns the map into an LRU list; the eldest entry is dropped once the bound is hit
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > EquityResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+
+    public record Key(long heroMask, long boardMask, HandRange villainRange, int opponents, SimulationBudget budget) {
+    }
+
+    private record Entry(EquityResult result, long expiresAt) {
+    }
+
+
+    public EquityResult get(Key key, Supplier<EquityResult> loader) {
+        if (maxEntries == 0) {
+            misses.increment();
+            return loader.get();
+        }
+
+        long now = ticker.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.expiresAt() < 0) {
+                    hits.increment();
+                    return entry.result();
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+
+        // simulate outside the lock; concurrent misses on one key may both compute, the last write wins
+        misses.increment();
+        EquityResult result = loader.get();
+        synchronized (entries) {
+            entries.put(key, new Entry(result, ticker.getAsLong() + ttlNanos));
+        }
+        return result;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,139 @@
+package com.truholdem.service;
+
+import com.truholdem.model.PlayerAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+@Component
+public class GameActionLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameActionLog.class);
+
+    private static final String SKIP = "SKIP";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final Map<UUID, FileChannel> channels = new ConcurrentHashMap<>();
+
+    public GameActionLog(
+            @Value("${app.game.engine.action-log.directory:data/game-action-log}") String directory,
+            @Value("${app.game.engine.action-log.fsync:true}") boolean fsync) {
+        this.directory = Path.of(directory);
+        this.fsync = fsync;
+    }
+
+
+    public record Entry(int handNumber, UUID playerId, PlayerAction action, int amount) {
+
+        // a null action marks a turn the engine skipped for a bot that could not act
+        public static Entry skip(int handNumber, UUID playerId) {
+            return new Entry(handNumber, playerId, null, 0);
+        }
+
+        public boolean isSkip() {
+            return action == null;
+        }
+    }
+
+
+    // each table appends from its own mailbox, so a channel never sees concurrent writers
+    public void append(UUID gameId, Entry entry) {
+        String line = entry.handNumber() + "," + entry.playerId() + ","
+            + (entry.isSkip() ? SKIP : entry.action().name()) + "," + entry.amount() + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        try {
+            FileChannel channel = channel(gameId);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to action log of game " + gameId, e);
+        }
+    }
+
+    public List<Entry> read(UUID gameId) {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(logFile(gameId), StandardCharsets.US_ASCII)) {
+                String[] fields = line.split(",");
+                if (fields.length != 4) {
+                    // a torn final line from a crash mid-write
+                    logger.warn("Ignoring malformed action log line for game {}: {}", gameId, line);
+                    break;
+                }
+                entries.add(new Entry(Integer.parseInt(fields[0]), UUID.fromString(fields[1]),
+                    SKIP.equals(fields[2]) ? null : PlayerAction.valueOf(fields[2]), Integer.parseInt(fields[3])));
+            }
+        } catch (NoSuchFileException e) {
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read action log of game " + gameId, e);
+        }
+        return entries;
+    }
+
+    // called once the state the entries led to is safely in a snapshot
+    public void truncate(UUID gameId) {
+        try {
+            FileChannel channel = channels.get(gameId);
+            if (channel != null) {
+                channel.truncate(0);
+                if (fsync) {
+                    channel.force(false);
+                }
+            } else {
+                Files.deleteIfExists(logFile(gameId));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to truncate action log of game " + gameId, e);
+        }
+    }
+
+    public void close(UUID gameId) {
+        FileChannel channel = channels.remove(gameId);
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close action log of game {}", gameId, e);
+            }
+        }
+    }
+
+
+    private FileChannel channel(UUID gameId) throws IOException {
+        FileChannel channel = channels.get(gameId);
+        if (channel == null) {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(logFile(gameId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channels.put(gameId, channel);
+        }
+        return channel;
+    }
+
+    private Path logFile(UUID gameId) {
+        return directory.resolve(gameId + ".log");
+    }
+}
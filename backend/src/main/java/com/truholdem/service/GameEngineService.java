@@ -0,0 +1,258 @@
+package com.truholdem.service;
+
+import com.truholdem.model.Game;
+import com.truholdem.repository.GameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+
+@Service
+public class GameEngineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameEngineService.class);
+
+    public static final String MODE_IN_MEMORY = "in-memory";
+
+    private final GameRepository gameRepository;
+    private final GameActionLog actionLog;
+    private final TransactionOperations transactions;
+    private final ExecutorService executor;
+    private final boolean enabled;
+    private final Duration commandTimeout;
+    private final Duration idleTimeout;
+
+    private final Map<UUID, GameTable> tables = new ConcurrentHashMap<>();
+
+    private final Counter snapshotsWritten;
+    private final Counter snapshotFailures;
+
+    public GameEngineService(
+            GameRepository gameRepository,
+            GameActionLog actionLog,
+            TransactionOperations transactions,
+            @Qualifier("gameEngineExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${app.game.engine.mode:database}") String mode,
+            @Value("${app.game.engine.command-timeout-ms:5000}") long commandTimeoutMs,
+            @Value("${app.game.engine.idle-timeout-minutes:30}") long idleTimeoutMinutes) {
+        this.gameRepository = gameRepository;
+        this.actionLog = actionLog;
+        this.transactions = transactions;
+        this.executor = executor;
+        this.enabled = MODE_IN_MEMORY.equalsIgnoreCase(mode.trim());
+        this.commandTimeout = Duration.ofMillis(commandTimeoutMs);
+        this.idleTimeout = Duration.ofMinutes(idleTimeoutMinutes);
+
+        Gauge.builder("poker.engine.tables", tables, Map::size)
+                .description("Game tables held in memory by the engine")
+                .register(meterRegistry);
+        this.snapshotsWritten = Counter.builder("poker.engine.snapshots")
+                .description("Hand-boundary snapshots written behind the engine")
+                .register(meterRegistry);
+        this.snapshotFailures = Counter.builder("poker.engine.snapshot.failures")
+                .description("Snapshots that could not be written and will be retried")
+                .register(meterRegistry);
+
+        logger.info("Game engine mode: {}", enabled ? MODE_IN_MEMORY : "database");
+    }
+
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int tableCount() {
+        return tables.size();
+    }
+
+    /**
+     * Runs a command against the table's in-memory game on the table's mailbox, loading the table from
+     * its last snapshot plus the action log the first time it is touched. Commands for one table never
+     * run concurrently, so they need no locking; commands must not call back into the engine. Each command
+     * runs in its own transaction on the mailbox thread, so no transaction is held open while it is queued.
+     */
+    public <T> T execute(UUID gameId, BiConsumer<Game, List<GameActionLog.Entry>> replay,
+                         Function<Game, T> command) {
+        while (true) {
+            GameTable table = tables.computeIfAbsent(gameId, id -> new GameTable(id, executor));
+            GameTable.Reply<T> reply = table.ask(t -> {
+                if (t.isRetired()) {
+                    throw new TableRetiredException();
+                }
+                T result = transactions.execute(status -> {
+                    if (!t.isLoaded()) {
+                        load(t, replay);
+                    }
+                    return command.apply(t.game());
+                });
+                if (t.needsSnapshot()) {
+                    // write-behind: the caller already has its reply by the time this runs
+                    t.tell(() -> snapshot(t));
+                }
+                return result;
+            });
+
+            try {
+                return await(gameId, reply);
+            } catch (TableRetiredException e) {
+                // the table was evicted while this command was queued; retry on a fresh one
+            }
+        }
+    }
+
+    public void register(Game game) {
+        GameTable table = new GameTable(game.getId(), executor);
+        table.tell(() -> {
+            table.game(game);
+            table.markSnapshot();
+        });
+        tables.put(game.getId(), table);
+    }
+
+    public void appendAction(Game game, GameActionLog.Entry entry) {
+        actionLog.append(game.getId(), entry);
+    }
+
+
+    @Scheduled(fixedDelayString = "${app.game.engine.eviction-interval-ms:60000}")
+    public void evictIdleTables() {
+        long idleNanos = idleTimeout.toNanos();
+        for (GameTable table : tables.values()) {
+            if (table.idleNanos() >= idleNanos) {
+                table.tell(() -> retire(table));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        List<CompletableFuture<Void>> flushed = new ArrayList<>();
+        for (GameTable table : tables.values()) {
+            flushed.add(table.ask(t -> {
+                snapshot(t);
+                return null;
+            }));
+        }
+        try {
+            CompletableFuture.allOf(flushed.toArray(CompletableFuture[]::new))
+                .get(commandTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Not every game table was flushed before shutdown; the action log still covers them", e);
+        }
+    }
+
+
+
+    private void load(GameTable table, BiConsumer<Game, List<GameActionLog.Entry>> replay) {
+        Game game;
+        try {
+            game = gameRepository.findById(table.gameId())
+                .orElseThrow(() -> new NoSuchElementException("Game not found: " + table.gameId()));
+        } catch (RuntimeException e) {
+            table.retire();
+            tables.remove(table.gameId(), table);
+            throw e;
+        }
+
+        table.game(game);
+        table.markSnapshot();
+
+        List<GameActionLog.Entry> entries = actionLog.read(table.gameId());
+        if (!entries.isEmpty()) {
+            replay.accept(game, entries);
+            logger.info("Recovered game {} from snapshot and {} logged actions", table.gameId(), entries.size());
+        }
+    }
+
+    private void snapshot(GameTable table) {
+        if (!table.needsSnapshot()) {
+            return;
+        }
+        try {
+            table.game(gameRepository.save(table.game()));
+            table.markSnapshot();
+            actionLog.truncate(table.gameId());
+            snapshotsWritten.increment();
+        } catch (OptimisticLockingFailureException e) {
+            // something outside the engine wrote this game; drop the copy and reload on the next command
+            logger.error("Snapshot of game {} conflicted with another writer, reloading table", table.gameId(), e);
+            snapshotFailures.increment();
+            table.unload();
+        } catch (RuntimeException e) {
+            logger.warn("Snapshot of game {} failed, will retry at the next command", table.gameId(), e);
+            snapshotFailures.increment();
+        }
+    }
+
+    private void retire(GameTable table) {
+        if (table.isRetired() || table.idleNanos() < idleTimeout.toNanos()) {
+            return;
+        }
+        snapshot(table);
+        if (table.needsSnapshot()) {
+            // keep the table until its state is safely persisted
+            return;
+        }
+        table.retire();
+        tables.remove(table.gameId(), table);
+        actionLog.close(table.gameId());
+        logger.debug("Evicted idle game table {}", table.gameId());
+    }
+
+    private <T> T await(UUID gameId, GameTable.Reply<T> reply) {
+        try {
+            return reply.get(commandTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Game command failed for game " + gameId, e.getCause());
+        } catch (TimeoutException e) {
+            if (reply.withdraw()) {
+                throw new IllegalStateException("Game " + gameId + " did not respond within " + commandTimeout
+                    + "; the command was cancelled and not applied");
+            }
+            throw new IllegalStateException("Game " + gameId + " did not respond within " + commandTimeout
+                + "; the command is still running and its outcome is unknown");
+        } catch (InterruptedException e) {
+            reply.withdraw();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for game " + gameId, e);
+        }
+    }
+
+
+    private static final class TableRetiredException extends RuntimeException {
+
+        TableRetiredException() {
+            super(null, null, false, false);
+        }
+    }
+}
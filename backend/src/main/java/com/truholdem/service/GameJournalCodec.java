@@ -0,0 +1,411 @@
+package com.truholdem.service;
+
+import com.truholdem.domain.aggregate.PokerGameSnapshot;
+import com.truholdem.domain.event.DomainEvent;
+import com.truholdem.domain.event.GameCreated;
+import com.truholdem.domain.event.GameStarted;
+import com.truholdem.domain.event.HandCompleted;
+import com.truholdem.domain.event.PhaseChanged;
+import com.truholdem.domain.event.PlayerActed;
+import com.truholdem.domain.event.PlayerEliminated;
+import com.truholdem.domain.event.PotAwarded;
+import com.truholdem.domain.value.Chips;
+import com.truholdem.domain.value.Pot;
+import com.truholdem.model.Card;
+import com.truholdem.model.GamePhase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * Binary encoding of journal events and aggregate snapshots. Counts, amounts and ordinals are
+ * written as unsigned varints and cards as their one-byte index, so a typical action is a few
+ * dozen bytes.
+ */
+final class GameJournalCodec {
+
+    static final short GAME_CREATED = 1;
+    static final short GAME_STARTED = 2;
+    static final short PLAYER_ACTED = 3;
+    static final short PHASE_CHANGED = 4;
+    static final short POT_AWARDED = 5;
+    static final short HAND_COMPLETED = 6;
+    static final short PLAYER_ELIMINATED = 7;
+
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    private static final GamePhase[] PHASES = GamePhase.values();
+    private static final PlayerActed.ActionType[] ACTION_TYPES = PlayerActed.ActionType.values();
+    private static final Pot.PotType[] POT_TYPES = Pot.PotType.values();
+
+    private GameJournalCodec() {
+    }
+
+
+    static short typeOf(DomainEvent event) {
+        return switch (event) {
+            case GameCreated e -> GAME_CREATED;
+            case GameStarted e -> GAME_STARTED;
+            case PlayerActed e -> PLAYER_ACTED;
+            case PhaseChanged e -> PHASE_CHANGED;
+            case PotAwarded e -> POT_AWARDED;
+            case HandCompleted e -> HAND_COMPLETED;
+            case PlayerEliminated e -> PLAYER_ELIMINATED;
+        };
+    }
+
+    static byte[] encode(DomainEvent event) {
+        return encode(event, List.of());
+    }
+
+    /**
+     * Encodes the event; a {@link GameStarted} is followed by the card order its hand was dealt from,
+     * which stays in the journal and is not part of the event itself.
+     */
+    static byte[] encode(DomainEvent event, List<Card> dealtDeck) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            switch (event) {
+                case GameCreated e -> {
+                    writeVarInt(out, e.getPlayerCount());
+                    for (UUID playerId : e.getPlayerIds()) {
+                        writeUuid(out, playerId);
+                    }
+                    writeVarInt(out, e.getStartingStack().amount());
+                    writeVarInt(out, e.getSmallBlind().amount());
+                    writeVarInt(out, e.getBigBlind().amount());
+                }
+                case GameStarted e -> {
+                    writeVarInt(out, e.getDealerPosition());
+                    writeUuid(out, e.getSmallBlindPlayerId());
+                    writeUuid(out, e.getBigBlindPlayerId());
+                    writeVarInt(out, e.getHandNumber());
+                    writeCards(out, dealtDeck);
+                }
+                case PlayerActed e -> {
+                    writeUuid(out, e.getPlayerId());
+                    out.writeUTF(e.getPlayerName());
+                    writeVarInt(out, e.getAction().ordinal());
+                    writeVarInt(out, e.getAmount().amount());
+                    writeVarInt(out, e.getPhase().ordinal());
+                    writeVarInt(out, e.getPotAfterAction().amount());
+                    writeVarInt(out, e.getPlayerChipsAfter().amount());
+                    out.writeBoolean(e.isAllIn());
+                }
+                case PhaseChanged e -> {
+                    writeVarInt(out, e.getPreviousPhase().ordinal());
+                    writeVarInt(out, e.getNewPhase().ordinal());
+                    writeCards(out, e.getNewCommunityCards());
+                    writeCards(out, e.getAllCommunityCards());
+                    writeVarInt(out, e.getPotSize().amount());
+                    writeVarInt(out, e.getActivePlayerCount());
+                }
+                case PotAwarded e -> {
+                    writeUuid(out, e.getWinnerId());
+                    out.writeUTF(e.getWinnerName());
+                    writeVarInt(out, e.getAmount().amount());
+                    writeNullableString(out, e.getHandDescription());
+                    writeVarInt(out, e.getPotType().ordinal());
+                    out.writeBoolean(e.wasSplitPot());
+                    writeVarInt(out, e.getSplitWinnerCount());
+                }
+                case HandCompleted e -> {
+                    writeVarInt(out, e.getHandNumber());
+                    writeVarInt(out, e.getPotResults().size());
+                    for (HandCompleted.PotResult result : e.getPotResults()) {
+                        writeUuid(out, result.winnerId());
+                        out.writeUTF(result.winnerName());
+                        writeVarInt(out, result.amount().amount());
+                        writeNullableString(out, result.handDescription());
+                        out.writeBoolean(result.isSidePot());
+                    }
+                    writeVarInt(out, e.getPlayerChipsAfter().size());
+                    for (Map.Entry<UUID, Chips> chips : e.getPlayerChipsAfter().entrySet()) {
+                        writeUuid(out, chips.getKey());
+                        writeVarInt(out, chips.getValue().amount());
+                    }
+                    out.writeLong(e.getHandDuration() != null ? e.getHandDuration().toMillis() : -1L);
+                    writeVarInt(out, e.getTotalActions());
+                    out.writeBoolean(e.wentToShowdown());
+                }
+                case PlayerEliminated e -> {
+                    writeUuid(out, e.getPlayerId());
+                    out.writeUTF(e.getPlayerName());
+                    writeVarInt(out, e.getFinishPosition());
+                    writeVarInt(out, e.getTotalWinnings().amount());
+                    writeVarInt(out, e.getHandsPlayed());
+                    writeNullableUuid(out, e.getEliminatedByPlayerId());
+                    writeNullableString(out, e.getEliminatedByPlayerName());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode " + event.getEventType(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static DomainEvent decode(UUID gameId, short type, byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return switch (type) {
+                case GAME_CREATED -> {
+                    int count = readVarInt(in);
+                    List<UUID> playerIds = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        playerIds.add(readUuid(in));
+                    }
+                    yield new GameCreated(gameId, playerIds,
+                            readChips(in), readChips(in), readChips(in));
+                }
+                case GAME_STARTED -> new GameStarted(gameId,
+                        readVarInt(in), readUuid(in), readUuid(in), readVarInt(in));
+                case PLAYER_ACTED -> new PlayerActed(gameId,
+                        readUuid(in), in.readUTF(), ACTION_TYPES[readVarInt(in)], readChips(in),
+                        PHASES[readVarInt(in)], readChips(in), readChips(in), in.readBoolean());
+                case PHASE_CHANGED -> new PhaseChanged(gameId,
+                        PHASES[readVarInt(in)], PHASES[readVarInt(in)], readCards(in), readCards(in),
+                        readChips(in), readVarInt(in));
+                case POT_AWARDED -> new PotAwarded(gameId,
+                        readUuid(in), in.readUTF(), readChips(in), readNullableString(in),
+                        POT_TYPES[readVarInt(in)], in.readBoolean(), readVarInt(in));
+                case HAND_COMPLETED -> {
+                    int handNumber = readVarInt(in);
+                    int potCount = readVarInt(in);
+                    List<HandCompleted.PotResult> potResults = new ArrayList<>(potCount);
+                    for (int i = 0; i < potCount; i++) {
+                        potResults.add(new HandCompleted.PotResult(
+                                readUuid(in), in.readUTF(), readChips(in), readNullableString(in), in.readBoolean()));
+                    }
+                    int playerCount = readVarInt(in);
+                    Map<UUID, Chips> playerChipsAfter = new HashMap<>();
+                    for (int i = 0; i < playerCount; i++) {
+                        playerChipsAfter.put(readUuid(in), readChips(in));
+                    }
+                    long durationMillis = in.readLong();
+                    yield new HandCompleted(gameId, handNumber, potResults, playerChipsAfter,
+                            durationMillis >= 0 ? Duration.ofMillis(durationMillis) : null,
+                            readVarInt(in), in.readBoolean());
+                }
+                case PLAYER_ELIMINATED -> new PlayerEliminated(gameId,
+                        readUuid(in), in.readUTF(), readVarInt(in), readChips(in), readVarInt(in),
+                        readNullableUuid(in), readNullableString(in));
+                default -> throw new IllegalArgumentException("Unknown journal event type: " + type);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode journal event of type " + type, e);
+        }
+    }
+
+
+
+    static List<Card> decodeDealtDeck(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            readVarInt(in);
+            readUuid(in);
+            readUuid(in);
+            readVarInt(in);
+            return readCards(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode the dealt deck of a hand start", e);
+        }
+    }
+
+
+    static byte[] encodeSnapshot(PokerGameSnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeVarInt(out, SNAPSHOT_FORMAT);
+            writeUuid(out, snapshot.id());
+            out.writeLong(snapshot.version());
+            writeInstant(out, snapshot.createdAt());
+            writeInstant(out, snapshot.updatedAt());
+            writeVarInt(out, snapshot.smallBlind());
+            writeVarInt(out, snapshot.bigBlind());
+            writeVarInt(out, snapshot.phase().ordinal());
+            writeVarInt(out, snapshot.dealerPosition());
+            writeVarInt(out, snapshot.currentPlayerIndex());
+            writeVarInt(out, snapshot.handNumber());
+            out.writeBoolean(snapshot.finished());
+            writeVarInt(out, snapshot.currentBet());
+            writeVarInt(out, snapshot.minRaise());
+            writeVarInt(out, snapshot.actionsThisRound());
+            writeNullableUuid(out, snapshot.lastAggressorId());
+            writeVarInt(out, snapshot.potAmount());
+            writeVarInt(out, snapshot.sidePotAmounts().size());
+            for (int amount : snapshot.sidePotAmounts()) {
+                writeVarInt(out, amount);
+            }
+            writeCards(out, snapshot.communityCards());
+            writeCards(out, snapshot.deck());
+            writeInstant(out, snapshot.handStartTime());
+
+            writeVarInt(out, snapshot.players().size());
+            for (PokerGameSnapshot.PlayerState player : snapshot.players()) {
+                writeUuid(out, player.id());
+                out.writeUTF(player.name());
+                out.writeBoolean(player.bot());
+                writeNullableUuid(out, player.userId());
+                writeVarInt(out, player.seatPosition());
+                writeVarInt(out, player.chips());
+                writeVarInt(out, player.betAmount());
+                writeVarInt(out, player.totalBetInRound());
+                out.writeBoolean(player.folded());
+                out.writeBoolean(player.allIn());
+                out.writeBoolean(player.hasActed());
+                writeCards(out, player.hand());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode snapshot of game " + snapshot.id(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static PokerGameSnapshot decodeSnapshot(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int format = readVarInt(in);
+            if (format != SNAPSHOT_FORMAT) {
+                throw new IllegalArgumentException("Unsupported snapshot format: " + format);
+            }
+
+            UUID id = readUuid(in);
+            long version = in.readLong();
+            Instant createdAt = readInstant(in);
+            Instant updatedAt = readInstant(in);
+            int smallBlind = readVarInt(in);
+            int bigBlind = readVarInt(in);
+            GamePhase phase = PHASES[readVarInt(in)];
+            int dealerPosition = readVarInt(in);
+            int currentPlayerIndex = readVarInt(in);
+            int handNumber = readVarInt(in);
+            boolean finished = in.readBoolean();
+            int currentBet = readVarInt(in);
+            int minRaise = readVarInt(in);
+            int actionsThisRound = readVarInt(in);
+            UUID lastAggressorId = readNullableUuid(in);
+            int potAmount = readVarInt(in);
+            int sidePotCount = readVarInt(in);
+            List<Integer> sidePotAmounts = new ArrayList<>(sidePotCount);
+            for (int i = 0; i < sidePotCount; i++) {
+                sidePotAmounts.add(readVarInt(in));
+            }
+            List<Card> communityCards = readCards(in);
+            List<Card> deck = readCards(in);
+            Instant handStartTime = readInstant(in);
+
+            int playerCount = readVarInt(in);
+            List<PokerGameSnapshot.PlayerState> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                players.add(new PokerGameSnapshot.PlayerState(
+                        readUuid(in), in.readUTF(), in.readBoolean(), readNullableUuid(in),
+                        readVarInt(in), readVarInt(in), readVarInt(in), readVarInt(in),
+                        in.readBoolean(), in.readBoolean(), in.readBoolean(), readCards(in)));
+            }
+
+            return new PokerGameSnapshot(id, version, createdAt, updatedAt, smallBlind, bigBlind,
+                    phase, dealerPosition, currentPlayerIndex, handNumber, finished,
+                    currentBet, minRaise, actionsThisRound, lastAggressorId,
+                    potAmount, sidePotAmounts, communityCards, deck, handStartTime, players);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode game snapshot", e);
+        }
+    }
+
+
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Journal values must not be negative: " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static Chips readChips(DataInputStream in) throws IOException {
+        return Chips.of(readVarInt(in));
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeUuid(out, value);
+        }
+    }
+
+    private static UUID readNullableUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readUuid(in) : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+
+    private static void writeCards(DataOutputStream out, List<Card> cards) throws IOException {
+        writeVarInt(out, cards.size());
+        for (Card card : cards) {
+            out.writeByte(card.index());
+        }
+    }
+
+    private static List<Card> readCards(DataInputStream in) throws IOException {
+        int count = readVarInt(in);
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(Card.fromIndex(in.readUnsignedByte()));
+        }
+        return cards;
+    }
+}
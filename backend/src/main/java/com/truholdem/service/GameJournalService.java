@@ -0,0 +1,198 @@
+package com.truholdem.service;
+
+import com.truholdem.domain.aggregate.PokerGame;
+import com.truholdem.domain.event.DomainEvent;
+import com.truholdem.domain.event.GameCreated;
+import com.truholdem.domain.event.GameStarted;
+import com.truholdem.domain.event.HandCompleted;
+import com.truholdem.domain.event.PlayerActed;
+import com.truholdem.model.Card;
+import com.truholdem.model.GameJournalEntry;
+import com.truholdem.model.GameSnapshot;
+import com.truholdem.model.PlayerAction;
+import com.truholdem.repository.GameJournalRepository;
+import com.truholdem.repository.GameSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+
+/**
+ * Persists {@link PokerGame} as an append-only journal of its domain events plus a periodic snapshot,
+ * instead of rewriting the whole entity graph on every action. The aggregate's version is its journal
+ * position: the sequence number of the last event it has applied.
+ * <p>
+ * Scope: this journals the {@code PokerGame} aggregate only. Live tables are still played on the
+ * {@link com.truholdem.model.Game} entity through {@link PokerGameService}, whose per-action graph writes
+ * are not replaced by this journal; with the in-memory engine they are reduced to the action log plus
+ * hand-boundary snapshots instead (see {@link GameEngineService}). The journal becomes the live store
+ * once tables move onto the aggregate.
+ * <p>
+ * A hand start is journaled with the card order it was dealt from, never with a shuffle seed, and that
+ * order is not part of the published {@link GameStarted} event.
+ */
+@Service
+@Transactional
+public class GameJournalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameJournalService.class);
+
+    private final GameJournalRepository journalRepository;
+    private final GameSnapshotRepository snapshotRepository;
+    private final int snapshotInterval;
+
+    private final Counter eventsAppended;
+    private final Counter snapshotsWritten;
+
+    public GameJournalService(
+            GameJournalRepository journalRepository,
+            GameSnapshotRepository snapshotRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.game.journal.snapshot-interval:50}") int snapshotInterval) {
+        this.journalRepository = journalRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+
+        this.eventsAppended = Counter.builder("poker.journal.events")
+                .description("Domain events appended to the game journal")
+                .register(meterRegistry);
+        this.snapshotsWritten = Counter.builder("poker.journal.snapshots")
+                .description("Game snapshots written to bound journal replay")
+                .register(meterRegistry);
+    }
+
+
+    public record JournaledEvent(long sequenceNumber, Instant occurredAt, DomainEvent event) {
+    }
+
+
+    /**
+     * Appends the game's pending domain events and snapshots it when a game is created, a hand
+     * completes or {@code snapshot-interval} events have passed. The events stay on the aggregate
+     * for the caller to publish and clear.
+     */
+    public long append(PokerGame game) {
+        List<DomainEvent> events = game.getDomainEvents();
+        long position = game.getVersion() != null ? game.getVersion() : 0L;
+        if (events.isEmpty()) {
+            return position;
+        }
+
+        List<GameJournalEntry> entries = new ArrayList<>(events.size());
+        boolean boundary = false;
+        for (DomainEvent event : events) {
+            entries.add(new GameJournalEntry(game.getId(), position + entries.size() + 1,
+                    GameJournalCodec.typeOf(event), event.getOccurredAt(),
+                    GameJournalCodec.encode(event, dealtDeck(game, event))));
+            boundary |= event instanceof GameCreated || event instanceof HandCompleted;
+        }
+        journalRepository.saveAll(entries);
+        eventsAppended.increment(entries.size());
+
+        long appendedTo = position + entries.size();
+        game.markJournaled(appendedTo);
+
+        if (boundary || appendedTo / snapshotInterval != position / snapshotInterval) {
+            snapshot(game);
+        }
+        return appendedTo;
+    }
+
+    public void snapshot(PokerGame game) {
+        snapshotRepository.save(new GameSnapshot(game.getId(), game.getVersion() != null ? game.getVersion() : 0L,
+                game.getHandNumber(), GameJournalCodec.encodeSnapshot(game.snapshot())));
+        snapshotsWritten.increment();
+    }
+
+    /**
+     * Rebuilds a game from its latest snapshot plus the journal entries after it. Only the commands
+     * (hand starts and player actions) are re-executed; the events they derive are raised again by the
+     * aggregate and then discarded.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PokerGame> rehydrate(UUID gameId) {
+        Optional<GameSnapshot> snapshot = snapshotRepository.findById(gameId);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+
+        PokerGame game = PokerGame.restore(GameJournalCodec.decodeSnapshot(snapshot.get().getPayload()));
+        long position = snapshot.get().getSequenceNumber();
+
+        for (GameJournalEntry entry : journalRepository
+                .findByGameIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(gameId, position)) {
+            apply(game, entry);
+            position = entry.getSequenceNumber();
+        }
+
+        game.clearDomainEvents();
+        game.markJournaled(position);
+        logger.debug("Rehydrated game {} at journal position {}", gameId, position);
+        return Optional.of(game);
+    }
+
+    @Transactional(readOnly = true)
+    public List<JournaledEvent> readJournal(UUID gameId) {
+        List<JournaledEvent> events = new ArrayList<>();
+        for (GameJournalEntry entry : journalRepository.findByGameIdOrderBySequenceNumberAsc(gameId)) {
+            events.add(new JournaledEvent(entry.getSequenceNumber(), entry.getOccurredAt(),
+                    GameJournalCodec.decode(gameId, entry.getEventType(), entry.getPayload())));
+        }
+        return events;
+    }
+
+
+
+    // the aggregate only knows the deck of its current hand, so each hand start is appended before the next
+    private static List<Card> dealtDeck(PokerGame game, DomainEvent event) {
+        if (!(event instanceof GameStarted started)) {
+            return List.of();
+        }
+        if (started.getHandNumber() != game.getHandNumber()) {
+            throw new IllegalStateException("Hand #" + started.getHandNumber() + " of game " + game.getId()
+                    + " was not journaled before hand #" + game.getHandNumber() + " started");
+        }
+        return game.getDealtDeck();
+    }
+
+    private void apply(PokerGame game, GameJournalEntry entry) {
+        if (entry.getEventType() == GameJournalCodec.GAME_STARTED) {
+            game.startNewHand(GameJournalCodec.decodeDealtDeck(entry.getPayload()));
+            return;
+        }
+        switch (GameJournalCodec.decode(game.getId(), entry.getEventType(), entry.getPayload())) {
+            case PlayerActed acted -> {
+                PlayerAction action = toPlayerAction(acted.getAction());
+                if (action != null) {
+                    game.executeAction(acted.getPlayerId(), action, acted.getAmount());
+                }
+            }
+            default -> {
+                // derived from the commands above; replaying them raises these again
+            }
+        }
+    }
+
+    private static PlayerAction toPlayerAction(PlayerActed.ActionType actionType) {
+        return switch (actionType) {
+            case FOLD -> PlayerAction.FOLD;
+            case CHECK -> PlayerAction.CHECK;
+            case CALL -> PlayerAction.CALL;
+            case BET -> PlayerAction.BET;
+            case RAISE -> PlayerAction.RAISE;
+            case ALL_IN -> PlayerAction.ALL_IN;
+            // blinds are posted by startNewHand
+            case POST_SMALL_BLIND, POST_BIG_BLIND -> null;
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.truholdem.service;
 
 import com.truholdem.model.GameUpdateType;
+import com.truholdem.dto.GameDeltaMessage;
 import com.truholdem.dto.PlayerActionMessageDto;
 import com.truholdem.dto.ShowdownResult;
 import com.truholdem.dto.WebSocketGameUpdateMessage;
@@ -19,10 +20,19 @@ public class GameNotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(GameNotificationService.class);
 
+    public static final String PLAYER_QUEUE = "/queue/game";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final GameStateDeltaService deltaService;
+    private final GameViewService viewService;
 
-    public GameNotificationService(SimpMessagingTemplate messagingTemplate) {
+    public GameNotificationService(
+            SimpMessagingTemplate messagingTemplate,
+            GameStateDeltaService deltaService,
+            GameViewService viewService) {
         this.messagingTemplate = messagingTemplate;
+        this.deltaService = deltaService;
+        this.viewService = viewService;
     }
 
     public void broadcastGameUpdate(Game game) {
@@ -30,41 +40,45 @@ public class GameNotificationService {
 
         String destination = "/topic/game/" + game.getId();
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publish(
+            destination,
             GameUpdateType.GAME_STATE,
             game,
             null,
             "Game state updated"
         );
-
-
-        messagingTemplate.convertAndSend((String) destination, message);
         logger.debug("Broadcast game update to {}", destination);
     }
 
     public void broadcastPlayerAction(Game game, Player player, String action, int amount) {
-        if (game == null || game.getId() == null) return;
-
-        String destination = "/topic/game/" + game.getId();
-
-        PlayerActionMessageDto actionMessage = new PlayerActionMessageDto(
+        broadcastPlayerAction(game, new PlayerActionMessageDto(
             player.getId(),
             player.getName(),
             action,
             amount,
             player.getChips(),
             player.getBetAmount()
-        );
+        ));
+    }
+
+    /**
+     * Broadcasts the state an action led to, with the action as it was taken, so one update describes
+     * the whole transition even when the betting round or the hand ended in between.
+     */
+    public void broadcastPlayerAction(Game game, PlayerActionMessageDto actionMessage) {
+        if (game == null || game.getId() == null) return;
+
+        String destination = "/topic/game/" + game.getId();
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publish(
+            destination,
             GameUpdateType.PLAYER_ACTION,
             game,
             actionMessage,
-            player.getName() + " performed " + action
+            actionMessage.playerName() + " performed " + actionMessage.action()
         );
-
-        messagingTemplate.convertAndSend((String) destination, message);
-        logger.debug("Broadcast player action: {} {} {}", player.getName(), action, amount);
+        logger.debug("Broadcast player action: {} {} {}",
+            actionMessage.playerName(), actionMessage.action(), actionMessage.amount());
     }
 
     public void broadcastPhaseChange(Game game) {
@@ -72,14 +86,13 @@ public class GameNotificationService {
 
         String destination = "/topic/game/" + game.getId();
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publish(
+            destination,
             GameUpdateType.PHASE_CHANGE,
             game,
             null,
             "Phase changed to " + game.getPhase()
         );
-
-        messagingTemplate.convertAndSend((String) destination, message);
         logger.info("Broadcast phase change to {}: {}", destination, game.getPhase());
     }
 
@@ -88,14 +101,13 @@ public class GameNotificationService {
 
         String destination = "/topic/game/" + game.getId();
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publish(
+            destination,
             GameUpdateType.SHOWDOWN,
             game,
             result,
             result.getMessage()
         );
-
-        messagingTemplate.convertAndSend((String) destination, message);
         logger.info("Broadcast showdown result: {}", result.getMessage());
     }
 
@@ -104,18 +116,46 @@ public class GameNotificationService {
 
         String destination = "/topic/game/" + game.getId();
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publish(
+            destination,
             GameUpdateType.GAME_ENDED,
             game,
             Map.of("winner", winnerName),
             "Game ended. Winner: " + winnerName
         );
-
-
-        messagingTemplate.convertAndSend((String) destination, message);
         logger.info("Broadcast game ended: Winner {}", winnerName);
     }
 
+    // the public view goes to the game topic first, then each seated player's own view to their user queue;
+    // the broker preserves that order per session and clients never let the public frame hide their own cards
+    private void publish(String destination, GameUpdateType type, Game game, Object payload, String message) {
+        if (deltaService.isDeltaMode()) {
+            GameDeltaMessage frame = deltaService.encode(game, type, payload, message);
+            if (frame.kind() == GameDeltaMessage.Kind.DELTA) {
+                viewService.invalidate(game.getId());
+                messagingTemplate.convertAndSend(destination, frame);
+            } else {
+                GameViewService.Views views = viewService.publish(game);
+                messagingTemplate.convertAndSend(destination, frame.withGame(views.publicView()));
+                for (String user : views.seatedUsers()) {
+                    messagingTemplate.convertAndSendToUser(user, PLAYER_QUEUE, frame.withGame(views.viewFor(user)));
+                }
+            }
+        } else {
+            GameViewService.Views views = viewService.publish(game);
+            messagingTemplate.convertAndSend(destination,
+                new WebSocketGameUpdateMessage(type, views.publicView(), payload, message));
+            for (String user : views.seatedUsers()) {
+                messagingTemplate.convertAndSendToUser(user, PLAYER_QUEUE,
+                    new WebSocketGameUpdateMessage(type, views.viewFor(user), payload, message));
+            }
+        }
+
+        if (type == GameUpdateType.GAME_ENDED) {
+            viewService.discard(game.getId());
+        }
+    }
+
     public void sendToUser(String username, String destination, Object payload) {
         messagingTemplate.convertAndSendToUser(username, destination, payload);
     }
@@ -0,0 +1,196 @@
+package com.truholdem.service;
+
+import com.truholdem.dto.GameDeltaMessage;
+import com.truholdem.dto.GameDeltaMessage.PlayerDelta;
+import com.truholdem.model.Card;
+import com.truholdem.model.Game;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.GameUpdateType;
+import com.truholdem.model.Player;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Encodes game broadcasts for the delta protocol. For every game it remembers the fields the last frame
+ * carried and numbers frames from 1, so each broadcast only ships what changed since the one before it.
+ * A full snapshot is sent instead whenever subscribers cannot build on the previous frame: the first
+ * broadcast of a game, a new hand, a change in the seated players, and updates that rewrite most of the
+ * table anyway (showdown, game end, explicit state refreshes). Subscribers joining mid-hand or detecting
+ * a gap in the sequence ask for {@link #snapshot(Game, long)}.
+ */
+@Service
+public class GameStateDeltaService {
+
+    public enum Mode {
+        FULL,
+        DELTA
+    }
+
+    private static final Set<GameUpdateType> SNAPSHOT_TYPES = EnumSet.of(
+        GameUpdateType.GAME_STATE, GameUpdateType.NEW_HAND, GameUpdateType.SHOWDOWN, GameUpdateType.GAME_ENDED);
+
+    private final Mode mode;
+    private final ConcurrentHashMap<UUID, Frame> frames = new ConcurrentHashMap<>();
+
+    public GameStateDeltaService(@Value("${app.websocket.updates.mode:FULL}") Mode mode) {
+        this.mode = mode;
+    }
+
+    public boolean isDeltaMode() {
+        return mode == Mode.DELTA;
+    }
+
+    public GameDeltaMessage encode(Game game, GameUpdateType type, Object payload, String message) {
+        Frame frame = frames.computeIfAbsent(game.getId(), id -> new Frame());
+        GameDeltaMessage encoded;
+        synchronized (frame) {
+            long sequence = ++frame.sequence;
+            if (!frame.primed || SNAPSHOT_TYPES.contains(type) || !frame.sameTable(game)) {
+                encoded = GameDeltaMessage.snapshot(type, game.getId(), game, sequence, payload, message);
+            } else {
+                encoded = frame.diff(game, type, sequence, payload, message);
+            }
+            frame.capture(game);
+        }
+        if (type == GameUpdateType.GAME_ENDED) {
+            frames.remove(game.getId(), frame);
+        }
+        return encoded;
+    }
+
+    /**
+     * The whole game, numbered with {@code sequence}. Callers read {@link #currentSequence(UUID)} before
+     * loading the game, so the state is never older than the frame it is numbered with: fields that changed
+     * after that frame already hold their new values, which the next delta sets again. Numbering a state
+     * with a frame read after loading it could skip a delta the state does not contain yet.
+     */
+    public GameDeltaMessage snapshot(Game game, long sequence) {
+        return GameDeltaMessage.snapshot(GameUpdateType.GAME_STATE, game.getId(), game,
+            sequence, null, "Current game state");
+    }
+
+    /**
+     * Number of the last frame broadcast for the game, or 0 before the first one.
+     */
+    public long currentSequence(UUID gameId) {
+        Frame frame = frames.get(gameId);
+        if (frame == null) {
+            return 0;
+        }
+        synchronized (frame) {
+            return frame.sequence;
+        }
+    }
+
+
+    private record PlayerFrame(int chips, int betAmount, int totalBetInRound, boolean folded, boolean allIn) {
+
+        static PlayerFrame of(Player player) {
+            return new PlayerFrame(player.getChips(), player.getBetAmount(), player.getTotalBetInRound(),
+                player.isFolded(), player.isAllIn());
+        }
+
+        PlayerDelta diff(UUID id, PlayerFrame now) {
+            if (equals(now)) {
+                return null;
+            }
+            return new PlayerDelta(id,
+                chips != now.chips ? now.chips : null,
+                betAmount != now.betAmount ? now.betAmount : null,
+                totalBetInRound != now.totalBetInRound ? now.totalBetInRound : null,
+                folded != now.folded ? now.folded : null,
+                allIn != now.allIn ? now.allIn : null);
+        }
+    }
+
+    private static final class Frame {
+
+        long sequence;
+        boolean primed;
+
+        int handNumber;
+        GamePhase phase;
+        int currentPot;
+        int currentBet;
+        int currentPlayerIndex;
+        int minRaiseAmount;
+        int lastRaiseAmount;
+        List<Card> communityCards = List.of();
+        List<UUID> playerIds = List.of();
+        Map<UUID, PlayerFrame> players = Map.of();
+
+        // whether a delta can describe the game: same hand, same players in the same seats
+        boolean sameTable(Game game) {
+            if (game.getHandNumber() != handNumber || game.getPlayers().size() != playerIds.size()) {
+                return false;
+            }
+            for (int i = 0; i < playerIds.size(); i++) {
+                if (!Objects.equals(playerIds.get(i), game.getPlayers().get(i).getId())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        GameDeltaMessage diff(Game game, GameUpdateType type, long sequence, Object payload, String message) {
+            List<PlayerDelta> changed = new ArrayList<>();
+            for (Player player : game.getPlayers()) {
+                PlayerDelta delta = players.get(player.getId()).diff(player.getId(), PlayerFrame.of(player));
+                if (delta != null) {
+                    changed.add(delta);
+                }
+            }
+            return new GameDeltaMessage(
+                GameDeltaMessage.Kind.DELTA,
+                type,
+                game.getId(),
+                sequence,
+                null,
+                game.getPhase() != phase ? game.getPhase() : null,
+                changed(currentPot, game.getCurrentPot()),
+                changed(currentBet, game.getCurrentBet()),
+                changed(currentPlayerIndex, game.getCurrentPlayerIndex()),
+                changed(minRaiseAmount, game.getMinRaiseAmount()),
+                changed(lastRaiseAmount, game.getLastRaiseAmount()),
+                Objects.equals(communityCards, game.getCommunityCards()) ? null : List.copyOf(game.getCommunityCards()),
+                changed.isEmpty() ? null : changed,
+                payload,
+                message);
+        }
+
+        void capture(Game game) {
+            primed = true;
+            handNumber = game.getHandNumber();
+            phase = game.getPhase();
+            currentPot = game.getCurrentPot();
+            currentBet = game.getCurrentBet();
+            currentPlayerIndex = game.getCurrentPlayerIndex();
+            minRaiseAmount = game.getMinRaiseAmount();
+            lastRaiseAmount = game.getLastRaiseAmount();
+            communityCards = List.copyOf(game.getCommunityCards());
+            List<UUID> ids = new ArrayList<>(game.getPlayers().size());
+            Map<UUID, PlayerFrame> seated = new HashMap<>();
+            for (Player player : game.getPlayers()) {
+                ids.add(player.getId());
+                seated.put(player.getId(), PlayerFrame.of(player));
+            }
+            playerIds = ids;
+            players = seated;
+        }
+
+        private static Integer changed(int before, int after) {
+            return before != after ? after : null;
+        }
+    }
+}
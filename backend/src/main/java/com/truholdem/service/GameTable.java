@@ -0,0 +1,166 @@
+package com.truholdem.service;
+
+import com.truholdem.model.Game;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+
+final class GameTable {
+
+    // messages handled per turn on a worker before yielding it to other tables
+    private static final int BATCH_SIZE = 32;
+
+    private final UUID gameId;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // everything below is only touched from inside the mailbox
+    private Game game;
+    private long snapshotBoundary = -1;
+    private boolean retired;
+
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    GameTable(UUID gameId, Executor executor) {
+        this.gameId = gameId;
+        this.executor = executor;
+    }
+
+
+
+    UUID gameId() {
+        return gameId;
+    }
+
+    <T> Reply<T> ask(Function<GameTable, T> message) {
+        lastActivityNanos = System.nanoTime();
+        Reply<T> reply = new Reply<>();
+        tell(() -> {
+            if (!reply.start()) {
+                return;
+            }
+            try {
+                reply.complete(message.apply(this));
+            } catch (RuntimeException e) {
+                reply.completeExceptionally(e);
+            }
+        });
+        return reply;
+    }
+
+    void tell(Runnable message) {
+        mailbox.add(message);
+        schedule();
+    }
+
+    long idleNanos() {
+        return System.nanoTime() - lastActivityNanos;
+    }
+
+
+
+    Game game() {
+        return game;
+    }
+
+    void game(Game game) {
+        this.game = game;
+    }
+
+    boolean isLoaded() {
+        return game != null;
+    }
+
+    // a table crosses a boundary when a hand starts or finishes
+    static long boundaryOf(Game game) {
+        return game.getHandNumber() * 2L + (game.isFinished() ? 1 : 0);
+    }
+
+    boolean needsSnapshot() {
+        return game != null && boundaryOf(game) != snapshotBoundary;
+    }
+
+    void markSnapshot() {
+        snapshotBoundary = boundaryOf(game);
+    }
+
+    // the next message reloads the game from its snapshot and action log
+    void unload() {
+        game = null;
+    }
+
+    void retire() {
+        retired = true;
+        game = null;
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+
+
+    /**
+     * The reply to a message asked of the table. A caller that stops waiting can withdraw the message as
+     * long as the mailbox has not started it yet; once started, it runs to completion.
+     */
+    static final class Reply<T> extends CompletableFuture<T> {
+
+        private static final int QUEUED = 0;
+        private static final int STARTED = 1;
+        private static final int WITHDRAWN = 2;
+
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private boolean start() {
+            return state.compareAndSet(QUEUED, STARTED);
+        }
+
+        boolean withdraw() {
+            if (state.compareAndSet(QUEUED, WITHDRAWN)) {
+                cancel(false);
+                return true;
+            }
+            return false;
+        }
+    }
+
+
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable message = mailbox.poll();
+                if (message == null) {
+                    break;
+                }
+                message.run();
+            }
+        } finally {
+            scheduled.set(false);
+            // a message may have arrived after the last poll but before the flag was cleared
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
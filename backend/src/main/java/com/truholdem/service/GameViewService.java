@@ -0,0 +1,187 @@
+package com.truholdem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.truholdem.model.Game;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.Player;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Projects games into what each viewer may see. Every broadcast publishes a new version of a game, and
+ * each version has one public view, with the deck and all unrevealed hole cards removed, plus one private
+ * view per owned seat that adds that seat's own hand, sent to the account that owns the seat (never to
+ * whoever shares the seat's display name). A view is serialized to JSON once, when it is
+ * first needed, and the bytes are embedded verbatim in every message that carries it, so broadcasts,
+ * subscribe replies and reconnect snapshots of the same version share them. Only the latest version of a
+ * game is kept.
+ */
+@Service
+public class GameViewService {
+
+    // computed from the seated players, hole cards included; clients derive them from "players"
+    private static final List<String> DERIVED_FIELDS = List.of("currentPlayer", "activePlayers", "playersStillInHand", "lastAggressor");
+
+    private final ObjectMapper objectMapper;
+    private final UserService userService;
+    private final ConcurrentHashMap<UUID, Slot> latest = new ConcurrentHashMap<>();
+
+    private final Counter serialized;
+
+    public GameViewService(ObjectMapper objectMapper, UserService userService, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.userService = userService;
+        this.serialized = Counter.builder("poker.views.serialized")
+                .description("Game views serialized for WebSocket clients")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Projects the game as a new version; called once per broadcast that carries the game.
+     */
+    public Views publish(Game game) {
+        return latest.compute(game.getId(), (id, slot) -> next(slot, game)).views();
+    }
+
+    /**
+     * Marks the game as changed by a broadcast that did not carry it, so the next view is projected anew.
+     */
+    public void invalidate(UUID gameId) {
+        latest.computeIfPresent(gameId, (id, slot) -> new Slot(slot.version(), null));
+    }
+
+    /**
+     * The views of the latest version, projected from the given game if the game changed since.
+     */
+    public Views current(Game game) {
+        return latest.compute(game.getId(),
+                (id, slot) -> slot != null && slot.views() != null ? slot : next(slot, game)).views();
+    }
+
+    public void discard(UUID gameId) {
+        latest.remove(gameId);
+    }
+
+
+    private Slot next(Slot slot, Game game) {
+        long version = slot == null ? 1 : slot.version() + 1;
+        return new Slot(version, new Views(game, version));
+    }
+
+
+    private record Slot(long version, Views views) {
+    }
+
+    private RawValue serialize(JsonNode view) {
+        try {
+            SerializedString json = new SerializedString(objectMapper.writeValueAsString(view));
+            json.asUnquotedUTF8();
+            serialized.increment();
+            return new RawValue(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize game view", e);
+        }
+    }
+
+    // hole cards stay hidden unless the hand went to a showdown between several players
+    private static boolean revealed(Game game, Player player) {
+        if (game.getPhase() != GamePhase.SHOWDOWN || player.isFolded()) {
+            return false;
+        }
+        return game.getPlayers().stream().filter(p -> !p.isFolded()).count() > 1;
+    }
+
+
+    public final class Views {
+
+        private final UUID gameId;
+        private final long version;
+        private final ObjectNode publicTree;
+        private final RawValue publicView;
+        private final Map<UUID, JsonNode> hands = new HashMap<>();
+        private final Map<UUID, Integer> seats = new HashMap<>();
+        private final Map<String, UUID> users = new HashMap<>();
+        private final ConcurrentHashMap<UUID, RawValue> privateViews = new ConcurrentHashMap<>();
+
+        private Views(Game game, long version) {
+            this.gameId = game.getId();
+            this.version = version;
+
+            ObjectNode tree = objectMapper.valueToTree(game);
+            tree.remove("deck");
+            tree.remove(DERIVED_FIELDS);
+            ArrayNode players = (ArrayNode) tree.get("players");
+            for (int i = 0; i < game.getPlayers().size() && i < players.size(); i++) {
+                Player player = game.getPlayers().get(i);
+                ObjectNode node = (ObjectNode) players.get(i);
+                seats.put(player.getId(), i);
+                if (!player.isBot() && player.getUserId() != null) {
+                    userService.findById(player.getUserId())
+                        .ifPresent(owner -> users.put(owner.getUsername(), player.getId()));
+                }
+                if (!revealed(game, player)) {
+                    hands.put(player.getId(), node.replace("hand", objectMapper.createArrayNode()));
+                }
+            }
+            this.publicTree = tree;
+            this.publicView = serialize(tree);
+        }
+
+        public UUID gameId() {
+            return gameId;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public RawValue publicView() {
+            return publicView;
+        }
+
+        /**
+         * The view of the given seated player, or the public view for anyone else.
+         */
+        public RawValue privateView(UUID playerId) {
+            JsonNode hand = playerId != null ? hands.get(playerId) : null;
+            if (hand == null || hand.isEmpty()) {
+                return publicView;
+            }
+            return privateViews.computeIfAbsent(playerId, id -> {
+                ObjectNode tree = publicTree.deepCopy();
+                ((ObjectNode) tree.get("players").get(seats.get(id))).set("hand", hand);
+                return serialize(tree);
+            });
+        }
+
+        /**
+         * The view of the seat owned by the given account, or the public view if it owns none.
+         */
+        public RawValue viewFor(String username) {
+            return privateView(username != null ? users.get(username) : null);
+        }
+
+        /**
+         * Usernames of the accounts owning a seat in this version, each of which gets a private view.
+         */
+        public Set<String> seatedUsers() {
+            return Collections.unmodifiableSet(users.keySet());
+        }
+    }
+}
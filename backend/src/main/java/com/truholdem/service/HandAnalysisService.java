@@ -8,6 +8,7 @@ import com.truholdem.dto.HandAnalysisDto.*;
 import com.truholdem.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -21,9 +22,17 @@ public class HandAnalysisService {
     private static final Logger logger = LoggerFactory.getLogger(HandAnalysisService.class);
 
 
-    private static final int DEFAULT_MONTE_CARLO_ITERATIONS = 10000;
-    private static final int QUICK_MONTE_CARLO_ITERATIONS = 2000;
-    private static final int PRECISE_MONTE_CARLO_ITERATIONS = 50000;
+    private static final SimulationBudget DEFAULT_SIMULATION_BUDGET = SimulationBudget.standardError(0.005, 20000);
+    private static final SimulationBudget QUICK_SIMULATION_BUDGET = SimulationBudget.standardError(0.01, 5000);
+    private static final SimulationBudget PRECISE_SIMULATION_BUDGET = SimulationBudget.standardError(0.0025, 100000);
+
+    // runouts x villain combos evaluated exactly instead of sampled (turn and river always fit)
+    private static final long EXACT_ENUMERATION_LIMIT = 500_000;
+
+    // fixed chunk size keeps seeded results independent of how many workers run them
+    private static final int SIMULATION_CHUNK_SIZE = 1000;
+    private static final int ADAPTIVE_ROUND_ITERATIONS = 4 * SIMULATION_CHUNK_SIZE;
+    private static final int VILLAIN_REDRAW_ATTEMPTS = 8;
 
 
     private static final double SMALL_BET_POT_RATIO = 0.33;
@@ -36,15 +45,18 @@ public class HandAnalysisService {
     private static final double CALL_THRESHOLD_MODIFIER = 0.05;
 
     private final HandEvaluator handEvaluator;
-    private final Random random = new Random();
-    private final ExecutorService executorService;
-
-    public HandAnalysisService(HandEvaluator handEvaluator) {
+    private final ExecutorService equityExecutor;
+    private final PreflopEquityTable preflopEquityTable;
+    private final EquityResultCache equityResultCache;
+
+    public HandAnalysisService(HandEvaluator handEvaluator,
+                               @Qualifier("equityExecutor") ExecutorService equityExecutor,
+                               PreflopEquityTable preflopEquityTable,
+                               EquityResultCache equityResultCache) {
         this.handEvaluator = handEvaluator;
-
-        this.executorService = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors()
-        );
+        this.equityExecutor = equityExecutor;
+        this.preflopEquityTable = preflopEquityTable;
+        this.equityResultCache = equityResultCache;
     }
 
 
@@ -53,114 +65,341 @@ public class HandAnalysisService {
     public EquityResult calculateEquity(List<Card> heroHand, List<Card> communityCards,
                                         HandRange villainRange, int numOpponents) {
         return calculateEquity(heroHand, communityCards, villainRange,
-                              numOpponents, DEFAULT_MONTE_CARLO_ITERATIONS);
+                              numOpponents, DEFAULT_SIMULATION_BUDGET);
     }
 
 
     public EquityResult calculateEquity(List<Card> heroHand, List<Card> communityCards,
                                         HandRange villainRange, int numOpponents,
                                         int iterations) {
+        return calculateEquity(heroHand, communityCards, villainRange, numOpponents,
+                              SimulationBudget.iterations(iterations));
+    }
+
+
+    public EquityResult calculateEquity(List<Card> heroHand, List<Card> communityCards,
+                                        HandRange villainRange, int numOpponents,
+                                        int iterations, long seed) {
+        return calculateEquity(heroHand, communityCards, villainRange, numOpponents,
+                              SimulationBudget.iterations(iterations), seed);
+    }
+
+
+    public EquityResult calculateEquity(List<Card> heroHand, List<Card> communityCards,
+                                        HandRange villainRange, int numOpponents,
+                                        SimulationBudget budget) {
+        long heroMask = CardSet.maskOf(heroHand);
+        long boardMask = CardSet.maskOf(communityCards);
+        int boardSize = communityCards != null ? communityCards.size() : 0;
+
+        // malformed spots skip the cache so they fail exactly as an uncached call would
+        if (heroHand == null || heroHand.size() != 2 || Long.bitCount(heroMask) != 2
+                || Long.bitCount(boardMask) != boardSize || (heroMask & boardMask) != 0 || villainRange == null) {
+            return calculateEquity(heroHand, communityCards, villainRange, numOpponents,
+                                  budget, ThreadLocalRandom.current().nextLong());
+        }
+
+        EquityCanonicalizer.CanonicalSpot spot = EquityCanonicalizer.canonicalize(heroMask, boardMask);
+        EquityResultCache.Key key = new EquityResultCache.Key(
+            spot.heroMask(), spot.boardMask(), villainRange, Math.max(1, numOpponents), budget);
+        return equityResultCache.get(key, () -> calculateEquity(heroHand, communityCards, villainRange,
+            numOpponents, budget, ThreadLocalRandom.current().nextLong()));
+    }
+
+
+    public EquityResult calculateEquity(List<Card> heroHand, List<Card> communityCards,
+                                        HandRange villainRange, int numOpponents,
+                                        SimulationBudget budget, long seed) {
+        return calculateMultiwayEquity(heroHand, communityCards,
+            Collections.nCopies(Math.max(1, numOpponents), villainRange), budget, seed);
+    }
+
+
+    public EquityResult calculateMultiwayEquity(List<Card> heroHand, List<Card> communityCards,
+                                                List<HandRange> villainRanges, SimulationBudget budget) {
+        return calculateMultiwayEquity(heroHand, communityCards, villainRanges,
+                                      budget, ThreadLocalRandom.current().nextLong());
+    }
+
+
+    public EquityResult calculateMultiwayEquity(List<Card> heroHand, List<Card> communityCards,
+                                                List<HandRange> villainRanges,
+                                                SimulationBudget budget, long seed) {
         if (heroHand == null || heroHand.size() != 2) {
             throw new IllegalArgumentException("Hero must have exactly 2 hole cards");
         }
 
 
-        Set<Card> deadCards = new HashSet<>(heroHand);
-        if (communityCards != null) {
-            deadCards.addAll(communityCards);
+        List<Card> communityCardsSafe = communityCards != null ?
+            new ArrayList<>(communityCards) : new ArrayList<>();
+
+        CardSet deadCards = CardSet.of(heroHand, communityCardsSafe);
+        if (deadCards.size() != heroHand.size() + communityCardsSafe.size()) {
+            throw new IllegalArgumentException("Hero hand and community cards must not contain duplicates");
         }
 
 
-        List<List<Card>> villainHands = villainRange.generateHands(deadCards);
-        if (villainHands.isEmpty()) {
+        if (villainRanges == null || villainRanges.isEmpty()) {
+            throw new IllegalArgumentException("At least one villain range is required");
+        }
+        int cardsNeeded = 5 - communityCardsSafe.size();
+        if (deadCards.size() + cardsNeeded + 2 * villainRanges.size() > CardSet.DECK_SIZE) {
+            throw new IllegalArgumentException("Not enough cards to deal " + villainRanges.size() + " opponents");
+        }
+
+
+        long[][] villainHands = new long[villainRanges.size()][];
+        float[][] villainWeights = new float[villainRanges.size()][];
+        for (int v = 0; v < villainHands.length; v++) {
+            HandRange range = villainRanges.get(v);
+            villainHands[v] = range.generateHandMasks(deadCards);
+            villainWeights[v] = range.isWeighted() ? range.comboWeights(villainHands[v]) : null;
+        }
+        if (!canDealDisjoint(villainHands, 0, 0L)) {
             logger.warn("No valid villain hands in range after removing dead cards");
             return EquityResult.simple(1.0, 0.0, 0.0, 0);
         }
 
+        long heroMask = CardSet.maskOf(heroHand);
+        long boardMask = CardSet.maskOf(communityCardsSafe);
+        int[] remainingDeck = createRemainingDeck(deadCards);
 
-        int wins = 0;
-        int ties = 0;
-        int losses = 0;
-        Map<String, Integer> handTypeCounts = new ConcurrentHashMap<>();
 
-        List<Card> communityCardsSafe = communityCards != null ?
-            new ArrayList<>(communityCards) : new ArrayList<>();
+        if (villainHands.length == 1 && villainWeights[0] == null
+                && exactMatchupCount(remainingDeck.length, cardsNeeded, villainHands[0].length) <= EXACT_ENUMERATION_LIMIT) {
+            return enumerateEquity(heroMask, boardMask, cardsNeeded, remainingDeck, villainHands[0]);
+        }
+        return simulateEquity(heroMask, boardMask, cardsNeeded, villainHands, villainWeights, budget, seed);
+    }
 
 
-        List<Card> remainingDeck = createRemainingDeck(deadCards);
+    private EquityResult enumerateEquity(long heroMask, long boardMask, int cardsNeeded,
+                                         int[] remainingDeck, long[] villainHands) {
+        EquityTally tally = new EquityTally();
+        enumerateRunouts(heroMask, boardMask, cardsNeeded, remainingDeck, 0, villainHands, tally);
 
-        for (int i = 0; i < iterations; i++) {
+        if (tally.total() == 0) {
+            logger.warn("No valid runouts to enumerate");
+            return EquityResult.simple(0.5, 0.0, 0.5, 0);
+        }
 
-            Collections.shuffle(remainingDeck, random);
+        logger.debug("Exact equity: {} wins, {} ties, {} losses over {} matchups",
+            tally.wins, tally.ties, tally.losses, tally.total());
 
+        int matchups = (int) tally.total();
+        return EquityResult.exact(tally.winProbability(), tally.tieProbability(), tally.loseProbability(),
+            tally.equity(), matchups, tally.handTypeBreakdown());
+    }
 
-            List<Card> fullBoard = new ArrayList<>(communityCardsSafe);
-            int cardsNeeded = 5 - fullBoard.size();
-            int deckIndex = 0;
+    private void enumerateRunouts(long heroMask, long board, int cardsNeeded, int[] remainingDeck,
+                                  int from, long[] villainHands, EquityTally tally) {
+        if (cardsNeeded == 0) {
+            int heroStrength = handEvaluator.evaluateStrength(heroMask | board);
+            int matchups = 0;
+            for (long villainHand : villainHands) {
+                if ((villainHand & board) != 0) {
+                    continue;
+                }
+                int villainStrength = handEvaluator.evaluateStrength(villainHand | board);
+                tally.recordShowdown(heroStrength, villainStrength, 1);
+                matchups++;
+            }
+            tally.recordHeroHand(heroStrength, matchups);
+            return;
+        }
 
-            for (int j = 0; j < cardsNeeded && deckIndex < remainingDeck.size(); j++) {
-                fullBoard.add(remainingDeck.get(deckIndex++));
+        for (int i = from; i <= remainingDeck.length - cardsNeeded; i++) {
+            enumerateRunouts(heroMask, board | CardSet.bit(remainingDeck[i]), cardsNeeded - 1,
+                remainingDeck, i + 1, villainHands, tally);
+        }
+    }
+
+    private EquityResult simulateEquity(long heroMask, long boardMask, int cardsNeeded,
+                                        long[][] villainHands, float[][] villainWeights,
+                                        SimulationBudget budget, long seed) {
+        long started = System.nanoTime();
+        long deadline = budget.timeBudget() != null
+            ? started + budget.timeBudget().toNanos()
+            : Long.MAX_VALUE;
+        SplittableRandom seeds = new SplittableRandom(seed);
+        EquityTally tally = new EquityTally();
+
+        int roundIterations = budget.isFixed()
+            ? budget.maxIterations()
+            : Math.min(budget.maxIterations(), ADAPTIVE_ROUND_ITERATIONS);
+        int rounds = 0;
+
+        while (roundIterations > 0) {
+            tally.merge(simulateRound(heroMask, boardMask, cardsNeeded,
+                villainHands, villainWeights, roundIterations, seeds));
+            rounds++;
+
+            int remaining = budget.maxIterations() - (int) tally.total();
+            long now = System.nanoTime();
+            if (remaining <= 0 || budget.isConverged(tally.standardError()) || now >= deadline) {
+                break;
             }
+            roundIterations = Math.min(remaining, nextRoundIterations(tally, budget));
+            if (deadline != Long.MAX_VALUE) {
+                roundIterations = Math.min(roundIterations,
+                    affordableIterations(tally.total(), now - started, deadline - now));
+            }
+        }
 
+        if (tally.total() == 0) {
+            logger.warn("No valid simulations completed");
+            return EquityResult.simple(0.5, 0.0, 0.5, 0);
+        }
 
-            List<Card> villainHand = villainHands.get(random.nextInt(villainHands.size()));
+        logger.debug("Equity calculation: {} wins, {} ties, {} losses out of {} sims in {} rounds, se={}",
+            tally.wins, tally.ties, tally.losses, tally.total(), rounds, tally.standardError());
 
+        return EquityResult.sampled(tally.winProbability(), tally.tieProbability(), tally.loseProbability(),
+            tally.equity(), (int) tally.total(), tally.handTypeBreakdown(), tally.standardError());
+    }
 
-            Set<Card> usedCards = new HashSet<>(fullBoard);
-            usedCards.addAll(heroHand);
-            if (villainHand.stream().anyMatch(usedCards::contains)) {
+    private EquityTally simulateRound(long heroMask, long boardMask, int cardsNeeded,
+                                      long[][] villainHands, float[][] villainWeights,
+                                      int iterations, SplittableRandom seeds) {
+        List<CompletableFuture<EquityTally>> chunks = new ArrayList<>();
+
+        for (int start = 0; start < iterations; start += SIMULATION_CHUNK_SIZE) {
+            int chunkIterations = Math.min(SIMULATION_CHUNK_SIZE, iterations - start);
+            SplittableRandom chunkRandom = seeds.split();
+            chunks.add(CompletableFuture.supplyAsync(
+                () -> simulateChunk(heroMask, boardMask, cardsNeeded,
+                    villainHands, villainWeights, chunkIterations, chunkRandom),
+                equityExecutor));
+        }
 
-                continue;
-            }
+        EquityTally tally = new EquityTally();
+        for (CompletableFuture<EquityTally> chunk : chunks) {
+            tally.merge(chunk.join());
+        }
+        return tally;
+    }
 
+    private static int nextRoundIterations(EquityTally tally, SimulationBudget budget) {
+        if (budget.targetStandardError() <= 0) {
+            return ADAPTIVE_ROUND_ITERATIONS;
+        }
+        // samples still needed for the observed variance to reach the target, rounded up to whole chunks
+        double target = budget.targetStandardError();
+        long needed = (long) Math.ceil(tally.variance() / (target * target)) - tally.total();
+        long chunks = Math.max(1, (needed + SIMULATION_CHUNK_SIZE - 1) / SIMULATION_CHUNK_SIZE);
+        return (int) Math.min(chunks * SIMULATION_CHUNK_SIZE, Integer.MAX_VALUE);
+    }
 
-            HandRanking heroRanking = handEvaluator.evaluate(heroHand, fullBoard);
-            HandRanking villainRanking = handEvaluator.evaluate(villainHand, fullBoard);
+    // samples the throughput seen so far fits into the time left, in whole chunks but at least one
+    private static int affordableIterations(long simulated, long elapsedNanos, long remainingNanos) {
+        double affordable = (double) simulated * remainingNanos / Math.max(1, elapsedNanos);
+        long chunks = Math.max(1, (long) (affordable / SIMULATION_CHUNK_SIZE));
+        return (int) Math.min(chunks * SIMULATION_CHUNK_SIZE, Integer.MAX_VALUE);
+    }
 
+    private EquityTally simulateChunk(long heroMask, long boardMask, int cardsNeeded,
+                                      long[][] villainHands, float[][] villainWeights,
+                                      int iterations, SplittableRandom random) {
+        EquityTally tally = new EquityTally();
+        SimulationKernel kernel = new SimulationKernel(handEvaluator, heroMask | boardMask);
+        long[] dealt = new long[villainHands.length];
 
-            handTypeCounts.merge(heroRanking.getHandType().name(), 1, Integer::sum);
+        for (int i = 0; i < iterations; i++) {
+            long villainCards = dealVillainHands(villainHands, villainWeights, dealt, random);
 
+            kernel.reset();
+            kernel.park(villainCards);
+            long fullBoard = boardMask | kernel.draw(cardsNeeded, random);
 
-            int comparison = heroRanking.compareTo(villainRanking);
-            if (comparison > 0) wins++;
-            else if (comparison < 0) losses++;
-            else ties++;
+            int heroStrength = kernel.evaluate(heroMask, fullBoard);
+            int bestVillainStrength = kernel.bestStrength(dealt, dealt.length, fullBoard);
+            tally.recordShowdown(heroStrength, bestVillainStrength, kernel.villainsAtBest());
+            tally.recordHeroHand(heroStrength, 1);
         }
+        return tally;
+    }
 
-        int totalSimulations = wins + ties + losses;
-        if (totalSimulations == 0) {
-            logger.warn("No valid simulations completed");
-            return EquityResult.simple(0.5, 0.0, 0.5, 0);
+    private static long dealVillainHands(long[][] villainHands, float[][] villainWeights,
+                                         long[] dealt, SplittableRandom random) {
+        while (true) {
+            long taken = 0L;
+            int villain = 0;
+            for (; villain < villainHands.length; villain++) {
+                long hand = dealVillainHand(villainHands[villain], villainWeights[villain], taken, random);
+                if (hand == 0L) {
+                    break;
+                }
+                dealt[villain] = hand;
+                taken |= hand;
+            }
+            if (villain == villainHands.length) {
+                return taken;
+            }
+            // earlier villains blocked every combo of this one; redeal the whole table
         }
+    }
 
+    // partially weighted combos are kept with probability equal to their weight
+    private static long dealVillainHand(long[] combos, float[] weights, long taken, SplittableRandom random) {
+        for (int attempt = 0; attempt < VILLAIN_REDRAW_ATTEMPTS; attempt++) {
+            int pick = random.nextInt(combos.length);
+            long hand = combos[pick];
+            if ((hand & taken) == 0 && (weights == null || random.nextDouble() < weights[pick])) {
+                return hand;
+            }
+        }
 
-        double winProb = (double) wins / totalSimulations;
-        double tieProb = (double) ties / totalSimulations;
-        double loseProb = (double) losses / totalSimulations;
-
-
-        Map<String, Double> handTypeBreakdown = new HashMap<>();
-        for (Map.Entry<String, Integer> entry : handTypeCounts.entrySet()) {
-            handTypeBreakdown.put(entry.getKey(),
-                (double) entry.getValue() / totalSimulations);
+        double available = 0;
+        for (int i = 0; i < combos.length; i++) {
+            if ((combos[i] & taken) == 0) available += weights == null ? 1 : weights[i];
+        }
+        if (available == 0) {
+            return 0L;
+        }
+        double pick = random.nextDouble() * available;
+        long last = 0L;
+        for (int i = 0; i < combos.length; i++) {
+            if ((combos[i] & taken) == 0) {
+                last = combos[i];
+                pick -= weights == null ? 1 : weights[i];
+                if (pick < 0) {
+                    return last;
+                }
+            }
         }
+        return last;
+    }
 
-        logger.debug("Equity calculation: {} wins, {} ties, {} losses out of {} sims",
-            wins, ties, losses, totalSimulations);
+    private static boolean canDealDisjoint(long[][] villainHands, int villain, long taken) {
+        if (villain == villainHands.length) {
+            return true;
+        }
+        for (long hand : villainHands[villain]) {
+            if ((hand & taken) == 0 && canDealDisjoint(villainHands, villain + 1, taken | hand)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return EquityResult.full(winProb, tieProb, loseProb, totalSimulations, handTypeBreakdown);
+    private static long exactMatchupCount(int deckSize, int cardsNeeded, int villainHands) {
+        long runouts = 1;
+        for (int i = 0; i < cardsNeeded; i++) {
+            runouts = runouts * (deckSize - i) / (i + 1);
+        }
+        return runouts * villainHands;
     }
 
 
     public EquityResult calculateEquityQuick(List<Card> heroHand, List<Card> communityCards,
                                              HandRange villainRange) {
-        return calculateEquity(heroHand, communityCards, villainRange, 1, QUICK_MONTE_CARLO_ITERATIONS);
+        return calculateEquity(heroHand, communityCards, villainRange, 1, QUICK_SIMULATION_BUDGET);
     }
 
 
     public EquityResult calculateEquityPrecise(List<Card> heroHand, List<Card> communityCards,
                                                HandRange villainRange) {
-        return calculateEquity(heroHand, communityCards, villainRange, 1, PRECISE_MONTE_CARLO_ITERATIONS);
+        return calculateEquity(heroHand, communityCards, villainRange, 1, PRECISE_SIMULATION_BUDGET);
     }
 
 
@@ -400,7 +639,7 @@ public class HandAnalysisService {
 
             HandRange villainRange = HandRange.buttonOpen();
             double startEquity = runningBoard.isEmpty() ?
-                calculatePreFlopEquity(heroHand) :
+                calculatePreFlopEquity(heroHand, villainRange) :
                 calculateEquityQuick(heroHand, runningBoard, villainRange).equity();
 
 
@@ -454,22 +693,8 @@ public class HandAnalysisService {
 
 
 
-    private List<Card> createRemainingDeck(Set<Card> usedCards) {
-        List<Card> deck = new ArrayList<>();
-        for (Suit suit : Suit.values()) {
-            for (Value value : Value.values()) {
-                Card card = new Card(suit, value);
-                if (!containsCard(usedCards, card)) {
-                    deck.add(card);
-                }
-            }
-        }
-        return deck;
-    }
-
-    private boolean containsCard(Set<Card> cards, Card card) {
-        return cards.stream().anyMatch(c ->
-            c.getSuit() == card.getSuit() && c.getValue() == card.getValue());
+    private int[] createRemainingDeck(CardSet usedCards) {
+        return usedCards.complement().toIndexArray();
     }
 
     private HandStrengthCategory categorizeHand(double equity, List<Card> heroHand,
@@ -566,32 +791,11 @@ public class HandAnalysisService {
         return false;
     }
 
-    private double calculatePreFlopEquity(List<Card> heroHand) {
+    private double calculatePreFlopEquity(List<Card> heroHand, HandRange villainRange) {
 
         if (heroHand == null || heroHand.size() < 2) return 0.5;
 
-        Value v1 = heroHand.get(0).getValue();
-        Value v2 = heroHand.get(1).getValue();
-        boolean suited = heroHand.get(0).getSuit() == heroHand.get(1).getSuit();
-        boolean isPair = v1 == v2;
-
-        int high = Math.max(v1.ordinal(), v2.ordinal());
-        int low = Math.min(v1.ordinal(), v2.ordinal());
-
-        double baseEquity;
-        if (isPair) {
-            baseEquity = 0.50 + high * 0.025;
-        } else if (high >= Value.ACE.ordinal() && low >= Value.TEN.ordinal()) {
-            baseEquity = 0.55 + (high + low) * 0.01;
-        } else if (high >= Value.KING.ordinal()) {
-            baseEquity = 0.45 + high * 0.015;
-        } else {
-            baseEquity = 0.35 + (high + low) * 0.008;
-        }
-
-        if (suited) baseEquity += 0.04;
-
-        return Math.min(0.85, Math.max(0.25, baseEquity));
+        return preflopEquityTable.equity(heroHand, villainRange);
     }
 
     private List<Card> reconstructHoleCards(HandHistory.HandHistoryPlayer playerData) {
@@ -802,4 +1006,87 @@ public class HandAnalysisService {
         if (evLoss < 50) return OverallAssessment.POOR;
         return OverallAssessment.COSTLY;
     }
+
+
+    private static final class EquityTally {
+
+        private static final HandType[] HAND_TYPES = HandType.values();
+
+        private long wins;
+        private long ties;
+        private long losses;
+        private double tieShare;
+        private double tieShareSquares;
+        private final long[] handTypeCounts = new long[HAND_TYPES.length];
+
+        void recordShowdown(int heroStrength, int bestVillainStrength, int villainsAtBest) {
+            if (heroStrength > bestVillainStrength) {
+                wins++;
+            } else if (heroStrength < bestVillainStrength) {
+                losses++;
+            } else {
+                double share = 1.0 / (villainsAtBest + 1);
+                ties++;
+                tieShare += share;
+                tieShareSquares += share * share;
+            }
+        }
+
+        void recordHeroHand(int heroStrength, int matchups) {
+            handTypeCounts[LookupHandEvaluator.handType(heroStrength).ordinal()] += matchups;
+        }
+
+        void merge(EquityTally other) {
+            wins += other.wins;
+            ties += other.ties;
+            losses += other.losses;
+            tieShare += other.tieShare;
+            tieShareSquares += other.tieShareSquares;
+            for (int i = 0; i < handTypeCounts.length; i++) {
+                handTypeCounts[i] += other.handTypeCounts[i];
+            }
+        }
+
+        long total() {
+            return wins + ties + losses;
+        }
+
+        double winProbability() {
+            return (double) wins / total();
+        }
+
+        double tieProbability() {
+            return (double) ties / total();
+        }
+
+        double loseProbability() {
+            return (double) losses / total();
+        }
+
+        double equity() {
+            return (wins + tieShare) / total();
+        }
+
+        // per-sample variance of the pot share won (1 win, 1/k for a k-way tie, 0 loss)
+        double variance() {
+            double mean = equity();
+            double meanSquare = (wins + tieShareSquares) / total();
+            return Math.max(0.0, meanSquare - mean * mean);
+        }
+
+        double standardError() {
+            return Math.sqrt(variance() / total());
+        }
+
+        Map<String, Double> handTypeBreakdown() {
+            Map<String, Double> breakdown = new HashMap<>();
+            for (HandType handType : HAND_TYPES) {
+                long count = handTypeCounts[handType.ordinal()];
+                if (count > 0) {
+                    breakdown.put(handType.name(), (double) count / total());
+                }
+            }
+            return breakdown;
+        }
+    }
 }
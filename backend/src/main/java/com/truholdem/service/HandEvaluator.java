@@ -1,6 +1,7 @@
 package com.truholdem.service;
 
 import com.truholdem.model.Card;
+import com.truholdem.model.CardSet;
 import com.truholdem.model.HandRanking;
 import com.truholdem.model.HandType;
 import com.truholdem.model.Value;
@@ -16,6 +17,42 @@ import java.util.stream.Collectors;
 public class HandEvaluator {
 
     public HandRanking evaluate(List<Card> playerHand, List<Card> communityCards) {
+        if (playerHand.size() + communityCards.size() != LookupHandEvaluator.CARDS_PER_HAND) {
+            return null;
+        }
+
+        long mask = LookupHandEvaluator.toMask(playerHand, communityCards);
+        if (Long.bitCount(mask) != LookupHandEvaluator.CARDS_PER_HAND) {
+            return evaluateByEnumeration(playerHand, communityCards);
+        }
+        return LookupHandEvaluator.toHandRanking(LookupHandEvaluator.evaluate(mask));
+    }
+
+
+    public int evaluateStrength(List<Card> playerHand, List<Card> communityCards) {
+        if (playerHand.size() + communityCards.size() != LookupHandEvaluator.CARDS_PER_HAND) {
+            throw new IllegalArgumentException("Hand must be 7 cards");
+        }
+        return LookupHandEvaluator.evaluate(playerHand, communityCards);
+    }
+
+
+    public int evaluateStrength(CardSet cards) {
+        return LookupHandEvaluator.evaluate(cards);
+    }
+
+
+    public int evaluateStrength(long cardMask) {
+        return LookupHandEvaluator.evaluate(cardMask);
+    }
+
+
+    public HandRanking describe(int strength) {
+        return LookupHandEvaluator.toHandRanking(strength);
+    }
+
+
+    HandRanking evaluateByEnumeration(List<Card> playerHand, List<Card> communityCards) {
         List<Card> allCards = new ArrayList<>(playerHand);
         allCards.addAll(communityCards);
 
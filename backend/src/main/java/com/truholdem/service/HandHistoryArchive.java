@@ -0,0 +1,395 @@
+package com.truholdem.service;
+
+import com.truholdem.model.HandHistory;
+import com.truholdem.model.HandHistoryCodec;
+import com.truholdem.repository.HandHistoryBatchRepository;
+import com.truholdem.repository.HandHistoryBatchRepository.StoredHand;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+
+/**
+ * Cold tier for hand histories. Hands older than {@code max-age-days} are moved out of the database into
+ * append-only segment files, each record being the hand id, the payload length and the same encoded
+ * payload the database row held. Sealed segments are memory-mapped and indexed by a sorted array of hand
+ * ids; the segment being appended to keeps a hash index. Indexes are rebuilt by scanning the segments at
+ * startup, which also cuts off a record torn by a crash.
+ */
+@Component
+public class HandHistoryArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandHistoryArchive.class);
+
+    private static final String SEGMENT_PREFIX = "hands-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_BYTES = 20;
+
+    private final HandHistoryBatchRepository batchRepository;
+    private final Path directory;
+    private final long segmentBytes;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    // oldest first; replaced wholesale when a segment is sealed so readers never need the lock
+    private volatile List<Segment> sealed = List.of();
+    private Segment active;
+
+    private final Counter archived;
+
+    public HandHistoryArchive(
+            HandHistoryBatchRepository batchRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.hand-history.archive.directory:data/hand-history-archive}") String directory,
+            @Value("${app.hand-history.archive.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${app.hand-history.archive.max-age-days:30}") int maxAgeDays,
+            @Value("${app.hand-history.archive.batch-size:500}") int batchSize) {
+        this.batchRepository = batchRepository;
+        this.directory = Path.of(directory);
+        this.segmentBytes = Math.min(Integer.MAX_VALUE, Math.max(1, segmentSizeMb) * 1024L * 1024L);
+        this.maxAge = Duration.ofDays(Math.max(0, maxAgeDays));
+        this.batchSize = Math.max(1, batchSize);
+
+        this.archived = Counter.builder("poker.history.archived")
+                .description("Hand histories moved from the database to the archive")
+                .register(meterRegistry);
+        Gauge.builder("poker.history.archive.segments", this, archive -> archive.segmentCount())
+                .description("Hand history archive segment files")
+                .register(meterRegistry);
+    }
+
+
+    @PostConstruct
+    public synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(HandHistoryArchive::segmentNumber))
+                    .toList();
+            }
+
+            List<Segment> loaded = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                boolean last = i == files.size() - 1;
+                Segment segment = Segment.scan(files.get(i), segmentNumber(files.get(i)), last);
+                if (last) {
+                    active = segment;
+                } else {
+                    segment.seal();
+                    loaded.add(segment);
+                }
+            }
+            sealed = List.copyOf(loaded);
+            if (active == null) {
+                active = Segment.create(directory, 1);
+            }
+            logger.info("Hand history archive opened with {} segments in {}", segmentCount(), directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open hand history archive in " + directory, e);
+        }
+    }
+
+    /**
+     * Moves every hand played before {@code max-age-days} ago from the database into the archive, a batch
+     * at a time. Each batch is fsynced to the archive before it is deleted from the database, so a crash
+     * in between leaves the hand in both tiers rather than neither; it is then skipped on the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.hand-history.archive.interval-ms:3600000}",
+               initialDelayString = "${app.hand-history.archive.interval-ms:3600000}")
+    public int archiveOldHands() {
+        if (maxAge.isZero()) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+        int total = 0;
+        List<StoredHand> hands;
+        while (!(hands = batchRepository.findPlayedBefore(cutoff, batchSize)).isEmpty()) {
+            append(hands);
+            batchRepository.deleteAll(hands.stream().map(StoredHand::id).toList());
+            archived.increment(hands.size());
+            total += hands.size();
+        }
+        if (total > 0) {
+            logger.info("Archived {} hand histories played before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    public synchronized void append(List<StoredHand> hands) {
+        try {
+            for (StoredHand hand : hands) {
+                if (locate(hand.id()) != null) {
+                    continue;
+                }
+                long recordBytes = HEADER_BYTES + (long) hand.payload().length;
+                if (active.size > 0 && active.size + recordBytes > segmentBytes) {
+                    roll();
+                }
+                active.append(hand.id(), hand.payload());
+            }
+            active.channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to hand history archive " + active.path, e);
+        }
+    }
+
+    public Optional<HandHistory> find(UUID id) {
+        byte[] payload = readPayload(id);
+        return payload != null ? Optional.of(HandHistoryCodec.decode(id, payload)) : Optional.empty();
+    }
+
+    public int segmentCount() {
+        return sealed.size() + (active != null ? 1 : 0);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (Segment segment : sealed) {
+            segment.close();
+        }
+        if (active != null) {
+            active.close();
+        }
+    }
+
+
+
+    private byte[] readPayload(UUID id) {
+        List<Segment> segments = sealed;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            byte[] payload = segments.get(i).read(id);
+            if (payload != null) {
+                return payload;
+            }
+        }
+        synchronized (this) {
+            return active != null ? active.read(id) : null;
+        }
+    }
+
+    private Segment locate(UUID id) {
+        if (active.offsets.containsKey(id)) {
+            return active;
+        }
+        for (Segment segment : sealed) {
+            if (segment.indexOf(id) >= 0) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private void roll() throws IOException {
+        active.channel.force(false);
+        active.seal();
+        List<Segment> segments = new ArrayList<>(sealed);
+        segments.add(active);
+        sealed = List.copyOf(segments);
+        active = Segment.create(directory, active.number + 1);
+        logger.debug("Sealed hand history segment {}, now appending to {}", active.number - 1, active.path);
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+
+    private static final class Segment {
+
+        final Path path;
+        final long number;
+        final FileChannel channel;
+        long size;
+
+        // active segment index
+        Map<UUID, Integer> offsets = new HashMap<>();
+
+        // sealed segment index, sorted by id
+        long[] mostSignificant;
+        long[] leastSignificant;
+        int[] sortedOffsets;
+        MappedByteBuffer mapped;
+
+        private Segment(Path path, long number, FileChannel channel, long size) {
+            this.path = path;
+            this.number = number;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        static Segment create(Path directory, long number) throws IOException {
+            Path path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, number, channel, 0);
+        }
+
+        static Segment scan(Path path, long number, boolean writable) throws IOException {
+            FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+            long fileSize = channel.size();
+            Segment segment = new Segment(path, number, channel, 0);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+
+            long position = 0;
+            while (position + HEADER_BYTES <= fileSize) {
+                int offset = (int) position;
+                UUID id = new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+                int length = buffer.getInt(offset + 16);
+                if (length < 0 || position + HEADER_BYTES + length > fileSize) {
+                    break;
+                }
+                segment.offsets.put(id, offset);
+                position += HEADER_BYTES + length;
+            }
+
+            if (position < fileSize) {
+                logger.warn("Hand history segment {} ends in a torn record after {} of {} bytes",
+                    path, position, fileSize);
+                if (writable) {
+                    channel.truncate(position);
+                }
+            }
+            segment.size = position;
+            segment.mapped = buffer;
+            return segment;
+        }
+
+        void append(UUID id, byte[] payload) throws IOException {
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+            record.putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .putInt(payload.length)
+                .put(payload)
+                .flip();
+            long position = size;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            offsets.put(id, (int) size);
+            size = position;
+        }
+
+        void seal() throws IOException {
+            int count = offsets.size();
+            List<Map.Entry<UUID, Integer>> entries = new ArrayList<>(offsets.entrySet());
+            entries.sort(Map.Entry.comparingByKey(Segment::compareIds));
+
+            mostSignificant = new long[count];
+            leastSignificant = new long[count];
+            sortedOffsets = new int[count];
+            for (int i = 0; i < count; i++) {
+                Map.Entry<UUID, Integer> entry = entries.get(i);
+                mostSignificant[i] = entry.getKey().getMostSignificantBits();
+                leastSignificant[i] = entry.getKey().getLeastSignificantBits();
+                sortedOffsets[i] = entry.getValue();
+            }
+            offsets = Map.of();
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int indexOf(UUID id) {
+            if (mostSignificant == null) {
+                return -1;
+            }
+            long high = id.getMostSignificantBits();
+            long low = id.getLeastSignificantBits();
+            int from = 0;
+            int to = mostSignificant.length - 1;
+            while (from <= to) {
+                int middle = (from + to) >>> 1;
+                int comparison = Long.compareUnsigned(mostSignificant[middle], high);
+                if (comparison == 0) {
+                    comparison = Long.compareUnsigned(leastSignificant[middle], low);
+                }
+                if (comparison < 0) {
+                    from = middle + 1;
+                } else if (comparison > 0) {
+                    to = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        byte[] read(UUID id) {
+            int offset;
+            if (mostSignificant != null) {
+                int index = indexOf(id);
+                if (index < 0) {
+                    return null;
+                }
+                offset = sortedOffsets[index];
+            } else {
+                Integer found = offsets.get(id);
+                if (found == null) {
+                    return null;
+                }
+                offset = found;
+                if (mapped == null || mapped.capacity() < size) {
+                    remap();
+                }
+            }
+
+            byte[] payload = new byte[mapped.getInt(offset + 16)];
+            mapped.get(offset + HEADER_BYTES, payload);
+            return payload;
+        }
+
+        private void remap() {
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map hand history segment " + path, e);
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close hand history segment {}", path, e);
+            }
+        }
+
+        private static int compareIds(UUID first, UUID second) {
+            int comparison = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+            return comparison != 0
+                ? comparison
+                : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+        }
+    }
+}
@@ -20,12 +20,17 @@ public class HandHistoryService {
     private static final Logger logger = LoggerFactory.getLogger(HandHistoryService.class);
 
     private final HandHistoryRepository handHistoryRepository;
+    private final HandHistoryWriter handHistoryWriter;
+    private final HandHistoryArchive handHistoryArchive;
 
 
     private final Map<UUID, HandHistory> activeHandHistories = new ConcurrentHashMap<>();
 
-    public HandHistoryService(HandHistoryRepository handHistoryRepository) {
+    public HandHistoryService(HandHistoryRepository handHistoryRepository, HandHistoryWriter handHistoryWriter,
+                              HandHistoryArchive handHistoryArchive) {
         this.handHistoryRepository = handHistoryRepository;
+        this.handHistoryWriter = handHistoryWriter;
+        this.handHistoryArchive = handHistoryArchive;
     }
 
     
@@ -62,8 +67,8 @@ public class HandHistoryService {
         HandHistory history = activeHandHistories.remove(gameId);
         if (history != null) {
             history.recordResult(winnerName, handDescription, finalPot);
-            history = handHistoryRepository.save(history);
-            logger.info("Saved hand history #{} for game {}. Winner: {}, Pot: {}", 
+            handHistoryWriter.submit(history);
+            logger.info("Queued hand history #{} for game {}. Winner: {}, Pot: {}", 
                 history.getHandNumber(), gameId, winnerName, finalPot);
             return history;
         }
@@ -81,7 +86,8 @@ public class HandHistoryService {
     
     @Transactional(readOnly = true)
     public Optional<HandHistory> getHandHistory(UUID historyId) {
-        return handHistoryRepository.findById(historyId);
+        Optional<HandHistory> history = handHistoryRepository.findById(historyId);
+        return history.isPresent() ? history : handHistoryArchive.find(historyId);
     }
 
     
@@ -131,7 +137,7 @@ public class HandHistoryService {
     
     @Transactional(readOnly = true)
     public ReplayData generateReplayData(UUID historyId) {
-        Optional<HandHistory> optHistory = handHistoryRepository.findById(historyId);
+        Optional<HandHistory> optHistory = getHandHistory(historyId);
         if (optHistory.isEmpty()) {
             return null;
         }
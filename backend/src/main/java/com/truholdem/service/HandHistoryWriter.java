@@ -0,0 +1,384 @@
+package com.truholdem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.truholdem.model.HandHistory;
+import com.truholdem.repository.DataAccessFailures;
+import com.truholdem.repository.HandHistoryBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Writes finished hand histories behind the game: hands are queued and a single background thread
+ * inserts them in JDBC batches. When the queue stays full past the offer timeout, or a batch cannot be
+ * written, the histories are appended to a local spill file (fsynced, one JSON line each) and replayed
+ * into the database in batches once writes succeed again, including after a restart. Histories the
+ * database rejects on replay are set aside in a dead-letter file instead of blocking the rest.
+ */
+@Component
+public class HandHistoryWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandHistoryWriter.class);
+
+    private final HandHistoryBatchRepository batchRepository;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<HandHistory> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long spillRetryMs;
+    private final Path spillFile;
+    private final Path deadLetterFile;
+
+    // held by whoever is moving histories from the queue to the database, so flush() sees every batch land
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+    private final Object spillLock = new Object();
+
+    private volatile boolean running;
+    private volatile boolean spillPending;
+    private volatile long nextSpillRetry;
+    private Thread writerThread;
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter spilled;
+    private final Counter flushFailures;
+    private final Counter deadLettered;
+
+    public HandHistoryWriter(
+            HandHistoryBatchRepository batchRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.hand-history.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.hand-history.writer.batch-size:200}") int batchSize,
+            @Value("${app.hand-history.writer.flush-interval-ms:250}") long flushIntervalMs,
+            @Value("${app.hand-history.writer.offer-timeout-ms:20}") long offerTimeoutMs,
+            @Value("${app.hand-history.writer.spill-retry-ms:30000}") long spillRetryMs,
+            @Value("${app.hand-history.writer.spill-file:data/hand-history-spill.jsonl}") String spillFile,
+            @Value("${app.hand-history.writer.dead-letter-file:data/hand-history-dead-letter.jsonl}") String deadLetterFile) {
+        this.batchRepository = batchRepository;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.spillRetryMs = Math.max(0, spillRetryMs);
+        this.spillFile = Path.of(spillFile);
+        this.deadLetterFile = Path.of(deadLetterFile);
+
+        Gauge.builder("poker.history.queue.depth", queue, BlockingQueue::size)
+                .description("Finished hand histories waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("poker.history.flush.time")
+                .description("Time to write one batch of hand histories")
+                .register(meterRegistry);
+        this.written = Counter.builder("poker.history.written")
+                .description("Hand histories written to the database")
+                .register(meterRegistry);
+        this.spilled = Counter.builder("poker.history.spilled")
+                .description("Hand histories diverted to the local spill file")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("poker.history.flush.failures")
+                .description("Hand history batches that could not be written")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("poker.history.dead.lettered")
+                .description("Spilled hand histories set aside because they could not be replayed")
+                .register(meterRegistry);
+    }
+
+
+    @PostConstruct
+    public void start() {
+        spillPending = Files.exists(spillFile);
+        running = true;
+        writerThread = new Thread(this::run, "hand-history-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Hands a finished history to the writer. Blocks for at most the offer timeout when the queue is
+     * full, then spills the history to disk on the caller's thread instead of dropping it.
+     */
+    public void submit(HandHistory history) {
+        if (history.getId() == null) {
+            history.setId(UUID.randomUUID());
+        }
+        try {
+            if (queue.offer(history, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.warn("Hand history queue is full, spilling hand #{} of game {}", history.getHandNumber(),
+                history.getGameId());
+        spill(List.of(history));
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Writes everything queued so far on the calling thread, after any batch the writer thread is
+     * already in the middle of.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            List<HandHistory> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(flushIntervalMs * 4);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+
+
+    private void run() {
+        while (running) {
+            writeLock.lock();
+            try {
+                HandHistory first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<HandHistory> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+                if (spillPending && System.currentTimeMillis() >= nextSpillRetry) {
+                    recoverSpill();
+                }
+            } catch (InterruptedException e) {
+                // stop() interrupts the poll; the loop condition decides whether to exit
+            } catch (RuntimeException e) {
+                logger.error("Hand history writer iteration failed", e);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    private void write(List<HandHistory> batch) {
+        long started = System.nanoTime();
+        try {
+            batchRepository.insertAll(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            logger.error("Failed to write {} hand histories, spilling them to {}", batch.size(), spillFile, e);
+            spill(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spill(List<HandHistory> histories) {
+        StringBuilder lines = new StringBuilder();
+        for (HandHistory history : histories) {
+            try {
+                lines.append(objectMapper.writeValueAsString(history)).append('\n');
+            } catch (JsonProcessingException e) {
+                logger.error("Cannot serialize hand history {}, dropping it", history.getId(), e);
+            }
+        }
+
+        synchronized (spillLock) {
+            try {
+                append(spillFile, lines);
+                spilled.increment(histories.size());
+                if (!spillPending) {
+                    nextSpillRetry = System.currentTimeMillis() + spillRetryMs;
+                    spillPending = true;
+                }
+            } catch (IOException e) {
+                logger.error("Failed to spill {} hand histories to {}; they are lost", histories.size(), spillFile, e);
+            }
+        }
+    }
+
+    /**
+     * Replays the spill file one batch at a time. Inserts skip ids that are already stored, so a batch
+     * written before a crash or an outage is simply replayed again. Lines the database rejects, and lines
+     * that cannot be read, move to the dead-letter file; when the database is unavailable the lines not
+     * yet written stay in the spill file for the next attempt.
+     */
+    private void recoverSpill() {
+        synchronized (spillLock) {
+            if (!Files.exists(spillFile)) {
+                spillPending = false;
+                return;
+            }
+            Path remaining = spillFile.resolveSibling(spillFile.getFileName() + ".remaining");
+            boolean outage = false;
+            int replayed = 0;
+            try {
+                try (BufferedReader reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+                    List<String> lines = new ArrayList<>(batchSize);
+                    String line;
+                    do {
+                        line = reader.readLine();
+                        if (line != null && !line.isBlank()) {
+                            lines.add(line);
+                        }
+                        if (lines.size() == batchSize || (line == null && !lines.isEmpty())) {
+                            List<String> unwritten = replay(lines);
+                            if (!unwritten.isEmpty()) {
+                                keep(unwritten, reader, remaining);
+                                outage = true;
+                                break;
+                            }
+                            replayed += lines.size();
+                            lines.clear();
+                        }
+                    } while (line != null);
+                }
+
+                if (outage) {
+                    Files.move(remaining, spillFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    nextSpillRetry = System.currentTimeMillis() + spillRetryMs;
+                    logger.warn("Database unavailable after replaying {} spilled hand histories, will retry the rest",
+                            replayed);
+                    return;
+                }
+                Files.delete(spillFile);
+                spillPending = false;
+                logger.info("Replayed {} spilled hand histories from {}", replayed, spillFile);
+            } catch (IOException | RuntimeException e) {
+                nextSpillRetry = System.currentTimeMillis() + spillRetryMs;
+                logger.warn("Could not recover spilled hand histories from {}, will retry", spillFile, e);
+            }
+        }
+    }
+
+    // writes one batch of spill lines and returns those left unwritten because the database is unavailable
+    private List<String> replay(List<String> lines) {
+        List<HandHistory> batch = new ArrayList<>(lines.size());
+        List<String> sources = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            try {
+                batch.add(objectMapper.readValue(line, HandHistory.class));
+                sources.add(line);
+            } catch (JsonProcessingException e) {
+                // a crash mid-append leaves a torn last line
+                logger.warn("Unreadable line in hand history spill file {}, moving it to {}", spillFile, deadLetterFile);
+                deadLetter(line);
+            }
+        }
+
+        try {
+            batchRepository.insertAll(batch);
+            written.increment(batch.size());
+            return List.of();
+        } catch (RuntimeException e) {
+            if (DataAccessFailures.isUnavailable(e)) {
+                logger.warn("Failed to replay {} spilled hand histories", batch.size(), e);
+                return sources;
+            }
+        }
+
+        // some hand in the batch is rejected: write them one at a time to find it
+        for (int i = 0; i < batch.size(); i++) {
+            HandHistory history = batch.get(i);
+            try {
+                batchRepository.insertAll(List.of(history));
+                written.increment();
+            } catch (RuntimeException e) {
+                if (DataAccessFailures.isUnavailable(e)) {
+                    logger.warn("Failed to replay spilled hand history {}", history.getId(), e);
+                    return sources.subList(i, sources.size());
+                }
+                logger.error("Database rejected spilled hand history {}, moving it to {}", history.getId(),
+                        deadLetterFile, e);
+                deadLetter(sources.get(i));
+            }
+        }
+        return List.of();
+    }
+
+    private void keep(List<String> unwritten, BufferedReader rest, Path remaining) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(remaining, StandardCharsets.UTF_8)) {
+            for (String line : unwritten) {
+                out.write(line);
+                out.newLine();
+            }
+            String line;
+            while ((line = rest.readLine()) != null) {
+                out.write(line);
+                out.newLine();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(remaining, StandardOpenOption.WRITE)) {
+            channel.force(false);
+        }
+    }
+
+    private void deadLetter(String line) {
+        try {
+            append(deadLetterFile, new StringBuilder(line).append('\n'));
+            deadLettered.increment();
+        } catch (IOException e) {
+            logger.error("Failed to move a spilled hand history to {}; it is lost", deadLetterFile, e);
+        }
+    }
+
+    private static void append(Path file, CharSequence lines) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.truholdem.service;
+
+import com.truholdem.model.PlayerStatistics;
+import com.truholdem.repository.PlayerStatisticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * Serves the statistics leaderboards from memory. Each board keeps the best players for its metric, more
+ * than it shows so a player dropping out can be replaced without a query, and is updated as merged
+ * statistics are written. A board is reloaded from the database at startup, periodically, and whenever
+ * it runs short of entries while players may exist beyond it. Every change to what a board shows gives it
+ * a new version from one shared counter, so clients can revalidate cheaply. The counter starts over with
+ * every instance, so versions are only comparable together with the instance's {@link #epoch()}.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    public static final int MIN_HANDS_FOR_WIN_RATE = 10;
+
+    public enum LeaderboardType {
+        WINNINGS(10),
+        HANDS_WON(10),
+        WIN_RATE(10),
+        BIGGEST_POT(10),
+        WIN_STREAK(10),
+        MOST_ACTIVE(20),
+        RECENTLY_ACTIVE(20);
+
+        private final int size;
+
+        LeaderboardType(int size) {
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    public record Ranking(LeaderboardType type, long version, List<PlayerStatistics> entries) {}
+
+    private final int slackFactor;
+    private final AtomicLong versions = new AtomicLong();
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<LeaderboardType, Board> boards = new EnumMap<>(LeaderboardType.class);
+
+    public LeaderboardService(
+            PlayerStatisticsRepository statsRepository,
+            @Value("${app.leaderboard.slack-factor:2}") int slackFactor) {
+        this.slackFactor = Math.max(1, slackFactor);
+
+        register(LeaderboardType.WINNINGS, Comparator.comparing(PlayerStatistics::getTotalWinnings),
+            stats -> stats.getTotalWinnings() != null,
+            page -> statsRepository.findAll(sorted(page, "totalWinnings")).getContent());
+        register(LeaderboardType.HANDS_WON, Comparator.comparingInt(PlayerStatistics::getHandsWon),
+            stats -> true,
+            page -> statsRepository.findAll(sorted(page, "handsWon")).getContent());
+        register(LeaderboardType.WIN_RATE, Comparator.comparingDouble(LeaderboardService::winRate),
+            stats -> stats.getHandsPlayed() >= MIN_HANDS_FOR_WIN_RATE,
+            page -> statsRepository.findTopPlayersByWinRate(MIN_HANDS_FOR_WIN_RATE, page));
+        register(LeaderboardType.BIGGEST_POT, Comparator.comparingInt(PlayerStatistics::getBiggestPotWon),
+            stats -> true,
+            page -> statsRepository.findAll(sorted(page, "biggestPotWon")).getContent());
+        register(LeaderboardType.WIN_STREAK, Comparator.comparingInt(PlayerStatistics::getLongestWinStreak),
+            stats -> true,
+            page -> statsRepository.findAll(sorted(page, "longestWinStreak")).getContent());
+        register(LeaderboardType.MOST_ACTIVE, Comparator.comparingInt(PlayerStatistics::getHandsPlayed),
+            stats -> true,
+            page -> statsRepository.findAll(sorted(page, "handsPlayed")).getContent());
+        register(LeaderboardType.RECENTLY_ACTIVE, Comparator.comparing(PlayerStatistics::getLastHandPlayed),
+            stats -> stats.getLastHandPlayed() != null,
+            statsRepository::findRecentlyActive);
+    }
+
+
+    public Ranking getRanking(LeaderboardType type) {
+        return boards.get(type).ranking;
+    }
+
+    public List<PlayerStatistics> getTop(LeaderboardType type) {
+        return getRanking(type).entries();
+    }
+
+    /**
+     * The newest version of any board, which changes whenever any board does.
+     */
+    public long version() {
+        return versions.get();
+    }
+
+    /**
+     * Random id of this instance. Another instance, or this one after a restart, hands out the same
+     * versions for different boards, so tags built from a version must include it.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Moves players on every board after their statistics were written.
+     */
+    public void refresh(List<PlayerStatistics> updated) {
+        if (updated.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (Board board : boards.values()) {
+                for (PlayerStatistics stats : updated) {
+                    board.update(stats);
+                }
+                if (board.isShort()) {
+                    board.reload();
+                }
+                board.publish();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.leaderboard.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.leaderboard.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        for (Board board : boards.values()) {
+            board.reload();
+            board.publish();
+        }
+        logger.debug("Rebuilt leaderboards at version {}", versions.get());
+    }
+
+
+
+    private void register(LeaderboardType type, Comparator<PlayerStatistics> metric,
+                          Predicate<PlayerStatistics> eligible, Function<Pageable, List<PlayerStatistics>> loader) {
+        boards.put(type, new Board(type, type.size() * slackFactor, metric, eligible, loader));
+    }
+
+    private static Pageable sorted(Pageable page, String property) {
+        return PageRequest.of(page.getPageNumber(), page.getPageSize(), Sort.by(Sort.Direction.DESC, property));
+    }
+
+    private static double winRate(PlayerStatistics stats) {
+        return stats.getHandsPlayed() == 0 ? 0 : (double) stats.getHandsWon() / stats.getHandsPlayed();
+    }
+
+
+    private final class Board {
+
+        final LeaderboardType type;
+        final int capacity;
+        final Predicate<PlayerStatistics> eligible;
+        final Function<Pageable, List<PlayerStatistics>> loader;
+        final TreeSet<PlayerStatistics> ranked;
+        final Map<String, PlayerStatistics> members = new HashMap<>();
+
+        // true while players outside the board may outrank whoever would fill a gap
+        boolean truncated;
+        volatile Ranking ranking;
+
+        Board(LeaderboardType type, int capacity, Comparator<PlayerStatistics> metric,
+              Predicate<PlayerStatistics> eligible, Function<Pageable, List<PlayerStatistics>> loader) {
+            this.type = type;
+            this.capacity = capacity;
+            this.eligible = eligible;
+            this.loader = loader;
+            this.ranked = new TreeSet<>(metric.reversed()
+                .thenComparing(PlayerStatistics::getPlayerName)
+                .thenComparing(PlayerStatistics::getId, Comparator.nullsFirst(Comparator.<UUID>naturalOrder())));
+            this.ranking = new Ranking(type, 0, List.of());
+        }
+
+        void update(PlayerStatistics stats) {
+            PlayerStatistics previous = members.remove(stats.getPlayerName());
+            if (previous != null) {
+                ranked.remove(previous);
+            }
+            if (!eligible.test(stats)) {
+                return;
+            }
+            // once truncated, only a player beating the last entry is known to belong on the board
+            boolean fits = (!truncated && ranked.size() < capacity)
+                || (!ranked.isEmpty() && ranked.comparator().compare(stats, ranked.last()) < 0);
+            if (fits) {
+                ranked.add(stats);
+                members.put(stats.getPlayerName(), stats);
+                if (ranked.size() > capacity) {
+                    members.remove(ranked.pollLast().getPlayerName());
+                    truncated = true;
+                }
+            } else if (previous != null) {
+                // it fell below the board, so whoever is now best outside it is unknown
+                truncated = true;
+            }
+        }
+
+        boolean isShort() {
+            return truncated && ranked.size() < type.size();
+        }
+
+        void reload() {
+            List<PlayerStatistics> loaded = loader.apply(PageRequest.of(0, capacity));
+            ranked.clear();
+            members.clear();
+            for (PlayerStatistics stats : loaded) {
+                if (eligible.test(stats)) {
+                    ranked.add(stats);
+                    members.put(stats.getPlayerName(), stats);
+                }
+            }
+            truncated = loaded.size() >= capacity;
+        }
+
+        void publish() {
+            List<PlayerStatistics> top = new ArrayList<>(type.size());
+            for (PlayerStatistics stats : ranked) {
+                if (top.size() == type.size()) {
+                    break;
+                }
+                top.add(stats);
+            }
+            if (!sameEntries(ranking.entries(), top)) {
+                ranking = new Ranking(type, versions.incrementAndGet(), List.copyOf(top));
+            }
+        }
+
+        private static boolean sameEntries(List<PlayerStatistics> current, List<PlayerStatistics> next) {
+            if (current.size() != next.size()) {
+                return false;
+            }
+            for (int i = 0; i < current.size(); i++) {
+                if (current.get(i) != next.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
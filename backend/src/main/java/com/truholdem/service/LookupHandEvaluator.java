@@ -0,0 +1,272 @@
+package com.truholdem.service;
+
+import com.truholdem.model.Card;
+import com.truholdem.model.CardSet;
+import com.truholdem.model.HandRanking;
+import com.truholdem.model.HandType;
+import com.truholdem.model.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public final class LookupHandEvaluator {
+
+    public static final int CARDS_PER_HAND = 7;
+
+    private static final int RANKS = 13;
+    private static final int MAX_RANK_COUNT = 4;
+    private static final int RANK_MASK = 0x1FFF;
+    private static final int TYPE_SHIFT = 20;
+    private static final int VALUE_BITS = 4;
+
+    private static final HandType[] HAND_TYPES = HandType.values();
+    private static final Value[] VALUES = Value.values();
+
+    // rank values (before kickers) and total values encoded per HandType ordinal
+    private static final int[] RANK_VALUE_COUNT = {0, 1, 2, 1, 1, 0, 2, 1, 1, 1};
+    private static final int[] ENCODED_VALUE_COUNT = {5, 4, 3, 3, 1, 5, 2, 2, 1, 1};
+
+    // multisets of exactly N cards over ranks r..12 with at most four of a rank
+    private static final int[][] MULTISET_COUNT = new int[RANKS + 1][CARDS_PER_HAND + 1];
+    private static final int[] HASH_OFFSET = new int[RANKS * (CARDS_PER_HAND + 1) * (MAX_RANK_COUNT + 1)];
+
+    private static final int[] FLUSH_TABLE = new int[RANK_MASK + 1];
+    private static final int[] NO_FLUSH_TABLE;
+
+    static {
+        MULTISET_COUNT[RANKS][0] = 1;
+        for (int rank = RANKS - 1; rank >= 0; rank--) {
+            for (int n = 0; n <= CARDS_PER_HAND; n++) {
+                int total = 0;
+                for (int count = 0; count <= Math.min(MAX_RANK_COUNT, n); count++) {
+                    total += MULTISET_COUNT[rank + 1][n - count];
+                }
+                MULTISET_COUNT[rank][n] = total;
+            }
+        }
+
+        for (int rank = 0; rank < RANKS; rank++) {
+            for (int remaining = 0; remaining <= CARDS_PER_HAND; remaining++) {
+                int offset = 0;
+                for (int count = 0; count <= MAX_RANK_COUNT; count++) {
+                    HASH_OFFSET[offsetIndex(rank, remaining, count)] = offset;
+                    if (count <= remaining) {
+                        offset += MULTISET_COUNT[rank + 1][remaining - count];
+                    }
+                }
+            }
+        }
+
+        NO_FLUSH_TABLE = new int[MULTISET_COUNT[0][CARDS_PER_HAND]];
+        fillNoFlushTable(new int[RANKS], 0, CARDS_PER_HAND);
+
+        for (int suitRanks = 0; suitRanks <= RANK_MASK; suitRanks++) {
+            if (Integer.bitCount(suitRanks) >= 5) {
+                FLUSH_TABLE[suitRanks] = flushStrength(suitRanks);
+            }
+        }
+    }
+
+    private LookupHandEvaluator() {
+    }
+
+
+    public static int evaluate(long cards) {
+        if (Long.bitCount(cards) != CARDS_PER_HAND) {
+            throw new IllegalArgumentException("Exactly 7 distinct cards are required");
+        }
+
+        int hearts = (int) cards & RANK_MASK;
+        int diamonds = (int) (cards >>> RANKS) & RANK_MASK;
+        int clubs = (int) (cards >>> (2 * RANKS)) & RANK_MASK;
+        int spades = (int) (cards >>> (3 * RANKS)) & RANK_MASK;
+
+        if (Integer.bitCount(hearts) >= 5) return FLUSH_TABLE[hearts];
+        if (Integer.bitCount(diamonds) >= 5) return FLUSH_TABLE[diamonds];
+        if (Integer.bitCount(clubs) >= 5) return FLUSH_TABLE[clubs];
+        if (Integer.bitCount(spades) >= 5) return FLUSH_TABLE[spades];
+
+        int hash = 0;
+        int remaining = CARDS_PER_HAND;
+        for (int rank = 0; remaining > 0; rank++) {
+            int count = ((hearts >>> rank) & 1) + ((diamonds >>> rank) & 1)
+                + ((clubs >>> rank) & 1) + ((spades >>> rank) & 1);
+            hash += HASH_OFFSET[offsetIndex(rank, remaining, count)];
+            remaining -= count;
+        }
+        return NO_FLUSH_TABLE[hash];
+    }
+
+    public static int evaluate(CardSet cards) {
+        return evaluate(cards.mask());
+    }
+
+    public static int evaluate(List<Card> playerHand, List<Card> communityCards) {
+        return evaluate(toMask(playerHand, communityCards));
+    }
+
+    static long toMask(List<Card> playerHand, List<Card> communityCards) {
+        long mask = 0L;
+        for (Card card : playerHand) {
+            mask |= CardSet.bit(card);
+        }
+        for (Card card : communityCards) {
+            mask |= CardSet.bit(card);
+        }
+        return mask;
+    }
+
+
+    public static HandType handType(int strength) {
+        return HAND_TYPES[strength >>> TYPE_SHIFT];
+    }
+
+    public static HandRanking toHandRanking(int strength) {
+        int type = strength >>> TYPE_SHIFT;
+        int rankCount = RANK_VALUE_COUNT[type];
+        int valueCount = ENCODED_VALUE_COUNT[type];
+
+        List<Value> rankValues = new ArrayList<>(rankCount);
+        List<Value> kickerValues = new ArrayList<>(valueCount - rankCount);
+        for (int i = 0; i < valueCount; i++) {
+            Value value = VALUES[(strength >>> (TYPE_SHIFT - VALUE_BITS * (i + 1))) & 0xF];
+            if (i < rankCount) {
+                rankValues.add(value);
+            } else {
+                kickerValues.add(value);
+            }
+        }
+        return new HandRanking(HAND_TYPES[type], rankValues, kickerValues);
+    }
+
+
+
+    private static int offsetIndex(int rank, int remaining, int count) {
+        return (rank * (CARDS_PER_HAND + 1) + remaining) * (MAX_RANK_COUNT + 1) + count;
+    }
+
+    private static void fillNoFlushTable(int[] counts, int rank, int remaining) {
+        if (rank == RANKS) {
+            if (remaining == 0) {
+                NO_FLUSH_TABLE[hash(counts)] = rankStrength(counts);
+            }
+            return;
+        }
+        for (int count = 0; count <= Math.min(MAX_RANK_COUNT, remaining); count++) {
+            counts[rank] = count;
+            fillNoFlushTable(counts, rank + 1, remaining - count);
+        }
+        counts[rank] = 0;
+    }
+
+    private static int hash(int[] counts) {
+        int hash = 0;
+        int remaining = CARDS_PER_HAND;
+        for (int rank = 0; rank < RANKS; rank++) {
+            hash += HASH_OFFSET[offsetIndex(rank, remaining, counts[rank])];
+            remaining -= counts[rank];
+        }
+        return hash;
+    }
+
+    private static int rankStrength(int[] counts) {
+        int present = 0;
+        int quads = -1;
+        int trips = -1;
+        int secondTrips = -1;
+        int pair = -1;
+        int secondPair = -1;
+
+        for (int rank = RANKS - 1; rank >= 0; rank--) {
+            int count = counts[rank];
+            if (count > 0) present |= 1 << rank;
+            if (count == 4) {
+                quads = rank;
+            } else if (count == 3) {
+                if (trips < 0) trips = rank;
+                else if (secondTrips < 0) secondTrips = rank;
+            } else if (count == 2) {
+                if (pair < 0) pair = rank;
+                else if (secondPair < 0) secondPair = rank;
+            }
+        }
+
+        if (quads >= 0) {
+            return encode(HandType.FOUR_OF_A_KIND, quads, highestRanks(present & ~(1 << quads), 1));
+        }
+        if (trips >= 0 && (secondTrips >= 0 || pair >= 0)) {
+            return encode(HandType.FULL_HOUSE, trips, Math.max(secondTrips, pair));
+        }
+
+        int straightHigh = straightHigh(present);
+        if (straightHigh >= 0) {
+            return encode(HandType.STRAIGHT, straightHigh);
+        }
+        if (trips >= 0) {
+            return encode(HandType.THREE_OF_A_KIND, trips, highestRanks(present & ~(1 << trips), 2));
+        }
+        if (secondPair >= 0) {
+            int kickers = present & ~(1 << pair) & ~(1 << secondPair);
+            return encode(HandType.TWO_PAIR, pair, secondPair, highestRanks(kickers, 1));
+        }
+        if (pair >= 0) {
+            return encode(HandType.ONE_PAIR, pair, highestRanks(present & ~(1 << pair), 3));
+        }
+        return encode(HandType.HIGH_CARD, highestRanks(present, 5));
+    }
+
+    private static int flushStrength(int suitRanks) {
+        int straightHigh = straightHigh(suitRanks);
+        if (straightHigh == Value.ACE.ordinal()) {
+            return encode(HandType.ROYAL_FLUSH, straightHigh);
+        }
+        if (straightHigh >= 0) {
+            return encode(HandType.STRAIGHT_FLUSH, straightHigh);
+        }
+        return encode(HandType.FLUSH, highestRanks(suitRanks, 5));
+    }
+
+    private static int straightHigh(int ranks) {
+        for (int high = RANKS - 1; high >= 4; high--) {
+            int run = 0x1F << (high - 4);
+            if ((ranks & run) == run) return high;
+        }
+        int wheel = (1 << Value.ACE.ordinal()) | 0xF;
+        return (ranks & wheel) == wheel ? Value.FIVE.ordinal() : -1;
+    }
+
+    private static int[] highestRanks(int ranks, int count) {
+        int[] result = new int[count];
+        int found = 0;
+        for (int rank = RANKS - 1; rank >= 0 && found < count; rank--) {
+            if ((ranks & (1 << rank)) != 0) result[found++] = rank;
+        }
+        return result;
+    }
+
+    private static int encode(HandType type, int... values) {
+        int strength = type.ordinal() << TYPE_SHIFT;
+        int shift = TYPE_SHIFT;
+        for (int value : values) {
+            shift -= VALUE_BITS;
+            strength |= value << shift;
+        }
+        return strength;
+    }
+
+    private static int encode(HandType type, int first, int[] rest) {
+        int[] values = new int[rest.length + 1];
+        values[0] = first;
+        System.arraycopy(rest, 0, values, 1, rest.length);
+        return encode(type, values);
+    }
+
+    private static int encode(HandType type, int first, int second, int[] rest) {
+        int[] values = new int[rest.length + 2];
+        values[0] = first;
+        values[1] = second;
+        System.arraycopy(rest, 0, values, 2, rest.length);
+        return encode(type, values);
+    }
+}
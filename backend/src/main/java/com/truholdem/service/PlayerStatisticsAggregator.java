@@ -0,0 +1,293 @@
+package com.truholdem.service;
+
+import com.truholdem.model.PlayerStatistics;
+import com.truholdem.model.PlayerStatisticsDelta;
+import com.truholdem.repository.DataAccessFailures;
+import com.truholdem.repository.PlayerStatisticsBatchRepository;
+import com.truholdem.repository.PlayerStatisticsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+/**
+ * Collects player statistic changes in memory and writes them behind the game. Events for the same player
+ * are merged into one {@link PlayerStatisticsDelta}, kept in lock stripes chosen by player name so tables
+ * recording at the same time rarely contend. A background thread swaps the stripes out every flush interval,
+ * or sooner once enough events are pending, and applies the merged deltas in one batch. While the database
+ * is unavailable a failed batch is merged back in front of newer events and retried. A batch the database
+ * refuses is retried one player at a time, and a player's delta that is refused {@code max-attempts} times
+ * is dropped and counted. Whatever is pending is written on shutdown.
+ * Players whose statistics were written are read back once and handed to the {@link LeaderboardService}
+ * and the {@link AchievementService}, which unlocks whatever the batch crossed.
+ */
+@Component
+public class PlayerStatisticsAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerStatisticsAggregator.class);
+
+    private static final int SHUTDOWN_ATTEMPTS = 3;
+
+    private final PlayerStatisticsBatchRepository batchRepository;
+    private final PlayerStatisticsRepository statsRepository;
+    private final LeaderboardService leaderboardService;
+    private final AchievementService achievementService;
+    private final Map<String, PlayerStatisticsDelta>[] stripes;
+    private final long flushIntervalMs;
+    private final int flushEvents;
+    private final int maxAttempts;
+
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+    // serializes flushes so a failed batch is merged back before the next one is taken
+    private final Object flushLock = new Object();
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    private final Timer flushTimer;
+    private final Counter flushed;
+    private final Counter flushFailures;
+    private final Counter dropped;
+
+    @SuppressWarnings("unchecked")
+    public PlayerStatisticsAggregator(
+            PlayerStatisticsBatchRepository batchRepository,
+            PlayerStatisticsRepository statsRepository,
+            LeaderboardService leaderboardService,
+            AchievementService achievementService,
+            MeterRegistry meterRegistry,
+            @Value("${app.statistics.aggregator.stripes:16}") int stripeCount,
+            @Value("${app.statistics.aggregator.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${app.statistics.aggregator.flush-events:5000}") int flushEvents,
+            @Value("${app.statistics.aggregator.max-attempts:3}") int maxAttempts) {
+        this.batchRepository = batchRepository;
+        this.statsRepository = statsRepository;
+        this.leaderboardService = leaderboardService;
+        this.achievementService = achievementService;
+        this.stripes = new Map[Integer.highestOneBit(Math.max(1, stripeCount) * 2 - 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new HashMap<>();
+        }
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.flushEvents = Math.max(1, flushEvents);
+        this.maxAttempts = Math.max(1, maxAttempts);
+
+        Gauge.builder("poker.stats.pending", pendingEvents, AtomicInteger::get)
+                .description("Player statistic events recorded but not yet written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("poker.stats.flush.time")
+                .description("Time to write one batch of player statistic deltas")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("poker.stats.flushed")
+                .description("Merged player statistic deltas written to the database")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("poker.stats.flush.failures")
+                .description("Player statistic batches that could not be written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("poker.stats.dropped")
+                .description("Player statistic deltas dropped after the database refused them repeatedly")
+                .register(meterRegistry);
+    }
+
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusherThread = new Thread(this::run, "player-statistics-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    public void record(String playerName, Consumer<PlayerStatisticsDelta> update) {
+        Map<String, PlayerStatisticsDelta> stripe = stripeFor(playerName);
+        int recorded;
+        synchronized (stripe) {
+            PlayerStatisticsDelta delta = stripe.computeIfAbsent(playerName, PlayerStatisticsDelta::new);
+            int before = delta.getEvents();
+            update.accept(delta);
+            recorded = delta.getEvents() - before;
+        }
+        if (recorded > 0 && pendingEvents.addAndGet(recorded) >= flushEvents && flusherThread != null) {
+            LockSupport.unpark(flusherThread);
+        }
+    }
+
+    public int pendingEvents() {
+        return pendingEvents.get();
+    }
+
+    /**
+     * Writes everything recorded so far on the calling thread. Returns false if some of the batch could not
+     * be written, in which case those deltas stay pending.
+     */
+    public boolean flush() {
+        synchronized (flushLock) {
+            List<PlayerStatisticsDelta> batch = new ArrayList<>();
+            for (Map<String, PlayerStatisticsDelta> stripe : stripes) {
+                synchronized (stripe) {
+                    for (PlayerStatisticsDelta delta : stripe.values()) {
+                        if (!delta.isEmpty()) {
+                            batch.add(delta);
+                        }
+                    }
+                    stripe.clear();
+                }
+            }
+            if (batch.isEmpty()) {
+                return true;
+            }
+            int events = batch.stream().mapToInt(PlayerStatisticsDelta::getEvents).sum();
+
+            List<PlayerStatisticsDelta> written = new ArrayList<>(batch.size());
+            boolean complete;
+            long started = System.nanoTime();
+            try {
+                batchRepository.applyAll(batch);
+                pendingEvents.addAndGet(-events);
+                written = batch;
+                complete = true;
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                if (DataAccessFailures.isUnavailable(e)) {
+                    logger.warn("Failed to write statistics for {} players, keeping them pending", batch.size(), e);
+                    requeue(batch);
+                    return false;
+                }
+                logger.warn("Database refused statistics for {} players, writing them one at a time", batch.size(), e);
+                complete = writeEach(batch, written);
+            } finally {
+                flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+
+            flushed.increment(written.size());
+            if (!written.isEmpty()) {
+                afterWrite(written);
+            }
+            return complete;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusherThread != null) {
+            LockSupport.unpark(flusherThread);
+            try {
+                flusherThread.join(flushIntervalMs * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (int attempt = 1; attempt <= SHUTDOWN_ATTEMPTS; attempt++) {
+            if (flush()) {
+                return;
+            }
+        }
+        logger.error("Could not write {} pending player statistic events before shutdown", pendingEvents.get());
+    }
+
+
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            if (!running) {
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Player statistics flush failed", e);
+            }
+        }
+    }
+
+    // the deltas are written, so failures here only delay what the periodic leaderboard rebuild and
+    // on-demand achievement checks catch up on
+    private void afterWrite(List<PlayerStatisticsDelta> batch) {
+        List<PlayerStatistics> updated;
+        try {
+            updated = statsRepository.findByPlayerNameIn(batch.stream().map(PlayerStatisticsDelta::getPlayerName).toList());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read back statistics for {} players", batch.size(), e);
+            return;
+        }
+        try {
+            leaderboardService.refresh(updated);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh leaderboards after writing statistics", e);
+        }
+        try {
+            achievementService.checkProgress(updated, batch);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to check achievements after writing statistics", e);
+        }
+    }
+
+    // returns false if any delta is left pending; refused deltas are dropped after max-attempts
+    private boolean writeEach(List<PlayerStatisticsDelta> batch, List<PlayerStatisticsDelta> written) {
+        boolean complete = true;
+        for (int i = 0; i < batch.size(); i++) {
+            PlayerStatisticsDelta delta = batch.get(i);
+            try {
+                batchRepository.applyAll(List.of(delta));
+                pendingEvents.addAndGet(-delta.getEvents());
+                written.add(delta);
+            } catch (RuntimeException e) {
+                if (DataAccessFailures.isUnavailable(e)) {
+                    logger.warn("Failed to write statistics for {}, keeping the rest pending", delta.getPlayerName(), e);
+                    requeue(batch.subList(i, batch.size()));
+                    return false;
+                }
+                int attempts = delta.recordRejection();
+                if (attempts >= maxAttempts) {
+                    logger.error("Dropping {} statistic events of {} refused {} times", delta.getEvents(),
+                            delta.getPlayerName(), attempts, e);
+                    pendingEvents.addAndGet(-delta.getEvents());
+                    dropped.increment();
+                } else {
+                    logger.warn("Database refused statistics of {} (attempt {} of {})", delta.getPlayerName(),
+                            attempts, maxAttempts, e);
+                    requeue(List.of(delta));
+                    complete = false;
+                }
+            }
+        }
+        return complete;
+    }
+
+    // the failed deltas are older than anything recorded since, so they go in front
+    private void requeue(List<PlayerStatisticsDelta> batch) {
+        for (PlayerStatisticsDelta older : batch) {
+            Map<String, PlayerStatisticsDelta> stripe = stripeFor(older.getPlayerName());
+            synchronized (stripe) {
+                PlayerStatisticsDelta newer = stripe.get(older.getPlayerName());
+                if (newer != null) {
+                    older.append(newer);
+                }
+                stripe.put(older.getPlayerName(), older);
+            }
+        }
+    }
+
+    private Map<String, PlayerStatisticsDelta> stripeFor(String playerName) {
+        int hash = playerName.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -1,10 +1,13 @@
 package com.truholdem.service;
 
 import com.truholdem.model.PlayerStatistics;
+import com.truholdem.model.PlayerStatisticsDelta;
 import com.truholdem.repository.PlayerStatisticsRepository;
+import com.truholdem.service.LeaderboardService.LeaderboardType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
@@ -15,12 +18,17 @@ import java.util.*;
 public class PlayerStatisticsService {
 
     private static final Logger logger = LoggerFactory.getLogger(PlayerStatisticsService.class);
-    private static final int MIN_HANDS_FOR_LEADERBOARD = 10;
 
     private final PlayerStatisticsRepository statsRepository;
+    private final PlayerStatisticsAggregator statisticsAggregator;
+    private final LeaderboardService leaderboardService;
 
-    public PlayerStatisticsService(PlayerStatisticsRepository statsRepository) {
+    public PlayerStatisticsService(PlayerStatisticsRepository statsRepository,
+                                   PlayerStatisticsAggregator statisticsAggregator,
+                                   LeaderboardService leaderboardService) {
         this.statsRepository = statsRepository;
+        this.statisticsAggregator = statisticsAggregator;
+        this.leaderboardService = leaderboardService;
     }
 
     
@@ -68,51 +76,51 @@ public class PlayerStatisticsService {
     
 
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<PlayerStatistics> getTopByHandsWon() {
-        return statsRepository.findTop10ByOrderByHandsWonDesc();
+        return leaderboardService.getTop(LeaderboardType.HANDS_WON);
     }
 
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<PlayerStatistics> getTopByWinnings() {
-        return statsRepository.findTop10ByOrderByTotalWinningsDesc();
+        return leaderboardService.getTop(LeaderboardType.WINNINGS);
     }
 
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<PlayerStatistics> getTopByBiggestPot() {
-        return statsRepository.findTop10ByOrderByBiggestPotWonDesc();
+        return leaderboardService.getTop(LeaderboardType.BIGGEST_POT);
     }
 
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<PlayerStatistics> getTopByWinStreak() {
-        return statsRepository.findTop10ByOrderByLongestWinStreakDesc();
+        return leaderboardService.getTop(LeaderboardType.WIN_STREAK);
     }
 
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<PlayerStatistics> getTopByWinRate() {
-        return statsRepository.findTopPlayersByWinRate(MIN_HANDS_FOR_LEADERBOARD);
+        return leaderboardService.getTop(LeaderboardType.WIN_RATE);
     }
 
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<PlayerStatistics> getMostActive() {
-        return statsRepository.findTop20ByOrderByHandsPlayedDesc();
+        return leaderboardService.getTop(LeaderboardType.MOST_ACTIVE);
     }
 
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<PlayerStatistics> getRecentlyActive() {
-        return statsRepository.findTop20ByOrderByLastHandPlayedDesc();
+        return leaderboardService.getTop(LeaderboardType.RECENTLY_ACTIVE);
     }
 
     
 
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LeaderboardData getLeaderboard() {
         return new LeaderboardData(
             getTopByWinnings(),
@@ -180,67 +188,59 @@ public class PlayerStatisticsService {
     
 
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void recordHandPlayed(String playerName, boolean voluntarilyPutIn, boolean raisedPreFlop) {
-        PlayerStatistics stats = getOrCreateStats(playerName);
-        stats.recordHandPlayed(voluntarilyPutIn, raisedPreFlop);
-        statsRepository.save(stats);
+        statisticsAggregator.record(playerName, delta -> delta.recordHandPlayed(voluntarilyPutIn, raisedPreFlop));
     }
 
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void recordAction(String playerName, String action) {
-        PlayerStatistics stats = getOrCreateStats(playerName);
-        
-        switch (action.toUpperCase()) {
-            case "BET" -> stats.recordBet();
-            case "RAISE" -> stats.recordRaise();
-            case "CALL" -> stats.recordCall();
-            case "FOLD" -> stats.recordFold();
-            case "CHECK" -> stats.recordCheck();
-        }
-        
-        statsRepository.save(stats);
+        statisticsAggregator.record(playerName, delta -> {
+            switch (action.toUpperCase()) {
+                case "BET" -> delta.recordBet();
+                case "RAISE" -> delta.recordRaise();
+                case "CALL" -> delta.recordCall();
+                case "FOLD" -> delta.recordFold();
+                case "CHECK" -> delta.recordCheck();
+            }
+        });
     }
 
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void recordAllIn(String playerName) {
-        PlayerStatistics stats = getOrCreateStats(playerName);
-        stats.recordAllIn();
-        statsRepository.save(stats);
+        statisticsAggregator.record(playerName, PlayerStatisticsDelta::recordAllIn);
     }
 
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void recordShowdown(String playerName, boolean won) {
-        PlayerStatistics stats = getOrCreateStats(playerName);
-        stats.recordShowdown(won);
-        statsRepository.save(stats);
+        statisticsAggregator.record(playerName, delta -> delta.recordShowdown(won));
     }
 
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void recordWin(String playerName, int potAmount) {
-        PlayerStatistics stats = getOrCreateStats(playerName);
-        stats.recordWin(potAmount);
-        statsRepository.save(stats);
+        statisticsAggregator.record(playerName, delta -> delta.recordWin(potAmount));
         logger.debug("Recorded win for {}: {} chips", playerName, potAmount);
     }
 
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void recordLoss(String playerName, int amountLost) {
-        PlayerStatistics stats = getOrCreateStats(playerName);
-        stats.recordLoss(amountLost);
-        statsRepository.save(stats);
+        statisticsAggregator.record(playerName, delta -> delta.recordLoss(amountLost));
     }
 
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void recordAllInResult(String playerName, boolean won) {
-        PlayerStatistics stats = getOrCreateStats(playerName);
-        stats.recordAllInResult(won);
-        statsRepository.save(stats);
+        statisticsAggregator.record(playerName, delta -> delta.recordAllInResult(won));
     }
 
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void startSession(String playerName) {
-        PlayerStatistics stats = getOrCreateStats(playerName);
-        stats.startNewSession();
-        statsRepository.save(stats);
+        statisticsAggregator.record(playerName, PlayerStatisticsDelta::startNewSession);
     }
 }
@@ -17,7 +17,9 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.truholdem.dto.PlayerActionMessageDto;
 import com.truholdem.dto.ShowdownResult;
 import com.truholdem.dto.ShowdownResult.WinnerInfo;
 import com.truholdem.model.Card;
@@ -30,12 +32,16 @@ import com.truholdem.model.PlayerAction;
 import com.truholdem.model.PlayerInfo;
 import com.truholdem.repository.GameRepository;
 
+// Methods that may wait on an engine table own no transaction themselves: the engine opens one per command
+// on the table's mailbox, and the database path opens one through the transaction template.
 @Service
-@Transactional(isolation = Isolation.READ_COMMITTED)
 public class PokerGameService {
 
     private static final Logger logger = LoggerFactory.getLogger(PokerGameService.class);
 
+    // set while a recovering table replays its action log on the current mailbox thread
+    private static final ThreadLocal<Boolean> REPLAYING = ThreadLocal.withInitial(() -> false);
+
     private final GameRepository gameRepository;
     private final HandEvaluator handEvaluator;
     private final HandHistoryService handHistoryService;
@@ -43,6 +49,8 @@ public class PokerGameService {
     private final GameNotificationService notificationService;
     private final AdvancedBotAIService botAIService;
     private final GameMetricsService metricsService;
+    private final GameEngineService gameEngine;
+    private final TransactionOperations transactions;
 
     public PokerGameService(
             GameRepository gameRepository,
@@ -51,7 +59,9 @@ public class PokerGameService {
             PlayerStatisticsService playerStatisticsService,
             GameNotificationService notificationService,
             AdvancedBotAIService botAIService,
-            GameMetricsService metricsService) {
+            GameMetricsService metricsService,
+            GameEngineService gameEngine,
+            TransactionOperations transactions) {
         this.gameRepository = gameRepository;
         this.handEvaluator = handEvaluator;
         this.handHistoryService = handHistoryService;
@@ -59,8 +69,11 @@ public class PokerGameService {
         this.notificationService = notificationService;
         this.botAIService = botAIService;
         this.metricsService = metricsService;
+        this.gameEngine = gameEngine;
+        this.transactions = transactions;
     }
 
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Game createNewGame(List<PlayerInfo> playersInfo) {
         return metricsService.timeGameCreation(() -> {
             validatePlayerCount(playersInfo);
@@ -103,6 +116,11 @@ public class PokerGameService {
 
             handHistoryService.startRecording(savedGame);
 
+            if (gameEngine.isEnabled()) {
+                // the table owns its own instance; the saved entity stays with this caller
+                gameEngine.register(savedGame.copy());
+            }
+
             notificationService.broadcastGameUpdate(savedGame);
 
             metricsService.incrementGamesCreated();
@@ -116,77 +134,163 @@ public class PokerGameService {
     @CacheEvict(value = "games", key = "#gameId")
     public Game playerAct(UUID gameId, UUID playerId, PlayerAction action, int amount) {
         return metricsService.timeActionProcessing(() -> {
-            Game game = findGameById(gameId);
-            Player player = findPlayerInGame(game, playerId);
+            if (gameEngine.isEnabled()) {
+                return gameEngine.execute(gameId, this::replayActions, game -> {
+                    validatePlayerAction(game, playerId);
+                    // write-ahead: the action is durable before it touches the in-memory table
+                    gameEngine.appendAction(game,
+                        new GameActionLog.Entry(game.getHandNumber(), playerId, action, amount));
+                    applyPlayerAction(game, playerId, action, amount);
+                    return game.copy();
+                });
+            }
 
-            validatePlayerTurn(game, playerId);
-            validatePlayerCanAct(player);
+            return transactions.execute(status -> {
+                Game game = findGameById(gameId);
+                applyPlayerAction(game, playerId, action, amount);
+                return gameRepository.save(game);
+            });
+        });
+    }
+
+    private void applyPlayerAction(Game game, UUID playerId, PlayerAction action, int amount) {
+        Player player = validatePlayerAction(game, playerId);
 
-            logger.debug("Player {} performing action {} with amount {}", player.getName(), action, amount);
+        logger.debug("Player {} performing action {} with amount {}", player.getName(), action, amount);
 
+        boolean live = !REPLAYING.get();
+        if (live) {
             metricsService.recordPlayerAction(action.name());
+        }
 
-            int actualAmount = 0;
-            switch (action) {
-                case FOLD -> {
-                    handleFold(game, player);
+        int actualAmount = 0;
+        switch (action) {
+            case FOLD -> {
+                handleFold(game, player);
+                if (live) {
                     metricsService.incrementFolds();
                 }
-                case CHECK -> handleCheck(game, player);
-                case CALL -> actualAmount = handleCall(game, player);
-                case BET -> actualAmount = handleBet(game, player, amount);
-                case RAISE -> actualAmount = handleRaise(game, player, amount);
-                case ALL_IN -> actualAmount = handleAllIn(game, player);
             }
+            case CHECK -> handleCheck(game, player);
+            case CALL -> actualAmount = handleCall(game, player);
+            case BET -> actualAmount = handleBet(game, player, amount);
+            case RAISE -> actualAmount = handleRaise(game, player, amount);
+            case ALL_IN -> actualAmount = handleAllIn(game, player);
+        }
 
-            player.setHasActed(true);
+        player.setHasActed(true);
 
-            handHistoryService.recordAction(gameId, player, action, actualAmount, game.getPhase());
+        if (live) {
+            handHistoryService.recordAction(game.getId(), player, action, actualAmount, game.getPhase());
             playerStatisticsService.recordAction(player.getName(), action.name());
 
             if (player.isAllIn()) {
                 playerStatisticsService.recordAllIn(player.getName());
             }
+        }
 
-            notificationService.broadcastPlayerAction(game, player, action.name(), actualAmount);
+        PlayerActionMessageDto actionMessage = new PlayerActionMessageDto(player.getId(), player.getName(),
+                action.name(), actualAmount, player.getChips(), player.getBetAmount());
 
-            advanceGame(game);
+        advanceGame(game);
 
-            // Log the next player after advancing
-            Player nextPlayer = game.getCurrentPlayer();
-            logger.info("After {} by {}: next player is {} (isBot: {}, index: {})",
-                action, player.getName(),
-                nextPlayer != null ? nextPlayer.getName() : "null",
-                nextPlayer != null ? nextPlayer.isBot() : "N/A",
-                game.getCurrentPlayerIndex());
+        // one update per action, carrying the state after it; a contested showdown broadcasts its own result instead
+        if (live && (game.getPhase() != GamePhase.SHOWDOWN || game.getPlayersStillInHand().size() < 2)) {
+            notificationService.broadcastPlayerAction(game, actionMessage);
+        }
 
-            return gameRepository.save(game);
-        });
+        // Log the next player after advancing
+        Player nextPlayer = game.getCurrentPlayer();
+        logger.info("After {} by {}: next player is {} (isBot: {}, index: {})",
+            action, player.getName(),
+            nextPlayer != null ? nextPlayer.getName() : "null",
+            nextPlayer != null ? nextPlayer.isBot() : "N/A",
+            game.getCurrentPlayerIndex());
     }
 
     @CacheEvict(value = "games", key = "#gameId")
     public Game executeBotAction(UUID gameId, UUID botId) {
-        Game game = findGameById(gameId);
-        Player bot = findPlayerInGame(game, botId);
+        if (gameEngine.isEnabled()) {
+            return gameEngine.execute(gameId, this::replayActions, game -> {
+                Player bot = findBotInGame(game, botId);
+                if (mustSkipBotTurn(bot)) {
+                    gameEngine.appendAction(game, GameActionLog.Entry.skip(game.getHandNumber(), botId));
+                    skipBotTurn(game, bot);
+                    return game.copy();
+                }
 
-        if (!bot.isBot()) {
-            throw new IllegalStateException("Player is not a bot");
+                AdvancedBotAIService.BotDecision decision = decideBotAction(game, bot);
+                gameEngine.appendAction(game,
+                    new GameActionLog.Entry(game.getHandNumber(), botId, decision.action(), decision.amount()));
+                applyPlayerAction(game, botId, decision.action(), decision.amount());
+                return game.copy();
+            });
         }
 
-        // Skip bot action if player is all-in or folded
-        if (bot.isAllIn()) {
-            logger.debug("Bot {} is all-in, skipping action and advancing to next player", bot.getName());
-            advanceToNextPlayer(game);
-            return gameRepository.save(game);
+        return transactions.execute(status -> {
+            Game game = findGameById(gameId);
+            Player bot = findBotInGame(game, botId);
+
+            if (mustSkipBotTurn(bot)) {
+                skipBotTurn(game, bot);
+                return gameRepository.save(game);
+            }
+
+            AdvancedBotAIService.BotDecision decision = decideBotAction(game, bot);
+            return playerAct(gameId, botId, decision.action(), decision.amount());
+        });
+    }
+
+    // engine tables are the authoritative copy already; caching their state would only serve stale hands
+    @Cacheable(value = "games", key = "#gameId", unless = "#result == null",
+            condition = "!@gameEngineService.isEnabled()")
+    public Optional<Game> getGame(UUID gameId) {
+        if (gameEngine.isEnabled()) {
+            try {
+                return Optional.of(gameEngine.execute(gameId, this::replayActions, Game::copy));
+            } catch (NoSuchElementException e) {
+                return Optional.empty();
+            }
         }
+        return gameRepository.findById(gameId);
+    }
 
-        if (bot.isFolded()) {
-            logger.debug("Bot {} is folded, skipping action and advancing to next player", bot.getName());
-            advanceToNextPlayer(game);
+    @CacheEvict(value = "games", key = "#gameId")
+    public Game startNewHand(UUID gameId) {
+        if (gameEngine.isEnabled()) {
+            return gameEngine.execute(gameId, this::replayActions, game -> {
+                dealNewHand(game);
+                return game.copy();
+            });
+        }
+
+        return transactions.execute(status -> {
+            Game game = findGameById(gameId);
+            dealNewHand(game);
             return gameRepository.save(game);
+        });
+    }
+
+    private Player findBotInGame(Game game, UUID botId) {
+        Player bot = findPlayerInGame(game, botId);
+        if (!bot.isBot()) {
+            throw new IllegalStateException("Player is not a bot");
         }
+        return bot;
+    }
+
+    private static boolean mustSkipBotTurn(Player bot) {
+        return bot.isAllIn() || bot.isFolded();
+    }
+
+    private void skipBotTurn(Game game, Player bot) {
+        logger.debug("Bot {} is {}, skipping action and advancing to next player",
+                bot.getName(), bot.isAllIn() ? "all-in" : "folded");
+        advanceToNextPlayer(game);
+    }
 
-        validatePlayerTurn(game, botId);
+    private AdvancedBotAIService.BotDecision decideBotAction(Game game, Player bot) {
+        validatePlayerTurn(game, bot.getId());
 
         AdvancedBotAIService.BotDecision decision = botAIService.decide(game, bot);
 
@@ -218,19 +322,10 @@ public class PokerGameService {
         logger.info("Bot {} decided: {} (amount: {}, reason: {})",
                 bot.getName(), finalAction, finalAmount, decision.reasoning());
 
-        return playerAct(gameId, botId, finalAction, finalAmount);
+        return new AdvancedBotAIService.BotDecision(finalAction, finalAmount, decision.reasoning());
     }
 
-    @Cacheable(value = "games", key = "#gameId", unless = "#result == null")
-    @Transactional(readOnly = true)
-    public Optional<Game> getGame(UUID gameId) {
-        return gameRepository.findById(gameId);
-    }
-
-    @CacheEvict(value = "games", key = "#gameId")
-    public Game startNewHand(UUID gameId) {
-        Game game = findGameById(gameId);
-
+    private void dealNewHand(Game game) {
         game.getPlayers().removeIf(p -> p.getChips() <= 0);
 
         if (game.getPlayers().size() < 2) {
@@ -247,8 +342,39 @@ public class PokerGameService {
         postBlinds(game);
         game.setPhase(GamePhase.PRE_FLOP);
 
-        logger.info("Started new hand {} in game {}", game.getHandNumber(), gameId);
-        return gameRepository.save(game);
+        logger.info("Started new hand {} in game {}", game.getHandNumber(), game.getId());
+    }
+
+    // Rebuilds the state a table reached after its last snapshot. Entries are applied exactly as the live
+    // table applied them, including ones it rejected part-way; entries from a hand whose start was never
+    // snapshotted cannot be replayed against this state and are dropped. Only the state transitions are
+    // repeated: the statistics, hand history, metrics and broadcasts of these actions already happened.
+    private void replayActions(Game game, List<GameActionLog.Entry> entries) {
+        REPLAYING.set(true);
+        try {
+            replayEntries(game, entries);
+        } finally {
+            REPLAYING.remove();
+        }
+    }
+
+    private void replayEntries(Game game, List<GameActionLog.Entry> entries) {
+        for (GameActionLog.Entry entry : entries) {
+            if (entry.handNumber() != game.getHandNumber()) {
+                logger.warn("Dropping logged action from hand {} of game {} at hand {}",
+                        entry.handNumber(), game.getId(), game.getHandNumber());
+                continue;
+            }
+            try {
+                if (entry.isSkip()) {
+                    advanceToNextPlayer(game);
+                } else {
+                    applyPlayerAction(game, entry.playerId(), entry.action(), entry.amount());
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Replayed action {} of game {} was rejected again: {}", entry, game.getId(), e.getMessage());
+            }
+        }
     }
 
     private void validatePlayerCount(List<PlayerInfo> playersInfo) {
@@ -280,6 +406,13 @@ public class PokerGameService {
                 .count() == 1;
     }
 
+    private Player validatePlayerAction(Game game, UUID playerId) {
+        Player player = findPlayerInGame(game, playerId);
+        validatePlayerTurn(game, playerId);
+        validatePlayerCanAct(player);
+        return player;
+    }
+
     private void validatePlayerCanAct(Player player) {
         if (player.isFolded()) {
             throw new IllegalStateException("Player has already folded");
@@ -724,8 +857,10 @@ public class PokerGameService {
         }
     }
 
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public ShowdownResult resolveShowdown(Game game) {
         logger.info("Resolving showdown for game {}", game.getId());
+        boolean live = !REPLAYING.get();
 
         List<Player> playersInHand = game.getPlayersStillInHand();
         List<WinnerInfo> allWinners = new ArrayList<>();
@@ -772,10 +907,12 @@ public class PokerGameService {
                         ranking.getDescription(),
                         new ArrayList<>(winner.getHand())));
 
-                playerStatisticsService.recordShowdown(winner.getName(), true);
-                playerStatisticsService.recordWin(winner.getName(), amount);
-                if (winner.isAllIn()) {
-                    playerStatisticsService.recordAllInResult(winner.getName(), true);
+                if (live) {
+                    playerStatisticsService.recordShowdown(winner.getName(), true);
+                    playerStatisticsService.recordWin(winner.getName(), amount);
+                    if (winner.isAllIn()) {
+                        playerStatisticsService.recordAllInResult(winner.getName(), true);
+                    }
                 }
 
                 logger.info("Player {} wins {} with {}",
@@ -783,7 +920,7 @@ public class PokerGameService {
             }
 
             for (Player loser : eligiblePlayers) {
-                if (!potWinners.contains(loser)) {
+                if (live && !potWinners.contains(loser)) {
                     playerStatisticsService.recordShowdown(loser.getName(), false);
                     if (loser.isAllIn()) {
                         playerStatisticsService.recordAllInResult(loser.getName(), false);
@@ -812,6 +949,10 @@ public class PokerGameService {
 
         ShowdownResult result = new ShowdownResult(allWinners, totalWon, message);
 
+        if (!live) {
+            return result;
+        }
+
         if (!allWinners.isEmpty()) {
             WinnerInfo mainWinner = allWinners.get(0);
             handHistoryService.recordCommunityCards(game.getId(), game.getCommunityCards());
@@ -886,12 +1027,14 @@ public class PokerGameService {
         game.setFinished(true);
         game.setPhase(GamePhase.SHOWDOWN);
 
-        playerStatisticsService.recordWin(winner.getName(), potAmount);
+        if (!REPLAYING.get()) {
+            playerStatisticsService.recordWin(winner.getName(), potAmount);
 
-        handHistoryService.finishRecording(game.getId(),
-                winner.getName(),
-                "All opponents folded",
-                potAmount);
+            handHistoryService.finishRecording(game.getId(),
+                    winner.getName(),
+                    "All opponents folded",
+                    potAmount);
+        }
 
         logger.info("Player {} wins {} - all opponents folded", winner.getName(), potAmount);
     }
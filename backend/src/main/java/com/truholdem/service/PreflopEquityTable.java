@@ -0,0 +1,233 @@
+package com.truholdem.service;
+
+import com.truholdem.model.Card;
+import com.truholdem.model.CardSet;
+import com.truholdem.model.HandRange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+
+public final class PreflopEquityTable {
+
+    public static final String DEFAULT_RESOURCE = "analysis/preflop-equity.bin";
+
+    public static final int MAGIC = 0x54485045;
+    public static final int FORMAT_VERSION = 1;
+    public static final int CLASS_COUNT = 169;
+    public static final int HEADER_BYTES = 16;
+    public static final int PAYLOAD_BYTES = CLASS_COUNT * CLASS_COUNT * Float.BYTES;
+
+    private static final int RANKS = 13;
+    private static final int SUITS = 4;
+    private static final int SUIT_MASK = 0xF;
+
+    private static final double[] ANY_TWO_WEIGHTS = new double[CLASS_COUNT];
+
+    static {
+        Arrays.fill(ANY_TWO_WEIGHTS, 1.0);
+    }
+
+    private final ByteBuffer equities;
+
+    private PreflopEquityTable(ByteBuffer buffer) {
+        validate(buffer);
+        this.equities = buffer.slice(HEADER_BYTES, PAYLOAD_BYTES).asReadOnlyBuffer();
+    }
+
+
+
+    public static PreflopEquityTable load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new PreflopEquityTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static PreflopEquityTable loadDefault() {
+        URL resource = PreflopEquityTable.class.getClassLoader().getResource(DEFAULT_RESOURCE);
+        if (resource == null) {
+            throw new IllegalStateException("Preflop equity table not found on classpath: " + DEFAULT_RESOURCE);
+        }
+
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                return load(Path.of(resource.toURI()));
+            }
+
+            // entries inside a jar cannot be mapped directly, so map an extracted copy
+            Path extracted = Files.createTempFile("preflop-equity", ".bin");
+            extracted.toFile().deleteOnExit();
+            try (InputStream in = resource.openStream()) {
+                Files.copy(in, extracted, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return load(extracted);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load preflop equity table", e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid preflop equity table location: " + resource, e);
+        }
+    }
+
+    public static ByteBuffer encode(float[] equities) {
+        if (equities.length != CLASS_COUNT * CLASS_COUNT) {
+            throw new IllegalArgumentException("Expected " + CLASS_COUNT * CLASS_COUNT + " equities");
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_BYTES);
+        for (float equity : equities) {
+            payload.putFloat(equity);
+        }
+        payload.flip();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + PAYLOAD_BYTES);
+        buffer.putInt(MAGIC)
+            .putInt(FORMAT_VERSION)
+            .putInt(CLASS_COUNT)
+            .putInt(checksum(payload))
+            .put(payload)
+            .flip();
+        return buffer;
+    }
+
+
+
+    public static int classIndex(int firstRank, int secondRank, boolean suited) {
+        int high = Math.max(firstRank, secondRank);
+        int low = Math.min(firstRank, secondRank);
+        return suited || high == low ? high * RANKS + low : low * RANKS + high;
+    }
+
+    public static int classIndex(Card first, Card second) {
+        return classIndex(first.getValue().ordinal(), second.getValue().ordinal(),
+            first.getSuit() == second.getSuit());
+    }
+
+    public static int classIndex(long handMask) {
+        int first = Long.numberOfTrailingZeros(handMask);
+        int second = 63 - Long.numberOfLeadingZeros(handMask);
+        return classIndex(first % RANKS, second % RANKS, first / RANKS == second / RANKS);
+    }
+
+    public static double[] classWeights(HandRange range) {
+        double[] weights = new double[CLASS_COUNT];
+        for (int combo = 0; combo < HandRange.COMBO_COUNT; combo++) {
+            long mask = HandRange.comboMask(combo);
+            double weight = range.weight(mask);
+            if (weight > 0) {
+                // class weight is the mean weight of its combos, so "ATo:0.5" counts as half the class
+                int handClass = classIndex(mask);
+                weights[handClass] += weight / liveCombos(handClass, 0L);
+            }
+        }
+        return weights;
+    }
+
+
+
+    public double equity(int heroClass, int villainClass) {
+        return equities.getFloat((heroClass * CLASS_COUNT + villainClass) * Float.BYTES);
+    }
+
+    public double equity(List<Card> heroHand, HandRange villainRange) {
+        return equity(CardSet.maskOf(heroHand), classWeights(villainRange));
+    }
+
+    public double equityVsRandom(List<Card> heroHand) {
+        return equity(CardSet.maskOf(heroHand), ANY_TWO_WEIGHTS);
+    }
+
+
+    public double equity(long heroMask, double[] villainClassWeights) {
+        if (Long.bitCount(heroMask) != 2) {
+            throw new IllegalArgumentException("Exactly 2 hole cards are required");
+        }
+
+        int rowOffset = classIndex(heroMask) * CLASS_COUNT * Float.BYTES;
+        long heroSuits = suitsByRank(heroMask);
+
+        double weightedEquity = 0;
+        double totalWeight = 0;
+        int villainClass = 0;
+        for (int row = 0; row < RANKS; row++) {
+            int rowSuits = SUIT_MASK & ~(int) (heroSuits >>> (row * SUITS));
+            for (int column = 0; column < RANKS; column++, villainClass++) {
+                double weight = villainClassWeights[villainClass];
+                if (weight <= 0) continue;
+
+                // each class entry averages over its combos; weight by how many survive the hero's blockers
+                int columnSuits = SUIT_MASK & ~(int) (heroSuits >>> (column * SUITS));
+                double combos = weight * liveCombos(row, column, rowSuits, columnSuits);
+                weightedEquity += combos * equities.getFloat(rowOffset + villainClass * Float.BYTES);
+                totalWeight += combos;
+            }
+        }
+
+        return totalWeight > 0 ? weightedEquity / totalWeight : 0.5;
+    }
+
+    static int liveCombos(int handClass, long deadCards) {
+        long deadSuits = suitsByRank(deadCards);
+        int row = handClass / RANKS;
+        int column = handClass % RANKS;
+        return liveCombos(row, column,
+            SUIT_MASK & ~(int) (deadSuits >>> (row * SUITS)),
+            SUIT_MASK & ~(int) (deadSuits >>> (column * SUITS)));
+    }
+
+
+
+    private static int liveCombos(int row, int column, int rowSuits, int columnSuits) {
+        int rowLive = Integer.bitCount(rowSuits);
+        if (row == column) {
+            return rowLive * (rowLive - 1) / 2;
+        }
+        int suitedLive = Integer.bitCount(rowSuits & columnSuits);
+        return row > column ? suitedLive : rowLive * Integer.bitCount(columnSuits) - suitedLive;
+    }
+
+    // four suit bits per rank, so a rank's live suits are one shift away
+    private static long suitsByRank(long cards) {
+        long suits = 0L;
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            suits |= 1L << ((index % RANKS) * SUITS + index / RANKS);
+        }
+        return suits;
+    }
+
+    private static void validate(ByteBuffer buffer) {
+        if (buffer.limit() != HEADER_BYTES + PAYLOAD_BYTES) {
+            throw new IllegalStateException("Preflop equity table has unexpected size: " + buffer.limit());
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a preflop equity table");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported preflop equity table version: " + buffer.getInt(4));
+        }
+        if (buffer.getInt(8) != CLASS_COUNT) {
+            throw new IllegalStateException("Unexpected preflop equity class count: " + buffer.getInt(8));
+        }
+        if (buffer.getInt(12) != checksum(buffer.slice(HEADER_BYTES, PAYLOAD_BYTES))) {
+            throw new IllegalStateException("Preflop equity table checksum mismatch");
+        }
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+}
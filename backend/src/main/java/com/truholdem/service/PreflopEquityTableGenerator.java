@@ -0,0 +1,199 @@
+package com.truholdem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.truholdem.service.PreflopEquityTable.CLASS_COUNT;
+
+
+public final class PreflopEquityTableGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreflopEquityTableGenerator.class);
+
+    private static final int DECK_SIZE = 52;
+    private static final int RANKS = 13;
+    private static final int SUITS = 4;
+    private static final int RANK_MASK = 0x1FFF;
+    private static final int HAND_COUNT = 1326;
+    private static final int[] FACTORIALS = {1, 1, 2, 6, 24};
+
+    private PreflopEquityTableGenerator() {
+    }
+
+
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "src/main/resources/" + PreflopEquityTable.DEFAULT_RESOURCE);
+        long started = System.nanoTime();
+
+        float[] equities = generate();
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(output,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer encoded = PreflopEquityTable.encode(equities);
+            while (encoded.hasRemaining()) {
+                channel.write(encoded);
+            }
+        }
+        logger.info("Wrote preflop equity table to {} in {} s", output, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+
+    public static float[] generate() {
+        long[] handMasks = new long[HAND_COUNT];
+        int[] handClasses = new int[HAND_COUNT];
+        int[] firstCards = new int[HAND_COUNT];
+        int[] secondCards = new int[HAND_COUNT];
+        int hands = 0;
+        for (int first = 0; first < DECK_SIZE; first++) {
+            for (int second = first + 1; second < DECK_SIZE; second++) {
+                handMasks[hands] = (1L << first) | (1L << second);
+                handClasses[hands] = PreflopEquityTable.classIndex(handMasks[hands]);
+                firstCards[hands] = first;
+                secondCards[hands] = second;
+                hands++;
+            }
+        }
+
+        // ordered class pairs: hero wins, and ties, summed over every disjoint combo pair and board
+        int[] wins = new int[CLASS_COUNT * CLASS_COUNT];
+        int[] ties = new int[CLASS_COUNT * CLASS_COUNT];
+
+        int[] below = new int[CLASS_COUNT];
+        int[] belowByCard = new int[DECK_SIZE * CLASS_COUNT];
+        int[] tied = new int[CLASS_COUNT];
+        int[] tiedByCard = new int[DECK_SIZE * CLASS_COUNT];
+        long[] ranked = new long[HAND_COUNT];
+
+        long canonicalBoards = 0;
+        for (int c1 = 0; c1 < DECK_SIZE; c1++) {
+            for (int c2 = c1 + 1; c2 < DECK_SIZE; c2++) {
+                for (int c3 = c2 + 1; c3 < DECK_SIZE; c3++) {
+                    for (int c4 = c3 + 1; c4 < DECK_SIZE; c4++) {
+                        for (int c5 = c4 + 1; c5 < DECK_SIZE; c5++) {
+                            long board = (1L << c1) | (1L << c2) | (1L << c3) | (1L << c4) | (1L << c5);
+
+                            // class totals are suit-invariant, so each suit orbit is scored once
+                            int orbit = canonicalOrbitSize(board);
+                            if (orbit == 0) continue;
+                            canonicalBoards++;
+
+                            int live = 0;
+                            for (int hand = 0; hand < HAND_COUNT; hand++) {
+                                if ((handMasks[hand] & board) == 0) {
+                                    long strength = LookupHandEvaluator.evaluate(board | handMasks[hand]);
+                                    ranked[live++] = (strength << 11) | hand;
+                                }
+                            }
+                            Arrays.sort(ranked, 0, live);
+
+                            scoreBoard(ranked, live, orbit, handClasses, firstCards, secondCards,
+                                wins, ties, below, belowByCard, tied, tiedByCard);
+
+                            Arrays.fill(below, 0);
+                            Arrays.fill(belowByCard, 0);
+                        }
+                    }
+                }
+            }
+            logger.info("Preflop equity: first board card {} of {} done, {} canonical boards", c1 + 1, DECK_SIZE, canonicalBoards);
+        }
+
+        float[] equities = new float[CLASS_COUNT * CLASS_COUNT];
+        for (int hero = 0; hero < CLASS_COUNT; hero++) {
+            for (int villain = 0; villain < CLASS_COUNT; villain++) {
+                long won = wins[hero * CLASS_COUNT + villain];
+                long split = ties[hero * CLASS_COUNT + villain];
+                long lost = wins[villain * CLASS_COUNT + hero];
+                equities[hero * CLASS_COUNT + villain] = (float) ((won + split / 2.0) / (won + split + lost));
+            }
+        }
+        return equities;
+    }
+
+
+    private static void scoreBoard(long[] ranked, int live, int orbit, int[] handClasses,
+                                   int[] firstCards, int[] secondCards, int[] wins, int[] ties,
+                                   int[] below, int[] belowByCard, int[] tied, int[] tiedByCard) {
+        int groupStart = 0;
+        while (groupStart < live) {
+            long strength = ranked[groupStart] >>> 11;
+            int groupEnd = groupStart + 1;
+            while (groupEnd < live && ranked[groupEnd] >>> 11 == strength) {
+                groupEnd++;
+            }
+
+            boolean hasTies = groupEnd - groupStart > 1;
+            if (hasTies) {
+                for (int i = groupStart; i < groupEnd; i++) {
+                    add(ranked[i], 1, handClasses, firstCards, secondCards, tied, tiedByCard);
+                }
+            }
+
+            for (int i = groupStart; i < groupEnd; i++) {
+                int hand = (int) (ranked[i] & 0x7FF);
+                int heroClass = handClasses[hand];
+                int row = heroClass * CLASS_COUNT;
+                int first = firstCards[hand] * CLASS_COUNT;
+                int second = secondCards[hand] * CLASS_COUNT;
+
+                // opponents sharing a card with the hero are removed by inclusion-exclusion
+                for (int villain = 0; villain < CLASS_COUNT; villain++) {
+                    wins[row + villain] += orbit * (below[villain] - belowByCard[first + villain] - belowByCard[second + villain]);
+                }
+                if (hasTies) {
+                    for (int villain = 0; villain < CLASS_COUNT; villain++) {
+                        ties[row + villain] += orbit * (tied[villain] - tiedByCard[first + villain] - tiedByCard[second + villain]);
+                    }
+                    // the hero was subtracted once per card from its own group
+                    ties[row + heroClass] += orbit;
+                }
+            }
+
+            for (int i = groupStart; i < groupEnd; i++) {
+                add(ranked[i], 1, handClasses, firstCards, secondCards, below, belowByCard);
+                if (hasTies) {
+                    add(ranked[i], -1, handClasses, firstCards, secondCards, tied, tiedByCard);
+                }
+            }
+            groupStart = groupEnd;
+        }
+    }
+
+    private static void add(long rankedHand, int delta, int[] handClasses, int[] firstCards, int[] secondCards,
+                            int[] counts, int[] countsByCard) {
+        int hand = (int) (rankedHand & 0x7FF);
+        int handClass = handClasses[hand];
+        counts[handClass] += delta;
+        countsByCard[firstCards[hand] * CLASS_COUNT + handClass] += delta;
+        countsByCard[secondCards[hand] * CLASS_COUNT + handClass] += delta;
+    }
+
+    static int canonicalOrbitSize(long board) {
+        int previous = Integer.MAX_VALUE;
+        int run = 1;
+        int orbit = FACTORIALS[SUITS];
+        for (int suit = 0; suit < SUITS; suit++) {
+            int lane = (int) (board >>> (suit * RANKS)) & RANK_MASK;
+            if (lane > previous) {
+                return 0;
+            }
+            run = lane == previous ? run + 1 : 1;
+            if (run > 1) {
+                orbit /= run;
+            }
+            previous = lane;
+        }
+        return orbit;
+    }
+}
@@ -0,0 +1,49 @@
+package com.truholdem.service;
+
+import java.time.Duration;
+
+
+public record SimulationBudget(
+    double targetStandardError,
+    Duration timeBudget,
+    int maxIterations
+) {
+
+    public SimulationBudget {
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("maxIterations must be positive");
+        }
+        if (targetStandardError < 0) {
+            throw new IllegalArgumentException("targetStandardError must not be negative");
+        }
+        if (timeBudget != null && (timeBudget.isNegative() || timeBudget.isZero())) {
+            throw new IllegalArgumentException("timeBudget must be positive");
+        }
+    }
+
+
+    public static SimulationBudget iterations(int iterations) {
+        return new SimulationBudget(0, null, iterations);
+    }
+
+    public static SimulationBudget standardError(double targetStandardError, int maxIterations) {
+        return new SimulationBudget(targetStandardError, null, maxIterations);
+    }
+
+    public static SimulationBudget timeBudget(Duration timeBudget, int maxIterations) {
+        return new SimulationBudget(0, timeBudget, maxIterations);
+    }
+
+    public SimulationBudget withTimeBudget(Duration budget) {
+        return new SimulationBudget(targetStandardError, budget, maxIterations);
+    }
+
+
+    public boolean isFixed() {
+        return targetStandardError == 0 && timeBudget == null;
+    }
+
+    public boolean isConverged(double standardError) {
+        return targetStandardError > 0 && standardError <= targetStandardError;
+    }
+}
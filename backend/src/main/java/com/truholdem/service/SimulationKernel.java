@@ -0,0 +1,113 @@
+package com.truholdem.service;
+
+import com.truholdem.model.CardSet;
+
+import java.util.random.RandomGenerator;
+
+
+public final class SimulationKernel {
+
+    private final HandEvaluator handEvaluator;
+    private final int[] deck;
+    private final int[] deckPosition = new int[CardSet.DECK_SIZE];
+    private int liveCards;
+    private int villainsAtBest;
+
+    public SimulationKernel(HandEvaluator handEvaluator, long deadCards) {
+        this.handEvaluator = handEvaluator;
+        this.deck = CardSet.fromMask(deadCards).complement().toIndexArray();
+        for (int i = 0; i < deck.length; i++) {
+            deckPosition[deck[i]] = i;
+        }
+        this.liveCards = deck.length;
+    }
+
+
+
+    public int deckSize() {
+        return deck.length;
+    }
+
+    public int liveCards() {
+        return liveCards;
+    }
+
+    public void reset() {
+        liveCards = deck.length;
+    }
+
+    // moves cards already dealt elsewhere to the tail so draw() never returns them
+    public void park(long cards) {
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            int card = Long.numberOfTrailingZeros(remaining);
+            int position = deckPosition[card];
+            if (position < liveCards) {
+                swap(position, --liveCards);
+            }
+        }
+    }
+
+    // partial Fisher-Yates: only the first count positions are shuffled
+    public long draw(int count, RandomGenerator random) {
+        long drawn = 0L;
+        for (int i = 0; i < count; i++) {
+            swap(i, i + random.nextInt(liveCards - i));
+            drawn |= CardSet.bit(deck[i]);
+        }
+        return drawn;
+    }
+
+    public int card(int position) {
+        return deck[position];
+    }
+
+    public long cards(int from, int count) {
+        long mask = 0L;
+        for (int i = from; i < from + count; i++) {
+            mask |= CardSet.bit(deck[i]);
+        }
+        return mask;
+    }
+
+
+
+    public int evaluate(long holeCards, long board) {
+        return handEvaluator.evaluateStrength(holeCards | board);
+    }
+
+    public int bestStrength(long[] hands, int count, long board) {
+        int best = -1;
+        int atBest = 0;
+        for (int i = 0; i < count; i++) {
+            int strength = handEvaluator.evaluateStrength(hands[i] | board);
+            if (strength > best) {
+                best = strength;
+                atBest = 1;
+            } else if (strength == best) {
+                atBest++;
+            }
+        }
+        villainsAtBest = atBest;
+        return best;
+    }
+
+    public int villainsAtBest() {
+        return villainsAtBest;
+    }
+
+    public static double potShare(int heroStrength, int bestVillainStrength, int villainsAtBest) {
+        if (heroStrength > bestVillainStrength) return 1.0;
+        if (heroStrength < bestVillainStrength) return 0.0;
+        return 1.0 / (villainsAtBest + 1);
+    }
+
+
+
+    private void swap(int i, int j) {
+        int card = deck[i];
+        deck[i] = deck[j];
+        deck[j] = card;
+        deckPosition[deck[i]] = i;
+        deckPosition[card] = j;
+    }
+}
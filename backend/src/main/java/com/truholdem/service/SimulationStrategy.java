@@ -0,0 +1,23 @@
+package com.truholdem.service;
+
+import com.truholdem.model.Game;
+import com.truholdem.model.Player;
+import com.truholdem.service.AdvancedBotAIService.BotDecision;
+import com.truholdem.service.AdvancedBotAIService.BotPersonality;
+
+
+/**
+ * Picks an action for one seat in a {@link BotSimulator} hand. The table is a read-only view shaped like
+ * the live {@link Game} the bots normally see; bet and raise amounts are totals, as in {@link BotDecision}.
+ * Strategies are shared by every simulation thread, so they must be thread-safe.
+ */
+@FunctionalInterface
+public interface SimulationStrategy {
+
+    BotDecision decide(Game table, Player self);
+
+
+    static SimulationStrategy bot(AdvancedBotAIService botService, BotPersonality personality) {
+        return (table, self) -> botService.decide(table, self, personality);
+    }
+}
@@ -0,0 +1,551 @@
+package com.truholdem.websocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * Translates JSON frames to and from the binary wire format offered to WebSocket clients. The format is
+ * CBOR (RFC 8949) shaped by a shared schema: object keys listed in {@link #FIELDS} travel as their index
+ * instead of their name, canonical UUID strings as 16 bytes under tag 37, and decimals that a double
+ * cannot hold exactly as decimal fractions (tag 4). Keys missing from the schema stay text, so new fields
+ * reach old clients unchanged. The schema is append-only; clients negotiate the version they know.
+ *
+ * Frames are transcoded token by token, without binding them to objects, so payloads that were already
+ * serialized to JSON once are not serialized again.
+ */
+public final class BinaryWireCodec {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    // keys of the game, player, card, update, delta, action, showdown, ack and tournament frames, most frequent first
+    public static final List<String> FIELDS = List.of(
+        "type", "game", "payload", "message", "id", "players", "name", "hand",
+        "chips", "betAmount", "totalBetInRound", "seatPosition", "userId", "folded", "isBot", "isAllIn",
+        "suit", "value", "communityCards", "currentPot", "phase", "currentPlayerIndex", "currentBet", "sequence",
+        "kind", "gameId", "minRaiseAmount", "lastRaiseAmount", "smallBlind", "bigBlind", "dealerPosition",
+        "winnerName", "winningHandDescription", "winnerIds", "handNumber", "sidePots", "lastAggressorId",
+        "buttonSeatPosition", "deadButton", "missedBlinds", "totalPot", "isFinished", "createdAt", "updatedAt",
+        "timestamp", "playerId", "playerName", "action", "amount", "remainingChips", "totalBet",
+        "winners", "amountWon", "handDescription", "holeCards", "bestFiveCards",
+        "eligiblePlayerIds", "contributionPerPlayer",
+        "correlationId", "accepted", "error",
+        "success", "currentPlayerId", "currentPlayerName", "missedEvents", "lastEventSequence", "serverTime",
+        "sessionId", "sequenceNumber",
+        "tournamentId", "data", "tableId", "tableNumber", "playerIds", "playerCount", "playersRemaining",
+        "totalPlayers", "newLevel", "ante", "durationMinutes", "finishPosition", "prize", "prizePool",
+        "totalPrizePool", "eliminatedBy", "winnerId", "buyIn", "startingChips", "maxPlayers", "tableCount",
+        "activeTableCount", "closedTableIds", "playerMoves", "isFinalTable", "finalTableFormed", "finalLevel",
+        "topFinishers", "currentCount"
+    );
+
+    private static final Map<String, Integer> FIELD_IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < FIELDS.size(); i++) {
+            FIELD_IDS.put(FIELDS.get(i), i);
+        }
+    }
+
+    private static final int MAX_DEPTH = 64;
+
+    private static final int TAG_POSITIVE_BIGNUM = 2;
+    private static final int TAG_NEGATIVE_BIGNUM = 3;
+    private static final int TAG_DECIMAL_FRACTION = 4;
+    private static final int TAG_UUID = 37;
+
+    private final JsonFactory jsonFactory;
+
+    public BinaryWireCodec(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public byte[] encode(byte[] json) throws IOException {
+        Output out = new Output(json.length / 2 + 16);
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                encodeToken(parser, token, out);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] decode(byte[] binary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(binary.length * 2);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            Reader reader = new Reader(binary);
+            while (reader.hasMore()) {
+                reader.value(generator, 0);
+            }
+        }
+        return out.toByteArray();
+    }
+
+
+    private static void encodeToken(JsonParser parser, JsonToken token, Output out) throws IOException {
+        switch (token) {
+            case START_OBJECT -> out.write(0xBF);
+            case START_ARRAY -> out.write(0x9F);
+            case END_OBJECT, END_ARRAY -> out.write(0xFF);
+            case FIELD_NAME -> {
+                Integer id = FIELD_IDS.get(parser.currentName());
+                if (id != null) {
+                    writeHead(out, 0, id);
+                } else {
+                    writeText(out, parser.currentName());
+                }
+            }
+            case VALUE_STRING -> {
+                char[] text = parser.getTextCharacters();
+                int offset = parser.getTextOffset();
+                int length = parser.getTextLength();
+                byte[] uuid = uuidBytes(text, offset, length);
+                if (uuid != null) {
+                    writeHead(out, 6, TAG_UUID);
+                    writeHead(out, 2, uuid.length);
+                    out.write(uuid, 0, uuid.length);
+                } else {
+                    writeText(out, text, offset, length);
+                }
+            }
+            case VALUE_NUMBER_INT -> {
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    writeBigInteger(out, parser.getBigIntegerValue());
+                } else {
+                    writeLong(out, parser.getLongValue());
+                }
+            }
+            case VALUE_NUMBER_FLOAT -> writeDecimal(out, parser.getDecimalValue());
+            case VALUE_TRUE -> out.write(0xF5);
+            case VALUE_FALSE -> out.write(0xF4);
+            case VALUE_NULL -> out.write(0xF6);
+            default -> throw new IOException("Unsupported JSON token " + token);
+        }
+    }
+
+    private static void writeHead(Output out, int major, long value) {
+        int type = major << 5;
+        if (value < 24) {
+            out.write(type | (int) value);
+        } else if (value < 0x100) {
+            out.write(type | 24);
+            out.write((int) value);
+        } else if (value < 0x10000) {
+            out.write(type | 25);
+            writeBytes(out, value, 2);
+        } else if (value < 0x100000000L) {
+            out.write(type | 26);
+            writeBytes(out, value, 4);
+        } else {
+            out.write(type | 27);
+            writeBytes(out, value, 8);
+        }
+    }
+
+    private static void writeBytes(Output out, long value, int count) {
+        for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift) & 0xFF);
+        }
+    }
+
+    private static void writeText(Output out, String text) {
+        writeText(out, text.toCharArray(), 0, text.length());
+    }
+
+    // UTF-8 straight from the parser's buffer; unpaired surrogates become '?' as in String.getBytes
+    private static void writeText(Output out, char[] text, int offset, int length) {
+        int end = offset + length;
+        int utf8Length = 0;
+        for (int i = offset; i < end; i++) {
+            char c = text[i];
+            if (c < 0x80) {
+                utf8Length++;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text[i + 1])) {
+                utf8Length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                utf8Length++;
+            } else {
+                utf8Length += 3;
+            }
+        }
+
+        writeHead(out, 3, utf8Length);
+        for (int i = offset; i < end; i++) {
+            char c = text[i];
+            if (c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text[i + 1])) {
+                int codePoint = Character.toCodePoint(c, text[++i]);
+                out.write(0xF0 | (codePoint >> 18));
+                out.write(0x80 | ((codePoint >> 12) & 0x3F));
+                out.write(0x80 | ((codePoint >> 6) & 0x3F));
+                out.write(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.write('?');
+            } else {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void writeLong(Output out, long value) {
+        if (value >= 0) {
+            writeHead(out, 0, value);
+        } else {
+            writeHead(out, 1, -1 - value);
+        }
+    }
+
+    private static void writeBigInteger(Output out, BigInteger value) {
+        if (value.bitLength() < 64) {
+            writeLong(out, value.longValue());
+            return;
+        }
+        boolean negative = value.signum() < 0;
+        byte[] magnitude = (negative ? value.negate().subtract(BigInteger.ONE) : value).toByteArray();
+        int offset = magnitude[0] == 0 ? 1 : 0;
+        writeHead(out, 6, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM);
+        writeHead(out, 2, magnitude.length - offset);
+        out.write(magnitude, offset, magnitude.length - offset);
+    }
+
+    private static void writeDecimal(Output out, BigDecimal value) {
+        double asDouble = value.doubleValue();
+        if (Double.isFinite(asDouble) && new BigDecimal(asDouble).compareTo(value) == 0) {
+            float asFloat = (float) asDouble;
+            if (asFloat == asDouble) {
+                out.write(0xFA);
+                writeBytes(out, Float.floatToIntBits(asFloat) & 0xFFFFFFFFL, 4);
+            } else {
+                out.write(0xFB);
+                writeBytes(out, Double.doubleToLongBits(asDouble), 8);
+            }
+            return;
+        }
+        writeHead(out, 6, TAG_DECIMAL_FRACTION);
+        out.write(0x82);
+        writeLong(out, -value.scale());
+        writeBigInteger(out, value.unscaledValue());
+    }
+
+    // the 16 bytes of a UUID in its canonical lowercase form, or null for any other string
+    private static byte[] uuidBytes(char[] text, int offset, int length) {
+        if (length != 36) {
+            return null;
+        }
+        byte[] bytes = new byte[16];
+        int nibble = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = text[offset + i];
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                return null;
+            }
+            bytes[nibble / 2] |= (byte) (nibble % 2 == 0 ? digit << 4 : digit);
+            nibble++;
+        }
+        return bytes;
+    }
+
+
+    // an unsynchronized ByteArrayOutputStream, which would otherwise take a lock for every byte written
+    private static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void write(int b) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) b;
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+            }
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        boolean hasMore() {
+            return position < data.length;
+        }
+
+        void value(JsonGenerator generator, int depth) throws IOException {
+            if (depth > MAX_DEPTH) {
+                throw new IOException("Frame nested deeper than " + MAX_DEPTH);
+            }
+            int initial = next();
+            int major = initial >>> 5;
+            int info = initial & 0x1F;
+            switch (major) {
+                case 0 -> writeUnsigned(generator, argument(info));
+                case 1 -> {
+                    long argument = argument(info);
+                    if (argument < 0) {
+                        generator.writeNumber(BigInteger.ONE.negate().subtract(unsigned(argument)));
+                    } else {
+                        generator.writeNumber(-1 - argument);
+                    }
+                }
+                case 2 -> generator.writeBinary(bytes(info));
+                case 3 -> {
+                    byte[] utf8 = bytes(info);
+                    generator.writeUTF8String(utf8, 0, utf8.length);
+                }
+                case 4 -> {
+                    generator.writeStartArray();
+                    if (info == 31) {
+                        while (!atBreak()) {
+                            value(generator, depth + 1);
+                        }
+                    } else {
+                        for (long i = length(info); i > 0; i--) {
+                            value(generator, depth + 1);
+                        }
+                    }
+                    generator.writeEndArray();
+                }
+                case 5 -> {
+                    generator.writeStartObject();
+                    if (info == 31) {
+                        while (!atBreak()) {
+                            generator.writeFieldName(key());
+                            value(generator, depth + 1);
+                        }
+                    } else {
+                        for (long i = length(info); i > 0; i--) {
+                            generator.writeFieldName(key());
+                            value(generator, depth + 1);
+                        }
+                    }
+                    generator.writeEndObject();
+                }
+                case 6 -> tagged(generator, argument(info), depth);
+                default -> simple(generator, info);
+            }
+        }
+
+        private void tagged(JsonGenerator generator, long tag, int depth) throws IOException {
+            if (tag == TAG_UUID) {
+                byte[] bytes = bytes(expect(2));
+                if (bytes.length != 16) {
+                    throw new IOException("UUID of " + bytes.length + " bytes");
+                }
+                long high = 0;
+                long low = 0;
+                for (int i = 0; i < 8; i++) {
+                    high = (high << 8) | (bytes[i] & 0xFF);
+                    low = (low << 8) | (bytes[i + 8] & 0xFF);
+                }
+                generator.writeString(new UUID(high, low).toString());
+            } else if (tag == TAG_POSITIVE_BIGNUM || tag == TAG_NEGATIVE_BIGNUM) {
+                BigInteger magnitude = new BigInteger(1, bytes(expect(2)));
+                generator.writeNumber(tag == TAG_POSITIVE_BIGNUM ? magnitude : magnitude.negate().subtract(BigInteger.ONE));
+            } else if (tag == TAG_DECIMAL_FRACTION) {
+                if (next() != 0x82) {
+                    throw new IOException("Decimal fraction is not a pair");
+                }
+                BigInteger exponent = integer();
+                BigInteger mantissa = integer();
+                generator.writeNumber(new BigDecimal(mantissa, -exponent.intValueExact()));
+            } else {
+                value(generator, depth + 1);
+            }
+        }
+
+        private BigInteger integer() throws IOException {
+            int initial = next();
+            int major = initial >>> 5;
+            long argument = argument(initial & 0x1F);
+            return switch (major) {
+                case 0 -> unsigned(argument);
+                case 1 -> BigInteger.ONE.negate().subtract(unsigned(argument));
+                case 6 -> {
+                    BigInteger magnitude = new BigInteger(1, bytes(expect(2)));
+                    if (argument == TAG_POSITIVE_BIGNUM) {
+                        yield magnitude;
+                    }
+                    if (argument == TAG_NEGATIVE_BIGNUM) {
+                        yield magnitude.negate().subtract(BigInteger.ONE);
+                    }
+                    throw new IOException("Unexpected tag " + argument + " in a decimal fraction");
+                }
+                default -> throw new IOException("Unexpected major type " + major + " in a decimal fraction");
+            };
+        }
+
+        private void simple(JsonGenerator generator, int info) throws IOException {
+            switch (info) {
+                case 20 -> generator.writeBoolean(false);
+                case 21 -> generator.writeBoolean(true);
+                case 22, 23 -> generator.writeNull();
+                case 25 -> generator.writeNumber(Float.float16ToFloat((short) read(2)));
+                case 26 -> generator.writeNumber(Float.intBitsToFloat((int) read(4)));
+                case 27 -> generator.writeNumber(Double.longBitsToDouble(read(8)));
+                case 31 -> throw new IOException("Unexpected break");
+                default -> throw new IOException("Unsupported simple value " + info);
+            }
+        }
+
+        private String key() throws IOException {
+            int initial = next();
+            int major = initial >>> 5;
+            if (major == 0) {
+                long id = argument(initial & 0x1F);
+                if (id < 0 || id >= FIELDS.size()) {
+                    throw new IOException("Unknown field " + id);
+                }
+                return FIELDS.get((int) id);
+            }
+            if (major == 3) {
+                return text(initial & 0x1F);
+            }
+            throw new IOException("Field name of major type " + major);
+        }
+
+        private String text(int info) throws IOException {
+            return new String(bytes(info), StandardCharsets.UTF_8);
+        }
+
+        private byte[] bytes(int info) throws IOException {
+            if (info == 31) {
+                ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+                while (!atBreak()) {
+                    int chunk = next();
+                    byte[] bytes = bytes(chunk & 0x1F);
+                    chunks.write(bytes, 0, bytes.length);
+                }
+                return chunks.toByteArray();
+            }
+            int length = (int) length(info);
+            byte[] bytes = new byte[length];
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+
+        // an argument used as a count, bounded by what is left of the frame
+        private long length(int info) throws IOException {
+            long length = argument(info);
+            if (length < 0 || length > data.length - position) {
+                throw new IOException("Length " + length + " exceeds the frame");
+            }
+            return length;
+        }
+
+        private int expect(int major) throws IOException {
+            int initial = next();
+            if (initial >>> 5 != major) {
+                throw new IOException("Expected major type " + major + " but found " + (initial >>> 5));
+            }
+            return initial & 0x1F;
+        }
+
+        private boolean atBreak() throws IOException {
+            if (!hasMore()) {
+                throw new IOException("Unterminated container");
+            }
+            if ((data[position] & 0xFF) == 0xFF) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private long argument(int info) throws IOException {
+            return switch (info) {
+                case 24 -> read(1);
+                case 25 -> read(2);
+                case 26 -> read(4);
+                case 27 -> read(8);
+                default -> {
+                    if (info < 24) {
+                        yield info;
+                    }
+                    throw new IOException("Unsupported additional information " + info);
+                }
+            };
+        }
+
+        private long read(int count) throws IOException {
+            long value = 0;
+            for (int i = 0; i < count; i++) {
+                value = (value << 8) | next();
+            }
+            return value;
+        }
+
+        private int next() throws IOException {
+            if (position >= data.length) {
+                throw new IOException("Truncated frame");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        private static BigInteger unsigned(long value) {
+            BigInteger result = BigInteger.valueOf(value & Long.MAX_VALUE);
+            return value < 0 ? result.setBit(63) : result;
+        }
+
+        private static void writeUnsigned(JsonGenerator generator, long value) throws IOException {
+            if (value < 0) {
+                generator.writeNumber(unsigned(value));
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.truholdem.websocket;
+
+/**
+ * A game event together with its JSON encoding. The bytes are produced once by {@link GameEventCodec} and
+ * shared, never copied or modified, by every consumer: the Redis publish, the event store and the STOMP
+ * frame sent to local clients, which carries only the payload part.
+ */
+public final class EncodedGameEvent {
+
+    private final GameEvent event;
+    private final byte[] eventJson;
+    private final byte[] payloadJson;
+
+    EncodedGameEvent(GameEvent event, byte[] eventJson, byte[] payloadJson) {
+        this.event = event;
+        this.eventJson = eventJson;
+        this.payloadJson = payloadJson;
+    }
+
+    public GameEvent event() {
+        return event;
+    }
+
+    public int size() {
+        return eventJson.length;
+    }
+
+
+    byte[] eventJson() {
+        return eventJson;
+    }
+
+    byte[] payloadJson() {
+        return payloadJson;
+    }
+}
@@ -0,0 +1,106 @@
+package com.truholdem.websocket;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Encodes game events to JSON exactly once. The payload is serialized first and embedded verbatim in the
+ * event envelope, so the envelope pass only copies bytes, and both encodings are handed out together.
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.cluster.enabled", havingValue = "true")
+public class GameEventCodec {
+
+    private final ObjectMapper objectMapper;
+
+    private final Timer serializationTime;
+    private final DistributionSummary encodedSize;
+
+    public GameEventCodec(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+
+        this.serializationTime = Timer.builder("websocket.events.serialization")
+            .description("Time spent serializing a game event for Redis, the event store and local clients")
+            .register(meterRegistry);
+
+        this.encodedSize = DistributionSummary.builder("websocket.events.size")
+            .description("Size of serialized game events")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+
+    public EncodedGameEvent encode(GameEvent event) {
+        long start = System.nanoTime();
+        try {
+            SerializedString payload = new SerializedString(objectMapper.writeValueAsString(event.getPayload()));
+            GameEvent envelope = GameEvent.builder()
+                .eventId(event.getEventId())
+                .sourceInstanceId(event.getSourceInstanceId())
+                .gameId(event.getGameId())
+                .type(event.getType())
+                .destination(event.getDestination())
+                .payload(new RawValue(payload))
+                .metadata(event.getMetadata())
+                .timestamp(event.getTimestamp())
+                .sequenceNumber(event.getSequenceNumber())
+                .build();
+            byte[] eventJson = objectMapper.writeValueAsBytes(envelope);
+            encodedSize.record(eventJson.length);
+            return new EncodedGameEvent(event, eventJson, payload.asUnquotedUTF8());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize game event " + event.getEventId(), e);
+        } finally {
+            serializationTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Reads an event encoded by another instance, keeping the received bytes for reuse. The envelope is
+     * parsed once; the payload is skipped over and its bytes are sliced out of the received buffer.
+     */
+    public EncodedGameEvent decode(byte[] eventJson) throws IOException {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        byte[] payloadJson = null;
+        try (JsonParser parser = objectMapper.createParser(eventJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Game event is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("payload".equals(field) && value != JsonToken.VALUE_NULL) {
+                    int start = (int) parser.currentTokenLocation().getByteOffset();
+                    parser.skipChildren();
+                    parser.finishToken();
+                    payloadJson = Arrays.copyOfRange(eventJson, start, (int) parser.currentLocation().getByteOffset());
+                } else {
+                    envelope.set(field, parser.readValueAsTree());
+                }
+            }
+        }
+
+        GameEvent event = objectMapper.treeToValue(envelope, GameEvent.class);
+        if (payloadJson != null) {
+            event.setPayload(new RawValue(new String(payloadJson, StandardCharsets.UTF_8)));
+        }
+        return new EncodedGameEvent(event, eventJson, payloadJson);
+    }
+}
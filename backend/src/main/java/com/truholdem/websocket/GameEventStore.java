@@ -6,9 +6,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,17 +32,27 @@ public class GameEventStore {
     
     private static final int MAX_EVENTS_PER_GAME = 500;
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    // instances store concurrently, so the latest sequence only ever moves forward
+    private static final RedisScript<Long> RAISE_SEQUENCE = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') "
+            + "local sequence = tonumber(ARGV[1]) "
+            + "if sequence > current then redis.call('SET', KEYS[1], ARGV[1]) return sequence end "
+            + "return current", Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final GameEventCodec codec;
 
     
     private final ConcurrentHashMap<UUID, Long> sequenceCounters = new ConcurrentHashMap<>();
 
     public GameEventStore(
-            @Qualifier("webSocketRedisTemplate") RedisTemplate<String, Object> redisTemplate,
-            ObjectMapper objectMapper) {
+            @Qualifier("webSocketRawRedisTemplate") RedisTemplate<String, byte[]> redisTemplate,
+            ObjectMapper objectMapper,
+            GameEventCodec codec) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.codec = codec;
         
         logger.info("GameEventStore initialized");
     }
@@ -52,11 +65,8 @@ public class GameEventStore {
         }
 
         try {
-            String eventsKey = EVENTS_PREFIX + event.getGameId();
-            String seqKey = eventsKey + SEQUENCE_SUFFIX;
-
             
-            Long sequence = redisTemplate.opsForValue().increment(seqKey);
+            Long sequence = redisTemplate.opsForValue().increment(sequenceKey(event.getGameId()));
             if (sequence == null) {
                 sequence = 1L;
             }
@@ -64,22 +74,32 @@ public class GameEventStore {
             
             event.setSequenceNumber(sequence);
 
-            
-            String eventJson = objectMapper.writeValueAsString(event);
-
-            
-            redisTemplate.opsForZSet().add(eventsKey, eventJson, sequence);
+            append(codec.encode(event));
+            return sequence;
 
-            
-            redisTemplate.expire(eventsKey, EVENT_TTL);
-            redisTemplate.expire(seqKey, EVENT_TTL);
+        } catch (Exception e) {
+            logger.error("Failed to store event", e);
+            return -1;
+        }
+    }
 
-            
-            trimEvents(event.getGameId());
+    /**
+     * Stores an event already encoded for publishing, reusing its bytes, under the sequence number it was
+     * published with. The game's latest sequence is raised to it, never lowered.
+     */
+    public long storeEvent(EncodedGameEvent encoded) {
+        GameEvent event = encoded.event();
+        if (event.getGameId() == null) {
+            logger.warn("Cannot store event without game ID");
+            return -1;
+        }
 
-            logger.debug("Stored event {} with sequence {} for game {}", 
-                    event.getEventId(), sequence, event.getGameId());
+        try {
+            long sequence = event.getSequenceNumber();
+            redisTemplate.execute(RAISE_SEQUENCE, List.of(sequenceKey(event.getGameId())),
+                    Long.toString(sequence).getBytes(StandardCharsets.UTF_8));
 
+            append(encoded);
             return sequence;
 
         } catch (Exception e) {
@@ -88,6 +108,28 @@ public class GameEventStore {
         }
     }
 
+    private void append(EncodedGameEvent encoded) {
+        GameEvent event = encoded.event();
+        String eventsKey = EVENTS_PREFIX + event.getGameId();
+
+        
+        redisTemplate.opsForZSet().add(eventsKey, encoded.eventJson(), event.getSequenceNumber());
+
+        
+        redisTemplate.expire(eventsKey, EVENT_TTL);
+        redisTemplate.expire(sequenceKey(event.getGameId()), EVENT_TTL);
+
+        
+        trimEvents(event.getGameId());
+
+        logger.debug("Stored event {} with sequence {} for game {}", 
+                event.getEventId(), event.getSequenceNumber(), event.getGameId());
+    }
+
+    private static String sequenceKey(UUID gameId) {
+        return EVENTS_PREFIX + gameId + SEQUENCE_SUFFIX;
+    }
+
     
     public List<GameEvent> getEventsSince(UUID gameId, long sinceSequence) {
         if (gameId == null) {
@@ -98,7 +140,7 @@ public class GameEventStore {
             String eventsKey = EVENTS_PREFIX + gameId;
 
             
-            Set<Object> eventJsons = redisTemplate.opsForZSet()
+            Set<byte[]> eventJsons = redisTemplate.opsForZSet()
                     .rangeByScore(eventsKey, sinceSequence + 1, Double.MAX_VALUE);
 
             if (eventJsons == null || eventJsons.isEmpty()) {
@@ -106,12 +148,12 @@ public class GameEventStore {
             }
 
             List<GameEvent> events = new ArrayList<>();
-            for (Object eventJson : eventJsons) {
+            for (byte[] eventJson : eventJsons) {
                 try {
-                    GameEvent event = objectMapper.readValue(eventJson.toString(), GameEvent.class);
+                    GameEvent event = objectMapper.readValue(eventJson, GameEvent.class);
                     events.add(event);
                 } catch (Exception e) {
-                    logger.warn("Failed to deserialize event: {}", eventJson, e);
+                    logger.warn("Failed to deserialize event: {}", new String(eventJson, StandardCharsets.UTF_8), e);
                 }
             }
 
@@ -136,11 +178,10 @@ public class GameEventStore {
         }
 
         try {
-            String seqKey = EVENTS_PREFIX + gameId + SEQUENCE_SUFFIX;
-            Object value = redisTemplate.opsForValue().get(seqKey);
+            byte[] value = redisTemplate.opsForValue().get(sequenceKey(gameId));
             
             if (value != null) {
-                return Long.parseLong(value.toString());
+                return Long.parseLong(new String(value, StandardCharsets.UTF_8));
             }
             
             return 0;
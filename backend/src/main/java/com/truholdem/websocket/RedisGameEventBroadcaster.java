@@ -1,14 +1,16 @@
 package com.truholdem.websocket;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.truholdem.config.WebSocketClusterConfig;
 import com.truholdem.model.GameUpdateType;
+import com.truholdem.dto.GameDeltaMessage;
 import com.truholdem.dto.PlayerActionMessageDto;
 import com.truholdem.dto.ShowdownResult;
 import com.truholdem.dto.WebSocketGameUpdateMessage;
 import com.truholdem.model.Game;
 import com.truholdem.model.Player;
+import com.truholdem.service.GameNotificationService;
+import com.truholdem.service.GameStateDeltaService;
+import com.truholdem.service.GameViewService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
@@ -17,10 +19,13 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -33,9 +38,12 @@ public class RedisGameEventBroadcaster {
 
     private static final Logger logger = LoggerFactory.getLogger(RedisGameEventBroadcaster.class);
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, byte[]> redisTemplate;
     private final SimpMessagingTemplate messagingTemplate;
-    private final ObjectMapper objectMapper;
+    private final GameEventCodec codec;
+    private final GameEventStore eventStore;
+    private final GameStateDeltaService deltaService;
+    private final GameViewService viewService;
     private final String instanceId;
 
 
@@ -53,15 +61,21 @@ public class RedisGameEventBroadcaster {
     private static final long DEDUP_WINDOW_MS = 60_000;
 
     public RedisGameEventBroadcaster(
-        @Qualifier("webSocketRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+        @Qualifier("webSocketRawRedisTemplate") RedisTemplate<String, byte[]> redisTemplate,
         SimpMessagingTemplate messagingTemplate,
-        ObjectMapper objectMapper,
+        GameEventCodec codec,
+        GameEventStore eventStore,
+        GameStateDeltaService deltaService,
+        GameViewService viewService,
         @Qualifier("clusterInstanceId") String instanceId,
         MeterRegistry meterRegistry) {
 
         this.redisTemplate = redisTemplate;
         this.messagingTemplate = messagingTemplate;
-        this.objectMapper = objectMapper;
+        this.codec = codec;
+        this.eventStore = eventStore;
+        this.deltaService = deltaService;
+        this.viewService = viewService;
         this.instanceId = instanceId;
 
 
@@ -92,19 +106,12 @@ public class RedisGameEventBroadcaster {
     public void broadcastGameUpdate(Game game) {
         if (game == null || game.getId() == null) return;
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publishUpdate(
             GameUpdateType.GAME_STATE,
             game,
             null,
             "Game state updated"
         );
-
-        publishEvent(GameEvent.builder()
-            .gameId(game.getId())
-            .type(GameUpdateType.GAME_STATE)
-            .destination("/topic/game/" + game.getId())
-            .payload(message)
-            .build());
     }
 
 
@@ -120,86 +127,114 @@ public class RedisGameEventBroadcaster {
             player.getBetAmount()
         );
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publishUpdate(
             GameUpdateType.PLAYER_ACTION,
             game,
             actionMessage,
             player.getName() + " performed " + action
         );
-
-        publishEvent(GameEvent.builder()
-            .gameId(game.getId())
-            .type(GameUpdateType.PLAYER_ACTION)
-            .destination("/topic/game/" + game.getId())
-            .payload(message)
-            .build());
     }
 
 
     public void broadcastPhaseChange(Game game) {
         if (game == null || game.getId() == null) return;
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publishUpdate(
             GameUpdateType.PHASE_CHANGE,
             game,
             null,
             "Phase changed to " + game.getPhase()
         );
-
-        publishEvent(GameEvent.builder()
-            .gameId(game.getId())
-            .type(GameUpdateType.PHASE_CHANGE)
-            .destination("/topic/game/" + game.getId())
-            .payload(message)
-            .build());
     }
 
 
     public void broadcastShowdown(Game game, ShowdownResult result) {
         if (game == null || game.getId() == null) return;
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publishUpdate(
             GameUpdateType.SHOWDOWN,
             game,
             result,
             result.getMessage()
         );
-
-        publishEvent(GameEvent.builder()
-            .gameId(game.getId())
-            .type(GameUpdateType.SHOWDOWN)
-            .destination("/topic/game/" + game.getId())
-            .payload(message)
-            .build());
     }
 
 
     public void broadcastGameEnded(Game game, String winnerName) {
         if (game == null || game.getId() == null) return;
 
-        WebSocketGameUpdateMessage message = new WebSocketGameUpdateMessage(
+        publishUpdate(
             GameUpdateType.GAME_ENDED,
             game,
             Map.of("winner", winnerName),
             "Game ended. Winner: " + winnerName
         );
+    }
+
+
+    private void publishUpdate(GameUpdateType type, Game game, Object payload, String message) {
+        String destination = "/topic/game/" + game.getId();
+
+        if (deltaService.isDeltaMode()) {
+            GameDeltaMessage frame = deltaService.encode(game, type, payload, message);
+            if (frame.kind() == GameDeltaMessage.Kind.DELTA) {
+                viewService.invalidate(game.getId());
+                publishEvent(updateEvent(game, type, destination, frame));
+            } else {
+                GameViewService.Views views = viewService.publish(game);
+                publishEvent(updateEvent(game, type, destination, frame.withGame(views.publicView())));
+                for (String user : views.seatedUsers()) {
+                    publishEvent(updateEvent(game, type, userDestination(user), frame.withGame(views.viewFor(user))));
+                }
+            }
+        } else {
+            GameViewService.Views views = viewService.publish(game);
+            publishEvent(updateEvent(game, type, destination,
+                new WebSocketGameUpdateMessage(type, views.publicView(), payload, message)));
+            for (String user : views.seatedUsers()) {
+                publishEvent(updateEvent(game, type, userDestination(user),
+                    new WebSocketGameUpdateMessage(type, views.viewFor(user), payload, message)));
+            }
+        }
+
+        if (type == GameUpdateType.GAME_ENDED) {
+            viewService.discard(game.getId());
+        }
+    }
 
-        publishEvent(GameEvent.builder()
+
+    private GameEvent updateEvent(Game game, GameUpdateType type, String destination, Object payload) {
+        return GameEvent.builder()
             .gameId(game.getId())
-            .type(GameUpdateType.GAME_ENDED)
-            .destination("/topic/game/" + game.getId())
-            .payload(message)
-            .build());
+            .type(type)
+            .destination(destination)
+            .payload(payload)
+            .build();
+    }
+
+
+    private static String userDestination(String user) {
+        return "/user/" + user + GameNotificationService.PLAYER_QUEUE;
     }
 
 
     private void publishEvent(GameEvent event) {
 
         event.setSourceInstanceId(instanceId);
-        event.setSequenceNumber(getNextSequence(event.getGameId()));
+        event.setSequenceNumber(event.getPayload() instanceof GameDeltaMessage delta
+            ? delta.sequence()
+            : getNextSequence(event.getGameId()));
+
+        EncodedGameEvent encoded;
+        try {
+            encoded = codec.encode(event);
+        } catch (Exception e) {
+            logger.error("Failed to serialize event: {}", event, e);
+            return;
+        }
 
         try {
-            redisTemplate.convertAndSend(WebSocketClusterConfig.GAME_EVENTS_CHANNEL, event);
+            redisTemplate.convertAndSend(WebSocketClusterConfig.GAME_EVENTS_CHANNEL, encoded.eventJson());
             eventsPublished.increment();
             logger.debug("Published event to Redis: {}", event);
         } catch (Exception e) {
@@ -207,7 +242,18 @@ public class RedisGameEventBroadcaster {
         }
 
 
-        forwardToLocalClients(event);
+        if (isReplayable(event)) {
+            eventStore.storeEvent(encoded);
+        }
+
+
+        forwardToLocalClients(encoded);
+    }
+
+
+    // game updates sent to a topic are replayed to reconnecting clients; private views and errors are not
+    private static boolean isReplayable(GameEvent event) {
+        return event.getType() != null && event.getDestination() != null && event.getDestination().startsWith("/topic/");
     }
 
 
@@ -215,8 +261,8 @@ public class RedisGameEventBroadcaster {
         eventsReceived.increment();
 
         try {
-            String body = new String(message.getBody(), StandardCharsets.UTF_8);
-            GameEvent event = objectMapper.readValue(body, GameEvent.class);
+            EncodedGameEvent encoded = codec.decode(message.getBody());
+            GameEvent event = encoded.event();
 
 
             if (instanceId.equals(event.getSourceInstanceId())) {
@@ -233,9 +279,9 @@ public class RedisGameEventBroadcaster {
             }
 
 
-            forwardToLocalClients(event);
+            forwardToLocalClients(encoded);
 
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             logger.error("Failed to deserialize Redis message", e);
         } catch (Exception e) {
             logger.error("Error handling Redis message", e);
@@ -243,14 +289,19 @@ public class RedisGameEventBroadcaster {
     }
 
 
-    private void forwardToLocalClients(GameEvent event) {
+    private void forwardToLocalClients(EncodedGameEvent encoded) {
+        GameEvent event = encoded.event();
         if (event.getDestination() == null || event.getPayload() == null) {
             logger.warn("Invalid event - missing destination or payload: {}", event);
             return;
         }
 
         try {
-            messagingTemplate.convertAndSend(event.getDestination(), event.getPayload());
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            headers.setLeaveMutable(true);
+            messagingTemplate.send(event.getDestination(),
+                MessageBuilder.createMessage(encoded.payloadJson(), headers.getMessageHeaders()));
             eventsForwarded.increment();
             logger.debug("Forwarded event to local clients: {} -> {}",
                 event.getEventId(), event.getDestination());
@@ -0,0 +1,209 @@
+package com.truholdem.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Negotiates the wire format of each STOMP session. JSON is the default; a client on the native
+ * WebSocket endpoint may send {@code wire-format: binary-v1} on CONNECT to receive MESSAGE frames as
+ * {@link BinaryWireCodec} binary frames (content-type application/octet-stream) and to send its own
+ * frames the same way. SockJS sessions always stay on JSON, since SockJS carries text only.
+ *
+ * The simple broker hands every subscriber of a destination the same payload, so the last encoded
+ * payload is kept and a broadcast is encoded once however many binary sessions receive it.
+ */
+@Component
+public class WireFormatInterceptor implements ChannelInterceptor, HandshakeInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(WireFormatInterceptor.class);
+
+    public static final String WIRE_FORMAT_HEADER = "wire-format";
+    public static final String BINARY_FORMAT = "binary-v" + BinaryWireCodec.SCHEMA_VERSION;
+
+    static final String NATIVE_TRANSPORT_ATTRIBUTE = "truholdem.nativeTransport";
+
+    private final BinaryWireCodec codec;
+    private final boolean binaryEnabled;
+
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<EncodedFrame> lastEncoded = new AtomicReference<>();
+
+    private final Counter binaryFrames;
+    private final Counter encodings;
+    private final Counter fallbacks;
+    private final DistributionSummary binarySize;
+
+    public WireFormatInterceptor(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.websocket.wire.binary-enabled:true}") boolean binaryEnabled) {
+
+        this.codec = new BinaryWireCodec(objectMapper.getFactory());
+        this.binaryEnabled = binaryEnabled;
+
+        this.binaryFrames = Counter.builder("websocket.wire.binary.frames")
+                .description("Frames sent to clients in the binary wire format")
+                .register(meterRegistry);
+
+        this.encodings = Counter.builder("websocket.wire.binary.encodings")
+                .description("Payloads encoded to the binary wire format")
+                .register(meterRegistry);
+
+        this.fallbacks = Counter.builder("websocket.wire.binary.fallbacks")
+                .description("Frames sent as JSON to binary sessions because they could not be encoded")
+                .register(meterRegistry);
+
+        this.binarySize = DistributionSummary.builder("websocket.wire.binary.size")
+                .description("Size of payloads encoded to the binary wire format")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        Gauge.builder("websocket.wire.binary.sessions", binarySessions, Set::size)
+                .description("Number of WebSocket sessions using the binary wire format")
+                .register(meterRegistry);
+    }
+
+
+    @Override
+    public boolean beforeHandshake(@NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response,
+                                   @NonNull WebSocketHandler wsHandler, @NonNull Map<String, Object> attributes) {
+        attributes.put(NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(@NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response,
+                               @NonNull WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getSessionId() == null) {
+            return message;
+        }
+
+        SimpMessageType messageType = accessor.getMessageType();
+        if (messageType == SimpMessageType.CONNECT) {
+            negotiate(accessor);
+            return message;
+        }
+        if (messageType == SimpMessageType.DISCONNECT) {
+            binarySessions.remove(accessor.getSessionId());
+            return message;
+        }
+        if (!binarySessions.contains(accessor.getSessionId()) || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        if (accessor instanceof StompHeaderAccessor stomp && StompCommand.SEND.equals(stomp.getCommand())) {
+            boolean binary = MimeTypeUtils.APPLICATION_OCTET_STREAM.equals(accessor.getContentType());
+            return binary ? fromBinary(message, payload) : message;
+        }
+        if (messageType == SimpMessageType.MESSAGE && isJson(accessor.getContentType())) {
+            return toBinary(message, payload);
+        }
+        return message;
+    }
+
+    public boolean isBinary(String sessionId) {
+        return binarySessions.contains(sessionId);
+    }
+
+
+    private void negotiate(SimpMessageHeaderAccessor accessor) {
+        if (!binaryEnabled || !(accessor instanceof StompHeaderAccessor stomp)
+                || !BINARY_FORMAT.equals(stomp.getFirstNativeHeader(WIRE_FORMAT_HEADER))) {
+            return;
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null || !Boolean.TRUE.equals(attributes.get(NATIVE_TRANSPORT_ATTRIBUTE))) {
+            logger.debug("Session {} requested {} over SockJS, keeping JSON", accessor.getSessionId(), BINARY_FORMAT);
+            return;
+        }
+
+        binarySessions.add(accessor.getSessionId());
+        logger.debug("Session {} negotiated {}", accessor.getSessionId(), BINARY_FORMAT);
+    }
+
+    private Message<?> toBinary(Message<?> message, byte[] json) {
+        byte[] binary;
+        try {
+            binary = encode(json);
+        } catch (IOException e) {
+            fallbacks.increment();
+            logger.warn("Failed to encode frame for the binary wire format, sending JSON: {}", e.getMessage());
+            return message;
+        }
+
+        MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        binaryFrames.increment();
+        return MessageBuilder.createMessage(binary, accessor.getMessageHeaders());
+    }
+
+    private byte[] encode(byte[] json) throws IOException {
+        EncodedFrame cached = lastEncoded.get();
+        if (cached != null && cached.json() == json) {
+            return cached.binary();
+        }
+
+        byte[] binary = codec.encode(json);
+        lastEncoded.set(new EncodedFrame(json, binary));
+        encodings.increment();
+        binarySize.record(binary.length);
+        return binary;
+    }
+
+    private Message<?> fromBinary(Message<?> message, byte[] binary) {
+        byte[] json;
+        try {
+            json = codec.decode(binary);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed binary frame: " + e.getMessage(), e);
+        }
+
+        MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    }
+
+    private static boolean isJson(MimeType contentType) {
+        return contentType != null && MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+
+
+    private record EncodedFrame(byte[] json, byte[] binary) {
+    }
+}
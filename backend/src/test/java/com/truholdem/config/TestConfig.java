@@ -1,12 +1,14 @@
 package com.truholdem.config;
 
 import com.truholdem.service.AdvancedBotAIService;
+import com.truholdem.service.EquityResultCache;
 import com.truholdem.service.GameMetricsService;
 import com.truholdem.service.GameNotificationService;
 import com.truholdem.service.HandAnalysisService;
 import com.truholdem.service.HandEvaluator;
 import com.truholdem.service.HandHistoryService;
 import com.truholdem.service.PlayerStatisticsService;
+import com.truholdem.service.PreflopEquityTable;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -14,6 +16,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.mockito.Mockito.mock;
 
 @TestConfiguration
@@ -46,7 +51,7 @@ public class TestConfig {
     @Bean
     @Primary
     public AdvancedBotAIService advancedBotAIService(HandEvaluator handEvaluator) {
-        return new AdvancedBotAIService(handEvaluator);
+        return new AdvancedBotAIService(handEvaluator, PreflopEquityTable.loadDefault());
     }
 
     @Bean
@@ -70,6 +75,7 @@ public class TestConfig {
     @Bean
     @Primary
     public HandAnalysisService handAnalysisService(HandEvaluator handEvaluator) {
-        return new HandAnalysisService(handEvaluator);
+        return new HandAnalysisService(handEvaluator, ForkJoinPool.commonPool(), PreflopEquityTable.loadDefault(),
+            new EquityResultCache(1000, Duration.ofMinutes(10)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.truholdem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.truholdem.dto.GameDeltaMessage;
+import com.truholdem.dto.GameDeltaMessage.Kind;
+import com.truholdem.model.Game;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.GameUpdateType;
+import com.truholdem.model.Player;
+import com.truholdem.service.GameStateDeltaService;
+import com.truholdem.service.GameViewService;
+import com.truholdem.service.PokerGameService;
+import com.truholdem.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@DisplayName("GameWebSocketController Tests")
+class GameWebSocketControllerTest {
+
+    private final PokerGameService pokerGameService = mock(PokerGameService.class);
+    private final GameStateDeltaService deltaService = new GameStateDeltaService(GameStateDeltaService.Mode.DELTA);
+    private final GameViewService viewService = new GameViewService(
+        new ObjectMapper().findAndRegisterModules(), mock(UserService.class), new SimpleMeterRegistry());
+    private final GameWebSocketController controller = new GameWebSocketController(
+        pokerGameService, mock(SimpMessagingTemplate.class), deltaService, viewService);
+
+    private final UUID gameId = UUID.randomUUID();
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = table(1000);
+        deltaService.encode(game, GameUpdateType.GAME_STATE, null, "Game state updated");
+    }
+
+    private Game table(int chips) {
+        Game table = new Game();
+        table.setId(gameId);
+        table.setPhase(GamePhase.PRE_FLOP);
+        table.setHandNumber(1);
+        Player player = new Player("Player0", chips, false);
+        player.setId(new UUID(0, 1));
+        table.addPlayer(player);
+        return table;
+    }
+
+    @Test
+    @DisplayName("should number a resync with the frame read before the game was loaded")
+    void shouldNotSkipDeltaBroadcastWhileLoading() {
+        when(pokerGameService.getGame(gameId)).thenAnswer(invocation -> {
+            // the loaded state is taken, then an action is broadcast before the reply is numbered
+            GameDeltaMessage broadcast = deltaService.encode(
+                table(980), GameUpdateType.PLAYER_ACTION, null, "Player0 performed CALL");
+            assertThat(broadcast.sequence()).isEqualTo(2);
+            return Optional.of(game);
+        });
+
+        GameDeltaMessage resync = controller.handleResync(gameId, null);
+
+        assertThat(resync.kind()).isEqualTo(Kind.SNAPSHOT);
+        assertThat(resync.sequence()).isEqualTo(1);
+        assertThat(resync.game()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should reply with nothing for an unknown game")
+    void shouldIgnoreUnknownGame() {
+        when(pokerGameService.getGame(gameId)).thenReturn(Optional.empty());
+
+        assertThat(controller.handleResync(gameId, null)).isNull();
+    }
+}
@@ -2,9 +2,11 @@ package com.truholdem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.truholdem.config.TestConfig;
+import com.truholdem.service.EquityResultCache;
 import com.truholdem.service.HandAnalysisService;
 import com.truholdem.service.HandHistoryService;
 import com.truholdem.service.HandEvaluator;
+import com.truholdem.service.PreflopEquityTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +19,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,7 +49,8 @@ class HandAnalysisControllerIT {
     @BeforeEach
     void setUp() {
         handEvaluator = new HandEvaluator();
-        handAnalysisService = new HandAnalysisService(handEvaluator);
+        handAnalysisService = new HandAnalysisService(handEvaluator, ForkJoinPool.commonPool(), PreflopEquityTable.loadDefault(),
+            new EquityResultCache(1000, Duration.ofMinutes(10)));
     }
 
 
@@ -3,6 +3,10 @@ package com.truholdem.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.truholdem.config.TestSecurityConfig;
 import com.truholdem.model.PlayerStatistics;
+import com.truholdem.repository.PlayerStatisticsRepository;
+import com.truholdem.service.LeaderboardService;
+import com.truholdem.service.LeaderboardService.LeaderboardType;
+import com.truholdem.service.LeaderboardService.Ranking;
 import com.truholdem.service.PlayerStatisticsService;
 import com.truholdem.service.PlayerStatisticsService.LeaderboardData;
 import com.truholdem.service.PlayerStatisticsService.PlayerStatsSummary;
@@ -14,6 +18,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -22,6 +28,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -47,6 +54,9 @@ class StatisticsControllerIT {
     @MockitoBean
     private PlayerStatisticsService statsService;
 
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
     private PlayerStatistics testStats;
     private List<PlayerStatistics> statsList;
     private UUID testUserId;
@@ -77,6 +87,11 @@ class StatisticsControllerIT {
         testStats.setLastHandPlayed(LocalDateTime.now());
 
         statsList = createTestStatsList();
+        when(leaderboardService.epoch()).thenReturn("boot1");
+    }
+
+    private Ranking ranking(LeaderboardType type) {
+        return new Ranking(type, 7, statsList);
     }
 
     private List<PlayerStatistics> createTestStatsList() {
@@ -255,7 +270,7 @@ class StatisticsControllerIT {
         @Test
         @DisplayName("Should return top by winnings - returns 200")
         void getTopByWinnings_ReturnsRankedList() throws Exception {
-            when(statsService.getTopByWinnings()).thenReturn(statsList);
+            when(leaderboardService.getRanking(LeaderboardType.WINNINGS)).thenReturn(ranking(LeaderboardType.WINNINGS));
 
             mockMvc.perform(get(BASE_URL + "/leaderboard/winnings"))
                     .andExpect(status().isOk())
@@ -266,7 +281,7 @@ class StatisticsControllerIT {
         @Test
         @DisplayName("Should return top by win rate - returns 200")
         void getTopByWinRate_ReturnsRankedList() throws Exception {
-            when(statsService.getTopByWinRate()).thenReturn(statsList);
+            when(leaderboardService.getRanking(LeaderboardType.WIN_RATE)).thenReturn(ranking(LeaderboardType.WIN_RATE));
 
             mockMvc.perform(get(BASE_URL + "/leaderboard/win-rate"))
                     .andExpect(status().isOk())
@@ -276,7 +291,7 @@ class StatisticsControllerIT {
         @Test
         @DisplayName("Should return top by hands won - returns 200")
         void getTopByHandsWon_ReturnsRankedList() throws Exception {
-            when(statsService.getTopByHandsWon()).thenReturn(statsList);
+            when(leaderboardService.getRanking(LeaderboardType.HANDS_WON)).thenReturn(ranking(LeaderboardType.HANDS_WON));
 
             mockMvc.perform(get(BASE_URL + "/leaderboard/hands-won"))
                     .andExpect(status().isOk())
@@ -287,7 +302,7 @@ class StatisticsControllerIT {
         @Test
         @DisplayName("Should return top by biggest pot - returns 200")
         void getTopByBiggestPot_ReturnsRankedList() throws Exception {
-            when(statsService.getTopByBiggestPot()).thenReturn(statsList);
+            when(leaderboardService.getRanking(LeaderboardType.BIGGEST_POT)).thenReturn(ranking(LeaderboardType.BIGGEST_POT));
 
             mockMvc.perform(get(BASE_URL + "/leaderboard/biggest-pot"))
                     .andExpect(status().isOk())
@@ -298,7 +313,7 @@ class StatisticsControllerIT {
         @Test
         @DisplayName("Should return top by win streak - returns 200")
         void getTopByWinStreak_ReturnsRankedList() throws Exception {
-            when(statsService.getTopByWinStreak()).thenReturn(statsList);
+            when(leaderboardService.getRanking(LeaderboardType.WIN_STREAK)).thenReturn(ranking(LeaderboardType.WIN_STREAK));
 
             mockMvc.perform(get(BASE_URL + "/leaderboard/win-streak"))
                     .andExpect(status().isOk())
@@ -309,7 +324,7 @@ class StatisticsControllerIT {
         @Test
         @DisplayName("Should return most active players - returns 200")
         void getMostActive_ReturnsRankedList() throws Exception {
-            when(statsService.getMostActive()).thenReturn(statsList);
+            when(leaderboardService.getRanking(LeaderboardType.MOST_ACTIVE)).thenReturn(ranking(LeaderboardType.MOST_ACTIVE));
 
             mockMvc.perform(get(BASE_URL + "/leaderboard/most-active"))
                     .andExpect(status().isOk())
@@ -319,7 +334,7 @@ class StatisticsControllerIT {
         @Test
         @DisplayName("Should return recently active players - returns 200")
         void getRecentlyActive_ReturnsRankedList() throws Exception {
-            when(statsService.getRecentlyActive()).thenReturn(statsList);
+            when(leaderboardService.getRanking(LeaderboardType.RECENTLY_ACTIVE)).thenReturn(ranking(LeaderboardType.RECENTLY_ACTIVE));
 
             mockMvc.perform(get(BASE_URL + "/leaderboard/recently-active"))
                     .andExpect(status().isOk())
@@ -344,6 +359,65 @@ class StatisticsControllerIT {
                     .andExpect(jsonPath("$.byWinnings", hasSize(0)));
         }
 
+        @Test
+        @DisplayName("Should tag leaderboards with their version and return 304 while unchanged")
+        void getLeaderboard_MatchingETag_Returns304() throws Exception {
+            when(leaderboardService.getRanking(LeaderboardType.WINNINGS)).thenReturn(ranking(LeaderboardType.WINNINGS));
+
+            mockMvc.perform(get(BASE_URL + "/leaderboard/winnings"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"winnings-boot1-7\""));
+
+            mockMvc.perform(get(BASE_URL + "/leaderboard/winnings").header("If-None-Match", "\"winnings-boot1-7\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            mockMvc.perform(get(BASE_URL + "/leaderboard/winnings").header("If-None-Match", "\"winnings-boot1-6\""))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(5)));
+        }
+
+        @Test
+        @DisplayName("Should tag the combined leaderboard with the newest board version")
+        void getLeaderboard_CombinedETag() throws Exception {
+            when(leaderboardService.version()).thenReturn(42L);
+            when(statsService.getLeaderboard()).thenReturn(new LeaderboardData(
+                    statsList, statsList, statsList, statsList, statsList, statsList));
+
+            mockMvc.perform(get(BASE_URL + "/leaderboard").header("If-None-Match", "\"leaderboard-boot1-42\""))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("Should not match a tag handed out before the leaderboards were rebuilt by a new instance")
+        void getLeaderboard_TagFromPreviousInstance_Returns200() throws Exception {
+            PlayerStatisticsRepository statsRepository = mock(PlayerStatisticsRepository.class);
+            when(statsRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(statsList));
+            LeaderboardService before = new LeaderboardService(statsRepository, 2);
+            before.rebuild();
+            LeaderboardService after = new LeaderboardService(statsRepository, 2);
+            after.rebuild();
+            assertThat(after.getRanking(LeaderboardType.WINNINGS).version())
+                    .isEqualTo(before.getRanking(LeaderboardType.WINNINGS).version());
+
+            serve(before);
+            String tag = mockMvc.perform(get(BASE_URL + "/leaderboard/winnings"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            serve(after);
+            mockMvc.perform(get(BASE_URL + "/leaderboard/winnings").header("If-None-Match", tag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(tag)))
+                    .andExpect(jsonPath("$", hasSize(5)));
+        }
+
+        private void serve(LeaderboardService instance) {
+            when(leaderboardService.epoch()).thenReturn(instance.epoch());
+            when(leaderboardService.getRanking(any())).thenAnswer(
+                    invocation -> instance.getRanking(invocation.getArgument(0)));
+        }
+
         @Test
         @DisplayName("Should return 404 for invalid leaderboard type")
         void getLeaderboard_InvalidType_Returns404() throws Exception {
@@ -371,7 +445,7 @@ class StatisticsControllerIT {
         @Test
         @DisplayName("Leaderboard should return JSON content type")
         void leaderboard_ShouldReturnJson() throws Exception {
-            when(statsService.getTopByWinnings()).thenReturn(statsList);
+            when(leaderboardService.getRanking(LeaderboardType.WINNINGS)).thenReturn(ranking(LeaderboardType.WINNINGS));
 
             mockMvc.perform(get(BASE_URL + "/leaderboard/winnings"))
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON));
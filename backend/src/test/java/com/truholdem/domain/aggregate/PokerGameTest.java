@@ -5,6 +5,7 @@ import com.truholdem.domain.exception.GameStateException;
 import com.truholdem.domain.exception.InvalidActionException;
 import com.truholdem.domain.exception.PlayerNotFoundException;
 import com.truholdem.domain.value.Chips;
+import com.truholdem.model.Card;
 import com.truholdem.model.GamePhase;
 import com.truholdem.model.Player;
 import com.truholdem.model.PlayerAction;
@@ -14,7 +15,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -791,6 +794,117 @@ class PokerGameTest {
     
     
 
+    @Nested
+    @DisplayName("Snapshot And Replay")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("should deal identical hands for the same shuffle seed")
+        void shouldDealIdenticalHandsForSameSeed() {
+            PokerGame first = PokerGame.create(sixPlayers, SMALL_BLIND, BIG_BLIND);
+            PokerGame second = PokerGame.restore(first.snapshot());
+
+            first.startNewHand(42L);
+            second.startNewHand(42L);
+
+            for (int i = 0; i < sixPlayers.size(); i++) {
+                assertEquals(first.getPlayers().get(i).getHand(), second.getPlayers().get(i).getHand());
+            }
+            assertEquals(first.getDealtDeck(), second.getDealtDeck());
+        }
+
+        @Test
+        @DisplayName("should deal a hand from the given card order")
+        void shouldDealFromGivenCardOrder() {
+            PokerGame first = PokerGame.create(sixPlayers, SMALL_BLIND, BIG_BLIND);
+            PokerGame second = PokerGame.restore(first.snapshot());
+
+            first.startNewHand(42L);
+            second.startNewHand(first.getDealtDeck());
+
+            for (int i = 0; i < sixPlayers.size(); i++) {
+                assertEquals(first.getPlayers().get(i).getHand(), second.getPlayers().get(i).getHand());
+            }
+            assertEquals(52, second.getDealtDeck().size());
+        }
+
+        @Test
+        @DisplayName("should restore a mid-hand game from its snapshot")
+        void shouldRestoreMidHandGame() {
+            PokerGame game = PokerGame.create(twoPlayers, SMALL_BLIND, BIG_BLIND);
+            game.startNewHand(7L);
+            game.executeAction(game.getCurrentPlayer().getId(), PlayerAction.CALL, null);
+            game.markJournaled(9L);
+
+            PokerGameSnapshot snapshot = game.snapshot();
+            PokerGame restored = PokerGame.restore(snapshot);
+
+            assertEquals(snapshot, restored.snapshot());
+            assertEquals(9L, restored.getVersion());
+            assertEquals(game.getCurrentPlayer().getId(), restored.getCurrentPlayer().getId());
+            assertTrue(restored.getDomainEvents().isEmpty());
+        }
+
+        @Test
+        @DisplayName("should keep the snapshot independent of later play")
+        void shouldKeepSnapshotIndependent() {
+            PokerGame game = PokerGame.create(twoPlayers, SMALL_BLIND, BIG_BLIND);
+            game.startNewHand(7L);
+            PokerGameSnapshot snapshot = game.snapshot();
+
+            game.executeAction(game.getCurrentPlayer().getId(), PlayerAction.FOLD, null);
+
+            assertEquals(GamePhase.PRE_FLOP, snapshot.phase());
+            assertEquals(2, snapshot.players().stream().filter(p -> !p.folded()).count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Showdown Evaluation")
+    class ShowdownTests {
+
+        @Test
+        @DisplayName("should split all-in contributions into main and side pots")
+        void shouldAwardSidePotsByStrength() {
+            PokerGame game = PokerGame.create(List.of(
+                    new PlayerInfo("Deep", 1000, false),
+                    new PlayerInfo("Short", 100, false),
+                    new PlayerInfo("Middle", 300, false)
+            ), SMALL_BLIND, BIG_BLIND);
+            game.startNewHand(3L);
+
+            Map<List<Card>, Integer> strengths = new HashMap<>();
+            strengths.put(List.copyOf(game.getPlayers().get(0).getHand()), 1);
+            strengths.put(List.copyOf(game.getPlayers().get(1).getHand()), 3);
+            strengths.put(List.copyOf(game.getPlayers().get(2).getHand()), 2);
+            game.setShowdownEvaluator((holeCards, board) -> strengths.get(List.copyOf(holeCards)));
+
+            for (int i = 0; i < 3; i++) {
+                game.executeAction(game.getCurrentPlayer().getId(), PlayerAction.ALL_IN, null);
+            }
+
+            assertEquals(GamePhase.FINISHED, game.getPhase());
+            assertEquals(700, game.getPlayers().get(0).getChips());
+            assertEquals(300, game.getPlayers().get(1).getChips());
+            assertEquals(400, game.getPlayers().get(2).getChips());
+            assertEquals(3, game.getDomainEvents().stream().filter(PotAwarded.class::isInstance).count());
+        }
+
+        @Test
+        @DisplayName("should split a pot between equal hands")
+        void shouldSplitTiedPot() {
+            PokerGame game = PokerGame.create(twoPlayers, SMALL_BLIND, BIG_BLIND);
+            game.setShowdownEvaluator((holeCards, board) -> 1);
+            game.startNewHand(5L);
+
+            game.executeAction(game.getCurrentPlayer().getId(), PlayerAction.ALL_IN, null);
+            game.executeAction(game.getCurrentPlayer().getId(), PlayerAction.CALL, null);
+
+            assertEquals(STARTING_STACK, game.getPlayers().get(0).getChips());
+            assertEquals(STARTING_STACK, game.getPlayers().get(1).getChips());
+        }
+    }
+
     @Nested
     @DisplayName("Exception Hierarchy")
     class ExceptionHierarchyTests {
@@ -0,0 +1,287 @@
+package com.truholdem.domain.event;
+
+import com.truholdem.domain.event.DomainEventPipeline.OverflowPolicy;
+import com.truholdem.domain.value.Chips;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("DomainEventPipeline")
+class DomainEventPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<UUID, List<DomainEvent>> received = new ConcurrentHashMap<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    private DomainEventPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    private DomainEventPipeline pipeline(int partitions, int capacity, OverflowPolicy policy, DomainEventBatchConsumer... extra) {
+        return pipeline(partitions, capacity, 1024, policy, extra);
+    }
+
+    private DomainEventPipeline pipeline(int partitions, int capacity, int spillCapacity, OverflowPolicy policy,
+                                         DomainEventBatchConsumer... extra) {
+        List<DomainEventBatchConsumer> listeners = new ArrayList<>(List.of(extra));
+        listeners.add(events -> {
+            batchSizes.add(events.size());
+            for (DomainEvent event : events) {
+                received.computeIfAbsent(event.getGameId(), id -> Collections.synchronizedList(new ArrayList<>())).add(event);
+            }
+        });
+        pipeline = new DomainEventPipeline(listeners, meterRegistry, partitions, capacity, spillCapacity, 64, policy);
+        pipeline.start();
+        return pipeline;
+    }
+
+    // holds the partition thread inside its first batch until released
+    private DomainEventBatchConsumer blockUntilReleased(CountDownLatch entered) {
+        return events -> {
+            entered.countDown();
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static DomainEvent event(UUID gameId) {
+        return new GameCreated(gameId, List.of(UUID.randomUUID()), Chips.of(1000), Chips.of(10), Chips.of(20));
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private void awaitDelivered(int events) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count("poker.events.delivered") < events && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep each game's events in order across concurrent publishers")
+    void shouldKeepPerGameOrder() throws Exception {
+        pipeline(4, 16, OverflowPolicy.BLOCK);
+        List<UUID> games = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            games.add(UUID.randomUUID());
+        }
+        Map<UUID, List<DomainEvent>> published = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(games.size());
+        for (UUID gameId : games) {
+            executor.submit(() -> {
+                List<DomainEvent> events = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    DomainEvent event = event(gameId);
+                    events.add(event);
+                    pipeline.submit(event);
+                }
+                published.put(gameId, events);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        awaitDelivered(4000);
+
+        for (UUID gameId : games) {
+            assertEquals(published.get(gameId), received.get(gameId));
+        }
+        assertEquals(0, pipeline.pendingEvents());
+        assertEquals(4000.0, count("poker.events.published"));
+    }
+
+    @Test
+    @DisplayName("should deliver events queued behind a busy listener as one batch")
+    void shouldBatchQueuedEvents() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        pipeline(1, 128, OverflowPolicy.BLOCK, blockUntilReleased(entered));
+        UUID gameId = UUID.randomUUID();
+
+        pipeline.submit(event(gameId));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            pipeline.submit(event(gameId));
+        }
+        released.countDown();
+        awaitDelivered(51);
+
+        assertEquals(List.of(1, 50), batchSizes);
+    }
+
+    @Test
+    @DisplayName("should drop events for a full partition under the DROP policy")
+    void shouldDropWhenFull() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        pipeline(1, 4, OverflowPolicy.DROP, blockUntilReleased(entered));
+        UUID gameId = UUID.randomUUID();
+
+        pipeline.submit(event(gameId));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (pipeline.submit(event(gameId))) {
+                accepted++;
+            }
+        }
+        released.countDown();
+        awaitDelivered(5);
+
+        assertEquals(4, accepted);
+        assertEquals(6.0, count("poker.events.dropped"));
+        assertEquals(5, received.get(gameId).size());
+    }
+
+    @Test
+    @DisplayName("should spill events behind a full partition without blocking or reordering")
+    void shouldSpillWhenFull() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        pipeline(1, 4, OverflowPolicy.SPILL, blockUntilReleased(entered));
+        UUID gameId = UUID.randomUUID();
+        List<DomainEvent> published = new ArrayList<>();
+
+        DomainEvent first = event(gameId);
+        published.add(first);
+        pipeline.submit(first);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 200; i++) {
+            DomainEvent event = event(gameId);
+            published.add(event);
+            assertTrue(pipeline.submit(event));
+        }
+        released.countDown();
+        awaitDelivered(201);
+
+        assertEquals(published, received.get(gameId));
+        assertEquals(196.0, count("poker.events.spilled"));
+    }
+
+    @Test
+    @DisplayName("should make publishers wait once the spill is full")
+    void shouldBoundSpill() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        pipeline(1, 4, 8, OverflowPolicy.SPILL, blockUntilReleased(entered));
+        UUID gameId = UUID.randomUUID();
+        List<DomainEvent> published = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            published.add(event(gameId));
+        }
+
+        pipeline.submit(published.get(0));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            for (DomainEvent event : published.subList(1, published.size())) {
+                pipeline.submit(event);
+            }
+            submitted.countDown();
+        });
+        publisher.start();
+
+        assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(13.0, count("poker.events.published"));
+        assertEquals(8.0, meterRegistry.get("poker.events.spill.depth").gauge().value());
+
+        released.countDown();
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        awaitDelivered(20);
+        assertEquals(published, received.get(gameId));
+        assertEquals(0.0, meterRegistry.get("poker.events.spill.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("should keep delivering to other listeners when one fails")
+    void shouldIsolateListenerFailures() throws Exception {
+        pipeline(2, 16, OverflowPolicy.SPILL, events -> {
+            throw new IllegalStateException("listener down");
+        });
+        UUID gameId = UUID.randomUUID();
+
+        pipeline.submit(event(gameId));
+        awaitDelivered(1);
+
+        assertEquals(1, received.get(gameId).size());
+        assertEquals(1.0, count("poker.events.listener.failures"));
+    }
+
+    @Test
+    @DisplayName("should deliver on the caller's thread once stopped")
+    void shouldDeliverSynchronouslyWhenStopped() {
+        pipeline(2, 16, OverflowPolicy.SPILL);
+        pipeline.stop();
+        UUID gameId = UUID.randomUUID();
+
+        assertTrue(pipeline.submit(event(gameId)));
+
+        assertEquals(1, received.get(gameId).size());
+        assertEquals(0, pipeline.pendingEvents());
+    }
+
+    @Test
+    @DisplayName("should deliver events submitted after stop behind those still being drained")
+    void shouldKeepOrderWhileStopping() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        pipeline(1, 16, OverflowPolicy.SPILL, blockUntilReleased(entered));
+        UUID gameId = UUID.randomUUID();
+        DomainEvent first = event(gameId);
+        DomainEvent queued = event(gameId);
+        DomainEvent late = event(gameId);
+
+        pipeline.submit(first);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        pipeline.submit(queued);
+        Thread stopper = new Thread(pipeline::stop);
+        stopper.start();
+        while (stopper.getState() != Thread.State.TIMED_WAITING && stopper.isAlive()) {
+            Thread.sleep(1);
+        }
+        Thread latePublisher = new Thread(() -> pipeline.submit(late));
+        latePublisher.start();
+
+        released.countDown();
+        latePublisher.join(5000);
+        stopper.join(5000);
+
+        assertEquals(List.of(first, queued, late), received.get(gameId));
+        assertEquals(0, pipeline.pendingEvents());
+    }
+
+    @Test
+    @DisplayName("should route published events through the pipeline")
+    void shouldPublishThroughPipeline() throws Exception {
+        DomainEventPublisher publisher = new DomainEventPublisher(pipeline(2, 16, OverflowPolicy.SPILL));
+        UUID gameId = UUID.randomUUID();
+
+        publisher.publishAll(event(gameId), event(gameId));
+        awaitDelivered(2);
+
+        assertEquals(2, received.get(gameId).size());
+    }
+}
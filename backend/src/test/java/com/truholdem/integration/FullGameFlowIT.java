@@ -78,6 +78,12 @@ class FullGameFlowIT {
     @Autowired
     private HandHistoryService handHistoryService;
 
+    @Autowired
+    private HandHistoryWriter handHistoryWriter;
+
+    @Autowired
+    private PlayerStatisticsAggregator statisticsAggregator;
+
     @Autowired
     private AdvancedBotAIService botAIService;
 
@@ -577,6 +583,7 @@ class FullGameFlowIT {
 
             
             completeHandQuickly();
+            statisticsAggregator.flush();
 
             
             Optional<PlayerStatistics> stats = statisticsService.getStatsByName(playerName);
@@ -603,6 +610,7 @@ class FullGameFlowIT {
                 gameId = game.getId();
                 completeHandQuickly();
             }
+            statisticsAggregator.flush();
 
             
             PlayerStatisticsService.LeaderboardData leaderboard = statisticsService.getLeaderboard();
@@ -628,6 +636,7 @@ class FullGameFlowIT {
 
             
             completeHandQuickly();
+            handHistoryWriter.flush();
 
             
             Page<HandHistory> historyPage = handHistoryRepository.findByGameId(gameId, Pageable.unpaged());
@@ -662,6 +671,7 @@ class FullGameFlowIT {
 
             
             completeHandQuickly();
+            statisticsAggregator.flush();
 
             
             Optional<PlayerStatistics> stats = statisticsService.getStatsByName(playerName);
@@ -0,0 +1,93 @@
+package com.truholdem.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("AchievementIndex Tests")
+class AchievementIndexTest {
+
+    private static Achievement achievement(String code, String requirementType, int requirementValue) {
+        Achievement achievement = new Achievement(code, code, code, "*", "TEST", 10, requirementType, requirementValue);
+        achievement.setId(UUID.randomUUID());
+        return achievement;
+    }
+
+    private final Achievement win1 = achievement("WIN_1", "HANDS_WON", 1);
+    private final Achievement win10 = achievement("WIN_10", "HANDS_WON", 10);
+    private final Achievement win100 = achievement("WIN_100", "HANDS_WON", 100);
+    private final Achievement pot500 = achievement("POT_500", "BIGGEST_POT", 500);
+    private final Achievement unknown = achievement("MYSTERY", "SOMETHING_ELSE", 0);
+
+    private final AchievementIndex index = AchievementIndex.of(List.of(win100, pot500, win1, unknown, win10));
+
+    @Test
+    @DisplayName("should return only thresholds crossed between the two values")
+    void shouldFindCrossedThresholds() {
+        BitSet none = new BitSet();
+
+        assertThat(index.crossed(AchievementMetric.HANDS_WON, 0, 1, none)).containsExactly(win1);
+        assertThat(index.crossed(AchievementMetric.HANDS_WON, 1, 9, none)).isEmpty();
+        assertThat(index.crossed(AchievementMetric.HANDS_WON, 9, 150, none)).containsExactly(win10, win100);
+        assertThat(index.crossed(AchievementMetric.HANDS_WON, 10, 10, none)).isEmpty();
+        assertThat(index.crossed(AchievementMetric.SHOWDOWNS_WON, 0, 1000, none)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should skip unlocked achievements and never unlock unknown requirement types")
+    void shouldSkipUnlocked() {
+        BitSet unlocked = index.bitsOf(List.of(win1.getId(), UUID.randomUUID()));
+        PlayerStatistics stats = new PlayerStatistics("Alice");
+        stats.setHandsWon(12);
+        stats.setBiggestPotWon(600);
+
+        assertThat(unlocked.cardinality()).isEqualTo(1);
+        assertThat(index.reached(stats, unlocked)).containsExactlyInAnyOrder(win10, pot500);
+    }
+
+    @Test
+    @DisplayName("should give counters their exact previous value and maximums a lower bound")
+    void shouldBoundPreviousValue() {
+        Random random = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            PlayerStatistics stats = new PlayerStatistics("Alice");
+            stats.setBiggestPotWon(random.nextInt(300));
+            stats.setLongestWinStreak(random.nextInt(4));
+            stats.setCurrentWinStreak(random.nextInt(stats.getLongestWinStreak() + 1));
+            stats.setHandsWon(random.nextInt(20));
+            int[] before = new int[AchievementMetric.values().length];
+            for (AchievementMetric metric : AchievementMetric.values()) {
+                before[metric.ordinal()] = metric.valueOf(stats);
+            }
+
+            PlayerStatisticsDelta delta = new PlayerStatisticsDelta("Alice");
+            for (int i = random.nextInt(8); i > 0; i--) {
+                if (random.nextBoolean()) {
+                    delta.recordWin(1 + random.nextInt(500));
+                } else {
+                    delta.recordLoss(10);
+                }
+                if (random.nextInt(4) == 0) {
+                    delta.recordAllInResult(true);
+                }
+            }
+            delta.applyTo(stats);
+
+            for (AchievementMetric metric : AchievementMetric.values()) {
+                int previous = metric.valueBefore(stats, delta);
+                if (metric == AchievementMetric.BIGGEST_POT || metric == AchievementMetric.WIN_STREAK) {
+                    assertThat(previous).isLessThanOrEqualTo(before[metric.ordinal()]);
+                } else {
+                    assertThat(previous).isEqualTo(before[metric.ordinal()]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.truholdem.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("CardListConverter Tests")
+class CardListConverterTest {
+
+    private final CardListConverter converter = new CardListConverter();
+
+    @Test
+    @DisplayName("should encode a shuffled deck in one byte per card and preserve its order")
+    void shouldRoundTripShuffledDeck() {
+        List<Card> cards = new Deck().getCards();
+
+        byte[] encoded = converter.convertToDatabaseColumn(cards);
+
+        assertThat(encoded).hasSize(CardSet.DECK_SIZE);
+        assertThat(converter.convertToEntityAttribute(encoded)).containsExactlyElementsOf(cards);
+    }
+
+    @Test
+    @DisplayName("should use the card index as the stored byte")
+    void shouldStoreCardIndex() {
+        byte[] encoded = converter.convertToDatabaseColumn(List.of(
+            new Card(Suit.HEARTS, Value.TWO), new Card(Suit.SPADES, Value.ACE)));
+
+        assertThat(encoded).containsExactly(0, 51);
+    }
+
+    @Test
+    @DisplayName("should treat a missing column as an empty, mutable list")
+    void shouldDecodeNullAsEmptyList() {
+        List<Card> cards = converter.convertToEntityAttribute(null);
+
+        assertThat(cards).isEmpty();
+        cards.add(new Card(Suit.CLUBS, Value.KING));
+        assertThat(converter.convertToDatabaseColumn(cards)).containsExactly(Card.indexOf(Suit.CLUBS, Value.KING));
+    }
+
+    @Test
+    @DisplayName("should reject bytes that are not card indexes")
+    void shouldRejectInvalidIndex() {
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(new byte[] {52}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.truholdem.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("CardSet Tests")
+class CardSetTest {
+
+    private static final Card ACE_OF_HEARTS = new Card(Suit.HEARTS, Value.ACE);
+    private static final Card KING_OF_SPADES = new Card(Suit.SPADES, Value.KING);
+    private static final Card TWO_OF_CLUBS = new Card(Suit.CLUBS, Value.TWO);
+
+    @Nested
+    @DisplayName("Card Index")
+    class CardIndexTests {
+
+        @Test
+        @DisplayName("should map every card to a unique index and back")
+        void shouldRoundTripAllCards() {
+            long seen = 0L;
+            for (Suit suit : Suit.values()) {
+                for (Value value : Value.values()) {
+                    Card card = new Card(suit, value);
+                    int index = card.index();
+
+                    assertThat(index).isBetween(0, CardSet.DECK_SIZE - 1);
+                    assertThat(Card.fromIndex(index)).isEqualTo(card);
+                    assertThat(Card.indexOf(suit, value)).isEqualTo(index);
+                    seen |= CardSet.bit(index);
+                }
+            }
+
+            assertThat(seen).isEqualTo(CardSet.FULL_DECK_MASK);
+        }
+
+        @Test
+        @DisplayName("should reject out of range index")
+        void shouldRejectInvalidIndex() {
+            assertThatThrownBy(() -> Card.fromIndex(52))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> Card.fromIndex(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Set Operations")
+    class SetOperationTests {
+
+        @Test
+        @DisplayName("should track membership and size")
+        void shouldTrackMembership() {
+            CardSet set = CardSet.of(ACE_OF_HEARTS, KING_OF_SPADES);
+
+            assertThat(set.size()).isEqualTo(2);
+            assertThat(set.contains(ACE_OF_HEARTS)).isTrue();
+            assertThat(set.contains(TWO_OF_CLUBS)).isFalse();
+            assertThat(set.with(TWO_OF_CLUBS).size()).isEqualTo(3);
+            assertThat(set.without(ACE_OF_HEARTS).toList()).containsExactly(KING_OF_SPADES);
+        }
+
+        @Test
+        @DisplayName("should collapse duplicate cards")
+        void shouldCollapseDuplicates() {
+            CardSet set = CardSet.of(List.of(ACE_OF_HEARTS), List.of(ACE_OF_HEARTS, TWO_OF_CLUBS));
+
+            assertThat(set.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should complement against the full deck")
+        void shouldComplement() {
+            CardSet dead = CardSet.of(ACE_OF_HEARTS, KING_OF_SPADES, TWO_OF_CLUBS);
+            CardSet live = dead.complement();
+
+            assertThat(live.size()).isEqualTo(49);
+            assertThat(live.intersects(dead)).isFalse();
+            assertThat(live.union(dead)).isEqualTo(CardSet.fullDeck());
+            assertThat(CardSet.fullDeck().minus(dead)).isEqualTo(live);
+            assertThat(live.toIndexArray()).hasSize(49).isSorted();
+        }
+
+        @Test
+        @DisplayName("should iterate cards in index order")
+        void shouldIterateInIndexOrder() {
+            List<Card> cards = new ArrayList<>();
+            CardSet.of(KING_OF_SPADES, ACE_OF_HEARTS, TWO_OF_CLUBS).forEach(cards::add);
+
+            assertThat(cards).containsExactly(ACE_OF_HEARTS, TWO_OF_CLUBS, KING_OF_SPADES);
+        }
+
+        @Test
+        @DisplayName("should reject masks outside the deck")
+        void shouldRejectInvalidMask() {
+            assertThatThrownBy(() -> CardSet.fromMask(1L << 52))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Hand Range Expansion")
+    class HandRangeTests {
+
+        @Test
+        @DisplayName("should exclude dead cards from range combos")
+        void shouldExcludeDeadCards() {
+            HandRange aces = HandRange.fromNotation("AA");
+            CardSet dead = CardSet.of(ACE_OF_HEARTS);
+
+            long[] masks = aces.generateHandMasks(dead);
+
+            assertThat(aces.generateHandMasks(CardSet.empty())).hasSize(6);
+            assertThat(masks).hasSize(3);
+            for (long mask : masks) {
+                assertThat(Long.bitCount(mask)).isEqualTo(2);
+                assertThat(dead.intersects(mask)).isFalse();
+            }
+            assertThat(aces.generateHands(dead)).hasSize(3);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.truholdem.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("Game copy Tests")
+class GameCopyTest {
+
+    private Game game() {
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        Player alice = new Player("Alice", 1000, false);
+        alice.setUserId(UUID.randomUUID());
+        alice.addCardToHand(new Card(Suit.HEARTS, Value.ACE));
+        game.addPlayer(alice);
+        game.addPlayer(new Player("Bot", 1000, true));
+        game.setDeck(new Deck().getCards());
+        game.addCommunityCard(new Card(Suit.SPADES, Value.KING));
+        game.addSidePot(new SidePot(100, List.of(alice.getId()), 50));
+        game.addMissedBlind(1, 20);
+        game.setCurrentPot(300);
+        return game;
+    }
+
+    @Test
+    @DisplayName("should copy the whole state of the game and its players")
+    void shouldCopyState() {
+        Game game = game();
+
+        Game copy = game.copy();
+
+        assertThat(copy).isNotSameAs(game);
+        assertThat(copy).usingRecursiveComparison()
+            .ignoringFields("players.game", "sidePots.game")
+            .isEqualTo(game);
+        assertThat(copy.getPlayers()).allSatisfy(player -> assertThat(player.getGame()).isSameAs(copy));
+    }
+
+    @Test
+    @DisplayName("should not see changes made to the original afterwards")
+    void shouldBeDetachedFromOriginal() {
+        Game game = game();
+        Game copy = game.copy();
+
+        Player alice = game.getPlayers().get(0);
+        alice.placeBet(200);
+        alice.clearHand();
+        game.getDeck().remove(0);
+        game.addCommunityCard(new Card(Suit.CLUBS, Value.TWO));
+        game.getSidePots().get(0).addEligiblePlayer(UUID.randomUUID());
+        game.resetForNewHand();
+
+        Player copiedAlice = copy.getPlayers().get(0);
+        assertThat(copiedAlice.getChips()).isEqualTo(1000);
+        assertThat(copiedAlice.getHand()).hasSize(1);
+        assertThat(copy.getDeck()).hasSize(CardSet.DECK_SIZE);
+        assertThat(copy.getCommunityCards()).hasSize(1);
+        assertThat(copy.getSidePots()).singleElement()
+            .satisfies(pot -> assertThat(pot.getEligiblePlayerIds()).hasSize(1));
+        assertThat(copy.getMissedBlindAmount(1)).isEqualTo(20);
+        assertThat(copy.getHandNumber()).isEqualTo(1);
+    }
+}
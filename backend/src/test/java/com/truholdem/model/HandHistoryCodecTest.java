@@ -0,0 +1,110 @@
+package com.truholdem.model;
+
+import com.truholdem.model.HandHistory.ActionRecord;
+import com.truholdem.model.HandHistory.CardRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("HandHistoryCodec Tests")
+class HandHistoryCodecTest {
+
+    private HandHistory playedHand() {
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setHandNumber(42);
+        game.setSmallBlind(10);
+        game.setBigBlind(20);
+        game.setDealerPosition(1);
+
+        Player alice = new Player("Alice", 1000, false);
+        alice.setId(UUID.randomUUID());
+        alice.setSeatPosition(0);
+        alice.addCardToHand(new Card(Suit.HEARTS, Value.ACE));
+        alice.addCardToHand(new Card(Suit.SPADES, Value.KING));
+        Player bob = new Player("Bot Bob", 980, true);
+        bob.setId(UUID.randomUUID());
+        bob.setSeatPosition(1);
+        game.addPlayer(alice);
+        game.addPlayer(bob);
+
+        HandHistory history = new HandHistory(game);
+        history.recordAction(alice, PlayerAction.RAISE, 60, GamePhase.PRE_FLOP);
+        history.recordAction(bob, PlayerAction.CALL, 60, GamePhase.PRE_FLOP);
+        history.recordCommunityCards(List.of(
+            new Card(Suit.CLUBS, Value.TWO), new Card(Suit.DIAMONDS, Value.TEN), new Card(Suit.HEARTS, Value.KING)));
+        history.recordAction(alice, PlayerAction.BET, 100, GamePhase.FLOP);
+        history.recordAction(bob, PlayerAction.FOLD, 0, GamePhase.FLOP);
+        history.recordResult("Alice", "Pair of Kings", 220);
+        return history;
+    }
+
+    @Test
+    @DisplayName("should round-trip every field except the id")
+    void shouldRoundTripHand() {
+        HandHistory history = playedHand();
+        UUID id = UUID.randomUUID();
+
+        HandHistory decoded = HandHistoryCodec.decode(id, HandHistoryCodec.encode(history));
+
+        assertThat(decoded.getId()).isEqualTo(id);
+        assertThat(decoded).usingRecursiveComparison().ignoringFields("id").isEqualTo(history);
+        assertThat(decoded.getPlayers().get(1).getHoleCard1Suit()).isNull();
+    }
+
+    @Test
+    @DisplayName("should spell out actions and players it cannot reference compactly")
+    void shouldRoundTripEscapedValues() {
+        HandHistory history = playedHand();
+        history.setActions(new ArrayList<>(List.of(
+            new ActionRecord(UUID.randomUUID(), "Observer", "TIME_BANK", -5, "LOBBY", null),
+            new ActionRecord(null, null, null, 0, null, LocalDateTime.now()))));
+        history.setBoard(new ArrayList<>(List.of(new CardRecord())));
+
+        HandHistory decoded = HandHistoryCodec.decode(null, HandHistoryCodec.encode(history));
+
+        assertThat(decoded.getActions()).isEqualTo(history.getActions());
+        assertThat(decoded.getBoard()).containsExactly(new CardRecord());
+    }
+
+    @Test
+    @DisplayName("should handle a hand without a start time or players")
+    void shouldRoundTripEmptyHand() {
+        HandHistory history = new HandHistory();
+        history.setActions(new ArrayList<>(List.of(
+            new ActionRecord(null, "Ghost", PlayerAction.CHECK.name(), 0, GamePhase.RIVER.name(), LocalDateTime.now()))));
+
+        HandHistory decoded = HandHistoryCodec.decode(null, HandHistoryCodec.encode(history));
+
+        assertThat(decoded.getPlayedAt()).isNull();
+        assertThat(decoded.getPlayers()).isEmpty();
+        assertThat(decoded.getActions()).singleElement()
+            .satisfies(action -> {
+                assertThat(action.playerName()).isEqualTo("Ghost");
+                assertThat(action.timestamp()).isNull();
+            });
+    }
+
+    @Test
+    @DisplayName("should encode a typical hand in a fraction of its JSON size")
+    void shouldBeCompact() {
+        byte[] encoded = HandHistoryCodec.encode(playedHand());
+
+        assertThat(encoded.length).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("should reject payloads of an unknown format")
+    void shouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> HandHistoryCodec.decode(null, new byte[] {9}))
+            .isInstanceOf(UncheckedIOException.class);
+    }
+}
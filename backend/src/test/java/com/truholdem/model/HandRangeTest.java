@@ -0,0 +1,153 @@
+package com.truholdem.model;
+
+import com.truholdem.model.HandRange.HandCombo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("HandRange Tests")
+class HandRangeTest {
+
+    private static final Card ACE_OF_HEARTS = new Card(Suit.HEARTS, Value.ACE);
+    private static final Card ACE_OF_SPADES = new Card(Suit.SPADES, Value.ACE);
+    private static final Card TEN_OF_CLUBS = new Card(Suit.CLUBS, Value.TEN);
+
+    @Nested
+    @DisplayName("Compiled Combos")
+    class CompiledComboTests {
+
+        @Test
+        @DisplayName("should index every combo uniquely in mask order")
+        void shouldIndexCombosInMaskOrder() {
+            long previous = 0L;
+            for (int index = 0; index < HandRange.COMBO_COUNT; index++) {
+                long mask = HandRange.comboMask(index);
+
+                assertThat(Long.bitCount(mask)).isEqualTo(2);
+                assertThat(mask).isGreaterThan(previous);
+                assertThat(HandRange.comboIndex(mask)).isEqualTo(index);
+                previous = mask;
+            }
+        }
+
+        @Test
+        @DisplayName("should agree with combo matching for every hand")
+        void containsShouldMatchComboRules() {
+            HandRange button = HandRange.buttonOpen();
+
+            for (int index = 0; index < HandRange.COMBO_COUNT; index++) {
+                CardSet hand = CardSet.fromMask(HandRange.comboMask(index));
+                Card first = hand.toList().get(0);
+                Card second = hand.toList().get(1);
+                boolean matched = button.getIncludedHands().stream()
+                    .anyMatch(combo -> combo.matches(first.getValue(), second.getValue(),
+                        first.getSuit() == second.getSuit()));
+
+                assertThat(button.containsHand(first, second)).isEqualTo(matched);
+            }
+        }
+
+        @Test
+        @DisplayName("should intern preset ranges")
+        void shouldInternPresets() {
+            assertThat(HandRange.buttonOpen()).isSameAs(HandRange.buttonOpen());
+            assertThat(HandRange.forPositionType(PositionType.BIG_BLIND)).isSameAs(HandRange.bigBlindDefend());
+        }
+    }
+
+    @Nested
+    @DisplayName("Dead Card Expansion")
+    class DeadCardExpansionTests {
+
+        @Test
+        @DisplayName("should fill a caller supplied buffer with live combos")
+        void shouldFillBufferWithLiveCombos() {
+            long[] buffer = new long[HandRange.COMBO_COUNT];
+
+            int live = HandRange.fromNotation("AA").liveComboMasks(CardSet.bit(ACE_OF_HEARTS), buffer);
+
+            assertThat(live).isEqualTo(3);
+            for (int i = 0; i < live; i++) {
+                assertThat(buffer[i] & CardSet.bit(ACE_OF_HEARTS)).isZero();
+            }
+        }
+
+        @Test
+        @DisplayName("should reuse the expansion for repeated dead cards")
+        void shouldReuseExpansion() {
+            HandRange range = HandRange.fromNotation("AA,KK,AK");
+            CardSet dead = CardSet.of(ACE_OF_HEARTS, TEN_OF_CLUBS);
+
+            long[] first = range.generateHandMasks(dead);
+
+            assertThat(range.generateHandMasks(dead)).isSameAs(first);
+            assertThat(first).hasSize(3 + 6 + 12).isSorted();
+            assertThat(range.generateHandMasks(CardSet.empty())).hasSize(6 + 6 + 16);
+        }
+    }
+
+    @Nested
+    @DisplayName("Set Operations")
+    class SetOperationTests {
+
+        @Test
+        @DisplayName("should intersect at combo level")
+        void shouldIntersectCombos() {
+            HandRange result = HandRange.fromNotation("AK,QQ").intersect(HandRange.fromNotation("AKs,JJ"));
+
+            assertThat(result.getComboCount()).isEqualTo(4);
+            assertThat(result.getIncludedHands()).containsExactly(HandCombo.suited(Value.ACE, Value.KING));
+        }
+
+        @Test
+        @DisplayName("should union without double counting overlapping combos")
+        void shouldUnionCombos() {
+            HandRange result = HandRange.fromNotation("AK").union(HandRange.fromNotation("AKs,QQ"));
+
+            assertThat(result.getComboCount()).isEqualTo(16 + 6);
+        }
+    }
+
+    @Nested
+    @DisplayName("Weights")
+    class WeightTests {
+
+        @Test
+        @DisplayName("should parse partial weights from notation")
+        void shouldParseWeights() {
+            HandRange range = HandRange.fromNotation("AA,ATo:0.5");
+            long aceTen = CardSet.bit(ACE_OF_SPADES) | CardSet.bit(TEN_OF_CLUBS);
+
+            assertThat(range.isWeighted()).isTrue();
+            assertThat(range.weight(aceTen)).isEqualTo(0.5);
+            assertThat(range.weight(CardSet.bit(ACE_OF_SPADES) | CardSet.bit(ACE_OF_HEARTS))).isEqualTo(1.0);
+            assertThat(range.getRangePercentage()).isCloseTo((6 + 6) / 13.26, within(1e-9));
+            assertThat(HandRange.fromNotation("ATo:50%").weight(aceTen)).isEqualTo(0.5);
+        }
+
+        @Test
+        @DisplayName("should keep the heavier weight on union and the lighter on intersect")
+        void shouldCombineWeights() {
+            HandRange half = HandRange.fromNotation("AKo:0.5");
+            HandRange full = HandRange.fromNotation("AK");
+            long aceKingOffsuit = CardSet.bit(ACE_OF_SPADES) | CardSet.bit(new Card(Suit.HEARTS, Value.KING));
+
+            assertThat(half.union(full).weight(aceKingOffsuit)).isEqualTo(1.0);
+            assertThat(half.intersect(full).weight(aceKingOffsuit)).isEqualTo(0.5);
+        }
+
+        @Test
+        @DisplayName("should reject weights outside (0, 1]")
+        void shouldRejectInvalidWeight() {
+            HandRange range = HandRange.premiumRange();
+
+            assertThatThrownBy(() -> range.withWeight(HandCombo.offsuit(Value.ACE, Value.TEN), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThat(range.withWeight(HandCombo.offsuit(Value.ACE, Value.TEN), 0.25).getComboCount())
+                .isEqualTo(range.getComboCount() + 12);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.truholdem.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("PlayerStatisticsDelta Tests")
+class PlayerStatisticsDeltaTest {
+
+    private static PlayerStatistics stats(int currentWin, int longestWin, int currentLose, int longestLose) {
+        PlayerStatistics stats = new PlayerStatistics("Alice");
+        stats.setCurrentWinStreak(currentWin);
+        stats.setLongestWinStreak(longestWin);
+        stats.setCurrentLoseStreak(currentLose);
+        stats.setLongestLoseStreak(longestLose);
+        return stats;
+    }
+
+    @Test
+    @DisplayName("should match replaying the same results on the entity, however the deltas are split")
+    void shouldMatchReplayedStreaks() {
+        Random random = new Random(17);
+        for (int round = 0; round < 500; round++) {
+            PlayerStatistics replayed = stats(random.nextInt(4), 4, random.nextInt(4), 4);
+            PlayerStatistics merged = stats(replayed.getCurrentWinStreak(), 4, replayed.getCurrentLoseStreak(), 4);
+
+            PlayerStatisticsDelta first = new PlayerStatisticsDelta("Alice");
+            PlayerStatisticsDelta second = new PlayerStatisticsDelta("Alice");
+            int results = random.nextInt(12);
+            int split = results == 0 ? 0 : random.nextInt(results + 1);
+            for (int i = 0; i < results; i++) {
+                PlayerStatisticsDelta target = i < split ? first : second;
+                int amount = 1 + random.nextInt(500);
+                if (random.nextBoolean()) {
+                    replayed.recordWin(amount);
+                    target.recordWin(amount);
+                } else {
+                    replayed.recordLoss(amount);
+                    target.recordLoss(amount);
+                }
+            }
+
+            first.append(second);
+            first.applyTo(merged);
+
+            assertThat(merged).usingRecursiveComparison()
+                .ignoringFields("firstHandPlayed")
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(replayed);
+        }
+    }
+
+    @Test
+    @DisplayName("should add counters and keep the largest pot")
+    void shouldAddCounters() {
+        PlayerStatistics stats = stats(0, 0, 0, 0);
+        stats.setTotalFolds(3);
+        stats.setBiggestPotWon(800);
+
+        PlayerStatisticsDelta delta = new PlayerStatisticsDelta("Alice");
+        delta.recordFold();
+        delta.recordFold();
+        delta.recordHandPlayed(true, true);
+        delta.recordShowdown(true);
+        delta.recordWin(300);
+        delta.startNewSession();
+        delta.applyTo(stats);
+
+        assertThat(delta.getEvents()).isEqualTo(6);
+        assertThat(stats.getTotalFolds()).isEqualTo(5);
+        assertThat(stats.getHandsPlayed()).isEqualTo(1);
+        assertThat(stats.getHandsRaisedPreFlop()).isEqualTo(1);
+        assertThat(stats.getShowdownsWon()).isEqualTo(1);
+        assertThat(stats.getTotalWinnings()).isEqualByComparingTo("300");
+        assertThat(stats.getBiggestPotWon()).isEqualTo(800);
+        assertThat(stats.getTotalSessions()).isEqualTo(1);
+        assertThat(stats.getLastHandPlayed()).isNotNull();
+    }
+}
@@ -0,0 +1,140 @@
+package com.truholdem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.truholdem.model.Achievement;
+import com.truholdem.model.PlayerAchievement;
+import com.truholdem.model.PlayerStatistics;
+import com.truholdem.model.PlayerStatisticsDelta;
+import com.truholdem.repository.AchievementRepository;
+import com.truholdem.repository.PlayerAchievementRepository;
+import com.truholdem.repository.PlayerStatisticsRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AchievementService Tests")
+class AchievementServiceTest {
+
+    @Mock
+    private AchievementRepository achievementRepository;
+
+    @Mock
+    private PlayerAchievementRepository playerAchievementRepository;
+
+    @Mock
+    private PlayerStatisticsRepository statsRepository;
+
+    @Mock
+    private GameNotificationService notificationService;
+
+    private AchievementService achievementService;
+
+    private PlayerStatistics stats;
+    private Achievement win1;
+    private Achievement win10;
+    private Achievement win100;
+    private Achievement pot500;
+
+    @BeforeEach
+    void setUp() {
+        achievementService = new AchievementService(
+            achievementRepository, playerAchievementRepository, statsRepository, notificationService, 100);
+
+        stats = new PlayerStatistics("Alice");
+        stats.setId(UUID.randomUUID());
+        win1 = achievement("FIRST_WIN", "HANDS_WON", 1);
+        win10 = achievement("WINNER_10", "HANDS_WON", 10);
+        win100 = achievement("WINNER_100", "HANDS_WON", 100);
+        pot500 = achievement("BIG_POT", "BIGGEST_POT", 500);
+        when(achievementRepository.findAll()).thenReturn(List.of(win1, win10, win100, pot500));
+    }
+
+    @Test
+    @DisplayName("Should unlock only achievements met and not yet unlocked")
+    void shouldUnlockMetAchievements() {
+        stats.setHandsWon(12);
+        when(statsRepository.findByPlayerName("Alice")).thenReturn(Optional.of(stats));
+        when(playerAchievementRepository.findByPlayerStats(stats)).thenReturn(List.of(new PlayerAchievement(stats, win1)));
+
+        List<Achievement> unlocked = achievementService.checkAndUnlockAchievements("Alice");
+
+        assertThat(unlocked).containsExactly(win10);
+        verify(playerAchievementRepository, times(1)).save(any(PlayerAchievement.class));
+    }
+
+    @Test
+    @DisplayName("Should load rules and unlocked achievements once")
+    void shouldCacheRulesAndUnlocked() {
+        stats.setHandsWon(12);
+        when(statsRepository.findByPlayerName("Alice")).thenReturn(Optional.of(stats));
+        when(playerAchievementRepository.findByPlayerStats(stats)).thenReturn(List.of());
+
+        assertThat(achievementService.checkAndUnlockAchievements("Alice")).containsExactly(win1, win10);
+        assertThat(achievementService.checkAndUnlockAchievements("Alice")).isEmpty();
+
+        verify(achievementRepository, times(1)).findAll();
+        verify(playerAchievementRepository, times(1)).findByPlayerStats(stats);
+        verify(playerAchievementRepository, times(2)).save(any(PlayerAchievement.class));
+    }
+
+    @Test
+    @DisplayName("Should only evaluate thresholds a written delta crossed")
+    void shouldUnlockCrossedThresholds() {
+        stats.setHandsWon(99);
+        when(statsRepository.findByPlayerName("Alice")).thenReturn(Optional.of(stats));
+        when(playerAchievementRepository.findByPlayerStats(stats)).thenReturn(List.of());
+        achievementService.checkAndUnlockAchievements("Alice");
+
+        PlayerStatisticsDelta delta = new PlayerStatisticsDelta("Alice");
+        delta.recordWin(40);
+        delta.applyTo(stats);
+
+        assertThat(achievementService.checkProgress(List.of(stats), List.of(delta))).containsExactly(win100);
+        verify(playerAchievementRepository, times(1)).findByPlayerStats(stats);
+    }
+
+    @Test
+    @DisplayName("Should fully check a player not cached yet")
+    void shouldFullyCheckUncachedPlayer() {
+        stats.setHandsWon(3);
+        stats.setBiggestPotWon(800);
+        when(playerAchievementRepository.findByPlayerStats(stats)).thenReturn(List.of());
+
+        PlayerStatisticsDelta delta = new PlayerStatisticsDelta("Alice");
+        delta.recordFold();
+
+        assertThat(achievementService.checkProgress(List.of(stats), List.of(delta)))
+            .containsExactlyInAnyOrder(win1, pot500);
+    }
+
+    @Test
+    @DisplayName("Should ignore players without a written delta")
+    void shouldIgnorePlayersWithoutDelta() {
+        assertThat(achievementService.checkProgress(List.of(stats), List.of())).isEmpty();
+
+        verify(playerAchievementRepository, never()).save(any(PlayerAchievement.class));
+    }
+
+
+
+    private Achievement achievement(String code, String requirementType, int requirementValue) {
+        Achievement achievement = new Achievement(code, code, code, "*", "TEST", 10, requirementType, requirementValue);
+        achievement.setId(UUID.randomUUID());
+        return achievement;
+    }
+}
@@ -17,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.truholdem.model.Card;
+import com.truholdem.model.CardSet;
 import com.truholdem.model.Game;
 import com.truholdem.model.GamePhase;
 import com.truholdem.model.HandRanking;
@@ -39,7 +40,7 @@ class AdvancedBotAIServiceTest {
 
     @BeforeEach
     void setUp() {
-        botAIService = new AdvancedBotAIService(handEvaluator);
+        botAIService = new AdvancedBotAIService(handEvaluator, PreflopEquityTable.loadDefault());
     }
 
     
@@ -53,6 +54,28 @@ class AdvancedBotAIServiceTest {
         return hand;
     }
 
+    private static int strengthOf(HandRanking ranking) {
+        int strength = ranking.getHandType().ordinal();
+        int values = 0;
+        for (Value value : ranking.getRankValues()) {
+            strength = (strength << 4) | value.ordinal();
+            values++;
+        }
+        for (Value value : ranking.getKickerValues()) {
+            strength = (strength << 4) | value.ordinal();
+            values++;
+        }
+        return strength << (4 * (5 - values));
+    }
+
+    private void stubStrengths(List<Card> hand, HandRanking heroRanking, HandRanking opponentRanking) {
+        long heroMask = CardSet.maskOf(hand);
+        when(handEvaluator.evaluateStrength(anyLong())).thenAnswer(invocation ->
+                (invocation.<Long>getArgument(0) & heroMask) == heroMask
+                        ? strengthOf(heroRanking)
+                        : strengthOf(opponentRanking));
+    }
+
     private Game createGameWithPlayers(int count) {
         Game game = new Game();
         game.setId(UUID.randomUUID());
@@ -230,10 +253,8 @@ class AdvancedBotAIServiceTest {
                         List.of(Value.ACE),
                         List.of(Value.KING, Value.NINE, Value.FIVE, Value.TWO));
 
-                when(handEvaluator.evaluate(eq(hand), anyList())).thenReturn(flushRanking);
-                when(handEvaluator.evaluate(argThat(h -> h != hand), anyList()))
-                        .thenReturn(new HandRanking(HandType.HIGH_CARD, 
-                                List.of(Value.JACK), List.of(Value.NINE)));
+                stubStrengths(hand, flushRanking, new HandRanking(HandType.HIGH_CARD,
+                        List.of(Value.JACK), List.of(Value.NINE)));
 
                 double strength = botAIService.calculateHandStrength(hand, board, 2);
 
@@ -250,9 +271,9 @@ class AdvancedBotAIServiceTest {
                         new Card(Suit.SPADES, Value.NINE),
                         new Card(Suit.CLUBS, Value.JACK));
 
-                when(handEvaluator.evaluate(any(), anyList()))
-                        .thenReturn(new HandRanking(HandType.HIGH_CARD, 
-                                List.of(Value.ACE), List.of(Value.KING)));
+                when(handEvaluator.evaluateStrength(anyLong()))
+                        .thenReturn(strengthOf(new HandRanking(HandType.HIGH_CARD,
+                                List.of(Value.ACE), List.of(Value.KING))));
 
                 double strength = botAIService.calculateHandStrength(hand, board, 2);
 
@@ -274,10 +295,8 @@ class AdvancedBotAIServiceTest {
                         List.of(Value.SEVEN),
                         List.of(Value.KING, Value.TWO));
 
-                when(handEvaluator.evaluate(eq(hand), anyList())).thenReturn(setRanking);
-                when(handEvaluator.evaluate(argThat(h -> h != hand), anyList()))
-                        .thenReturn(new HandRanking(HandType.ONE_PAIR, 
-                                List.of(Value.KING), List.of(Value.SEVEN)));
+                stubStrengths(hand, setRanking, new HandRanking(HandType.ONE_PAIR,
+                        List.of(Value.KING), List.of(Value.SEVEN)));
 
                 double strength = botAIService.calculateHandStrength(hand, board, 2);
 
@@ -293,9 +312,9 @@ class AdvancedBotAIServiceTest {
                         new Card(Suit.DIAMONDS, Value.SIX),
                         new Card(Suit.SPADES, Value.TWO));
 
-                when(handEvaluator.evaluate(any(), anyList()))
-                        .thenReturn(new HandRanking(HandType.HIGH_CARD, 
-                                List.of(Value.NINE), List.of(Value.EIGHT)));
+                when(handEvaluator.evaluateStrength(anyLong()))
+                        .thenReturn(strengthOf(new HandRanking(HandType.HIGH_CARD,
+                                List.of(Value.NINE), List.of(Value.EIGHT))));
 
                 double strength = botAIService.calculateHandStrength(hand, board, 2);
 
@@ -317,10 +336,8 @@ class AdvancedBotAIServiceTest {
                         List.of(Value.QUEEN),
                         List.of(Value.NINE, Value.FIVE, Value.TWO));
 
-                when(handEvaluator.evaluate(eq(hand), anyList())).thenReturn(overpairRanking);
-                when(handEvaluator.evaluate(argThat(h -> h != hand), anyList()))
-                        .thenReturn(new HandRanking(HandType.HIGH_CARD, 
-                                List.of(Value.NINE), List.of(Value.FIVE)));
+                stubStrengths(hand, overpairRanking, new HandRanking(HandType.HIGH_CARD,
+                        List.of(Value.NINE), List.of(Value.FIVE)));
 
                 double strength = botAIService.calculateHandStrength(hand, board, 2);
 
@@ -342,7 +359,7 @@ class AdvancedBotAIServiceTest {
                         List.of(Value.KING, Value.SEVEN, Value.TWO));
 
                 
-                when(handEvaluator.evaluate(any(), anyList())).thenReturn(tptkRanking);
+                when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(tptkRanking));
 
                 double strength = botAIService.calculateHandStrength(hand, board, 2);
 
@@ -351,6 +368,23 @@ class AdvancedBotAIServiceTest {
                         "TPTK strength should be valid, was: " + strength);
             }
 
+            @Test
+            @DisplayName("Strength should shrink as more opponents stay in the hand")
+            void strengthShouldShrinkWithMoreOpponents() {
+                AdvancedBotAIService realEvaluatorBot = new AdvancedBotAIService(new HandEvaluator(), PreflopEquityTable.loadDefault());
+                List<Card> hand = createHand(Value.QUEEN, Suit.HEARTS, Value.QUEEN, Suit.SPADES);
+                List<Card> board = List.of(
+                        new Card(Suit.CLUBS, Value.NINE),
+                        new Card(Suit.DIAMONDS, Value.FIVE),
+                        new Card(Suit.SPADES, Value.TWO));
+
+                double headsUp = realEvaluatorBot.calculateHandStrength(hand, board, 1);
+                double fiveWay = realEvaluatorBot.calculateHandStrength(hand, board, 4);
+
+                assertTrue(headsUp >= 0.72, "Overpair heads-up should be ~0.82, was: " + headsUp);
+                assertTrue(fiveWay <= 0.58, "Overpair vs four opponents should be ~0.45, was: " + fiveWay);
+            }
+
             @Test
             @DisplayName("Null hand should return 0 strength")
             void nullHandShouldReturnZeroStrength() {
@@ -854,7 +888,7 @@ class AdvancedBotAIServiceTest {
                     HandType.THREE_OF_A_KIND,
                     List.of(Value.ACE),
                     List.of(Value.SEVEN, Value.TWO));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(setRanking);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(setRanking));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -883,7 +917,7 @@ class AdvancedBotAIServiceTest {
                     HandType.ONE_PAIR,
                     List.of(Value.TEN),
                     List.of(Value.EIGHT, Value.SEVEN, Value.TWO));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(pairRanking);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(pairRanking));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -911,7 +945,7 @@ class AdvancedBotAIServiceTest {
                     HandType.HIGH_CARD,
                     List.of(Value.ACE),
                     List.of(Value.KING, Value.QUEEN));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(highCard);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(highCard));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -938,7 +972,7 @@ class AdvancedBotAIServiceTest {
                     HandType.HIGH_CARD,
                     List.of(Value.ACE),
                     List.of(Value.KING, Value.JACK));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(flushDraw);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(flushDraw));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -968,7 +1002,7 @@ class AdvancedBotAIServiceTest {
                     HandType.HIGH_CARD,
                     List.of(Value.KING),
                     List.of(Value.NINE));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(missedDraw);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(missedDraw));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -995,7 +1029,7 @@ class AdvancedBotAIServiceTest {
                     HandType.FOUR_OF_A_KIND,
                     List.of(Value.SEVEN),
                     List.of(Value.TWO));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(quads);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(quads));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -1024,7 +1058,7 @@ class AdvancedBotAIServiceTest {
                     HandType.HIGH_CARD,
                     List.of(Value.ACE),
                     List.of(Value.KING, Value.QUEEN));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(highCard);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(highCard));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -1053,7 +1087,7 @@ class AdvancedBotAIServiceTest {
                     HandType.ROYAL_FLUSH,
                     List.of(Value.ACE),
                     List.of());
-            when(handEvaluator.evaluate(any(), any())).thenReturn(royalFlush);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(royalFlush));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -1082,7 +1116,7 @@ class AdvancedBotAIServiceTest {
                     HandType.STRAIGHT,
                     List.of(Value.ACE),
                     List.of());
-            when(handEvaluator.evaluate(any(), any())).thenReturn(straight);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(straight));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -1111,7 +1145,7 @@ class AdvancedBotAIServiceTest {
                     HandType.ONE_PAIR,
                     List.of(Value.ACE),
                     List.of(Value.KING, Value.EIGHT));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(topPair);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(topPair));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -1138,7 +1172,7 @@ class AdvancedBotAIServiceTest {
                     HandType.TWO_PAIR,
                     List.of(Value.ACE, Value.KING),
                     List.of(Value.SEVEN));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(twoPair);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(twoPair));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -1166,7 +1200,7 @@ class AdvancedBotAIServiceTest {
                     HandType.ONE_PAIR,
                     List.of(Value.NINE),
                     List.of(Value.ACE, Value.TEN, Value.THREE));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(middlePair);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(middlePair));
 
             BotDecision decision = botAIService.decide(game, bot);
 
@@ -1380,7 +1414,7 @@ class AdvancedBotAIServiceTest {
                     HandType.ONE_PAIR,
                     List.of(Value.ACE),
                     List.of(Value.KING, Value.SEVEN, Value.TWO));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(aces);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(aces));
             
             BotDecision flopDecision = botAIService.decide(game, bot);
             assertNotNull(flopDecision);
@@ -1407,7 +1441,7 @@ class AdvancedBotAIServiceTest {
                     HandType.HIGH_CARD,
                     List.of(Value.ACE),
                     List.of(Value.KING));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(highCard);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(highCard));
             
             BotDecision decision = botAIService.decide(game, bot);
             assertNotNull(decision);
@@ -1425,7 +1459,7 @@ class AdvancedBotAIServiceTest {
                     HandType.ONE_PAIR,
                     List.of(Value.QUEEN),
                     List.of(Value.JACK));
-            when(handEvaluator.evaluate(any(), any())).thenReturn(ranking);
+            when(handEvaluator.evaluateStrength(anyLong())).thenReturn(strengthOf(ranking));
             
             for (GamePhase phase : List.of(GamePhase.PRE_FLOP, GamePhase.FLOP, 
                     GamePhase.TURN, GamePhase.RIVER)) {
@@ -0,0 +1,93 @@
+package com.truholdem.service;
+
+import com.truholdem.model.PlayerAction;
+import com.truholdem.service.AdvancedBotAIService.BotDecision;
+import com.truholdem.service.BotSimulator.Entrant;
+import com.truholdem.service.BotSimulator.Report;
+import com.truholdem.service.BotSimulator.StrategyResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("BotSimulator Tests")
+class BotSimulatorTest {
+
+    private static final SimulationStrategy FOLDER = (table, self) -> new BotDecision(PlayerAction.FOLD, 0, "fold");
+    private static final SimulationStrategy CALLER = (table, self) -> new BotDecision(PlayerAction.CALL, 0, "call");
+
+    // deterministic per decision point, so results must not depend on threading
+    private static final SimulationStrategy RAISER = (table, self) -> {
+        int roll = Math.floorMod(self.getHand().hashCode() + table.getCommunityCards().size(), 4);
+        return switch (roll) {
+            case 0 -> new BotDecision(PlayerAction.RAISE, table.getCurrentBet() * 3 + table.getBigBlind(), "raise");
+            case 1 -> new BotDecision(PlayerAction.CHECK, 0, "check");
+            default -> new BotDecision(PlayerAction.CALL, 0, "call");
+        };
+    };
+
+    private final HandEvaluator handEvaluator = new HandEvaluator();
+
+    private BotSimulator simulator(int threads) {
+        return new BotSimulator(handEvaluator::evaluateStrength, threads, 10, 20, 100);
+    }
+
+    @Test
+    @DisplayName("should conserve chips across all seats")
+    void shouldConserveChips() {
+        SimulationStrategy random = (table, self) -> switch (ThreadLocalRandom.current().nextInt(5)) {
+            case 0 -> new BotDecision(PlayerAction.FOLD, 0, "fold");
+            case 1 -> new BotDecision(PlayerAction.RAISE, table.getCurrentBet() * 2 + table.getBigBlind(), "raise");
+            case 2 -> new BotDecision(PlayerAction.ALL_IN, 0, "shove");
+            default -> new BotDecision(PlayerAction.CALL, 0, "call");
+        };
+
+        Report report = simulator(2).run(List.of(
+            new Entrant("a", random), new Entrant("b", random), new Entrant("c", random),
+            new Entrant("d", random), new Entrant("e", random), new Entrant("f", random)), 2_000, 7L);
+
+        assertThat(report.results()).extracting(StrategyResult::hands).containsOnly(2_000L);
+        assertThat(report.results().stream().mapToLong(StrategyResult::netChips).sum()).isZero();
+    }
+
+    @Test
+    @DisplayName("should produce identical results for the same seed on any number of threads")
+    void shouldBeReproducibleAcrossThreadCounts() {
+        List<Entrant> entrants = List.of(
+            new Entrant("raiser", RAISER), new Entrant("caller", CALLER), new Entrant("folder", FOLDER));
+
+        Report single = simulator(1).run(entrants, 1_500, 42L);
+        Report parallel = simulator(4).run(entrants, 1_500, 42L);
+        Report otherSeed = simulator(1).run(entrants, 1_500, 43L);
+
+        assertThat(parallel.results()).isEqualTo(single.results());
+        assertThat(otherSeed.results()).isNotEqualTo(single.results());
+    }
+
+    @Test
+    @DisplayName("should charge an always-folding strategy exactly its blinds heads-up")
+    void shouldMeasureBlindLossOfFolder() {
+        Report report = simulator(1).run(List.of(new Entrant("folder", FOLDER), new Entrant("caller", CALLER)),
+            1_000, 1L);
+
+        StrategyResult folder = report.results().get(0);
+        assertThat(folder.handsWon()).isZero();
+        assertThat(folder.bbPer100()).isCloseTo(-75.0, within(1e-9));
+        assertThat(report.results().get(1).bbPer100()).isCloseTo(75.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("should reject invalid tables")
+    void shouldRejectInvalidEntrants() {
+        BotSimulator simulator = simulator(1);
+
+        assertThatThrownBy(() -> simulator.run(List.of(new Entrant("solo", CALLER)), 10, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> simulator.run(List.of(new Entrant("x", CALLER), new Entrant("x", FOLDER)), 10, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.truholdem.service;
+
+import com.truholdem.dto.EquityResult;
+import com.truholdem.model.Card;
+import com.truholdem.model.CardSet;
+import com.truholdem.model.HandRange;
+import com.truholdem.model.Suit;
+import com.truholdem.model.Value;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("EquityResultCache Tests")
+class EquityResultCacheTest {
+
+    private static final SimulationBudget BUDGET = SimulationBudget.iterations(1000);
+
+    @Nested
+    @DisplayName("Canonicalization")
+    class CanonicalizationTests {
+
+        @Test
+        @DisplayName("should map suit permutations of a spot to the same key")
+        void shouldMapSuitPermutationsTogether() {
+            long heartsHero = CardSet.of(new Card(Suit.HEARTS, Value.ACE), new Card(Suit.HEARTS, Value.KING)).mask();
+            long heartsBoard = CardSet.of(new Card(Suit.HEARTS, Value.QUEEN), new Card(Suit.HEARTS, Value.SEVEN),
+                new Card(Suit.CLUBS, Value.TWO)).mask();
+            long spadesHero = CardSet.of(new Card(Suit.SPADES, Value.ACE), new Card(Suit.SPADES, Value.KING)).mask();
+            long spadesBoard = CardSet.of(new Card(Suit.SPADES, Value.QUEEN), new Card(Suit.SPADES, Value.SEVEN),
+                new Card(Suit.DIAMONDS, Value.TWO)).mask();
+
+            assertThat(EquityCanonicalizer.canonicalize(heartsHero, heartsBoard))
+                .isEqualTo(EquityCanonicalizer.canonicalize(spadesHero, spadesBoard));
+        }
+
+        @Test
+        @DisplayName("should keep spots with different suit structure apart")
+        void shouldSeparateDifferentStructures() {
+            long suitedHero = CardSet.of(new Card(Suit.HEARTS, Value.ACE), new Card(Suit.HEARTS, Value.KING)).mask();
+            long offsuitHero = CardSet.of(new Card(Suit.HEARTS, Value.ACE), new Card(Suit.SPADES, Value.KING)).mask();
+            long board = CardSet.of(new Card(Suit.HEARTS, Value.QUEEN), new Card(Suit.HEARTS, Value.SEVEN),
+                new Card(Suit.CLUBS, Value.TWO)).mask();
+
+            assertThat(EquityCanonicalizer.canonicalize(suitedHero, board))
+                .isNotEqualTo(EquityCanonicalizer.canonicalize(offsuitHero, board));
+        }
+
+        @Test
+        @DisplayName("should preserve card counts")
+        void shouldPreserveCardCounts() {
+            long hero = CardSet.of(new Card(Suit.CLUBS, Value.TWO), new Card(Suit.DIAMONDS, Value.NINE)).mask();
+            long board = CardSet.of(new Card(Suit.SPADES, Value.ACE), new Card(Suit.HEARTS, Value.TEN),
+                new Card(Suit.CLUBS, Value.FIVE), new Card(Suit.DIAMONDS, Value.FIVE)).mask();
+
+            EquityCanonicalizer.CanonicalSpot spot = EquityCanonicalizer.canonicalize(hero, board);
+
+            assertThat(Long.bitCount(spot.heroMask())).isEqualTo(2);
+            assertThat(Long.bitCount(spot.boardMask())).isEqualTo(4);
+            assertThat(spot.heroMask() & spot.boardMask()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounds")
+    class BoundsTests {
+
+        @Test
+        @DisplayName("should count hits and misses")
+        void shouldCountHitsAndMisses() {
+            EquityResultCache cache = new EquityResultCache(10, Duration.ofMinutes(1));
+            EquityResult result = EquityResult.simple(0.6, 0.0, 0.4, 1000);
+
+            cache.get(key(1), () -> result);
+            EquityResult cached = cache.get(key(1), () -> EquityResult.simple(0.1, 0.0, 0.9, 1000));
+
+            assertThat(cached).isSameAs(result);
+            assertThat(cache.hitCount()).isEqualTo(1);
+            assertThat(cache.missCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should evict the least recently used entry past the size bound")
+        void shouldEvictLeastRecentlyUsed() {
+            EquityResultCache cache = new EquityResultCache(2, Duration.ofMinutes(1));
+
+            cache.get(key(1), () -> EquityResult.simple(0.1, 0.0, 0.9, 1));
+            cache.get(key(2), () -> EquityResult.simple(0.2, 0.0, 0.8, 1));
+            cache.get(key(1), () -> EquityResult.simple(0.1, 0.0, 0.9, 1));
+            cache.get(key(3), () -> EquityResult.simple(0.3, 0.0, 0.7, 1));
+
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.evictionCount()).isEqualTo(1);
+
+            cache.get(key(1), () -> EquityResult.simple(0.5, 0.0, 0.5, 1));
+            assertThat(cache.hitCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should recalculate entries older than the TTL")
+        void shouldExpireEntries() {
+            AtomicLong now = new AtomicLong();
+            EquityResultCache cache = new EquityResultCache(10, Duration.ofSeconds(5), now::get);
+
+            EquityResult first = cache.get(key(1), () -> EquityResult.simple(0.1, 0.0, 0.9, 1));
+            now.addAndGet(Duration.ofSeconds(6).toNanos());
+            EquityResult second = cache.get(key(1), () -> EquityResult.simple(0.2, 0.0, 0.8, 1));
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(cache.missCount()).isEqualTo(2);
+            assertThat(cache.evictionCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not retain anything when disabled")
+        void shouldBypassWhenDisabled() {
+            EquityResultCache cache = new EquityResultCache(0, Duration.ofMinutes(1));
+
+            cache.get(key(1), () -> EquityResult.simple(0.1, 0.0, 0.9, 1));
+
+            assertThat(cache.size()).isZero();
+            assertThat(cache.missCount()).isEqualTo(1);
+        }
+    }
+
+    private static EquityResultCache.Key key(long hero) {
+        return new EquityResultCache.Key(hero, 0L, HandRange.premiumRange(), 1, BUDGET);
+    }
+}
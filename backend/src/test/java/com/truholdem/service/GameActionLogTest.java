@@ -0,0 +1,83 @@
+package com.truholdem.service;
+
+import com.truholdem.model.PlayerAction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("GameActionLog Tests")
+class GameActionLogTest {
+
+    @TempDir
+    Path directory;
+
+    private GameActionLog actionLog;
+    private final UUID gameId = UUID.randomUUID();
+    private final UUID playerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        actionLog = new GameActionLog(directory.toString(), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        actionLog.close(gameId);
+    }
+
+    @Test
+    @DisplayName("should read back appended entries in order")
+    void shouldRoundTripEntries() {
+        GameActionLog.Entry raise = new GameActionLog.Entry(3, playerId, PlayerAction.RAISE, 60);
+        GameActionLog.Entry skip = GameActionLog.Entry.skip(3, playerId);
+
+        actionLog.append(gameId, raise);
+        actionLog.append(gameId, skip);
+
+        assertThat(actionLog.read(gameId)).containsExactly(raise, skip);
+        assertThat(actionLog.read(gameId).get(1).isSkip()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should return nothing for a game without a log")
+    void shouldReturnEmptyForMissingLog() {
+        assertThat(actionLog.read(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should start empty again after truncation")
+    void shouldTruncate() {
+        actionLog.append(gameId, new GameActionLog.Entry(1, playerId, PlayerAction.CALL, 20));
+        actionLog.truncate(gameId);
+        assertThat(actionLog.read(gameId)).isEmpty();
+
+        GameActionLog.Entry fold = new GameActionLog.Entry(2, playerId, PlayerAction.FOLD, 0);
+        actionLog.append(gameId, fold);
+        assertThat(actionLog.read(gameId)).containsExactly(fold);
+    }
+
+    @Test
+    @DisplayName("should stop at a torn final line")
+    void shouldIgnoreTornLine() throws IOException {
+        GameActionLog.Entry check = new GameActionLog.Entry(1, playerId, PlayerAction.CHECK, 0);
+        actionLog.append(gameId, check);
+        actionLog.close(gameId);
+
+        Files.writeString(directory.resolve(gameId + ".log"), "1," + playerId + ",CA",
+            StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+
+        assertThat(actionLog.read(gameId)).containsExactly(check);
+    }
+}
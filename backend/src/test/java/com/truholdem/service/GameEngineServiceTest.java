@@ -0,0 +1,243 @@
+package com.truholdem.service;
+
+import com.truholdem.model.Game;
+import com.truholdem.model.PlayerAction;
+import com.truholdem.repository.GameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameEngineService Tests")
+class GameEngineServiceTest {
+
+    @TempDir
+    Path logDirectory;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private ExecutorService executor;
+    private GameActionLog actionLog;
+    private GameEngineService engine;
+    private Game game;
+
+    private final List<GameActionLog.Entry> replayed = new ArrayList<>();
+    private final BiConsumer<Game, List<GameActionLog.Entry>> replay = (g, entries) -> replayed.addAll(entries);
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        actionLog = new GameActionLog(logDirectory.toString(), false);
+        engine = newEngine(GameEngineService.MODE_IN_MEMORY);
+
+        game = new Game();
+        game.setId(UUID.randomUUID());
+        lenient().when(gameRepository.findById(game.getId())).thenReturn(Optional.of(game));
+        lenient().when(gameRepository.save(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        actionLog.close(game.getId());
+        executor.shutdownNow();
+    }
+
+    private GameEngineService newEngine(String mode) {
+        return new GameEngineService(gameRepository, actionLog, TransactionOperations.withoutTransaction(), executor, new SimpleMeterRegistry(), mode, 5000, 30);
+    }
+
+    @Test
+    @DisplayName("should only be enabled in in-memory mode")
+    void shouldOnlyEnableInMemoryMode() {
+        assertThat(engine.isEnabled()).isTrue();
+        assertThat(newEngine("database").isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should load a table once and keep mid-hand commands off the database")
+    void shouldKeepMidHandCommandsInMemory() {
+        for (int i = 0; i < 10; i++) {
+            engine.execute(game.getId(), replay, g -> {
+                g.setCurrentPot(g.getCurrentPot() + 10);
+                return g;
+            });
+        }
+
+        assertThat(game.getCurrentPot()).isEqualTo(100);
+        assertThat(engine.tableCount()).isEqualTo(1);
+        verify(gameRepository, times(1)).findById(game.getId());
+        verify(gameRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("should run concurrent commands for one table one at a time")
+    void shouldSerializeCommands() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                calls.add(callers.submit(() -> engine.execute(game.getId(), replay, g -> {
+                    int pot = g.getCurrentPot();
+                    Thread.onSpinWait();
+                    g.setCurrentPot(pot + 1);
+                    return null;
+                })));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(game.getCurrentPot()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("should cancel a command that timed out before it started")
+    void shouldCancelTimedOutCommand() throws Exception {
+        GameEngineService impatient = new GameEngineService(gameRepository, actionLog,
+            TransactionOperations.withoutTransaction(), executor, new SimpleMeterRegistry(),
+            GameEngineService.MODE_IN_MEMORY, 100, 30);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> blocking = callers.submit(() -> impatient.execute(game.getId(), replay, g -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return g;
+            }));
+            started.await();
+
+            assertThatThrownBy(() -> impatient.execute(game.getId(), replay, g -> {
+                g.setCurrentPot(500);
+                return g;
+            }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cancelled and not applied");
+            assertThatThrownBy(blocking::get)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("outcome is unknown");
+
+            release.countDown();
+            assertThat(impatient.execute(game.getId(), replay, Game::getCurrentPot)).isZero();
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should snapshot and clear the action log at a hand boundary")
+    void shouldSnapshotAtHandBoundary() {
+        UUID playerId = UUID.randomUUID();
+        engine.execute(game.getId(), replay, g -> {
+            engine.appendAction(g, new GameActionLog.Entry(g.getHandNumber(), playerId, PlayerAction.CALL, 20));
+            g.setHandNumber(g.getHandNumber() + 1);
+            return g;
+        });
+        // the snapshot is queued ahead of any later command on the same table
+        engine.execute(game.getId(), replay, g -> g);
+
+        verify(gameRepository, times(1)).save(game);
+        assertThat(actionLog.read(game.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should replay logged actions onto the last snapshot after a restart")
+    void shouldReplayAfterRestart() {
+        GameActionLog.Entry call = new GameActionLog.Entry(1, UUID.randomUUID(), PlayerAction.CALL, 20);
+        GameActionLog.Entry skip = GameActionLog.Entry.skip(1, UUID.randomUUID());
+        engine.execute(game.getId(), replay, g -> {
+            engine.appendAction(g, call);
+            engine.appendAction(g, skip);
+            return g;
+        });
+        assertThat(replayed).isEmpty();
+
+        GameEngineService restarted = newEngine(GameEngineService.MODE_IN_MEMORY);
+        restarted.execute(game.getId(), replay, g -> g);
+
+        assertThat(replayed).containsExactly(call, skip);
+        verify(gameRepository, times(2)).findById(game.getId());
+    }
+
+    @Test
+    @DisplayName("should rethrow command failures to the caller")
+    void shouldPropagateCommandFailures() {
+        assertThatThrownBy(() -> engine.execute(game.getId(), replay, g -> {
+            throw new IllegalArgumentException("Not your turn");
+        }))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Not your turn");
+
+        Game stillServed = engine.execute(game.getId(), replay, g -> g);
+        assertThat(stillServed).isSameAs(game);
+    }
+
+    @Test
+    @DisplayName("should not keep a table for an unknown game")
+    void shouldDropTableForUnknownGame() {
+        UUID unknown = UUID.randomUUID();
+        when(gameRepository.findById(unknown)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> engine.execute(unknown, replay, g -> g))
+            .isInstanceOf(NoSuchElementException.class);
+        assertThat(engine.tableCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should retry a failed snapshot when flushing on shutdown")
+    void shouldFlushOnShutdown() {
+        when(gameRepository.save(any(Game.class)))
+            .thenThrow(new IllegalStateException("database unavailable"))
+            .thenThrow(new IllegalStateException("database unavailable"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        engine.register(game);
+
+        engine.execute(game.getId(), replay, g -> {
+            engine.appendAction(g, new GameActionLog.Entry(g.getHandNumber(), UUID.randomUUID(), PlayerAction.FOLD, 0));
+            g.setFinished(true);
+            return g;
+        });
+        // the retry behind this command fails too
+        engine.execute(game.getId(), replay, g -> g);
+        assertThat(actionLog.read(game.getId())).hasSize(1);
+
+        engine.flush();
+
+        verify(gameRepository, times(3)).save(game);
+        verify(gameRepository, never()).findById(game.getId());
+        assertThat(actionLog.read(game.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,194 @@
+package com.truholdem.service;
+
+import com.truholdem.domain.aggregate.PokerGame;
+import com.truholdem.domain.event.DomainEvent;
+import com.truholdem.domain.event.GameStarted;
+import com.truholdem.domain.event.PlayerActed;
+import com.truholdem.domain.value.Chips;
+import com.truholdem.model.GameJournalEntry;
+import com.truholdem.model.GameSnapshot;
+import com.truholdem.model.PlayerAction;
+import com.truholdem.model.PlayerInfo;
+import com.truholdem.repository.GameJournalRepository;
+import com.truholdem.repository.GameSnapshotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameJournalService Tests")
+class GameJournalServiceTest {
+
+    @Mock
+    private GameJournalRepository journalRepository;
+
+    @Mock
+    private GameSnapshotRepository snapshotRepository;
+
+    private GameJournalService journalService;
+
+    private final List<GameJournalEntry> journal = new ArrayList<>();
+    private final Map<UUID, GameSnapshot> snapshots = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        journalService = new GameJournalService(journalRepository, snapshotRepository, new SimpleMeterRegistry(), 4);
+
+        lenient().when(journalRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<GameJournalEntry> entries = invocation.getArgument(0);
+            journal.addAll(entries);
+            return entries;
+        });
+        lenient().when(journalRepository.findByGameIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(any(), anyLong()))
+            .thenAnswer(invocation -> journal.stream()
+                .filter(entry -> entry.getGameId().equals(invocation.getArgument(0)))
+                .filter(entry -> entry.getSequenceNumber() > invocation.<Long>getArgument(1))
+                .toList());
+        lenient().when(journalRepository.findByGameIdOrderBySequenceNumberAsc(any()))
+            .thenAnswer(invocation -> journal.stream()
+                .filter(entry -> entry.getGameId().equals(invocation.getArgument(0)))
+                .toList());
+        lenient().when(snapshotRepository.save(any(GameSnapshot.class))).thenAnswer(invocation -> {
+            GameSnapshot snapshot = invocation.getArgument(0);
+            snapshots.put(snapshot.getGameId(), snapshot);
+            return snapshot;
+        });
+        lenient().when(snapshotRepository.findById(any()))
+            .thenAnswer(invocation -> Optional.ofNullable(snapshots.get(invocation.<UUID>getArgument(0))));
+    }
+
+    private PokerGame createGame() {
+        PokerGame game = PokerGame.create(List.of(
+            new PlayerInfo("Alice", 1000, false),
+            new PlayerInfo("Bob", 1000, false),
+            new PlayerInfo("Carol", 1000, true)), Chips.of(10), Chips.of(20));
+        journalService.append(game);
+        game.clearDomainEvents();
+        return game;
+    }
+
+    private void act(PokerGame game, PlayerAction action, Chips amount) {
+        game.executeAction(game.getCurrentPlayer().getId(), action, amount);
+        journalService.append(game);
+        game.clearDomainEvents();
+    }
+
+    @Test
+    @DisplayName("should number events consecutively and track the position on the aggregate")
+    void shouldAppendConsecutiveSequenceNumbers() {
+        PokerGame game = createGame();
+        game.startNewHand();
+        long position = journalService.append(game);
+
+        assertThat(journal).extracting(GameJournalEntry::getSequenceNumber)
+            .containsExactly(1L, 2L, 3L, 4L);
+        assertThat(position).isEqualTo(4L);
+        assertThat(game.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("should snapshot at creation and then every interval events")
+    void shouldSnapshotAtCreationAndInterval() {
+        PokerGame game = createGame();
+        assertThat(snapshots.get(game.getId()).getSequenceNumber()).isEqualTo(1L);
+
+        game.startNewHand();
+        journalService.append(game);
+        game.clearDomainEvents();
+
+        assertThat(snapshots.get(game.getId()).getSequenceNumber()).isEqualTo(4L);
+        verify(snapshotRepository, times(2)).save(any(GameSnapshot.class));
+    }
+
+    @Test
+    @DisplayName("should rebuild the same game from snapshot plus journal tail")
+    void shouldRehydrateFromSnapshotAndTail() {
+        PokerGame game = createGame();
+        game.startNewHand();
+        journalService.append(game);
+        game.clearDomainEvents();
+        act(game, PlayerAction.RAISE, Chips.of(40));
+        act(game, PlayerAction.CALL, null);
+
+        PokerGame rehydrated = journalService.rehydrate(game.getId()).orElseThrow();
+
+        assertThat(rehydrated.getVersion()).isEqualTo(game.getVersion());
+        assertThat(rehydrated.getPotSize()).isEqualTo(game.getPotSize());
+        assertThat(rehydrated.getCurrentPlayer().getId()).isEqualTo(game.getCurrentPlayer().getId());
+        assertThat(rehydrated.getCommunityCards()).isEqualTo(game.getCommunityCards());
+        for (int i = 0; i < game.getPlayers().size(); i++) {
+            assertThat(rehydrated.getPlayers().get(i).getHand()).isEqualTo(game.getPlayers().get(i).getHand());
+            assertThat(rehydrated.getPlayers().get(i).getChips()).isEqualTo(game.getPlayers().get(i).getChips());
+        }
+        assertThat(rehydrated.getDomainEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should decode the journal back into the original events")
+    void shouldReadJournal() {
+        PokerGame game = createGame();
+        game.startNewHand(99L);
+        List<DomainEvent> raised = game.getDomainEvents();
+        journalService.append(game);
+
+        List<GameJournalService.JournaledEvent> events = journalService.readJournal(game.getId());
+
+        assertThat(events).extracting(e -> e.event().getClass().getSimpleName())
+            .containsExactly("GameCreated", "PlayerActed", "PlayerActed", "GameStarted");
+        assertThat(((GameStarted) events.get(3).event()).getHandNumber()).isEqualTo(1);
+        PlayerActed bigBlind = (PlayerActed) events.get(2).event();
+        assertThat(bigBlind.getAction()).isEqualTo(PlayerActed.ActionType.POST_BIG_BLIND);
+        assertThat(bigBlind.getAmount()).isEqualTo(((PlayerActed) raised.get(1)).getAmount());
+        assertThat(events.get(3).occurredAt()).isEqualTo(raised.get(2).getOccurredAt());
+    }
+
+    @Test
+    @DisplayName("should journal the dealt cards of a hand start, not a seed on the event")
+    void shouldJournalDealtDeck() {
+        PokerGame game = createGame();
+        game.startNewHand(99L);
+        journalService.append(game);
+
+        GameJournalEntry started = journal.stream()
+            .filter(entry -> entry.getEventType() == GameJournalCodec.GAME_STARTED)
+            .findFirst()
+            .orElseThrow();
+        assertThat(GameJournalCodec.decodeDealtDeck(started.getPayload())).isEqualTo(game.getDealtDeck());
+    }
+
+    @Test
+    @DisplayName("should refuse to journal a hand start once a later hand has been dealt")
+    void shouldRejectStaleHandStart() {
+        PokerGame game = createGame();
+        game.startNewHand();
+        game.executeAction(game.getCurrentPlayer().getId(), PlayerAction.FOLD, null);
+        game.executeAction(game.getCurrentPlayer().getId(), PlayerAction.FOLD, null);
+        game.startNewHand();
+
+        assertThatThrownBy(() -> journalService.append(game))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("was not journaled");
+    }
+
+    @Test
+    @DisplayName("should not find a game that was never journaled")
+    void shouldReturnEmptyWithoutSnapshot() {
+        assertThat(journalService.rehydrate(UUID.randomUUID())).isEmpty();
+    }
+}
@@ -0,0 +1,166 @@
+package com.truholdem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.truholdem.dto.GameDeltaMessage;
+import com.truholdem.dto.GameDeltaMessage.Kind;
+import com.truholdem.dto.GameDeltaMessage.PlayerDelta;
+import com.truholdem.dto.PlayerActionMessageDto;
+import com.truholdem.dto.WebSocketGameUpdateMessage;
+import com.truholdem.model.Card;
+import com.truholdem.model.Game;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.GameUpdateType;
+import com.truholdem.model.Player;
+import com.truholdem.model.Suit;
+import com.truholdem.model.Value;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("GameStateDeltaService Tests")
+class GameStateDeltaServiceTest {
+
+    private final GameStateDeltaService deltaService = new GameStateDeltaService(GameStateDeltaService.Mode.DELTA);
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setPhase(GamePhase.PRE_FLOP);
+        game.setHandNumber(1);
+        List<Card> deck = new ArrayList<>();
+        for (Suit suit : Suit.values()) {
+            for (Value value : Value.values()) {
+                deck.add(new Card(suit, value));
+            }
+        }
+        game.setDeck(deck);
+        for (int seat = 0; seat < 6; seat++) {
+            Player player = new Player("Player" + seat, 1000, seat > 0);
+            player.setId(UUID.randomUUID());
+            player.setSeatPosition(seat);
+            player.setHand(List.of(deck.remove(0), deck.remove(0)));
+            game.addPlayer(player);
+        }
+    }
+
+    private GameDeltaMessage act(Player player, int amount) {
+        player.setChips(player.getChips() - amount);
+        player.setBetAmount(player.getBetAmount() + amount);
+        game.setCurrentPot(game.getCurrentPot() + amount);
+        game.setCurrentPlayerIndex((game.getCurrentPlayerIndex() + 1) % game.getPlayers().size());
+        return deltaService.encode(game, GameUpdateType.PLAYER_ACTION, null, player.getName() + " performed CALL");
+    }
+
+    @Test
+    @DisplayName("should send a snapshot first and then only changed fields")
+    void shouldSendOnlyChangedFields() {
+        GameDeltaMessage first = deltaService.encode(game, GameUpdateType.GAME_STATE, null, "Game state updated");
+        Player caller = game.getPlayers().get(0);
+
+        GameDeltaMessage delta = act(caller, 20);
+
+        assertThat(first.kind()).isEqualTo(Kind.SNAPSHOT);
+        assertThat(first.sequence()).isEqualTo(1);
+        assertThat(first.game()).isSameAs(game);
+        assertThat(delta.kind()).isEqualTo(Kind.DELTA);
+        assertThat(delta.sequence()).isEqualTo(2);
+        assertThat(delta.game()).isNull();
+        assertThat(delta.currentPot()).isEqualTo(20);
+        assertThat(delta.currentPlayerIndex()).isEqualTo(1);
+        assertThat(delta.phase()).isNull();
+        assertThat(delta.currentBet()).isNull();
+        assertThat(delta.communityCards()).isNull();
+        assertThat(delta.players()).containsExactly(new PlayerDelta(caller.getId(), 980, 20, null, null, null));
+    }
+
+    @Test
+    @DisplayName("should send the board and phase when cards are dealt")
+    void shouldSendBoardChanges() {
+        deltaService.encode(game, GameUpdateType.GAME_STATE, null, "Game state updated");
+        List<Card> flop = List.of(game.getDeck().remove(0), game.getDeck().remove(0), game.getDeck().remove(0));
+        flop.forEach(game::addCommunityCard);
+        game.setPhase(GamePhase.FLOP);
+
+        GameDeltaMessage delta = deltaService.encode(game, GameUpdateType.PHASE_CHANGE, null, "Phase changed to FLOP");
+
+        assertThat(delta.kind()).isEqualTo(Kind.DELTA);
+        assertThat(delta.phase()).isEqualTo(GamePhase.FLOP);
+        assertThat(delta.communityCards()).containsExactlyElementsOf(flop);
+        assertThat(delta.players()).isNull();
+    }
+
+    @Test
+    @DisplayName("should fall back to a snapshot on a new hand or a changed table")
+    void shouldSnapshotWhenTableChanges() {
+        deltaService.encode(game, GameUpdateType.GAME_STATE, null, "Game state updated");
+        game.setHandNumber(2);
+        GameDeltaMessage newHand = act(game.getPlayers().get(0), 10);
+
+        game.getPlayers().remove(5);
+        GameDeltaMessage playerLeft = act(game.getPlayers().get(1), 10);
+
+        GameDeltaMessage showdown = deltaService.encode(game, GameUpdateType.SHOWDOWN, null, "Player1 wins");
+
+        assertThat(newHand.kind()).isEqualTo(Kind.SNAPSHOT);
+        assertThat(playerLeft.kind()).isEqualTo(Kind.SNAPSHOT);
+        assertThat(showdown.kind()).isEqualTo(Kind.SNAPSHOT);
+        assertThat(showdown.sequence()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should number resync snapshots with the last broadcast sequence")
+    void shouldResyncAtCurrentSequence() {
+        assertThat(deltaService.snapshot(game, deltaService.currentSequence(game.getId())).sequence()).isZero();
+
+        deltaService.encode(game, GameUpdateType.GAME_STATE, null, "Game state updated");
+        act(game.getPlayers().get(0), 20);
+        GameDeltaMessage resync = deltaService.snapshot(game, deltaService.currentSequence(game.getId()));
+
+        assertThat(resync.kind()).isEqualTo(Kind.SNAPSHOT);
+        assertThat(resync.sequence()).isEqualTo(2);
+        assertThat(act(game.getPlayers().get(1), 20).sequence()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should restart numbering once a game has ended")
+    void shouldForgetEndedGames() {
+        deltaService.encode(game, GameUpdateType.GAME_STATE, null, "Game state updated");
+        deltaService.encode(game, GameUpdateType.GAME_ENDED, null, "Game ended. Winner: Player0");
+
+        assertThat(deltaService.snapshot(game, deltaService.currentSequence(game.getId())).sequence()).isZero();
+    }
+
+    @Test
+    @DisplayName("should shrink an action update by an order of magnitude")
+    void shouldShrinkActionUpdates() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        deltaService.encode(game, GameUpdateType.GAME_STATE, null, "Game state updated");
+        Player caller = game.getPlayers().get(0);
+
+        GameDeltaMessage delta = act(caller, 20);
+        PlayerActionMessageDto action = new PlayerActionMessageDto(
+            caller.getId(), caller.getName(), "CALL", 20, caller.getChips(), caller.getBetAmount());
+        WebSocketGameUpdateMessage full = new WebSocketGameUpdateMessage(
+            GameUpdateType.PLAYER_ACTION, game, action, caller.getName() + " performed CALL");
+        GameDeltaMessage withAction = new GameDeltaMessage(delta.kind(), delta.type(), delta.gameId(),
+            delta.sequence(), null, delta.phase(), delta.currentPot(), delta.currentBet(),
+            delta.currentPlayerIndex(), delta.minRaiseAmount(), delta.lastRaiseAmount(),
+            delta.communityCards(), delta.players(), action, delta.message());
+
+        int fullSize = objectMapper.writeValueAsBytes(full).length;
+        int deltaSize = objectMapper.writeValueAsBytes(withAction).length;
+
+        assertThat(deltaSize * 10).isLessThan(fullSize);
+    }
+}
@@ -0,0 +1,150 @@
+package com.truholdem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.truholdem.model.Card;
+import com.truholdem.model.Game;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.Player;
+import com.truholdem.model.Suit;
+import com.truholdem.model.User;
+import com.truholdem.model.Value;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@DisplayName("GameViewService Tests")
+class GameViewServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserService userService = mock(UserService.class);
+    private final GameViewService viewService = new GameViewService(objectMapper, userService, meterRegistry);
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setPhase(GamePhase.PRE_FLOP);
+        List<Card> deck = new ArrayList<>();
+        for (Suit suit : Suit.values()) {
+            for (Value value : Value.values()) {
+                deck.add(new Card(suit, value));
+            }
+        }
+        game.setDeck(deck);
+        for (int seat = 0; seat < 4; seat++) {
+            Player player = new Player("Player" + seat, 1000, seat >= 2);
+            player.setId(UUID.randomUUID());
+            player.setSeatPosition(seat);
+            player.setHand(List.of(deck.remove(0), deck.remove(0)));
+            game.addPlayer(player);
+        }
+        seatOwner(game.getPlayers().get(0), "alice");
+        seatOwner(game.getPlayers().get(1), "bob");
+    }
+
+    private void seatOwner(Player player, String username) {
+        User owner = new User(username, username + "@example.com", "hash");
+        owner.setId(UUID.randomUUID());
+        player.setUserId(owner.getId());
+        when(userService.findById(owner.getId())).thenReturn(Optional.of(owner));
+    }
+
+    private JsonNode json(Object view) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsString(view));
+    }
+
+    private double serializedViews() {
+        return meterRegistry.get("poker.views.serialized").counter().count();
+    }
+
+    @Test
+    @DisplayName("should hide the deck and other players' hole cards")
+    void shouldHideHiddenInformation() throws Exception {
+        GameViewService.Views views = viewService.publish(game);
+
+        JsonNode publicView = json(views.publicView());
+        JsonNode aliceView = json(views.viewFor("alice"));
+
+        assertThat(publicView.has("deck")).isFalse();
+        assertThat(publicView.has("activePlayers")).isFalse();
+        for (JsonNode player : publicView.get("players")) {
+            assertThat(player.get("hand").size()).isZero();
+        }
+        assertThat(aliceView.at("/players/0/hand").size()).isEqualTo(2);
+        assertThat(aliceView.at("/players/1/hand").size()).isZero();
+        assertThat(aliceView.at("/players/2/hand").size()).isZero();
+        assertThat(views.seatedUsers()).containsExactlyInAnyOrder("alice", "bob");
+    }
+
+    @Test
+    @DisplayName("should key private views by the owning account, not the seat's display name")
+    void shouldKeyPrivateViewsByOwner() throws Exception {
+        Player unowned = new Player("carol", 1000, false);
+        unowned.setId(UUID.randomUUID());
+        unowned.setSeatPosition(4);
+        unowned.setHand(List.of(new Card(Suit.HEARTS, Value.TWO), new Card(Suit.HEARTS, Value.THREE)));
+        game.addPlayer(unowned);
+
+        GameViewService.Views views = viewService.publish(game);
+
+        assertThat(views.viewFor("Player0")).isSameAs(views.publicView());
+        assertThat(views.viewFor("carol")).isSameAs(views.publicView());
+        assertThat(json(views.viewFor("bob")).at("/players/1/hand").size()).isEqualTo(2);
+        assertThat(views.seatedUsers()).doesNotContain("Player0", "Player1", "carol");
+    }
+
+    @Test
+    @DisplayName("should serialize each view of a version once")
+    void shouldSerializeViewsOnce() {
+        GameViewService.Views views = viewService.publish(game);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(views.viewFor("alice")).isSameAs(views.viewFor("alice"));
+            assertThat(views.viewFor("spectator")).isSameAs(views.publicView());
+            assertThat(viewService.current(game)).isSameAs(views);
+        }
+
+        assertThat(serializedViews()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("should project a new version after a broadcast without the game")
+    void shouldReprojectAfterInvalidate() throws Exception {
+        GameViewService.Views first = viewService.publish(game);
+        game.setCurrentPot(300);
+        viewService.invalidate(game.getId());
+
+        GameViewService.Views second = viewService.current(game);
+
+        assertThat(second.version()).isEqualTo(first.version() + 1);
+        assertThat(json(second.publicView()).get("currentPot").asInt()).isEqualTo(300);
+        assertThat(viewService.current(game)).isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("should reveal the hands still live at a contested showdown")
+    void shouldRevealShowdownHands() throws Exception {
+        game.getPlayers().get(1).setFolded(true);
+        game.setPhase(GamePhase.SHOWDOWN);
+
+        JsonNode publicView = json(viewService.publish(game).publicView());
+
+        assertThat(publicView.at("/players/0/hand").size()).isEqualTo(2);
+        assertThat(publicView.at("/players/1/hand").size()).isZero();
+        assertThat(publicView.at("/players/2/hand").size()).isEqualTo(2);
+    }
+}
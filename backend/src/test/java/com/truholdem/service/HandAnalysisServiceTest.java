@@ -15,8 +15,12 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
@@ -27,11 +31,16 @@ class HandAnalysisServiceTest {
 
     private HandAnalysisService handAnalysisService;
     private HandEvaluator handEvaluator;
+    private PreflopEquityTable preflopEquityTable;
+    private EquityResultCache equityResultCache;
 
     @BeforeEach
     void setUp() {
         handEvaluator = new HandEvaluator();
-        handAnalysisService = new HandAnalysisService(handEvaluator);
+        preflopEquityTable = PreflopEquityTable.loadDefault();
+        equityResultCache = new EquityResultCache(1000, Duration.ofMinutes(10));
+        handAnalysisService = new HandAnalysisService(handEvaluator, ForkJoinPool.commonPool(), preflopEquityTable,
+            equityResultCache);
     }
 
 
@@ -188,6 +197,272 @@ class HandAnalysisServiceTest {
                 .as("Flush draw should have more equity than no draw")
                 .isGreaterThan(withoutDraw.equity());
         }
+
+        @Test
+        @DisplayName("Seeded equity should not depend on the number of worker threads")
+        void seededEquityIsReproducibleAcrossThreadCounts() {
+            List<Card> hand = List.of(
+                new Card(Suit.SPADES, Value.QUEEN),
+                new Card(Suit.HEARTS, Value.QUEEN)
+            );
+            ExecutorService singleThread = Executors.newSingleThreadExecutor();
+            ExecutorService fourThreads = Executors.newFixedThreadPool(4);
+
+            try {
+                EquityResult sequential = new HandAnalysisService(handEvaluator, singleThread, preflopEquityTable, equityResultCache)
+                    .calculateEquity(hand, List.of(), HandRange.buttonOpen(), 1, 12345, 42L);
+                EquityResult parallel = new HandAnalysisService(handEvaluator, fourThreads, preflopEquityTable, equityResultCache)
+                    .calculateEquity(hand, List.of(), HandRange.buttonOpen(), 1, 12345, 42L);
+
+                assertThat(parallel.simulationCount()).isEqualTo(12345);
+                assertThat(parallel.winProbability()).isEqualTo(sequential.winProbability());
+                assertThat(parallel.tieProbability()).isEqualTo(sequential.tieProbability());
+                assertThat(parallel.handTypeBreakdown()).isEqualTo(sequential.handTypeBreakdown());
+            } finally {
+                singleThread.shutdownNow();
+                fourThreads.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Standard error target should stop lopsided spots early")
+        void standardErrorTargetAdaptsIterations() {
+            List<Card> aces = List.of(
+                new Card(Suit.SPADES, Value.ACE),
+                new Card(Suit.HEARTS, Value.ACE)
+            );
+            List<Card> jacks = List.of(
+                new Card(Suit.SPADES, Value.JACK),
+                new Card(Suit.HEARTS, Value.JACK)
+            );
+            SimulationBudget budget = SimulationBudget.standardError(0.005, 50000);
+
+            EquityResult lopsided = handAnalysisService.calculateEquity(
+                aces, List.of(), HandRange.fromNotation("72o"), 1, budget, 7L);
+            EquityResult close = handAnalysisService.calculateEquity(
+                jacks, List.of(), HandRange.fromNotation("AKs,AKo"), 1, budget, 7L);
+
+            assertThat(lopsided.standardError()).isLessThanOrEqualTo(0.005);
+            assertThat(close.standardError()).isLessThanOrEqualTo(0.005);
+            assertThat(lopsided.simulationCount())
+                .as("AA vs 72o should converge with far fewer samples than a coin flip")
+                .isLessThan(close.simulationCount());
+            assertThat(close.simulationCount()).isLessThan(50000);
+        }
+
+        @Test
+        @DisplayName("Time budget should cap sampling below the iteration limit")
+        void timeBudgetStopsSampling() {
+            List<Card> hand = List.of(
+                new Card(Suit.SPADES, Value.ACE),
+                new Card(Suit.HEARTS, Value.KING)
+            );
+
+            EquityResult result = handAnalysisService.calculateEquity(
+                hand, List.of(), HandRange.buttonOpen(), 1,
+                SimulationBudget.timeBudget(Duration.ofMillis(20), 5_000_000));
+
+            assertThat(result.simulationCount()).isPositive().isLessThan(5_000_000);
+            assertThat(result.standardError()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Time budget should also bound rounds sized for an unreachable standard error")
+        void timeBudgetBoundsStandardErrorRounds() {
+            List<Card> hand = List.of(
+                new Card(Suit.SPADES, Value.ACE),
+                new Card(Suit.HEARTS, Value.KING)
+            );
+            SimulationBudget budget = SimulationBudget.standardError(0.0001, 5_000_000)
+                .withTimeBudget(Duration.ofMillis(20));
+
+            long started = System.nanoTime();
+            EquityResult result = handAnalysisService.calculateEquity(
+                hand, List.of(), HandRange.buttonOpen(), 1, budget, 3L);
+            long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+            assertThat(result.simulationCount()).isPositive().isLessThan(5_000_000);
+            assertThat(elapsedMs).isLessThan(250);
+        }
+
+        @Test
+        @DisplayName("Equity should drop as more opponents are dealt in")
+        void multiwayEquityDropsWithOpponents() {
+            List<Card> aces = List.of(
+                new Card(Suit.SPADES, Value.ACE),
+                new Card(Suit.HEARTS, Value.ACE)
+            );
+            SimulationBudget budget = SimulationBudget.iterations(20000);
+
+            EquityResult headsUp = handAnalysisService.calculateEquity(
+                aces, List.of(), HandRange.anyTwoCards(), 1, budget, 11L);
+            EquityResult fourWay = handAnalysisService.calculateEquity(
+                aces, List.of(), HandRange.anyTwoCards(), 3, budget, 11L);
+
+            assertThat(headsUp.equity()).isBetween(0.83, 0.87);
+            assertThat(fourWay.equity())
+                .as("AA vs three random hands is about 64%")
+                .isBetween(0.61, 0.67);
+            assertThat(fourWay.simulationCount()).isEqualTo(20000);
+        }
+
+        @Test
+        @DisplayName("Suit-isomorphic spots should share one cached result")
+        void isomorphicSpotsShareCachedResult() {
+            List<Card> heartsHand = List.of(new Card(Suit.HEARTS, Value.ACE), new Card(Suit.HEARTS, Value.KING));
+            List<Card> heartsBoard = List.of(
+                new Card(Suit.HEARTS, Value.QUEEN),
+                new Card(Suit.HEARTS, Value.SEVEN),
+                new Card(Suit.CLUBS, Value.TWO)
+            );
+            List<Card> spadesHand = List.of(new Card(Suit.SPADES, Value.KING), new Card(Suit.SPADES, Value.ACE));
+            List<Card> spadesBoard = List.of(
+                new Card(Suit.DIAMONDS, Value.TWO),
+                new Card(Suit.SPADES, Value.SEVEN),
+                new Card(Suit.SPADES, Value.QUEEN)
+            );
+            SimulationBudget budget = SimulationBudget.iterations(2000);
+
+            EquityResult first = handAnalysisService.calculateEquity(
+                heartsHand, heartsBoard, HandRange.buttonOpen(), 2, budget);
+            EquityResult second = handAnalysisService.calculateEquity(
+                spadesHand, spadesBoard, HandRange.fromNotation("AA").union(HandRange.buttonOpen()), 2, budget);
+            EquityResult otherBudget = handAnalysisService.calculateEquity(
+                spadesHand, spadesBoard, HandRange.buttonOpen(), 2, SimulationBudget.iterations(3000));
+
+            assertThat(second).isSameAs(first);
+            assertThat(otherBudget).isNotSameAs(first);
+            assertThat(equityResultCache.hitCount()).isEqualTo(1);
+            assertThat(equityResultCache.missCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Partially weighted combos should be dealt in proportion to their weight")
+        void weightedRangeSamplesByWeight() {
+            List<Card> kings = List.of(
+                new Card(Suit.CLUBS, Value.KING),
+                new Card(Suit.DIAMONDS, Value.KING)
+            );
+            HandRange weighted = HandRange.fromNotation("AA,22:0.5");
+
+            EquityResult result = handAnalysisService.calculateEquity(
+                kings, List.of(), weighted, 1, SimulationBudget.iterations(20000), 7L);
+
+            assertThat(result.equity())
+                .as("six AA combos against three effective 22 combos")
+                .isCloseTo(preflopEquityTable.equity(kings, weighted), within(0.015))
+                .isLessThan(preflopEquityTable.equity(kings, HandRange.fromNotation("AA,22")) - 0.05);
+        }
+
+        @Test
+        @DisplayName("Each villain should be dealt from its own range")
+        void multiwayEquityUsesPerVillainRanges() {
+            List<Card> aces = List.of(
+                new Card(Suit.SPADES, Value.ACE),
+                new Card(Suit.HEARTS, Value.ACE)
+            );
+            List<Card> board = List.of(
+                new Card(Suit.CLUBS, Value.KING),
+                new Card(Suit.DIAMONDS, Value.QUEEN),
+                new Card(Suit.HEARTS, Value.TWO)
+            );
+
+            EquityResult result = handAnalysisService.calculateMultiwayEquity(
+                aces, board,
+                List.of(HandRange.fromNotation("KK"), HandRange.fromNotation("QQ")),
+                SimulationBudget.iterations(5000), 3L);
+
+            assertThat(result.equity())
+                .as("AA is behind two sets on a K-Q flop")
+                .isLessThan(0.15);
+        }
+
+        @Test
+        @DisplayName("Board-played multiway ties should split the pot evenly")
+        void multiwayTieSplitsPot() {
+            List<Card> hand = List.of(
+                new Card(Suit.SPADES, Value.TWO),
+                new Card(Suit.HEARTS, Value.THREE)
+            );
+            List<Card> royalBoard = List.of(
+                new Card(Suit.CLUBS, Value.ACE),
+                new Card(Suit.CLUBS, Value.KING),
+                new Card(Suit.CLUBS, Value.QUEEN),
+                new Card(Suit.CLUBS, Value.JACK),
+                new Card(Suit.CLUBS, Value.TEN)
+            );
+
+            EquityResult result = handAnalysisService.calculateEquity(
+                hand, royalBoard, HandRange.anyTwoCards(), 3, SimulationBudget.iterations(2000), 1L);
+
+            assertThat(result.tieProbability()).isEqualTo(1.0);
+            assertThat(result.equity()).isEqualTo(0.25);
+        }
+
+        @Test
+        @DisplayName("River equity should be enumerated exactly over the villain range")
+        void riverEquityIsExact() {
+            List<Card> hand = List.of(
+                new Card(Suit.SPADES, Value.ACE),
+                new Card(Suit.SPADES, Value.KING)
+            );
+            List<Card> river = List.of(
+                new Card(Suit.HEARTS, Value.ACE),
+                new Card(Suit.DIAMONDS, Value.SEVEN),
+                new Card(Suit.CLUBS, Value.TWO),
+                new Card(Suit.HEARTS, Value.NINE),
+                new Card(Suit.CLUBS, Value.FOUR)
+            );
+            HandRange range = HandRange.fromNotation("AA,KK,AQs,AQo");
+            CardSet deadCards = CardSet.of(hand, river);
+
+            EquityResult first = handAnalysisService.calculateEquity(hand, river, range, 1);
+            EquityResult second = handAnalysisService.calculateEquity(hand, river, range, 1);
+
+            assertThat(first.mode()).isEqualTo(EquityResult.CalculationMode.EXACT);
+            assertThat(first.simulationCount()).isEqualTo(range.generateHandMasks(deadCards).length);
+            assertThat(first.confidenceLow()).isEqualTo(first.equity());
+            assertThat(first.confidenceHigh()).isEqualTo(first.equity());
+            assertThat(second.equity()).isEqualTo(first.equity());
+        }
+
+        @Test
+        @DisplayName("Turn equity should enumerate every river card")
+        void turnEquityIsExact() {
+            List<Card> hand = List.of(
+                new Card(Suit.DIAMONDS, Value.KING),
+                new Card(Suit.DIAMONDS, Value.QUEEN)
+            );
+            List<Card> turn = List.of(
+                new Card(Suit.DIAMONDS, Value.SEVEN),
+                new Card(Suit.DIAMONDS, Value.TWO),
+                new Card(Suit.HEARTS, Value.THREE),
+                new Card(Suit.SPADES, Value.JACK)
+            );
+
+            EquityResult result = handAnalysisService.calculateEquity(
+                hand, turn, HandRange.fromNotation("JJ"), 1);
+
+            // 3 jack-set combos x 46 rivers, minus the 2 rivers each combo blocks
+            assertThat(result.mode()).isEqualTo(EquityResult.CalculationMode.EXACT);
+            assertThat(result.simulationCount()).isEqualTo(3 * 44);
+            assertThat(result.isExact()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Preflop equity should sample every requested iteration")
+        void preflopEquityUsesMonteCarlo() {
+            List<Card> hand = List.of(
+                new Card(Suit.SPADES, Value.ACE),
+                new Card(Suit.HEARTS, Value.KING)
+            );
+
+            EquityResult result = handAnalysisService.calculateEquity(
+                hand, List.of(), HandRange.premiumRange(), 1, 3000);
+
+            assertThat(result.mode()).isEqualTo(EquityResult.CalculationMode.MONTE_CARLO);
+            assertThat(result.simulationCount()).isEqualTo(3000);
+        }
     }
 
 
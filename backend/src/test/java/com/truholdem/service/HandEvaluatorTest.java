@@ -1177,6 +1177,123 @@ class HandEvaluatorTest {
     
     
 
+    @Nested
+    @DisplayName("Lookup Table Engine Equivalence Tests")
+    class LookupEngineEquivalenceTests {
+
+        private final Suit[] suits = Suit.values();
+        private final Value[] values = Value.values();
+
+        @Test
+        @DisplayName("Every non-flush rank combination matches the enumeration engine")
+        void everyRankCombinationMatchesEnumeration() {
+            int[] counts = new int[13];
+            int checked = checkRankCombinations(counts, 0, 7);
+
+            assertThat(checked).isEqualTo(49205);
+        }
+
+        @Test
+        @DisplayName("Every flush rank pattern matches the enumeration engine")
+        void everyFlushPatternMatchesEnumeration() {
+            int checked = 0;
+            for (int ranks = 0; ranks < (1 << 13); ranks++) {
+                int flushCards = Integer.bitCount(ranks);
+                if (flushCards < 5 || flushCards > 7) continue;
+
+                List<Card> all = new ArrayList<>();
+                for (int rank = 0; rank < 13; rank++) {
+                    if ((ranks & (1 << rank)) != 0) all.add(new Card(Suit.SPADES, values[rank]));
+                }
+                for (int i = 0; all.size() < 7; i++) {
+                    all.add(new Card(suits[i], values[i]));
+                }
+                assertEnginesAgree(all);
+                checked++;
+            }
+
+            assertThat(checked).isEqualTo(1287 + 1716 + 1716);
+        }
+
+        @Test
+        @DisplayName("Random deals match the enumeration engine")
+        void randomDealsMatchEnumeration() {
+            List<Card> deck = new ArrayList<>();
+            for (Suit suit : suits) {
+                for (Value value : values) {
+                    deck.add(new Card(suit, value));
+                }
+            }
+
+            java.util.Random random = new java.util.Random(42);
+            for (int i = 0; i < 20000; i++) {
+                Collections.shuffle(deck, random);
+                assertEnginesAgree(deck.subList(0, 7));
+            }
+        }
+
+        @Test
+        @DisplayName("Strength ordering matches HandRanking ordering")
+        void strengthOrderingMatchesRankingOrdering() {
+            List<Card> board = cards("Ah", "Kd", "7c", "7s", "2h");
+
+            int trips = handEvaluator.evaluateStrength(cards("7h", "Qc"), board);
+            int twoPairAces = handEvaluator.evaluateStrength(cards("Ac", "Qs"), board);
+            int twoPairKings = handEvaluator.evaluateStrength(cards("Kc", "Qs"), board);
+            int fullHouse = handEvaluator.evaluateStrength(cards("7h", "Ad"), board);
+
+            assertThat(fullHouse).isGreaterThan(trips);
+            assertThat(trips).isGreaterThan(twoPairAces);
+            assertThat(twoPairAces).isGreaterThan(twoPairKings);
+            assertThat(handEvaluator.describe(fullHouse).getDescription())
+                .isEqualTo("Full House (Sevens full of Aces)");
+        }
+
+        @Test
+        @DisplayName("Strength evaluation requires exactly 7 cards")
+        void strengthRequiresSevenCards() {
+            assertThatThrownBy(() -> handEvaluator.evaluateStrength(cards("Ah", "Kd"), cards("Qc", "Js", "Th")))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        private int checkRankCombinations(int[] counts, int rank, int remaining) {
+            if (rank == 13) {
+                if (remaining != 0) return 0;
+                List<Card> all = new ArrayList<>();
+                for (int r = 0; r < 13; r++) {
+                    for (int i = 0; i < counts[r]; i++) {
+                        all.add(new Card(suits[all.size() % 4], values[r]));
+                    }
+                }
+                assertEnginesAgree(all);
+                return 1;
+            }
+
+            int checked = 0;
+            for (int count = 0; count <= Math.min(4, remaining); count++) {
+                counts[rank] = count;
+                checked += checkRankCombinations(counts, rank + 1, remaining - count);
+            }
+            counts[rank] = 0;
+            return checked;
+        }
+
+        private void assertEnginesAgree(List<Card> all) {
+            List<Card> hole = all.subList(0, 2);
+            List<Card> board = all.subList(2, 7);
+
+            HandRanking expected = handEvaluator.evaluateByEnumeration(new ArrayList<>(hole), new ArrayList<>(board));
+            HandRanking actual = handEvaluator.evaluate(hole, board);
+
+            assertThat(actual).as("%s", all).isEqualTo(expected);
+            assertThat(handEvaluator.describe(handEvaluator.evaluateStrength(hole, board))).isEqualTo(expected);
+        }
+    }
+
+    
+    
+    
+
     @Nested
     @DisplayName("TestFixtures Integration Tests")
     class TestFixturesIntegrationTests {
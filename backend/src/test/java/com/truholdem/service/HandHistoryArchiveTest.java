@@ -0,0 +1,167 @@
+package com.truholdem.service;
+
+import com.truholdem.model.HandHistory;
+import com.truholdem.model.HandHistoryCodec;
+import com.truholdem.repository.HandHistoryBatchRepository;
+import com.truholdem.repository.HandHistoryBatchRepository.StoredHand;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HandHistoryArchive Tests")
+class HandHistoryArchiveTest {
+
+    @Mock
+    private HandHistoryBatchRepository batchRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<HandHistoryArchive> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(HandHistoryArchive::close);
+    }
+
+    private HandHistoryArchive archive(int segmentSizeMb) {
+        HandHistoryArchive archive = new HandHistoryArchive(batchRepository, meterRegistry,
+            tempDir.toString(), segmentSizeMb, 30, 2);
+        archive.open();
+        opened.add(archive);
+        return archive;
+    }
+
+    private StoredHand storedHand(int handNumber, int payloadPadding) {
+        HandHistory history = new HandHistory();
+        history.setGameId(UUID.randomUUID());
+        history.setHandNumber(handNumber);
+        history.setWinningHandDescription("x".repeat(payloadPadding));
+        return new StoredHand(UUID.randomUUID(), HandHistoryCodec.encode(history));
+    }
+
+    @Test
+    @DisplayName("should find appended hands by id")
+    void shouldFindAppendedHands() {
+        HandHistoryArchive archive = archive(1);
+        StoredHand first = storedHand(1, 0);
+        StoredHand second = storedHand(2, 0);
+
+        archive.append(List.of(first, second));
+
+        assertThat(archive.find(second.id())).get()
+            .satisfies(history -> {
+                assertThat(history.getId()).isEqualTo(second.id());
+                assertThat(history.getHandNumber()).isEqualTo(2);
+            });
+        assertThat(archive.find(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should seal full segments and keep them searchable")
+    void shouldRollSegments() {
+        HandHistoryArchive archive = archive(1);
+        List<StoredHand> hands = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            hands.add(storedHand(i, 60_000));
+        }
+
+        archive.append(hands);
+
+        assertThat(archive.segmentCount()).isGreaterThan(1);
+        for (StoredHand hand : hands) {
+            assertThat(archive.find(hand.id())).get()
+                .extracting(HandHistory::getHandNumber)
+                .isEqualTo(HandHistoryCodec.decode(hand.id(), hand.payload()).getHandNumber());
+        }
+        assertThat(meterRegistry.get("poker.history.archive.segments").gauge().value())
+            .isEqualTo(archive.segmentCount());
+    }
+
+    @Test
+    @DisplayName("should rebuild its index on reopen and cut off a torn record")
+    void shouldReopenAndTruncateTornRecord() throws Exception {
+        HandHistoryArchive archive = archive(1);
+        List<StoredHand> hands = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            hands.add(storedHand(i, 60_000));
+        }
+        archive.append(hands);
+        int segments = archive.segmentCount();
+        archive.close();
+
+        Path last = tempDir.resolve(String.format("hands-%06d.seg", segments));
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5}));
+        }
+        long tornSize = Files.size(last);
+
+        HandHistoryArchive reopened = archive(1);
+
+        assertThat(reopened.segmentCount()).isEqualTo(segments);
+        assertThat(Files.size(last)).isEqualTo(tornSize - 5);
+        for (StoredHand hand : hands) {
+            assertThat(reopened.find(hand.id())).isPresent();
+        }
+
+        StoredHand appended = storedHand(99, 0);
+        reopened.append(List.of(appended));
+        assertThat(reopened.find(appended.id())).get()
+            .extracting(HandHistory::getHandNumber).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("should move old hands out of the database in batches")
+    void shouldArchiveOldHands() {
+        StoredHand first = storedHand(1, 0);
+        StoredHand second = storedHand(2, 0);
+        StoredHand third = storedHand(3, 0);
+        when(batchRepository.findPlayedBefore(any(), eq(2)))
+            .thenReturn(List.of(first, second))
+            .thenReturn(List.of(third))
+            .thenReturn(List.of());
+        HandHistoryArchive archive = archive(1);
+
+        int archived = archive.archiveOldHands();
+
+        assertThat(archived).isEqualTo(3);
+        verify(batchRepository).deleteAll(List.of(first.id(), second.id()));
+        verify(batchRepository).deleteAll(List.of(third.id()));
+        assertThat(archive.find(third.id())).isPresent();
+        assertThat(meterRegistry.get("poker.history.archived").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("should skip hands it already holds")
+    void shouldSkipDuplicates() throws Exception {
+        HandHistoryArchive archive = archive(1);
+        StoredHand hand = storedHand(1, 0);
+        archive.append(List.of(hand));
+        long size = Files.size(tempDir.resolve("hands-000001.seg"));
+
+        archive.append(List.of(hand));
+
+        assertThat(Files.size(tempDir.resolve("hands-000001.seg"))).isEqualTo(size);
+    }
+}
@@ -45,6 +45,12 @@ class HandHistoryServiceTest {
     @Mock
     private HandHistoryRepository handHistoryRepository;
 
+    @Mock
+    private HandHistoryWriter handHistoryWriter;
+
+    @Mock
+    private HandHistoryArchive handHistoryArchive;
+
     @InjectMocks
     private HandHistoryService handHistoryService;
 
@@ -94,14 +100,10 @@ class HandHistoryServiceTest {
             handHistoryService.recordAction(
                     testGame.getId(), player1, PlayerAction.CALL, 20, GamePhase.PRE_FLOP);
 
-            
-            when(handHistoryRepository.save(any(HandHistory.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             handHistoryService.finishRecording(
                     testGame.getId(), "Alice", "Pair of Aces", 100);
 
-            verify(handHistoryRepository).save(handHistoryCaptor.capture());
+            verify(handHistoryWriter).submit(handHistoryCaptor.capture());
             HandHistory saved = handHistoryCaptor.getValue();
 
             assertThat(saved.getGameId()).isEqualTo(testGame.getId());
@@ -124,13 +126,10 @@ class HandHistoryServiceTest {
             handHistoryService.recordAction(
                     testGame.getId(), player1, PlayerAction.BET, 100, GamePhase.FLOP);
 
-            when(handHistoryRepository.save(any(HandHistory.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             handHistoryService.finishRecording(
                     testGame.getId(), "Alice", "Two Pair", 220);
 
-            verify(handHistoryRepository).save(handHistoryCaptor.capture());
+            verify(handHistoryWriter).submit(handHistoryCaptor.capture());
             HandHistory saved = handHistoryCaptor.getValue();
 
             assertThat(saved.getActions()).hasSize(3);
@@ -154,13 +153,10 @@ class HandHistoryServiceTest {
 
             handHistoryService.recordCommunityCards(testGame.getId(), communityCards);
 
-            when(handHistoryRepository.save(any(HandHistory.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             handHistoryService.finishRecording(
                     testGame.getId(), "Alice", "Straight", 500);
 
-            verify(handHistoryRepository).save(handHistoryCaptor.capture());
+            verify(handHistoryWriter).submit(handHistoryCaptor.capture());
             HandHistory saved = handHistoryCaptor.getValue();
 
             assertThat(saved.getBoard()).hasSize(5);
@@ -181,13 +177,10 @@ class HandHistoryServiceTest {
         void shouldFinishRecordingWithWinnerInfo() {
             handHistoryService.startRecording(testGame);
 
-            when(handHistoryRepository.save(any(HandHistory.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             handHistoryService.finishRecording(
                     testGame.getId(), "Alice", "Royal Flush", 10000);
 
-            verify(handHistoryRepository).save(handHistoryCaptor.capture());
+            verify(handHistoryWriter).submit(handHistoryCaptor.capture());
             HandHistory saved = handHistoryCaptor.getValue();
 
             assertThat(saved.getWinnerName()).isEqualTo("Alice");
@@ -216,6 +209,22 @@ class HandHistoryServiceTest {
             assertThat(result.get().getId()).isEqualTo(historyId);
         }
 
+        @Test
+        @DisplayName("Should fall back to the archive for hands no longer in the database")
+        void shouldGetArchivedHandHistory() {
+            UUID historyId = UUID.randomUUID();
+            HandHistory history = createTestHistory(historyId);
+
+            when(handHistoryRepository.findById(historyId))
+                    .thenReturn(Optional.empty());
+            when(handHistoryArchive.find(historyId))
+                    .thenReturn(Optional.of(history));
+
+            Optional<HandHistory> result = handHistoryService.getHandHistory(historyId);
+
+            assertThat(result).containsSame(history);
+        }
+
         @Test
         @DisplayName("Should get all hands for a game")
         void shouldGetGameHistory() {
@@ -0,0 +1,287 @@
+package com.truholdem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.truholdem.model.Card;
+import com.truholdem.model.Game;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.HandHistory;
+import com.truholdem.model.Player;
+import com.truholdem.model.PlayerAction;
+import com.truholdem.model.Suit;
+import com.truholdem.model.Value;
+import com.truholdem.repository.HandHistoryBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HandHistoryWriter Tests")
+class HandHistoryWriterTest {
+
+    @Mock
+    private HandHistoryBatchRepository batchRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<HandHistory> inserted = new CopyOnWriteArrayList<>();
+
+    private Path spillFile;
+    private Path deadLetterFile;
+    private HandHistoryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        spillFile = tempDir.resolve("spill.jsonl");
+        deadLetterFile = tempDir.resolve("dead-letter.jsonl");
+        lenient().doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+            .when(batchRepository).insertAll(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    private HandHistoryWriter writer(int queueCapacity) {
+        writer = new HandHistoryWriter(batchRepository, objectMapper, meterRegistry,
+            queueCapacity, 50, 10, 0, 0, spillFile.toString(), deadLetterFile.toString());
+        return writer;
+    }
+
+    private HandHistory finishedHand(int handNumber) {
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setHandNumber(handNumber);
+        game.setSmallBlind(10);
+        game.setBigBlind(20);
+
+        Player player = new Player("Alice", 1000, false);
+        player.setId(UUID.randomUUID());
+        player.addCardToHand(new Card(Suit.HEARTS, Value.ACE));
+        player.addCardToHand(new Card(Suit.SPADES, Value.KING));
+        game.addPlayer(player);
+
+        HandHistory history = new HandHistory(game);
+        history.recordAction(player, PlayerAction.RAISE, 60, GamePhase.PRE_FLOP);
+        history.recordCommunityCards(List.of(new Card(Suit.CLUBS, Value.TWO)));
+        history.recordResult("Alice", "High card", 100);
+        return history;
+    }
+
+    @Test
+    @DisplayName("should assign an id and write queued histories on flush")
+    void shouldWriteOnFlush() {
+        HandHistoryWriter writer = writer(10);
+        HandHistory history = finishedHand(1);
+
+        writer.submit(history);
+        assertThat(history.getId()).isNotNull();
+        assertThat(writer.queueDepth()).isEqualTo(1);
+
+        writer.flush();
+
+        assertThat(inserted).containsExactly(history);
+        assertThat(writer.queueDepth()).isZero();
+        assertThat(meterRegistry.get("poker.history.written").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should write in batches from the background thread")
+    void shouldWriteInBackground() {
+        HandHistoryWriter writer = writer(200);
+        writer.start();
+
+        for (int i = 0; i < 120; i++) {
+            writer.submit(finishedHand(i));
+        }
+
+        await(() -> inserted.size() == 120);
+        verify(batchRepository, atLeast(3)).insertAll(anyList());
+        verify(batchRepository, never()).insertAll(argThat(batch -> batch.size() > 50));
+        assertThat(inserted).extracting(HandHistory::getHandNumber).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("should spill a failed batch and replay it once the database recovers")
+    void shouldSpillFailedBatchAndRecover() throws Exception {
+        doThrow(new IllegalStateException("database down"))
+            .doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+            .when(batchRepository).insertAll(anyList());
+        HandHistoryWriter writer = writer(10);
+        HandHistory history = finishedHand(7);
+
+        writer.submit(history);
+        writer.flush();
+
+        assertThat(inserted).isEmpty();
+        assertThat(Files.readAllLines(spillFile)).hasSize(1);
+        assertThat(meterRegistry.get("poker.history.flush.failures").counter().count()).isEqualTo(1.0);
+
+        writer.start();
+        await(() -> !inserted.isEmpty());
+
+        HandHistory recovered = inserted.get(0);
+        assertThat(recovered.getId()).isEqualTo(history.getId());
+        assertThat(recovered.getActions()).isEqualTo(history.getActions());
+        assertThat(recovered.getBoard()).isEqualTo(history.getBoard());
+        await(() -> !Files.exists(spillFile));
+    }
+
+    @Test
+    @DisplayName("should spill on the caller thread when the queue stays full")
+    void shouldSpillWhenQueueIsFull() throws Exception {
+        HandHistoryWriter writer = writer(1);
+
+        writer.submit(finishedHand(1));
+        writer.submit(finishedHand(2));
+
+        assertThat(writer.queueDepth()).isEqualTo(1);
+        assertThat(Files.readAllLines(spillFile)).hasSize(1);
+        assertThat(meterRegistry.get("poker.history.spilled").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should recover a spill file left by a previous run and skip a torn last line")
+    void shouldRecoverSpillAfterRestart() throws Exception {
+        HandHistory history = finishedHand(3);
+        history.setId(UUID.randomUUID());
+        Files.writeString(spillFile, objectMapper.writeValueAsString(history) + "\n{\"id\":\"torn");
+
+        writer(10).start();
+
+        await(() -> !inserted.isEmpty());
+        assertThat(inserted).extracting(HandHistory::getId).containsExactly(history.getId());
+        await(() -> !Files.exists(spillFile));
+        assertThat(Files.readAllLines(deadLetterFile)).containsExactly("{\"id\":\"torn");
+    }
+
+    @Test
+    @DisplayName("should replay a large spill file in bounded batches")
+    void shouldReplaySpillInBatches() throws Exception {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            HandHistory history = finishedHand(i);
+            history.setId(UUID.randomUUID());
+            lines.append(objectMapper.writeValueAsString(history)).append('\n');
+        }
+        Files.writeString(spillFile, lines);
+
+        writer(10).start();
+
+        await(() -> !Files.exists(spillFile));
+        assertThat(inserted).hasSize(120);
+        verify(batchRepository, times(3)).insertAll(anyList());
+        verify(batchRepository, never()).insertAll(argThat(batch -> batch.size() > 50));
+    }
+
+    @Test
+    @DisplayName("should move a spilled history the database rejects to the dead-letter file")
+    void shouldDeadLetterRejectedHistory() throws Exception {
+        HandHistory good = finishedHand(1);
+        good.setId(UUID.randomUUID());
+        HandHistory bad = finishedHand(2);
+        bad.setId(UUID.randomUUID());
+        doAnswer(invocation -> {
+            List<HandHistory> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(history -> history.getId().equals(bad.getId()))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return inserted.addAll(batch);
+        }).when(batchRepository).insertAll(anyList());
+        Files.writeString(spillFile, objectMapper.writeValueAsString(good) + "\n"
+            + objectMapper.writeValueAsString(bad) + "\n");
+
+        writer(10).start();
+
+        await(() -> !Files.exists(spillFile));
+        assertThat(inserted).extracting(HandHistory::getId).containsExactly(good.getId());
+        assertThat(Files.readAllLines(deadLetterFile)).singleElement().asString().contains(bad.getId().toString());
+        assertThat(meterRegistry.get("poker.history.dead.lettered").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should keep the unwritten rest of the spill file while the database is unavailable")
+    void shouldKeepUnwrittenSpillDuringOutage() throws Exception {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            HandHistory history = finishedHand(i);
+            history.setId(UUID.randomUUID());
+            lines.append(objectMapper.writeValueAsString(history)).append('\n');
+        }
+        Files.writeString(spillFile, lines);
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+            .doThrow(new CannotGetJdbcConnectionException("database down"))
+            .when(batchRepository).insertAll(anyList());
+        writer = new HandHistoryWriter(batchRepository, objectMapper, meterRegistry,
+            10, 50, 10, 0, 60_000, spillFile.toString(), deadLetterFile.toString());
+
+        writer.start();
+
+        await(() -> lineCount(spillFile) == 10);
+        assertThat(inserted).hasSize(50);
+        verify(batchRepository, times(2)).insertAll(anyList());
+        assertThat(deadLetterFile).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should write whatever is still queued when stopped")
+    void shouldDrainOnStop() {
+        HandHistoryWriter writer = writer(10);
+        writer.start();
+        writer.submit(finishedHand(1));
+        writer.submit(finishedHand(2));
+
+        writer.stop();
+
+        assertThat(inserted).hasSize(2);
+        assertThat(writer.queueDepth()).isZero();
+    }
+
+    private static long lineCount(Path file) {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.count();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
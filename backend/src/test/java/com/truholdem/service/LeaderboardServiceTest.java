@@ -0,0 +1,159 @@
+package com.truholdem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.truholdem.model.PlayerStatistics;
+import com.truholdem.repository.PlayerStatisticsRepository;
+import com.truholdem.service.LeaderboardService.LeaderboardType;
+import com.truholdem.service.LeaderboardService.Ranking;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaderboardService Tests")
+class LeaderboardServiceTest {
+
+    @Mock
+    private PlayerStatisticsRepository statsRepository;
+
+    private LeaderboardService leaderboardService;
+
+    private List<PlayerStatistics> players;
+
+    @BeforeEach
+    void setUp() {
+        players = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            players.add(stats("Player" + i, i * 100, i));
+        }
+        lenient().when(statsRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> page(invocation.getArgument(0)));
+        lenient().when(statsRepository.findTopPlayersByWinRate(anyInt(), any(Pageable.class))).thenReturn(List.of());
+        lenient().when(statsRepository.findRecentlyActive(any(Pageable.class))).thenReturn(List.of());
+
+        leaderboardService = new LeaderboardService(statsRepository, 2);
+        leaderboardService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should load every board on rebuild")
+    void shouldLoadBoardsOnRebuild() {
+        List<PlayerStatistics> top = leaderboardService.getTop(LeaderboardType.WINNINGS);
+
+        assertThat(top).hasSize(10);
+        assertThat(top.get(0).getPlayerName()).isEqualTo("Player30");
+        assertThat(top.get(9).getPlayerName()).isEqualTo("Player21");
+        assertThat(leaderboardService.getTop(LeaderboardType.MOST_ACTIVE)).hasSize(20);
+        assertThat(leaderboardService.getRanking(LeaderboardType.WINNINGS).version()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should move a refreshed player up and publish a new version")
+    void shouldMoveRefreshedPlayer() {
+        long before = leaderboardService.getRanking(LeaderboardType.WINNINGS).version();
+        PlayerStatistics climber = stats("Player5", 10_000, 5);
+
+        leaderboardService.refresh(List.of(climber));
+
+        Ranking ranking = leaderboardService.getRanking(LeaderboardType.WINNINGS);
+        assertThat(ranking.entries().get(0)).isSameAs(climber);
+        assertThat(ranking.entries()).hasSize(10);
+        assertThat(ranking.version()).isGreaterThan(before);
+        assertThat(leaderboardService.version()).isGreaterThanOrEqualTo(ranking.version());
+    }
+
+    @Test
+    @DisplayName("Should keep the version when a refresh does not change what a board shows")
+    void shouldKeepVersionWhenBoardUnchanged() {
+        long before = leaderboardService.getRanking(LeaderboardType.WINNINGS).version();
+        leaderboardService.refresh(List.of(stats("Player1", 150, 1)));
+
+        assertThat(leaderboardService.getRanking(LeaderboardType.WINNINGS).version()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should reload a board from the database once it runs short")
+    void shouldReloadShortBoard() {
+        List<PlayerStatistics> fallen = new ArrayList<>();
+        for (int i = 11; i <= 30; i++) {
+            fallen.add(stats("Player" + i, 0, i));
+        }
+
+        leaderboardService.refresh(fallen);
+
+        // five boards loaded on rebuild, then at least the winnings board again
+        verify(statsRepository, atLeast(6)).findAll(any(Pageable.class));
+        assertThat(leaderboardService.getTop(LeaderboardType.WINNINGS)).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("Should only rank players with enough hands by win rate")
+    void shouldRequireMinimumHandsForWinRate() {
+        PlayerStatistics newcomer = stats("Newcomer", 0, 0);
+        newcomer.setHandsPlayed(LeaderboardService.MIN_HANDS_FOR_WIN_RATE - 1);
+        newcomer.setHandsWon(LeaderboardService.MIN_HANDS_FOR_WIN_RATE - 1);
+        PlayerStatistics regular = stats("Regular", 0, 0);
+        regular.setHandsPlayed(LeaderboardService.MIN_HANDS_FOR_WIN_RATE);
+        regular.setHandsWon(5);
+        leaderboardService.refresh(List.of(newcomer, regular));
+
+        assertThat(leaderboardService.getTop(LeaderboardType.WIN_RATE)).containsExactly(regular);
+    }
+
+    @Test
+    @DisplayName("Should leave every board alone for an empty refresh")
+    void shouldIgnoreEmptyRefresh() {
+        long before = leaderboardService.version();
+
+        leaderboardService.refresh(List.of());
+
+        assertThat(leaderboardService.version()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should give a rebuilt instance the same versions under a new epoch")
+    void shouldChangeEpochWithInstance() {
+        LeaderboardService restarted = new LeaderboardService(statsRepository, 2);
+        restarted.rebuild();
+
+        assertThat(restarted.version()).isEqualTo(leaderboardService.version());
+        assertThat(restarted.epoch()).isNotEqualTo(leaderboardService.epoch());
+    }
+
+
+
+    private Page<PlayerStatistics> page(Pageable pageable) {
+        List<PlayerStatistics> sorted = new ArrayList<>(players);
+        sorted.sort((a, b) -> b.getTotalWinnings().compareTo(a.getTotalWinnings()));
+        return new PageImpl<>(sorted.subList(0, Math.min(pageable.getPageSize(), sorted.size())));
+    }
+
+    private PlayerStatistics stats(String name, int winnings, int handsWon) {
+        PlayerStatistics stats = new PlayerStatistics();
+        stats.setId(UUID.randomUUID());
+        stats.setPlayerName(name);
+        stats.setTotalWinnings(BigDecimal.valueOf(winnings));
+        stats.setHandsWon(handsWon);
+        stats.setHandsPlayed(handsWon * 2);
+        stats.setLastHandPlayed(LocalDateTime.now());
+        return stats;
+    }
+}
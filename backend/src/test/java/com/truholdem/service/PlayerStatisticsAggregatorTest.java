@@ -0,0 +1,205 @@
+package com.truholdem.service;
+
+import com.truholdem.model.PlayerStatistics;
+import com.truholdem.model.PlayerStatisticsDelta;
+import com.truholdem.repository.PlayerStatisticsBatchRepository;
+import com.truholdem.repository.PlayerStatisticsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlayerStatisticsAggregator Tests")
+class PlayerStatisticsAggregatorTest {
+
+    @Mock
+    private PlayerStatisticsBatchRepository batchRepository;
+
+    @Mock
+    private PlayerStatisticsRepository statsRepository;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private AchievementService achievementService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<PlayerStatisticsDelta> applied = new CopyOnWriteArrayList<>();
+
+    private PlayerStatisticsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> applied.addAll(invocation.getArgument(0)))
+            .when(batchRepository).applyAll(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (aggregator != null) {
+            aggregator.stop();
+        }
+    }
+
+    private PlayerStatisticsAggregator aggregator(long flushIntervalMs, int flushEvents) {
+        aggregator = new PlayerStatisticsAggregator(batchRepository, statsRepository, leaderboardService, achievementService,
+            meterRegistry, 4, flushIntervalMs, flushEvents, 3);
+        return aggregator;
+    }
+
+    private int sum(String playerName, ToIntFunction<PlayerStatisticsDelta> field) {
+        return applied.stream()
+            .filter(delta -> delta.getPlayerName().equals(playerName))
+            .mapToInt(field)
+            .sum();
+    }
+
+    @Test
+    @DisplayName("should merge a player's events into one delta per flush")
+    void shouldMergePerPlayer() {
+        PlayerStatisticsAggregator aggregator = aggregator(60_000, 1000);
+        List<PlayerStatistics> written = List.of(new PlayerStatistics("Alice"), new PlayerStatistics("Bob"));
+        when(statsRepository.findByPlayerNameIn(argThat(names -> names.containsAll(List.of("Alice", "Bob")))))
+            .thenReturn(written);
+
+        aggregator.record("Alice", PlayerStatisticsDelta::recordFold);
+        aggregator.record("Alice", PlayerStatisticsDelta::recordCall);
+        aggregator.record("Bob", delta -> delta.recordWin(40));
+        assertThat(aggregator.pendingEvents()).isEqualTo(3);
+
+        assertThat(aggregator.flush()).isTrue();
+
+        assertThat(applied).hasSize(2);
+        assertThat(sum("Alice", PlayerStatisticsDelta::getTotalFolds)).isEqualTo(1);
+        assertThat(sum("Alice", PlayerStatisticsDelta::getTotalCalls)).isEqualTo(1);
+        assertThat(sum("Bob", PlayerStatisticsDelta::getHandsWon)).isEqualTo(1);
+        assertThat(aggregator.pendingEvents()).isZero();
+        verify(batchRepository, times(1)).applyAll(anyList());
+        verify(leaderboardService).refresh(written);
+        verify(achievementService).checkProgress(eq(written), argThat(deltas -> deltas.size() == 2));
+    }
+
+    @Test
+    @DisplayName("should keep a failed batch pending ahead of newer events")
+    void shouldRequeueFailedBatch() {
+        doThrow(new CannotGetJdbcConnectionException("database down"))
+            .doAnswer(invocation -> applied.addAll(invocation.getArgument(0)))
+            .when(batchRepository).applyAll(anyList());
+        PlayerStatisticsAggregator aggregator = aggregator(60_000, 1000);
+
+        aggregator.record("Alice", delta -> delta.recordWin(100));
+        aggregator.record("Alice", delta -> delta.recordWin(100));
+        assertThat(aggregator.flush()).isFalse();
+        aggregator.record("Alice", delta -> delta.recordLoss(50));
+        assertThat(aggregator.pendingEvents()).isEqualTo(3);
+
+        assertThat(aggregator.flush()).isTrue();
+
+        PlayerStatisticsDelta delta = applied.get(0);
+        assertThat(delta.getHandsWon()).isEqualTo(2);
+        assertThat(delta.getLeadingWins()).isEqualTo(2);
+        assertThat(delta.getTrailingLosses()).isEqualTo(1);
+        assertThat(delta.getTrailingWins()).isZero();
+        assertThat(meterRegistry.get("poker.stats.flush.failures").counter().count()).isEqualTo(1.0);
+        verify(leaderboardService, times(1)).refresh(anyList());
+        verify(achievementService, times(1)).checkProgress(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("should write the other players of a refused batch and keep the refused one pending")
+    void shouldSplitRefusedBatch() {
+        refuse("Bob");
+        PlayerStatisticsAggregator aggregator = aggregator(60_000, 1000);
+
+        aggregator.record("Alice", PlayerStatisticsDelta::recordFold);
+        aggregator.record("Bob", PlayerStatisticsDelta::recordCall);
+        assertThat(aggregator.flush()).isFalse();
+
+        assertThat(applied).extracting(PlayerStatisticsDelta::getPlayerName).containsExactly("Alice");
+        assertThat(aggregator.pendingEvents()).isEqualTo(1);
+        verify(leaderboardService).refresh(anyList());
+        verify(achievementService).checkProgress(anyList(), argThat(deltas -> deltas.size() == 1));
+    }
+
+    @Test
+    @DisplayName("should drop a delta the database refuses on every attempt")
+    void shouldDropRepeatedlyRefusedDelta() {
+        refuse("Bob");
+        PlayerStatisticsAggregator aggregator = aggregator(60_000, 1000);
+        aggregator.record("Bob", PlayerStatisticsDelta::recordCall);
+
+        assertThat(aggregator.flush()).isFalse();
+        assertThat(aggregator.flush()).isFalse();
+        assertThat(aggregator.flush()).isTrue();
+
+        assertThat(applied).isEmpty();
+        assertThat(aggregator.pendingEvents()).isZero();
+        assertThat(meterRegistry.get("poker.stats.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(aggregator.flush()).isTrue();
+        verify(batchRepository, times(6)).applyAll(anyList());
+    }
+
+    private void refuse(String playerName) {
+        doAnswer(invocation -> {
+            List<PlayerStatisticsDelta> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(delta -> delta.getPlayerName().equals(playerName))) {
+                throw new DataIntegrityViolationException("value out of range");
+            }
+            return applied.addAll(batch);
+        }).when(batchRepository).applyAll(anyList());
+    }
+
+    @Test
+    @DisplayName("should not lose counts recorded concurrently with background flushes")
+    void shouldNotLoseConcurrentCounts() throws Exception {
+        PlayerStatisticsAggregator aggregator = aggregator(5, 50);
+        aggregator.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 2500; i++) {
+                    aggregator.record("Player" + (i % 10), PlayerStatisticsDelta::recordCheck);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        aggregator.stop();
+
+        assertThat(applied.stream().mapToInt(PlayerStatisticsDelta::getTotalChecks).sum()).isEqualTo(10_000);
+        assertThat(aggregator.pendingEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("should write pending deltas when stopped")
+    void shouldDrainOnStop() {
+        PlayerStatisticsAggregator aggregator = aggregator(60_000, 1000);
+        aggregator.start();
+        aggregator.record("Alice", PlayerStatisticsDelta::startNewSession);
+
+        aggregator.stop();
+
+        assertThat(sum("Alice", PlayerStatisticsDelta::getTotalSessions)).isEqualTo(1);
+    }
+}
@@ -2,7 +2,7 @@ package com.truholdem.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,7 +26,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.truholdem.model.PlayerStatistics;
+import com.truholdem.model.PlayerStatisticsDelta;
 import com.truholdem.repository.PlayerStatisticsRepository;
+import com.truholdem.service.LeaderboardService.LeaderboardType;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PlayerStatisticsService Tests")
@@ -34,11 +37,17 @@ class PlayerStatisticsServiceTest {
     @Mock
     private PlayerStatisticsRepository statsRepository;
 
+    @Mock
+    private PlayerStatisticsAggregator statisticsAggregator;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private PlayerStatisticsService statsService;
 
     @Captor
-    private ArgumentCaptor<PlayerStatistics> statsCaptor;
+    private ArgumentCaptor<Consumer<PlayerStatisticsDelta>> deltaCaptor;
 
     private PlayerStatistics testStats;
     private final String TEST_PLAYER = "TestPlayer";
@@ -64,6 +73,15 @@ class PlayerStatisticsServiceTest {
         testStats.setShowdownsWon(15);
     }
 
+    private PlayerStatistics recordedStats() {
+        verify(statisticsAggregator).record(eq(TEST_PLAYER), deltaCaptor.capture());
+        verify(statsRepository, never()).save(any());
+        PlayerStatisticsDelta delta = new PlayerStatisticsDelta(TEST_PLAYER);
+        deltaCaptor.getValue().accept(delta);
+        delta.applyTo(testStats);
+        return testStats;
+    }
+
     @Nested
     @DisplayName("Get or Create Tests")
     class GetOrCreateTests {
@@ -115,43 +133,25 @@ class PlayerStatisticsServiceTest {
         @Test
         @DisplayName("Should record hand played")
         void shouldRecordHandPlayed() {
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordHandPlayed(TEST_PLAYER, true, false);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            assertThat(statsCaptor.getValue().getHandsPlayed()).isEqualTo(101);
+            assertThat(recordedStats().getHandsPlayed()).isEqualTo(101);
         }
 
         @Test
         @DisplayName("Should record FOLD action")
         void shouldRecordFoldAction() {
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordAction(TEST_PLAYER, "FOLD");
 
-            verify(statsRepository).save(statsCaptor.capture());
-            assertThat(statsCaptor.getValue().getTotalFolds()).isEqualTo(61);
+            assertThat(recordedStats().getTotalFolds()).isEqualTo(61);
         }
 
         @Test
         @DisplayName("Should record CALL action and update VPIP")
         void shouldRecordCallAction() {
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordAction(TEST_PLAYER, "CALL");
 
-            verify(statsRepository).save(statsCaptor.capture());
-            PlayerStatistics saved = statsCaptor.getValue();
+            PlayerStatistics saved = recordedStats();
             assertThat(saved.getTotalCalls()).isEqualTo(81);
             assertThat(saved.getHandsVoluntarilyPutInPot()).isEqualTo(40);
         }
@@ -159,15 +159,9 @@ class PlayerStatisticsServiceTest {
         @Test
         @DisplayName("Should record RAISE action and update PFR")
         void shouldRecordRaiseAction() {
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordAction(TEST_PLAYER, "RAISE");
 
-            verify(statsRepository).save(statsCaptor.capture());
-            PlayerStatistics saved = statsCaptor.getValue();
+            PlayerStatistics saved = recordedStats();
             assertThat(saved.getTotalRaises()).isEqualTo(31);
             assertThat(saved.getHandsVoluntarilyPutInPot()).isEqualTo(40);
             assertThat(saved.getHandsRaisedPreFlop()).isEqualTo(20);
@@ -176,29 +170,17 @@ class PlayerStatisticsServiceTest {
         @Test
         @DisplayName("Should record BET action")
         void shouldRecordBetAction() {
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordAction(TEST_PLAYER, "BET");
 
-            verify(statsRepository).save(statsCaptor.capture());
-            assertThat(statsCaptor.getValue().getTotalBets()).isEqualTo(51);
+            assertThat(recordedStats().getTotalBets()).isEqualTo(51);
         }
 
         @Test
         @DisplayName("Should record CHECK action")
         void shouldRecordCheckAction() {
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordAction(TEST_PLAYER, "CHECK");
 
-            verify(statsRepository).save(statsCaptor.capture());
-            assertThat(statsCaptor.getValue().getTotalChecks()).isEqualTo(1);
+            assertThat(recordedStats().getTotalChecks()).isEqualTo(1);
         }
     }
 
@@ -213,15 +195,9 @@ class PlayerStatisticsServiceTest {
             testStats.setLongestWinStreak(3);
             testStats.setCurrentLoseStreak(0);
 
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordWin(TEST_PLAYER, 500);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            PlayerStatistics saved = statsCaptor.getValue();
+            PlayerStatistics saved = recordedStats();
 
             assertThat(saved.getHandsWon()).isEqualTo(26);
             assertThat(saved.getTotalWinnings()).isEqualByComparingTo(new BigDecimal("5500"));
@@ -235,15 +211,9 @@ class PlayerStatisticsServiceTest {
             testStats.setCurrentWinStreak(3);
             testStats.setLongestWinStreak(3);
 
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordWin(TEST_PLAYER, 100);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            assertThat(statsCaptor.getValue().getLongestWinStreak()).isEqualTo(4);
+            assertThat(recordedStats().getLongestWinStreak()).isEqualTo(4);
         }
 
         @Test
@@ -252,15 +222,9 @@ class PlayerStatisticsServiceTest {
             testStats.setCurrentWinStreak(5);
             testStats.setCurrentLoseStreak(0);
 
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordLoss(TEST_PLAYER, 200);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            PlayerStatistics saved = statsCaptor.getValue();
+            PlayerStatistics saved = recordedStats();
 
             assertThat(saved.getTotalLosses()).isEqualByComparingTo(new BigDecimal("3200"));
             assertThat(saved.getCurrentWinStreak()).isZero();
@@ -270,15 +234,9 @@ class PlayerStatisticsServiceTest {
         @Test
         @DisplayName("Should record showdown won")
         void shouldRecordShowdownWon() {
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordShowdown(TEST_PLAYER, true);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            PlayerStatistics saved = statsCaptor.getValue();
+            PlayerStatistics saved = recordedStats();
 
             assertThat(saved.getHandsWentToShowdown()).isEqualTo(31);
             assertThat(saved.getShowdownsWon()).isEqualTo(16);
@@ -287,15 +245,9 @@ class PlayerStatisticsServiceTest {
         @Test
         @DisplayName("Should record showdown lost")
         void shouldRecordShowdownLost() {
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordShowdown(TEST_PLAYER, false);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            PlayerStatistics saved = statsCaptor.getValue();
+            PlayerStatistics saved = recordedStats();
 
             assertThat(saved.getHandsWentToShowdown()).isEqualTo(31);
             assertThat(saved.getShowdownsWon()).isEqualTo(15); 
@@ -306,15 +258,9 @@ class PlayerStatisticsServiceTest {
         void shouldRecordAllIn() {
             testStats.setTimesAllIn(10);
 
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordAllIn(TEST_PLAYER);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            assertThat(statsCaptor.getValue().getTimesAllIn()).isEqualTo(11);
+            assertThat(recordedStats().getTimesAllIn()).isEqualTo(11);
         }
 
         @Test
@@ -323,15 +269,9 @@ class PlayerStatisticsServiceTest {
             testStats.setTimesAllIn(10);
             testStats.setAllInsWon(5);
 
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordAllInResult(TEST_PLAYER, true);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            assertThat(statsCaptor.getValue().getAllInsWon()).isEqualTo(6);
+            assertThat(recordedStats().getAllInsWon()).isEqualTo(6);
         }
 
         @Test
@@ -339,15 +279,9 @@ class PlayerStatisticsServiceTest {
         void shouldUpdateBiggestPotWon() {
             testStats.setBiggestPotWon(1000);
 
-            when(statsRepository.findByPlayerName(TEST_PLAYER))
-                    .thenReturn(Optional.of(testStats));
-            when(statsRepository.save(any(PlayerStatistics.class)))
-                    .thenAnswer(inv -> inv.getArgument(0));
-
             statsService.recordWin(TEST_PLAYER, 2000);
 
-            verify(statsRepository).save(statsCaptor.capture());
-            assertThat(statsCaptor.getValue().getBiggestPotWon()).isEqualTo(2000);
+            assertThat(recordedStats().getBiggestPotWon()).isEqualTo(2000);
         }
     }
 
@@ -359,7 +293,7 @@ class PlayerStatisticsServiceTest {
         @DisplayName("Should get top players by winnings")
         void shouldGetTopByWinnings() {
             List<PlayerStatistics> topPlayers = Arrays.asList(testStats);
-            when(statsRepository.findTop10ByOrderByTotalWinningsDesc())
+            when(leaderboardService.getTop(LeaderboardType.WINNINGS))
                     .thenReturn(topPlayers);
 
             List<PlayerStatistics> result = statsService.getTopByWinnings();
@@ -372,7 +306,7 @@ class PlayerStatisticsServiceTest {
         @DisplayName("Should get top players by hands won")
         void shouldGetTopByHandsWon() {
             List<PlayerStatistics> topPlayers = Arrays.asList(testStats);
-            when(statsRepository.findTop10ByOrderByHandsWonDesc())
+            when(leaderboardService.getTop(LeaderboardType.HANDS_WON))
                     .thenReturn(topPlayers);
 
             List<PlayerStatistics> result = statsService.getTopByHandsWon();
@@ -384,7 +318,7 @@ class PlayerStatisticsServiceTest {
         @DisplayName("Should get top players by win rate")
         void shouldGetTopByWinRate() {
             List<PlayerStatistics> topPlayers = Arrays.asList(testStats);
-            when(statsRepository.findTopPlayersByWinRate(anyInt()))
+            when(leaderboardService.getTop(LeaderboardType.WIN_RATE))
                     .thenReturn(topPlayers);
 
             List<PlayerStatistics> result = statsService.getTopByWinRate();
@@ -395,17 +329,17 @@ class PlayerStatisticsServiceTest {
         @Test
         @DisplayName("Should get comprehensive leaderboard")
         void shouldGetComprehensiveLeaderboard() {
-            when(statsRepository.findTop10ByOrderByTotalWinningsDesc())
+            when(leaderboardService.getTop(LeaderboardType.WINNINGS))
                     .thenReturn(Arrays.asList(testStats));
-            when(statsRepository.findTop10ByOrderByHandsWonDesc())
+            when(leaderboardService.getTop(LeaderboardType.HANDS_WON))
                     .thenReturn(Arrays.asList(testStats));
-            when(statsRepository.findTopPlayersByWinRate(anyInt()))
+            when(leaderboardService.getTop(LeaderboardType.WIN_RATE))
                     .thenReturn(Arrays.asList(testStats));
-            when(statsRepository.findTop10ByOrderByBiggestPotWonDesc())
+            when(leaderboardService.getTop(LeaderboardType.BIGGEST_POT))
                     .thenReturn(Arrays.asList(testStats));
-            when(statsRepository.findTop10ByOrderByLongestWinStreakDesc())
+            when(leaderboardService.getTop(LeaderboardType.WIN_STREAK))
                     .thenReturn(Arrays.asList(testStats));
-            when(statsRepository.findTop20ByOrderByHandsPlayedDesc())
+            when(leaderboardService.getTop(LeaderboardType.MOST_ACTIVE))
                     .thenReturn(Arrays.asList(testStats));
 
             PlayerStatisticsService.LeaderboardData result = statsService.getLeaderboard();
@@ -9,6 +9,10 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,7 +24,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.truholdem.dto.PlayerActionMessageDto;
 import com.truholdem.dto.ShowdownResult;
 import com.truholdem.model.Card;
 import com.truholdem.model.Deck;
@@ -61,6 +67,9 @@ class PokerGameServiceTest {
     @Mock
     private GameMetricsService metricsService;
 
+    @Mock
+    private GameEngineService gameEngine;
+
     private PokerGameService pokerGameService;
 
     @BeforeEach
@@ -81,7 +90,9 @@ class PokerGameServiceTest {
                 playerStatisticsService,
                 notificationService,
                 botAIService,
-                metricsService);
+                metricsService,
+                gameEngine,
+                TransactionOperations.withoutTransaction());
     }
 
     
@@ -1307,6 +1318,89 @@ class PokerGameServiceTest {
                 assertEquals(80, game.getMinRaiseAmount());
             }
         }
+
+        @Nested
+        @DisplayName("2.9 Action Broadcasts")
+        class ActionBroadcastTests {
+
+            @Test
+            @DisplayName("Should broadcast one update carrying the state after the action")
+            void shouldBroadcastStateAfterAction() {
+                Game game = createGameInBettingState();
+                Player caller = game.getPlayers().get(0);
+                AtomicInteger indexAtBroadcast = new AtomicInteger(-1);
+                doAnswer(invocation -> {
+                    indexAtBroadcast.set(invocation.<Game>getArgument(0).getCurrentPlayerIndex());
+                    return null;
+                }).when(notificationService).broadcastPlayerAction(any(Game.class), any(PlayerActionMessageDto.class));
+
+                when(gameRepository.findById(game.getId())).thenReturn(Optional.of(game));
+                setupRepositorySaveToReturnArgument();
+
+                pokerGameService.playerAct(game.getId(), caller.getId(), PlayerAction.CALL, 0);
+
+                verify(notificationService, times(1)).broadcastPlayerAction(eq(game), argThat(
+                        (PlayerActionMessageDto action) -> action.playerId().equals(caller.getId())
+                                && action.amount() == 20 && action.totalBet() == 20));
+                verify(notificationService, never()).broadcastPlayerAction(any(), any(Player.class), any(), anyInt());
+                assertEquals(1, indexAtBroadcast.get());
+            }
+
+            @Test
+            @DisplayName("Should broadcast the pot award when everyone else folds")
+            void shouldBroadcastFoldWin() {
+                Game game = createGameWithPlayers(2, 1000);
+                game.setCurrentPot(100);
+                game.setCurrentBet(20);
+                game.setCurrentPlayerIndex(0);
+                AtomicBoolean finishedAtBroadcast = new AtomicBoolean();
+                doAnswer(invocation -> {
+                    finishedAtBroadcast.set(invocation.<Game>getArgument(0).isFinished());
+                    return null;
+                }).when(notificationService).broadcastPlayerAction(any(Game.class), any(PlayerActionMessageDto.class));
+
+                when(gameRepository.findById(game.getId())).thenReturn(Optional.of(game));
+                setupRepositorySaveToReturnArgument();
+
+                pokerGameService.playerAct(game.getId(), game.getPlayers().get(0).getId(), PlayerAction.FOLD, 0);
+
+                verify(notificationService, times(1)).broadcastPlayerAction(any(Game.class), any(PlayerActionMessageDto.class));
+                assertTrue(finishedAtBroadcast.get());
+            }
+        }
+
+        @Nested
+        @DisplayName("2.10 Action Log Replay")
+        class ActionLogReplayTests {
+
+            @Test
+            @SuppressWarnings("unchecked")
+            @DisplayName("Should replay logged actions without repeating their side effects")
+            void shouldReplayStateTransitionsOnly() {
+                Game game = createGameInBettingState();
+                Player caller = game.getPlayers().get(0);
+                Player folder = game.getPlayers().get(1);
+                List<GameActionLog.Entry> logged = List.of(
+                        new GameActionLog.Entry(game.getHandNumber(), caller.getId(), PlayerAction.CALL, 0));
+
+                when(gameEngine.isEnabled()).thenReturn(true);
+                when(gameEngine.execute(eq(game.getId()), any(BiConsumer.class), any(Function.class)))
+                        .thenAnswer(invocation -> {
+                            invocation.<BiConsumer<Game, List<GameActionLog.Entry>>>getArgument(1).accept(game, logged);
+                            return invocation.<Function<Game, Game>>getArgument(2).apply(game);
+                        });
+
+                pokerGameService.playerAct(game.getId(), folder.getId(), PlayerAction.FOLD, 0);
+
+                assertEquals(980, caller.getChips());
+                assertTrue(folder.isFolded());
+                verify(playerStatisticsService, never()).recordAction(eq(caller.getName()), any());
+                verify(handHistoryService, never()).recordAction(any(), eq(caller), any(), anyInt(), any());
+                verify(metricsService, never()).recordPlayerAction(PlayerAction.CALL.name());
+                verify(playerStatisticsService).recordAction(folder.getName(), PlayerAction.FOLD.name());
+                verify(notificationService, times(1)).broadcastPlayerAction(any(Game.class), any(PlayerActionMessageDto.class));
+            }
+        }
     }
 
     
@@ -0,0 +1,181 @@
+package com.truholdem.service;
+
+import com.truholdem.model.Card;
+import com.truholdem.model.CardSet;
+import com.truholdem.model.HandRange;
+import com.truholdem.model.Suit;
+import com.truholdem.model.Value;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("PreflopEquityTable Tests")
+class PreflopEquityTableTest {
+
+    private static final int ACES = PreflopEquityTable.classIndex(Value.ACE.ordinal(), Value.ACE.ordinal(), true);
+    private static final int KINGS = PreflopEquityTable.classIndex(Value.KING.ordinal(), Value.KING.ordinal(), true);
+    private static final int ACE_KING_SUITED = PreflopEquityTable.classIndex(Value.ACE.ordinal(), Value.KING.ordinal(), true);
+    private static final int ACE_KING_OFFSUIT = PreflopEquityTable.classIndex(Value.ACE.ordinal(), Value.KING.ordinal(), false);
+
+    private PreflopEquityTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = PreflopEquityTable.loadDefault();
+    }
+
+    @Nested
+    @DisplayName("Bundled Table")
+    class BundledTableTests {
+
+        @Test
+        @DisplayName("should match well-known heads-up matchups")
+        void shouldMatchKnownMatchups() {
+            assertThat(table.equity(ACES, KINGS)).isCloseTo(0.8195, within(0.0005));
+            assertThat(table.equityVsRandom(hand(Value.ACE, Suit.HEARTS, Value.ACE, Suit.SPADES)))
+                .isCloseTo(0.8520, within(0.0005));
+            assertThat(table.equityVsRandom(hand(Value.SEVEN, Suit.HEARTS, Value.TWO, Suit.SPADES)))
+                .isCloseTo(0.3458, within(0.0005));
+        }
+
+        @Test
+        @DisplayName("should be zero-sum between every pair of classes")
+        void shouldBeZeroSum() {
+            for (int hero = 0; hero < PreflopEquityTable.CLASS_COUNT; hero++) {
+                for (int villain = 0; villain < PreflopEquityTable.CLASS_COUNT; villain++) {
+                    assertThat(table.equity(hero, villain) + table.equity(villain, hero))
+                        .isCloseTo(1.0, within(1e-6));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("should rank suited above offsuit")
+        void shouldRankSuitedAboveOffsuit() {
+            assertThat(table.equity(ACE_KING_SUITED, ACE_KING_OFFSUIT)).isGreaterThan(0.5);
+        }
+    }
+
+    @Nested
+    @DisplayName("Hand vs Range")
+    class HandVersusRangeTests {
+
+        @Test
+        @DisplayName("should count only combos left live by the hero's cards")
+        void shouldCountLiveCombos() {
+            long pocketAces = CardSet.maskOf(hand(Value.ACE, Suit.HEARTS, Value.ACE, Suit.SPADES));
+
+            assertThat(PreflopEquityTable.liveCombos(ACES, pocketAces)).isEqualTo(1);
+            assertThat(PreflopEquityTable.liveCombos(KINGS, pocketAces)).isEqualTo(6);
+            assertThat(PreflopEquityTable.liveCombos(ACE_KING_SUITED, pocketAces)).isEqualTo(2);
+            assertThat(PreflopEquityTable.liveCombos(ACE_KING_OFFSUIT, pocketAces)).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("should weight range classes by live combos")
+        void shouldWeightByLiveCombos() {
+            List<Card> aces = hand(Value.ACE, Suit.HEARTS, Value.ACE, Suit.SPADES);
+            double expected = (1 * table.equity(ACES, ACES) + 6 * table.equity(ACES, KINGS)) / 7;
+
+            assertThat(table.equity(aces, HandRange.fromNotation("AA,KK"))).isCloseTo(expected, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("should match the single class it is compared against")
+        void shouldMatchSingleClass() {
+            List<Card> kings = hand(Value.KING, Suit.CLUBS, Value.KING, Suit.DIAMONDS);
+
+            assertThat(table.equity(kings, HandRange.fromNotation("AA")))
+                .isCloseTo(table.equity(KINGS, ACES), within(1e-9));
+        }
+    }
+
+    @Nested
+    @DisplayName("Binary Format")
+    class BinaryFormatTests {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("should round-trip an encoded table")
+        void shouldRoundTrip() throws IOException {
+            float[] equities = new float[PreflopEquityTable.CLASS_COUNT * PreflopEquityTable.CLASS_COUNT];
+            Arrays.fill(equities, 0.25f);
+            Path file = write(PreflopEquityTable.encode(equities));
+
+            assertThat(PreflopEquityTable.load(file).equity(ACES, KINGS)).isEqualTo(0.25);
+        }
+
+        @Test
+        @DisplayName("should reject a corrupted payload")
+        void shouldRejectCorruptedPayload() throws IOException {
+            ByteBuffer encoded = PreflopEquityTable.encode(new float[PreflopEquityTable.CLASS_COUNT * PreflopEquityTable.CLASS_COUNT]);
+            encoded.put(PreflopEquityTable.HEADER_BYTES, (byte) 1);
+            Path file = write(encoded);
+
+            assertThatThrownBy(() -> PreflopEquityTable.load(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("checksum");
+        }
+
+        @Test
+        @DisplayName("should reject an unknown format version")
+        void shouldRejectUnknownVersion() throws IOException {
+            ByteBuffer encoded = PreflopEquityTable.encode(new float[PreflopEquityTable.CLASS_COUNT * PreflopEquityTable.CLASS_COUNT]);
+            encoded.putInt(4, PreflopEquityTable.FORMAT_VERSION + 1);
+            Path file = write(encoded);
+
+            assertThatThrownBy(() -> PreflopEquityTable.load(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("version");
+        }
+
+        private Path write(ByteBuffer buffer) throws IOException {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return Files.write(tempDir.resolve("table.bin"), bytes);
+        }
+    }
+
+    @Nested
+    @DisplayName("Generator")
+    class GeneratorTests {
+
+        @Test
+        @DisplayName("canonical board orbits should cover every board exactly once")
+        void canonicalOrbitsShouldCoverAllBoards() {
+            long covered = 0;
+            for (int c1 = 0; c1 < CardSet.DECK_SIZE; c1++) {
+                for (int c2 = c1 + 1; c2 < CardSet.DECK_SIZE; c2++) {
+                    for (int c3 = c2 + 1; c3 < CardSet.DECK_SIZE; c3++) {
+                        for (int c4 = c3 + 1; c4 < CardSet.DECK_SIZE; c4++) {
+                            for (int c5 = c4 + 1; c5 < CardSet.DECK_SIZE; c5++) {
+                                long board = (1L << c1) | (1L << c2) | (1L << c3) | (1L << c4) | (1L << c5);
+                                covered += PreflopEquityTableGenerator.canonicalOrbitSize(board);
+                            }
+                        }
+                    }
+                }
+            }
+
+            assertThat(covered).isEqualTo(2_598_960L);
+        }
+    }
+
+    private static List<Card> hand(Value first, Suit firstSuit, Value second, Suit secondSuit) {
+        return List.of(new Card(firstSuit, first), new Card(secondSuit, second));
+    }
+}
@@ -0,0 +1,78 @@
+package com.truholdem.service;
+
+import com.truholdem.model.Card;
+import com.truholdem.model.CardSet;
+import com.truholdem.model.Suit;
+import com.truholdem.model.Value;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("SimulationKernel Tests")
+class SimulationKernelTest {
+
+    private final HandEvaluator handEvaluator = new HandEvaluator();
+
+    @Test
+    @DisplayName("should never draw dead or parked cards")
+    void shouldNeverDrawDeadOrParkedCards() {
+        long dead = CardSet.maskOf(List.of(
+            new Card(Suit.HEARTS, Value.ACE), new Card(Suit.SPADES, Value.ACE), new Card(Suit.CLUBS, Value.TWO)));
+        long parked = CardSet.maskOf(List.of(new Card(Suit.DIAMONDS, Value.KING), new Card(Suit.CLUBS, Value.KING)));
+        SimulationKernel kernel = new SimulationKernel(handEvaluator, dead);
+        SplittableRandom random = new SplittableRandom(7);
+
+        assertThat(kernel.deckSize()).isEqualTo(49);
+        for (int i = 0; i < 10_000; i++) {
+            kernel.reset();
+            kernel.park(parked);
+            long drawn = kernel.draw(7, random);
+
+            assertThat(Long.bitCount(drawn)).isEqualTo(7);
+            assertThat(drawn & (dead | parked)).isZero();
+            assertThat(kernel.cards(0, 7)).isEqualTo(drawn);
+        }
+    }
+
+    @Test
+    @DisplayName("should return parked cards to the deck on reset")
+    void shouldReturnParkedCardsOnReset() {
+        SimulationKernel kernel = new SimulationKernel(handEvaluator, 0L);
+        long parked = CardSet.maskOf(List.of(new Card(Suit.HEARTS, Value.TWO), new Card(Suit.HEARTS, Value.THREE)));
+
+        kernel.park(parked);
+        kernel.park(parked);
+        assertThat(kernel.liveCards()).isEqualTo(50);
+
+        kernel.reset();
+        assertThat(kernel.liveCards()).isEqualTo(52);
+        assertThat(kernel.draw(52, new SplittableRandom(1))).isEqualTo(CardSet.FULL_DECK_MASK);
+    }
+
+    @Test
+    @DisplayName("should count every opponent tied for the best hand")
+    void shouldCountOpponentsTiedForBest() {
+        long board = CardSet.maskOf(List.of(
+            new Card(Suit.HEARTS, Value.ACE), new Card(Suit.SPADES, Value.KING), new Card(Suit.CLUBS, Value.QUEEN),
+            new Card(Suit.DIAMONDS, Value.JACK), new Card(Suit.HEARTS, Value.TEN)));
+        long[] opponents = {
+            CardSet.maskOf(List.of(new Card(Suit.CLUBS, Value.TWO), new Card(Suit.CLUBS, Value.THREE))),
+            CardSet.maskOf(List.of(new Card(Suit.DIAMONDS, Value.TWO), new Card(Suit.DIAMONDS, Value.THREE)))
+        };
+        SimulationKernel kernel = new SimulationKernel(handEvaluator, board);
+
+        int best = kernel.bestStrength(opponents, opponents.length, board);
+        int hero = kernel.evaluate(CardSet.maskOf(List.of(
+            new Card(Suit.SPADES, Value.TWO), new Card(Suit.SPADES, Value.FOUR))), board);
+
+        assertThat(kernel.villainsAtBest()).isEqualTo(2);
+        assertThat(SimulationKernel.potShare(hero, best, kernel.villainsAtBest())).isCloseTo(1.0 / 3, within(1e-12));
+        assertThat(SimulationKernel.potShare(best + 1, best, 2)).isEqualTo(1.0);
+        assertThat(SimulationKernel.potShare(best - 1, best, 2)).isZero();
+    }
+}
@@ -0,0 +1,101 @@
+package com.truholdem.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("BinaryWireCodec Tests")
+class BinaryWireCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final BinaryWireCodec codec = new BinaryWireCodec(objectMapper.getFactory());
+
+    @Test
+    @DisplayName("should round-trip every frame type in fewer bytes than JSON")
+    void shouldRoundTripFrames() throws Exception {
+        for (Map.Entry<String, Object> frame : WireFormatFixtures.frames(objectMapper).entrySet()) {
+            byte[] json = objectMapper.writeValueAsBytes(frame.getValue());
+
+            byte[] binary = codec.encode(json);
+
+            assertThat(binary.length).as(frame.getKey()).isLessThan(json.length / 2);
+            assertThat(objectMapper.readTree(codec.decode(binary))).as(frame.getKey()).isEqualTo(objectMapper.readTree(json));
+        }
+    }
+
+    @Test
+    @DisplayName("should send schema keys as indexes and UUIDs as 16 bytes")
+    void shouldCompactKeysAndUuids() throws Exception {
+        byte[] binary = codec.encode(json("{\"id\":\"0f8fad5b-d9cb-469f-a165-70867728950e\",\"folded\":true}"));
+
+        assertThat(HexFormat.of().formatHex(binary))
+            .isEqualTo("bf04d825500f8fad5bd9cb469fa16570867728950e0df5ff");
+    }
+
+    @Test
+    @DisplayName("should keep unknown keys and non-canonical UUIDs as text")
+    void shouldKeepUnknownKeysAsText() throws Exception {
+        String json = "{\"newField\":\"0F8FAD5B-D9CB-469F-A165-70867728950E\",\"name\":\"Zoë ♠ 🂡\",\"nested\":[null,false,[]]}";
+
+        byte[] binary = codec.encode(json(json));
+
+        assertThat(new String(binary, StandardCharsets.UTF_8)).contains("newField", "0F8FAD5B");
+        assertThat(new String(codec.decode(binary), StandardCharsets.UTF_8)).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("should preserve integers and decimals exactly")
+    void shouldPreserveNumbers() throws Exception {
+        String json = "[0,23,24,-1,-25,4294967296,-9223372036854775808,18446744073709551616,"
+            + "-18446744073709551617,1.5,0.1,1.23456789012345678901234567890]";
+
+        assertThat(new String(codec.decode(codec.encode(json(json))), StandardCharsets.UTF_8)).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("should reject malformed binary frames")
+    void shouldRejectMalformedFrames() {
+        assertThatThrownBy(() -> codec.decode(new byte[]{(byte) 0xBF, 0x04}))
+            .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> codec.decode(new byte[]{(byte) 0xA1, 0x18, (byte) 0xFF, (byte) 0xF6}))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Unknown field");
+        assertThatThrownBy(() -> codec.decode(new byte[]{0x7A, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x61}))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("exceeds the frame");
+
+        byte[] nested = new byte[200];
+        Arrays.fill(nested, (byte) 0x81);
+        assertThatThrownBy(() -> codec.decode(nested))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("nested deeper");
+    }
+
+    @Test
+    @DisplayName("should decode definite-length containers from other encoders")
+    void shouldDecodeDefiniteLengths() throws Exception {
+        // {"type": "GAME_STATE", "chips": [1000, 1.0]} with a half-precision float
+        byte[] binary = HexFormat.of().parseHex("a2006a47414d455f535441544508821903e8f93c00");
+
+        JsonNode decoded = objectMapper.readTree(codec.decode(binary));
+
+        assertThat(decoded.get("type").asText()).isEqualTo("GAME_STATE");
+        assertThat(decoded.at("/chips/0").asInt()).isEqualTo(1000);
+        assertThat(decoded.at("/chips/1").asDouble()).isEqualTo(1.0);
+    }
+
+
+    private static byte[] json(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,96 @@
+package com.truholdem.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.truholdem.dto.PlayerActionMessageDto;
+import com.truholdem.model.GameUpdateType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@DisplayName("GameEventCodec Tests")
+class GameEventCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameEventCodec codec = new GameEventCodec(objectMapper, meterRegistry);
+
+    private GameEvent createEvent() {
+        UUID gameId = UUID.randomUUID();
+        return GameEvent.builder()
+            .sourceInstanceId("instance-1")
+            .gameId(gameId)
+            .type(GameUpdateType.PLAYER_ACTION)
+            .destination("/topic/game/" + gameId)
+            .payload(new PlayerActionMessageDto(UUID.randomUUID(), "Alice", "RAISE", 100, 900, 100))
+            .sequenceNumber(42)
+            .build();
+    }
+
+    @Test
+    @DisplayName("should embed the serialized payload verbatim in the event")
+    void shouldEmbedPayload() throws Exception {
+        GameEvent event = createEvent();
+
+        EncodedGameEvent encoded = codec.encode(event);
+
+        JsonNode envelope = objectMapper.readTree(encoded.eventJson());
+        JsonNode payload = objectMapper.readTree(encoded.payloadJson());
+        assertThat(envelope.get("payload")).isEqualTo(payload);
+        assertThat(payload).isEqualTo(objectMapper.valueToTree(event.getPayload()));
+        assertThat(envelope.get("sequenceNumber").asLong()).isEqualTo(42);
+        assertThat(encoded.event()).isSameAs(event);
+        assertThat(encoded.size()).isEqualTo(encoded.eventJson().length);
+        assertThat(meterRegistry.get("websocket.events.serialization").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should decode events from other instances without re-encoding them")
+    void shouldDecodeReceivedEvents() throws Exception {
+        EncodedGameEvent sent = codec.encode(createEvent());
+
+        EncodedGameEvent received = codec.decode(sent.eventJson());
+
+        assertThat(received.eventJson()).isSameAs(sent.eventJson());
+        assertThat(received.event().getEventId()).isEqualTo(sent.event().getEventId());
+        assertThat(received.event().getSequenceNumber()).isEqualTo(42);
+        assertThat(new String(received.payloadJson(), StandardCharsets.UTF_8))
+            .isEqualTo(new String(sent.payloadJson(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("should slice the payload out of the received bytes as sent")
+    void shouldSlicePayloadAsSent() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        String payload = "{ \"pot\" : 100, \"cards\" : [ \"AH\", \"KS\" ], \"note\" : \"a } in a string\" }";
+        String json = "{\"@class\":\"com.truholdem.websocket.GameEvent\", \"gameId\" : \"" + gameId + "\",\n"
+            + "  \"payload\" : " + payload + " ,\n  \"destination\":\"/topic/game/" + gameId + "\", \"sequenceNumber\": 7}";
+
+        EncodedGameEvent received = codec.decode(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new String(received.payloadJson(), StandardCharsets.UTF_8)).isEqualTo(payload);
+        assertThat(received.event().getGameId()).isEqualTo(gameId);
+        assertThat(received.event().getDestination()).isEqualTo("/topic/game/" + gameId);
+        assertThat(received.event().getSequenceNumber()).isEqualTo(7);
+        assertThat(received.event().getPayload()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should decode an event without a payload")
+    void shouldDecodeEventWithoutPayload() throws Exception {
+        GameEvent event = createEvent();
+        event.setPayload(null);
+
+        EncodedGameEvent received = codec.decode(codec.encode(event).eventJson());
+
+        assertThat(received.payloadJson()).isNull();
+        assertThat(received.event().getPayload()).isNull();
+        assertThat(received.event().getEventId()).isEqualTo(event.getEventId());
+    }
+}
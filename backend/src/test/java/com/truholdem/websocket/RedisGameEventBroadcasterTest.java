@@ -1,13 +1,20 @@
 package com.truholdem.websocket;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.truholdem.config.WebSocketClusterConfig;
-import com.truholdem.dto.WebSocketGameUpdateMessage;
 import com.truholdem.model.GameUpdateType;
 import com.truholdem.dto.ShowdownResult;
+import com.truholdem.model.Card;
 import com.truholdem.model.Game;
 import com.truholdem.model.GamePhase;
 import com.truholdem.model.Player;
+import com.truholdem.model.Suit;
+import com.truholdem.model.User;
+import com.truholdem.model.Value;
+import com.truholdem.service.GameStateDeltaService;
+import com.truholdem.service.GameViewService;
+import com.truholdem.service.UserService;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,6 +30,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -34,11 +42,17 @@ import static org.mockito.Mockito.*;
 class RedisGameEventBroadcasterTest {
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private RedisTemplate<String, byte[]> redisTemplate;
 
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private GameEventStore eventStore;
+
+    @Mock
+    private UserService userService;
+
     private ObjectMapper objectMapper;
     private SimpleMeterRegistry meterRegistry;
     private RedisGameEventBroadcaster broadcaster;
@@ -55,7 +69,10 @@ class RedisGameEventBroadcasterTest {
         broadcaster = new RedisGameEventBroadcaster(
             redisTemplate,
             messagingTemplate,
-            objectMapper,
+            new GameEventCodec(objectMapper, meterRegistry),
+            eventStore,
+            new GameStateDeltaService(GameStateDeltaService.Mode.FULL),
+            new GameViewService(objectMapper, userService, meterRegistry),
             INSTANCE_ID,
             meterRegistry
         );
@@ -77,11 +94,11 @@ class RedisGameEventBroadcasterTest {
 
             verify(redisTemplate).convertAndSend(
                 eq(WebSocketClusterConfig.GAME_EVENTS_CHANNEL),
-                any(GameEvent.class)
+                any(byte[].class)
             );
-            verify(messagingTemplate).convertAndSend(
+            verify(messagingTemplate).send(
                 argThat((String s) -> s != null && s.startsWith("/topic/game/")),
-                any(WebSocketGameUpdateMessage.class)
+                any()
             );
         }
 
@@ -96,13 +113,7 @@ class RedisGameEventBroadcasterTest {
             broadcaster.broadcastPlayerAction(game, player, "RAISE", 100);
 
 
-            ArgumentCaptor<GameEvent> eventCaptor = ArgumentCaptor.forClass(GameEvent.class);
-            verify(redisTemplate).convertAndSend(
-                eq(WebSocketClusterConfig.GAME_EVENTS_CHANNEL),
-                eventCaptor.capture()
-            );
-
-            GameEvent event = eventCaptor.getValue();
+            GameEvent event = publishedEvents(1).get(0);
             assertThat(event.getGameId()).isEqualTo(game.getId());
             assertThat(event.getType()).isEqualTo(GameUpdateType.PLAYER_ACTION);
             assertThat(event.getSourceInstanceId()).isEqualTo(INSTANCE_ID);
@@ -119,13 +130,7 @@ class RedisGameEventBroadcasterTest {
             broadcaster.broadcastPhaseChange(game);
 
 
-            ArgumentCaptor<GameEvent> eventCaptor = ArgumentCaptor.forClass(GameEvent.class);
-            verify(redisTemplate).convertAndSend(
-                eq(WebSocketClusterConfig.GAME_EVENTS_CHANNEL),
-                eventCaptor.capture()
-            );
-
-            assertThat(eventCaptor.getValue().getType()).isEqualTo(GameUpdateType.PHASE_CHANGE);
+            assertThat(publishedEvents(1).get(0).getType()).isEqualTo(GameUpdateType.PHASE_CHANGE);
         }
 
         @Test
@@ -152,7 +157,7 @@ class RedisGameEventBroadcasterTest {
 
             verify(redisTemplate).convertAndSend(
                 eq(WebSocketClusterConfig.GAME_EVENTS_CHANNEL),
-                any(GameEvent.class)
+                any(byte[].class)
             );
         }
 
@@ -166,13 +171,40 @@ class RedisGameEventBroadcasterTest {
             broadcaster.broadcastGameEnded(game, "Winner");
 
 
-            ArgumentCaptor<GameEvent> eventCaptor = ArgumentCaptor.forClass(GameEvent.class);
-            verify(redisTemplate).convertAndSend(
-                eq(WebSocketClusterConfig.GAME_EVENTS_CHANNEL),
-                eventCaptor.capture()
-            );
+            assertThat(publishedEvents(1).get(0).getType()).isEqualTo(GameUpdateType.GAME_ENDED);
+        }
+
+        @Test
+        @DisplayName("Should send seated players their own view of the game")
+        void shouldPublishPrivateViews() throws Exception {
+
+            Game game = createTestGame();
+            Player human = game.getPlayers().get(0);
+            human.setBot(false);
+            human.setUserId(UUID.randomUUID());
+            User owner = new User("alice", "alice@example.com", "hash");
+            when(userService.findById(human.getUserId())).thenReturn(Optional.of(owner));
+            human.setHand(List.of(new Card(Suit.SPADES, Value.ACE), new Card(Suit.HEARTS, Value.ACE)));
+            game.getPlayers().get(1).setHand(List.of(new Card(Suit.CLUBS, Value.TWO), new Card(Suit.CLUBS, Value.SEVEN)));
+
+
+            broadcaster.broadcastGameUpdate(game);
 
-            assertThat(eventCaptor.getValue().getType()).isEqualTo(GameUpdateType.GAME_ENDED);
+
+            List<GameEvent> events = publishedEvents(2);
+            GameEvent publicEvent = events.get(0);
+            GameEvent privateEvent = events.get(1);
+            assertThat(publicEvent.getDestination()).isEqualTo("/topic/game/" + game.getId());
+            assertThat(privateEvent.getDestination()).isEqualTo("/user/alice/queue/game");
+            verify(eventStore, times(1)).storeEvent(any(EncodedGameEvent.class));
+
+            JsonNode publicGame = payload(publicEvent).get("game");
+            JsonNode privateGame = payload(privateEvent).get("game");
+            assertThat(publicGame.has("deck")).isFalse();
+            assertThat(publicGame.at("/players/0/hand").size()).isZero();
+            assertThat(publicGame.at("/players/1/hand").size()).isZero();
+            assertThat(privateGame.at("/players/0/hand").size()).isEqualTo(2);
+            assertThat(privateGame.at("/players/1/hand").size()).isZero();
         }
 
         @Test
@@ -200,6 +232,51 @@ class RedisGameEventBroadcasterTest {
         }
     }
 
+    @Nested
+    @DisplayName("Delta Mode Tests")
+    class DeltaModeTests {
+
+        @Test
+        @DisplayName("Should publish a snapshot then sequence-numbered deltas")
+        void shouldPublishDeltas() {
+
+            RedisGameEventBroadcaster deltaBroadcaster = new RedisGameEventBroadcaster(
+                redisTemplate,
+                messagingTemplate,
+                new GameEventCodec(objectMapper, meterRegistry),
+                eventStore,
+                new GameStateDeltaService(GameStateDeltaService.Mode.DELTA),
+                new GameViewService(objectMapper, userService, meterRegistry),
+                INSTANCE_ID,
+                new SimpleMeterRegistry()
+            );
+            Game game = createTestGame();
+            Player player = game.getPlayers().get(0);
+
+
+            deltaBroadcaster.broadcastGameUpdate(game);
+            player.setChips(900);
+            player.setBetAmount(100);
+            deltaBroadcaster.broadcastPlayerAction(game, player, "RAISE", 100);
+
+
+            List<GameEvent> events = publishedEvents(2);
+            GameEvent snapshot = events.get(0);
+            GameEvent delta = events.get(1);
+            assertThat(snapshot.getSequenceNumber()).isEqualTo(1);
+            assertThat(payload(snapshot).get("kind").asText()).isEqualTo("SNAPSHOT");
+            assertThat(delta.getSequenceNumber()).isEqualTo(2);
+
+            JsonNode message = payload(delta);
+            assertThat(message.get("kind").asText()).isEqualTo("DELTA");
+            assertThat(message.has("game")).isFalse();
+            assertThat(message.get("players")).hasSize(1);
+            assertThat(message.at("/players/0/id").asText()).isEqualTo(player.getId().toString());
+            assertThat(message.at("/players/0/chips").asInt()).isEqualTo(900);
+            assertThat(message.at("/players/0/betAmount").asInt()).isEqualTo(100);
+        }
+    }
+
     @Nested
     @DisplayName("Event Receiving Tests")
     class EventReceivingTests {
@@ -225,9 +302,9 @@ class RedisGameEventBroadcasterTest {
             broadcaster.handleRedisMessage(message);
 
 
-            verify(messagingTemplate).convertAndSend(
+            verify(messagingTemplate).send(
                 eq("/topic/game/" + gameId),
-                eq("test payload")
+                argThat(sent -> body(sent).equals("\"test payload\""))
             );
         }
 
@@ -252,7 +329,7 @@ class RedisGameEventBroadcasterTest {
             broadcaster.handleRedisMessage(message);
 
 
-            verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+            verify(messagingTemplate, never()).send(anyString(), any());
         }
 
         @Test
@@ -279,9 +356,9 @@ class RedisGameEventBroadcasterTest {
             broadcaster.handleRedisMessage(message);
 
 
-            verify(messagingTemplate, times(1)).convertAndSend(
+            verify(messagingTemplate, times(1)).send(
                 eq("/topic/game/" + gameId),
-                eq("test payload")
+                argThat(sent -> body(sent).equals("\"test payload\""))
             );
         }
 
@@ -316,8 +393,9 @@ class RedisGameEventBroadcasterTest {
 
             verify(redisTemplate).convertAndSend(
                 eq(WebSocketClusterConfig.GAME_EVENTS_CHANNEL),
-                any(GameEvent.class)
+                any(byte[].class)
             );
+            verifyNoInteractions(eventStore);
         }
 
         @Test
@@ -331,6 +409,33 @@ class RedisGameEventBroadcasterTest {
         }
     }
 
+    @Nested
+    @DisplayName("Serialization Tests")
+    class SerializationTests {
+
+        @Test
+        @DisplayName("Should serialize an event once for Redis, the event store and local clients")
+        void shouldShareOneEncoding() {
+
+            Game game = createTestGame();
+
+
+            broadcaster.broadcastGameUpdate(game);
+
+
+            ArgumentCaptor<byte[]> published = ArgumentCaptor.forClass(byte[].class);
+            verify(redisTemplate).convertAndSend(eq(WebSocketClusterConfig.GAME_EVENTS_CHANNEL), published.capture());
+            ArgumentCaptor<EncodedGameEvent> stored = ArgumentCaptor.forClass(EncodedGameEvent.class);
+            verify(eventStore).storeEvent(stored.capture());
+            ArgumentCaptor<org.springframework.messaging.Message<?>> sent = ArgumentCaptor.forClass(org.springframework.messaging.Message.class);
+            verify(messagingTemplate).send(eq("/topic/game/" + game.getId()), sent.capture());
+
+            assertThat(stored.getValue().eventJson()).isSameAs(published.getValue());
+            assertThat(sent.getValue().getPayload()).isSameAs(stored.getValue().payloadJson());
+            assertThat(meterRegistry.get("websocket.events.serialization").timer().count()).isEqualTo(1);
+        }
+    }
+
     @Nested
     @DisplayName("Metrics Tests")
     class MetricsTests {
@@ -378,6 +483,31 @@ class RedisGameEventBroadcasterTest {
     }
 
 
+    private List<GameEvent> publishedEvents(int count) {
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(redisTemplate, times(count)).convertAndSend(
+            eq(WebSocketClusterConfig.GAME_EVENTS_CHANNEL),
+            captor.capture()
+        );
+        return captor.getAllValues().stream()
+            .map(json -> {
+                try {
+                    return objectMapper.readValue(json, GameEvent.class);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .toList();
+    }
+
+    private JsonNode payload(GameEvent event) {
+        return objectMapper.valueToTree(event.getPayload());
+    }
+
+    private static String body(org.springframework.messaging.Message<?> message) {
+        return new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+    }
+
     private Game createTestGame() {
         Game game = new Game();
         game.setId(UUID.randomUUID());
@@ -387,11 +517,13 @@ class RedisGameEventBroadcasterTest {
         player1.setId(UUID.randomUUID());
         player1.setName("Player1");
         player1.setChips(1000);
+        player1.setBot(true);
 
         Player player2 = new Player();
         player2.setId(UUID.randomUUID());
         player2.setName("Player2");
         player2.setChips(1000);
+        player2.setBot(true);
 
         game.setPlayers(List.of(player1, player2));
         return game;
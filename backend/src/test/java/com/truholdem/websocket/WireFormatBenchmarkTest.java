@@ -0,0 +1,76 @@
+package com.truholdem.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * Compares the binary wire format with Jackson JSON per frame type. Run with {@code mvn test -Pbenchmark}.
+ *
+ * Encoding is measured the way frames are produced: the server always serializes to JSON once, so the
+ * binary column is the Jackson time plus the transcode. Decoding is what a client pays to read a frame
+ * into a tree: a JSON parse, or a binary decode followed by that parse.
+ */
+@Tag("benchmark")
+@DisplayName("Wire format benchmark")
+class WireFormatBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 50_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final BinaryWireCodec codec = new BinaryWireCodec(objectMapper.getFactory());
+
+    private long blackhole;
+
+    @Test
+    @DisplayName("should report bytes per frame and encode/decode time against Jackson")
+    void compareWithJackson() throws Exception {
+        System.out.printf("%-28s %8s %8s %7s %11s %11s %11s %11s%n",
+            "frame", "json B", "bin B", "ratio", "json enc", "bin enc", "json dec", "bin dec");
+
+        for (Map.Entry<String, Object> frame : WireFormatFixtures.frames(objectMapper).entrySet()) {
+            Object value = frame.getValue();
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            byte[] binary = codec.encode(json);
+
+            double jsonEncode = measure(() -> objectMapper.writeValueAsBytes(value).length);
+            double binaryEncode = measure(() -> codec.encode(objectMapper.writeValueAsBytes(value)).length);
+            double jsonDecode = measure(() -> objectMapper.readTree(json).size());
+            double binaryDecode = measure(() -> objectMapper.readTree(codec.decode(binary)).size());
+
+            System.out.printf("%-28s %8d %8d %6.0f%% %8.0f ns %8.0f ns %8.0f ns %8.0f ns%n",
+                frame.getKey(), json.length, binary.length, 100.0 * binary.length / json.length,
+                jsonEncode, binaryEncode, jsonDecode, binaryDecode);
+
+            JsonNode decoded = objectMapper.readTree(codec.decode(binary));
+            assertThat(decoded).isEqualTo(objectMapper.readTree(json));
+            assertThat(binary.length).isLessThan(json.length);
+        }
+        assertThat(blackhole).isNotZero();
+    }
+
+    private double measure(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            blackhole += operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            blackhole += operation.run();
+        }
+        return (double) (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+
+
+    @FunctionalInterface
+    private interface Operation {
+        int run() throws Exception;
+    }
+}
@@ -0,0 +1,104 @@
+package com.truholdem.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.truholdem.dto.PlayerActionMessageDto;
+import com.truholdem.dto.ShowdownResult;
+import com.truholdem.dto.TournamentMessage;
+import com.truholdem.dto.WebSocketGameUpdateMessage;
+import com.truholdem.model.Card;
+import com.truholdem.model.Game;
+import com.truholdem.model.GamePhase;
+import com.truholdem.model.GameUpdateType;
+import com.truholdem.model.Player;
+import com.truholdem.model.Suit;
+import com.truholdem.model.Value;
+import com.truholdem.service.GameViewService;
+import com.truholdem.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+
+
+/**
+ * Representative frames for each message type carried over WebSocket.
+ */
+final class WireFormatFixtures {
+
+    private WireFormatFixtures() {
+    }
+
+    static Map<String, Object> frames(ObjectMapper objectMapper) {
+        Map<String, Object> frames = new LinkedHashMap<>();
+        frames.put("WebSocketGameUpdateMessage", gameUpdate(objectMapper));
+        frames.put("PlayerActionMessageDto", playerAction());
+        frames.put("ShowdownResult", showdown());
+        frames.put("TournamentMessage", tournament());
+        return frames;
+    }
+
+    static WebSocketGameUpdateMessage gameUpdate(ObjectMapper objectMapper) {
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setPhase(GamePhase.FLOP);
+        List<Card> deck = deck();
+        for (int i = 0; i < 6; i++) {
+            Player player = new Player("Player" + i, 1000 - i * 40, i > 0);
+            player.setId(UUID.randomUUID());
+            player.setSeatPosition(i);
+            player.setBetAmount(i * 20);
+            player.setHand(List.of(deck.remove(0), deck.remove(0)));
+            game.addPlayer(player);
+        }
+        for (int i = 0; i < 3; i++) {
+            game.addCommunityCard(deck.remove(0));
+        }
+        game.setCurrentPot(450);
+
+        Object view = new GameViewService(objectMapper, mock(UserService.class), new SimpleMeterRegistry()).publish(game).publicView();
+        return new WebSocketGameUpdateMessage(GameUpdateType.PLAYER_ACTION, view, playerAction(), "Player1 performed RAISE");
+    }
+
+    static PlayerActionMessageDto playerAction() {
+        return new PlayerActionMessageDto(UUID.randomUUID(), "Player1", "RAISE", 120, 880, 120);
+    }
+
+    static ShowdownResult showdown() {
+        List<Card> deck = deck();
+        List<ShowdownResult.WinnerInfo> winners = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ShowdownResult.WinnerInfo winner = new ShowdownResult.WinnerInfo(
+                UUID.randomUUID(), "Player" + i, 725, "Two Pair, Aces and Kings",
+                List.of(deck.remove(0), deck.remove(0)));
+            winner.setBestFiveCards(List.copyOf(deck.subList(0, 5)));
+            winners.add(winner);
+        }
+        return new ShowdownResult(winners, 1450, "Player0 and Player1 split the pot with Two Pair");
+    }
+
+    static TournamentMessage tournament() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("playerId", UUID.randomUUID());
+        data.put("playerName", "Player3");
+        data.put("finishPosition", 14);
+        data.put("prize", 250);
+        data.put("eliminatedBy", UUID.randomUUID());
+        data.put("playersRemaining", 13);
+        return TournamentMessage.of("PLAYER_ELIMINATED", UUID.randomUUID(), data);
+    }
+
+    private static List<Card> deck() {
+        List<Card> deck = new ArrayList<>();
+        for (Suit suit : Suit.values()) {
+            for (Value value : Value.values()) {
+                deck.add(new Card(suit, value));
+            }
+        }
+        return deck;
+    }
+}
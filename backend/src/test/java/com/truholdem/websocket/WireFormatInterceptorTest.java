@@ -0,0 +1,133 @@
+package com.truholdem.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+
+@DisplayName("WireFormatInterceptor Tests")
+class WireFormatInterceptorTest {
+
+    private static final byte[] FRAME = "{\"type\":\"GAME_STATE\",\"message\":\"Player1 performed CALL\"}"
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final WireFormatInterceptor interceptor = new WireFormatInterceptor(objectMapper, meterRegistry, true);
+    private final BinaryWireCodec codec = new BinaryWireCodec(objectMapper.getFactory());
+
+    @Test
+    @DisplayName("should send binary frames to native sessions that asked for them")
+    void shouldEncodeForBinarySessions() throws Exception {
+        connect("binary", true, WireFormatInterceptor.BINARY_FORMAT);
+
+        Message<?> sent = interceptor.preSend(brokerMessage("binary", FRAME), channel);
+
+        assertThat(sent.getPayload()).isEqualTo(codec.encode(FRAME));
+        assertThat(sent.getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+    }
+
+    @Test
+    @DisplayName("should keep JSON by default, over SockJS and when disabled")
+    void shouldKeepJson() {
+        WireFormatInterceptor disabled = new WireFormatInterceptor(objectMapper, new SimpleMeterRegistry(), false);
+        connect("plain", true, null);
+        connect("sockjs", false, WireFormatInterceptor.BINARY_FORMAT);
+        disabled.preSend(connectMessage("native", true, WireFormatInterceptor.BINARY_FORMAT), channel);
+
+        assertThat(interceptor.preSend(brokerMessage("plain", FRAME), channel).getPayload()).isSameAs(FRAME);
+        assertThat(interceptor.preSend(brokerMessage("sockjs", FRAME), channel).getPayload()).isSameAs(FRAME);
+        assertThat(disabled.preSend(brokerMessage("native", FRAME), channel).getPayload()).isSameAs(FRAME);
+    }
+
+    @Test
+    @DisplayName("should encode a broadcast once for all binary subscribers")
+    void shouldEncodeBroadcastOnce() {
+        connect("first", true, WireFormatInterceptor.BINARY_FORMAT);
+        connect("second", true, WireFormatInterceptor.BINARY_FORMAT);
+
+        Object first = interceptor.preSend(brokerMessage("first", FRAME), channel).getPayload();
+        Object second = interceptor.preSend(brokerMessage("second", FRAME), channel).getPayload();
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("websocket.wire.binary.encodings").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("websocket.wire.binary.frames").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should decode binary frames sent by the client to JSON")
+    void shouldDecodeClientFrames() throws Exception {
+        connect("binary", true, WireFormatInterceptor.BINARY_FORMAT);
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setSessionId("binary");
+        accessor.setDestination("/app/game/action");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+
+        Message<?> received = interceptor.preSend(
+            MessageBuilder.createMessage(codec.encode(FRAME), accessor.getMessageHeaders()), channel);
+
+        assertThat(received.getPayload()).isEqualTo(FRAME);
+        assertThat(received.getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("should forget the format when the session disconnects")
+    void shouldForgetDisconnectedSessions() {
+        connect("binary", true, WireFormatInterceptor.BINARY_FORMAT);
+        assertThat(interceptor.isBinary("binary")).isTrue();
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId("binary");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), channel);
+
+        assertThat(interceptor.isBinary("binary")).isFalse();
+        assertThat(meterRegistry.get("websocket.wire.binary.sessions").gauge().value()).isZero();
+    }
+
+
+    private void connect(String sessionId, boolean nativeTransport, String wireFormat) {
+        interceptor.preSend(connectMessage(sessionId, nativeTransport, wireFormat), channel);
+    }
+
+    private static Message<byte[]> connectMessage(String sessionId, boolean nativeTransport, String wireFormat) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (nativeTransport) {
+            attributes.put(WireFormatInterceptor.NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        accessor.setSessionAttributes(attributes);
+        if (wireFormat != null) {
+            accessor.setNativeHeader(WireFormatInterceptor.WIRE_FORMAT_HEADER, wireFormat);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    // what the simple broker sends each subscriber: fresh mutable headers around the shared payload
+    private static Message<byte[]> brokerMessage(String sessionId, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination("/topic/game/1");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
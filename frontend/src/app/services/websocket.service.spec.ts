@@ -1,5 +1,5 @@
 import { TestBed, fakeAsync, tick } from '@angular/core/testing';
-import { WebSocketService, GameUpdateMessage, PlayerActionMessage } from './websocket.service';
+import { WebSocketService, GameUpdateMessage, PlayerActionMessage, ActionAckMessage } from './websocket.service';
 import { AuthService } from './auth.service';
 import { BehaviorSubject } from 'rxjs';
 
@@ -261,15 +261,20 @@ describe('WebSocketService', () => {
         amount: 0
       };
 
-      service.sendPlayerAction(action);
+      const correlationId = service.sendPlayerAction(action);
 
+      expect(correlationId).toBeTruthy();
       expect(mockStompClient.send).toHaveBeenCalledWith(
         '/app/game/game-123/action',
         {},
-        JSON.stringify(action)
+        JSON.stringify({ ...action, correlationId })
       );
     });
 
+    it('should subscribe to action acknowledgements', () => {
+      expect(mockStompClient.subscribe).toHaveBeenCalledWith('/user/queue/ack', expect.any(Function));
+    });
+
     it('should not send action when not connected', () => {
       service.disconnect();
       mockStompClient.send.mockClear();
@@ -647,6 +652,140 @@ describe('WebSocketService', () => {
     }));
   });
 
+  describe('delta protocol', () => {
+    const handlers: Record<string, (message: { body: string }) => void> = {};
+    const players = [
+      { id: 'p1', name: 'Alice', chips: 1000, betAmount: 0 },
+      { id: 'p2', name: 'Bob', chips: 1000, betAmount: 0 }
+    ];
+
+    const deliver = (destination: string, frame: object) =>
+      handlers[destination]({ body: JSON.stringify(frame) });
+
+    beforeEach(fakeAsync(() => {
+      mockStompClient.connect.mockImplementation((headers, onConnect) => {
+        mockStompClient.connected = true;
+        onConnect({});
+      });
+      mockStompClient.subscribe.mockImplementation((destination, callback) => {
+        handlers[destination] = callback;
+        return { unsubscribe: jest.fn() };
+      });
+      mockStompClient.send.mockImplementation(() => undefined);
+      service.connect();
+      tick();
+      service.subscribeToGame('game-123');
+    }));
+
+    it('should request a snapshot when subscribing', () => {
+      expect(mockStompClient.send).toHaveBeenCalledWith('/app/game/game-123/resync', {}, '');
+    });
+
+    it('should report rejected actions from their acknowledgement', fakeAsync(() => {
+      const acks: ActionAckMessage[] = [];
+      const errors: string[] = [];
+      service.actionAcks$.subscribe(ack => acks.push(ack));
+      service.errors$.subscribe(err => errors.push(err));
+
+      deliver('/user/queue/ack', {
+        correlationId: 'a-1', gameId: 'game-123', action: 'CHECK', accepted: false,
+        error: 'Error executing action: Cannot check', timestamp: 1
+      });
+      tick();
+
+      expect(acks.map(ack => ack.correlationId)).toEqual(['a-1']);
+      expect(errors).toContain('Error executing action: Cannot check');
+    }));
+
+    it('should apply deltas on top of the snapshot', () => {
+      const updates: GameUpdateMessage[] = [];
+      service.gameUpdates$.subscribe(update => updates.push(update));
+
+      deliver('/user/queue/game', {
+        kind: 'SNAPSHOT', type: 'GAME_STATE', gameId: 'game-123', sequence: 4,
+        game: { id: 'game-123', phase: 'PRE_FLOP', currentPot: 30, players, communityCards: [] }
+      });
+      deliver('/topic/game/game-123', {
+        kind: 'DELTA', type: 'PLAYER_ACTION', gameId: 'game-123', sequence: 5,
+        currentPot: 50, players: [{ id: 'p2', chips: 980, betAmount: 20 }]
+      });
+
+      expect(updates.length).toBe(2);
+      expect(updates[1].gameState?.currentPot).toBe(50);
+      expect(updates[1].gameState?.players[1].chips).toBe(980);
+      expect(updates[1].gameState?.players[0].chips).toBe(1000);
+      expect(service.lastEventSequence()).toBe(5);
+    });
+
+    it('should resync on a sequence gap and replay newer deltas', () => {
+      const updates: GameUpdateMessage[] = [];
+      service.gameUpdates$.subscribe(update => updates.push(update));
+      deliver('/user/queue/game', {
+        kind: 'SNAPSHOT', type: 'GAME_STATE', gameId: 'game-123', sequence: 1,
+        game: { id: 'game-123', phase: 'PRE_FLOP', currentPot: 30, players, communityCards: [] }
+      });
+      mockStompClient.send.mockClear();
+
+      deliver('/topic/game/game-123', {
+        kind: 'DELTA', type: 'PLAYER_ACTION', gameId: 'game-123', sequence: 3, currentPot: 70
+      });
+
+      expect(mockStompClient.send).toHaveBeenCalledWith('/app/game/game-123/resync', {}, '');
+      expect(updates.length).toBe(1);
+
+      deliver('/user/queue/game', {
+        kind: 'SNAPSHOT', type: 'GAME_STATE', gameId: 'game-123', sequence: 2,
+        game: { id: 'game-123', phase: 'PRE_FLOP', currentPot: 50, players, communityCards: [] }
+      });
+
+      expect(updates.length).toBe(3);
+      expect(updates[2].gameState?.currentPot).toBe(70);
+      expect(service.lastEventSequence()).toBe(3);
+    });
+
+    it('should keep its own view when the public snapshot of the same update arrives second', () => {
+      const updates: GameUpdateMessage[] = [];
+      service.gameUpdates$.subscribe(update => updates.push(update));
+      const hand = [{ suit: 'SPADES', value: 'ACE' }, { suit: 'HEARTS', value: 'ACE' }];
+
+      deliver('/user/queue/game', {
+        kind: 'SNAPSHOT', type: 'GAME_STATE', gameId: 'game-123', sequence: 6,
+        game: { id: 'game-123', handNumber: 2, players: [{ ...players[0], hand }, { ...players[1], hand: [] }] }
+      });
+      deliver('/topic/game/game-123', {
+        kind: 'SNAPSHOT', type: 'GAME_STATE', gameId: 'game-123', sequence: 6,
+        game: { id: 'game-123', handNumber: 2, players: [{ ...players[0], hand: [] }, { ...players[1], hand: [] }] }
+      });
+
+      expect(updates.length).toBe(1);
+      expect(updates[0].gameState?.players[0].hand).toEqual(hand);
+    });
+
+    it('should not let a public snapshot take back its own cards of the current hand', () => {
+      const updates: GameUpdateMessage[] = [];
+      service.gameUpdates$.subscribe(update => updates.push(update));
+      const hand = [{ suit: 'SPADES', value: 'ACE' }, { suit: 'HEARTS', value: 'ACE' }];
+
+      deliver('/user/queue/game', {
+        kind: 'SNAPSHOT', type: 'GAME_STATE', gameId: 'game-123', sequence: 6,
+        game: { id: 'game-123', handNumber: 2, players: [{ ...players[0], hand }, { ...players[1], hand: [] }] }
+      });
+      deliver('/topic/game/game-123', {
+        kind: 'SNAPSHOT', type: 'GAME_STATE', gameId: 'game-123', sequence: 7,
+        game: { id: 'game-123', handNumber: 2, players: [{ ...players[0], hand: [] }, { ...players[1], hand: [] }] }
+      });
+      deliver('/topic/game/game-123', {
+        kind: 'SNAPSHOT', type: 'GAME_STATE', gameId: 'game-123', sequence: 8,
+        game: { id: 'game-123', handNumber: 3, players: [{ ...players[0], hand: [] }, { ...players[1], hand: [] }] }
+      });
+
+      expect(updates.length).toBe(3);
+      expect(updates[1].gameState?.players[0].hand).toEqual(hand);
+      expect(updates[1].gameState?.players[1].hand).toEqual([]);
+      expect(updates[2].gameState?.players[0].hand).toEqual([]);
+    });
+  });
+
   describe('connection state transitions', () => {
     it('should transition through states correctly', fakeAsync(() => {
 
@@ -2,6 +2,7 @@ import { Injectable, inject, signal, computed } from '@angular/core';
 import { BehaviorSubject, Subject } from 'rxjs';
 import { AuthService } from './auth.service';
 import { Game } from '../model/game';
+import { Card } from '../model/card';
 import { environment } from '../../environments/environment';
 
 // External globals from SockJS/STOMP libraries - type definitions not available
@@ -31,6 +32,33 @@ export interface GameUpdateMessage {
   sequenceNumber?: number;
 }
 
+export interface PlayerDelta {
+  id: string;
+  chips?: number;
+  betAmount?: number;
+  totalBetInRound?: number;
+  folded?: boolean;
+  isAllIn?: boolean;
+}
+
+export interface GameDeltaMessage {
+  kind: 'SNAPSHOT' | 'DELTA';
+  type: string;
+  gameId: string;
+  sequence: number;
+  game?: Game;
+  phase?: string;
+  currentPot?: number;
+  currentBet?: number;
+  currentPlayerIndex?: number;
+  minRaiseAmount?: number;
+  lastRaiseAmount?: number;
+  communityCards?: Game['communityCards'];
+  players?: PlayerDelta[];
+  payload?: unknown;
+  message?: string;
+}
+
 export interface PlayerActionMessage {
   playerId: string;
   playerName?: string;
@@ -38,6 +66,17 @@ export interface PlayerActionMessage {
   amount: number;
   remainingChips?: number;
   currentBet?: number;
+  correlationId?: string;
+}
+
+export interface ActionAckMessage {
+  correlationId?: string;
+  gameId: string;
+  action: string;
+  accepted: boolean;
+  sequence?: number;
+  error?: string;
+  timestamp: number;
 }
 
 export interface ReconnectRequest {
@@ -70,6 +109,9 @@ const RECONNECT_CONFIG = {
 };
 
 
+const MAX_PENDING_DELTAS = 64;
+
+
 
 
 @Injectable({
@@ -90,6 +132,11 @@ export class WebSocketService {
   private userQueueSubscription: any = null;
   // eslint-disable-next-line @typescript-eslint/no-explicit-any
   private stateRecoverySubscription: any = null;
+  // eslint-disable-next-line @typescript-eslint/no-explicit-any
+  private resyncSubscription: any = null;
+  // eslint-disable-next-line @typescript-eslint/no-explicit-any
+  private ackSubscription: any = null;
+  private actionCounter = 0;
 
   
   
@@ -126,6 +173,10 @@ export class WebSocketService {
   public errors$ = this.errorSubject.asObservable();
 
   
+  private actionAcksSubject = new Subject<ActionAckMessage>();
+  public actionAcks$ = this.actionAcksSubject.asObservable();
+
+  
   
   
   
@@ -134,6 +185,16 @@ export class WebSocketService {
   private disconnectedAt: Date | null = null;
   private lastKnownPhase: string | null = null;
 
+  
+  private deltaBase: Game | null = null;
+  private awaitingSnapshot = false;
+  private pendingDeltas: GameDeltaMessage[] = [];
+
+  // hole cards this client received on its private queue, for the hand they were dealt in
+  private privateHands = new Map<string, Card[]>();
+  private privateHandNumber: number | undefined;
+  private privateSequence = 0;
+
   constructor() {
     
     this.authService.isAuthenticated$.subscribe(isAuth => {
@@ -245,6 +306,7 @@ export class WebSocketService {
     
     const gameId = this.currentGameId();
     if (gameId && this.disconnectedAt) {
+      this.subscribeToGame(gameId);
       this.requestStateRecovery(gameId);
     }
   }
@@ -336,6 +398,8 @@ export class WebSocketService {
     const currentGame = this.currentGameId();
     if (currentGame && currentGame !== gameId) {
       this.unsubscribeFromGame();
+    } else {
+      this.cleanupSubscriptions();
     }
 
     this.currentGameId.set(gameId);
@@ -344,7 +408,7 @@ export class WebSocketService {
     
     this.gameSubscription = this.stompClient.subscribe(
       `/topic/game/${gameId}`,
-      (message: { body: string }) => this.handleGameUpdate(message)
+      (message: { body: string }) => this.handleGameUpdate(message, false)
     );
 
     
@@ -358,6 +422,21 @@ export class WebSocketService {
       '/user/queue/state',
       (message: { body: string }) => this.handleStateRecovery(message)
     );
+
+    
+    this.resyncSubscription = this.stompClient.subscribe(
+      '/user/queue/game',
+      (message: { body: string }) => this.handleGameUpdate(message, true)
+    );
+
+    
+    this.ackSubscription = this.stompClient.subscribe(
+      '/user/queue/ack',
+      (message: { body: string }) => this.handleActionAck(message)
+    );
+
+    this.resetDeltaState();
+    this.requestResync(gameId);
   }
 
   
@@ -366,6 +445,7 @@ export class WebSocketService {
     this.currentGameId.set(null);
     this.lastEventSequence.set(0);
     this.lastKnownPhase = null;
+    this.resetDeltaState();
     console.log('[WebSocket] Unsubscribed from game');
   }
 
@@ -382,15 +462,33 @@ export class WebSocketService {
       try { this.stateRecoverySubscription.unsubscribe(); } catch { /* ignore unsubscribe errors */ }
       this.stateRecoverySubscription = null;
     }
+    if (this.resyncSubscription) {
+      try { this.resyncSubscription.unsubscribe(); } catch { /* ignore unsubscribe errors */ }
+      this.resyncSubscription = null;
+    }
+    if (this.ackSubscription) {
+      try { this.ackSubscription.unsubscribe(); } catch { /* ignore unsubscribe errors */ }
+      this.ackSubscription = null;
+    }
   }
 
   
   
   
 
-  private handleGameUpdate(message: { body: string }): void {
+  private handleGameUpdate(message: { body: string }, fromUserQueue: boolean): void {
     try {
-      const gameUpdate: GameUpdateMessage = JSON.parse(message.body);
+      const parsed = JSON.parse(message.body);
+      if (parsed && typeof parsed === 'object' && 'kind' in parsed) {
+        this.handleDeltaFrame(parsed as GameDeltaMessage, fromUserQueue);
+        return;
+      }
+      const gameUpdate: GameUpdateMessage = parsed;
+      if (gameUpdate.gameState) {
+        gameUpdate.gameState = fromUserQueue
+          ? this.rememberPrivateHands(gameUpdate.gameState)
+          : this.keepPrivateHands(gameUpdate.gameState);
+      }
 
 
       if (gameUpdate.sequenceNumber !== undefined) {
@@ -414,6 +512,120 @@ export class WebSocketService {
     }
   }
 
+  
+  private handleDeltaFrame(frame: GameDeltaMessage, fromUserQueue = false): void {
+    if (frame.kind === 'SNAPSHOT') {
+      if (!frame.game) {
+        return;
+      }
+      if (fromUserQueue) {
+        this.privateSequence = Math.max(this.privateSequence, frame.sequence);
+      } else if (frame.sequence <= this.privateSequence) {
+        // this client already holds its own view of that state
+        return;
+      }
+      this.deltaBase = fromUserQueue ? this.rememberPrivateHands(frame.game) : this.keepPrivateHands(frame.game);
+      this.awaitingSnapshot = false;
+      this.lastEventSequence.set(frame.sequence);
+      this.emitFrame(frame, this.deltaBase);
+
+      
+      const pending = this.pendingDeltas
+        .filter(delta => delta.sequence > frame.sequence)
+        .sort((a, b) => a.sequence - b.sequence);
+      this.pendingDeltas = [];
+      for (const delta of pending) {
+        this.handleDeltaFrame(delta);
+      }
+      return;
+    }
+
+    const lastSequence = this.lastEventSequence();
+    if (this.deltaBase && !this.awaitingSnapshot && frame.sequence <= lastSequence) {
+      return;
+    }
+    if (!this.deltaBase || this.awaitingSnapshot || frame.sequence !== lastSequence + 1) {
+      console.warn('[WebSocket] Sequence gap:', lastSequence, '->', frame.sequence, '- requesting resync');
+      if (this.pendingDeltas.length < MAX_PENDING_DELTAS) {
+        this.pendingDeltas.push(frame);
+      }
+      const gameId = this.currentGameId();
+      if (gameId && !this.awaitingSnapshot) {
+        this.requestResync(gameId);
+      }
+      return;
+    }
+
+    this.deltaBase = this.applyDelta(this.deltaBase, frame);
+    this.lastEventSequence.set(frame.sequence);
+    this.emitFrame(frame, this.deltaBase);
+  }
+
+  private applyDelta(game: Game, delta: GameDeltaMessage): Game {
+    const players = delta.players
+      ? game.players.map(player => {
+          const change = delta.players!.find(p => p.id === player.id);
+          return change ? { ...player, ...change } : player;
+        })
+      : game.players;
+
+    const next = { ...game, players } as Game;
+    if (delta.phase !== undefined) next.phase = delta.phase;
+    if (delta.currentPot !== undefined) next.currentPot = delta.currentPot;
+    if (delta.currentBet !== undefined) next.currentBet = delta.currentBet;
+    if (delta.currentPlayerIndex !== undefined) next.currentPlayerIndex = delta.currentPlayerIndex;
+    if (delta.minRaiseAmount !== undefined) next.minRaiseAmount = delta.minRaiseAmount;
+    if (delta.lastRaiseAmount !== undefined) next.lastRaiseAmount = delta.lastRaiseAmount;
+    if (delta.communityCards !== undefined) next.communityCards = delta.communityCards;
+    return next;
+  }
+
+  private emitFrame(frame: GameDeltaMessage, game: Game): void {
+    if (game.phase) {
+      this.lastKnownPhase = game.phase;
+    }
+    this.gameUpdatesSubject.next({
+      type: frame.type,
+      gameState: game,
+      action: (frame.type === 'PLAYER_ACTION' ? frame.payload : null) as PlayerActionMessage | null,
+      message: frame.message ?? '',
+      sequenceNumber: frame.sequence
+    });
+  }
+
+  private resetDeltaState(): void {
+    this.deltaBase = null;
+    this.awaitingSnapshot = false;
+    this.pendingDeltas = [];
+    this.privateHands.clear();
+    this.privateHandNumber = undefined;
+    this.privateSequence = 0;
+  }
+
+  private rememberPrivateHands(game: Game): Game {
+    this.privateHands.clear();
+    this.privateHandNumber = game.handNumber;
+    for (const player of game.players ?? []) {
+      if (player.hand?.length) {
+        this.privateHands.set(player.id, player.hand);
+      }
+    }
+    return game;
+  }
+
+  // The topic carries the public view, which hides this client's own hole cards. Its private copy of the
+  // same update may arrive before or after it, so a public frame never takes back cards of the current hand.
+  private keepPrivateHands(game: Game): Game {
+    if (this.privateHands.size === 0 || game.handNumber !== this.privateHandNumber) {
+      return game;
+    }
+    const players = (game.players ?? []).map(player => {
+      const hand = this.privateHands.get(player.id);
+      return hand && !player.hand?.length ? { ...player, hand } : player;
+    });
+    return { ...game, players } as Game;
+  }
+
   private handleUserMessage(message: { body: string }): void {
     try {
       const userMessage = JSON.parse(message.body);
@@ -430,7 +642,9 @@ export class WebSocketService {
       
       if (snapshot.success) {
         
-        this.lastEventSequence.set(snapshot.lastEventSequence);
+        if (!this.deltaBase && !this.awaitingSnapshot) {
+          this.lastEventSequence.set(snapshot.lastEventSequence);
+        }
         
         
         for (const event of snapshot.missedEvents) {
@@ -486,32 +700,63 @@ export class WebSocketService {
   }
 
   
+  private requestResync(gameId: string): void {
+    if (!this.stompClient || this.connectionState() !== ConnectionState.CONNECTED) {
+      return;
+    }
+
+    this.awaitingSnapshot = true;
+    try {
+      this.stompClient.send(`/app/game/${gameId}/resync`, {}, '');
+    } catch (error: unknown) {
+      console.error('[WebSocket] Failed to request resync:', error);
+      this.awaitingSnapshot = false;
+    }
+  }
+
+  
   
   
 
   
-  sendPlayerAction(action: PlayerActionMessage): void {
+  // the resulting game state arrives on the game topic; the returned id matches the ack on actionAcks$
+  sendPlayerAction(action: PlayerActionMessage): string | null {
     if (this.connectionState() !== ConnectionState.CONNECTED || !this.stompClient) {
       console.warn('[WebSocket] Cannot send action: Not connected');
-      return;
+      return null;
     }
 
     const gameId = this.currentGameId();
     if (!gameId) {
       console.warn('[WebSocket] Cannot send action: No game selected');
-      return;
+      return null;
     }
 
+    const correlationId = action.correlationId ?? `${Date.now().toString(36)}-${++this.actionCounter}`;
     try {
       this.stompClient.send(
         `/app/game/${gameId}/action`,
         {},
-        JSON.stringify(action)
+        JSON.stringify({ ...action, correlationId })
       );
       console.log('[WebSocket] Player action sent:', action);
+      return correlationId;
     } catch (error: unknown) {
       console.error('[WebSocket] Failed to send player action:', error);
       this.errorSubject.next('Failed to send player action');
+      return null;
+    }
+  }
+
+  private handleActionAck(message: { body: string }): void {
+    try {
+      const ack: ActionAckMessage = JSON.parse(message.body);
+      this.actionAcksSubject.next(ack);
+      if (!ack.accepted) {
+        this.errorSubject.next(ack.error || 'Action rejected');
+      }
+    } catch (error: unknown) {
+      console.error('[WebSocket] Error parsing action acknowledgement:', error);
     }
   }
 